@@ -0,0 +1,196 @@
+package org.gama.stalactite.persistence.engine;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.gama.lang.Reflections;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.TransactionAwareConnectionProvider;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
+
+/**
+ * Facade over a {@link PersistenceContext} that executes persistence operations asynchronously, giving their result as {@link CompletableFuture}s.
+ * 
+ * Reads are executed on a read {@link ExecutorService} and each of them borrows its own {@link Connection} from a dedicated {@link ConnectionProvider}
+ * (expected to give a new connection at each call, such as a {@link org.gama.stalactite.sql.DataSourceConnectionProvider}), which is closed
+ * at the end of the read : hence independent reads can overlap. Consequently reads don't see uncommitted changes of current transaction.
+ * 
+ * Writes are executed one after another with the transactional connection of the {@link PersistenceContext} : each of them starts once previous
+ * one is done, so they stay serialized whatever their {@link Executor}. By default they are executed by the thread that submits them, which is
+ * expected to be the one of current transaction : connection bound to it as well as transaction-scoped states kept per thread (such as versions
+ * to be reverted on rollback) are then the ones of the transaction. A dedicated write {@link Executor} should only be given when transaction
+ * is not bound to a thread.
+ * 
+ * @author Guillaume Mary
+ * @see AsyncPersister
+ */
+public class AsyncPersistenceContext implements AutoCloseable {
+	
+	/**
+	 * Gives an {@link ExecutorService} for reads : a virtual-thread-per-task one when running on a JDK that supports it, else a pool of
+	 * {@code maxThreadCount} daemon threads
+	 * 
+	 * @param maxThreadCount maximum number of threads, ignored when virtual threads are available
+	 * @return a new {@link ExecutorService}
+	 */
+	public static ExecutorService newDefaultReadExecutor(int maxThreadCount) {
+		try {
+			// invoked by reflection to stay compatible with JDKs without virtual threads
+			Method virtualThreadExecutorFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) virtualThreadExecutorFactory.invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			ThreadPoolExecutor result = new ThreadPoolExecutor(maxThreadCount, maxThreadCount, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					new DaemonThreadFactory("Stalactite-read-"));
+			result.allowCoreThreadTimeOut(true);
+			return result;
+		}
+	}
+	
+	private final PersistenceContext persistenceContext;
+	
+	private final ConnectionProvider readConnectionProvider;
+	
+	private final ExecutorService readExecutor;
+	
+	private final Executor writeExecutor;
+	
+	/** Last submitted write, next one is chained to it */
+	private CompletableFuture<?> lastWrite = CompletableFuture.completedFuture(null);
+	
+	/**
+	 * Creates an instance which reads with {@link #newDefaultReadExecutor(int)} and writes in the thread that submits them
+	 * 
+	 * @param persistenceContext the context giving persisters and transactional connection
+	 * @param readConnectionProvider provider of connections dedicated to reads, expected to give a new connection at each call
+	 * @param maxReadThreadCount maximum number of concurrent reads (when virtual threads are not available)
+	 */
+	public AsyncPersistenceContext(PersistenceContext persistenceContext, ConnectionProvider readConnectionProvider, int maxReadThreadCount) {
+		this(persistenceContext, readConnectionProvider, newDefaultReadExecutor(maxReadThreadCount), Runnable::run);
+	}
+	
+	/**
+	 * @param persistenceContext the context giving persisters and transactional connection
+	 * @param readConnectionProvider provider of connections dedicated to reads, expected to give a new connection at each call
+	 * @param readExecutor executor of reads
+	 * @param writeExecutor executor of writes, shut down by {@link #close()} if it is an {@link ExecutorService}
+	 * @throws IllegalArgumentException if connection provider of given {@link PersistenceContext} is not a {@link TransactionAwareConnectionProvider}
+	 */
+	public AsyncPersistenceContext(PersistenceContext persistenceContext, ConnectionProvider readConnectionProvider,
+								   ExecutorService readExecutor, Executor writeExecutor) {
+		if (!(persistenceContext.getConnectionProvider() instanceof TransactionAwareConnectionProvider)) {
+			throw new IllegalArgumentException("Asynchronous reads need a connection provider of type "
+					+ Reflections.toString(TransactionAwareConnectionProvider.class));
+		}
+		this.persistenceContext = persistenceContext;
+		this.readConnectionProvider = readConnectionProvider;
+		this.readExecutor = readExecutor;
+		this.writeExecutor = writeExecutor;
+	}
+	
+	public PersistenceContext getPersistenceContext() {
+		return persistenceContext;
+	}
+	
+	/**
+	 * Gives an asynchronous facade over the persister of a class
+	 * 
+	 * @param clazz a persisted class
+	 * @param <C> entity type
+	 * @param <I> identifier type
+	 * @return a new {@link AsyncPersister}
+	 * @throws IllegalArgumentException if the class has no persister
+	 */
+	public <C, I> AsyncPersister<C, I> getPersister(Class<C> clazz) {
+		IEntityPersister<C, I> persister = persistenceContext.getPersister(clazz);
+		if (persister == null) {
+			throw new IllegalArgumentException("No persister found for class " + Reflections.toString(clazz));
+		}
+		return new AsyncPersister<>(persister, this);
+	}
+	
+	/**
+	 * Executes some reading code on read executor with its own connection
+	 * 
+	 * @param reader code that reads data through {@link PersistenceContext} or its persisters
+	 * @param <O> result type
+	 * @return a future of {@code reader} result
+	 */
+	public <O> CompletableFuture<O> read(Function<PersistenceContext, O> reader) {
+		return CompletableFuture.supplyAsync(() -> {
+			TransactionAwareConnectionProvider connectionProvider = (TransactionAwareConnectionProvider) persistenceContext.getConnectionProvider();
+			try (Connection connection = readConnectionProvider.getCurrentConnection()) {
+				return connectionProvider.executeWith(connection, () -> reader.apply(persistenceContext));
+			} catch (SQLException e) {
+				// thrown by close()
+				throw new SQLExecutionException(e);
+			}
+		}, readExecutor);
+	}
+	
+	/**
+	 * Executes some writing code with transactional connection, once previous writes are done (whatever their outcome)
+	 * 
+	 * @param writer code that writes data through {@link PersistenceContext} or its persisters
+	 * @param <O> result type
+	 * @return a future of {@code writer} result, already completed when writes are executed by submitting thread
+	 */
+	public synchronized <O> CompletableFuture<O> write(Function<PersistenceContext, O> writer) {
+		CompletableFuture<O> result = lastWrite.handle((previousResult, previousError) -> null)
+				.thenApplyAsync(ignored -> writer.apply(persistenceContext), writeExecutor);
+		lastWrite = result;
+		return result;
+	}
+	
+	/**
+	 * Shuts down executors, waiting for submitted operations to complete
+	 */
+	@Override
+	public void close() {
+		CompletableFuture<?> lastSubmittedWrite;
+		synchronized (this) {
+			lastSubmittedWrite = lastWrite;
+		}
+		readExecutor.shutdown();
+		try {
+			// writes failure are given to their caller through their future, they're not relevant here
+			lastSubmittedWrite.handle((result, error) -> null).join();
+			if (writeExecutor instanceof ExecutorService) {
+				((ExecutorService) writeExecutor).shutdown();
+				((ExecutorService) writeExecutor).awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+			readExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private static class DaemonThreadFactory implements ThreadFactory {
+		
+		private final String namePrefix;
+		
+		private final AtomicInteger threadCount = new AtomicInteger();
+		
+		private DaemonThreadFactory(String namePrefix) {
+			this.namePrefix = namePrefix;
+		}
+		
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread result = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+			result.setDaemon(true);
+			return result;
+		}
+	}
+}
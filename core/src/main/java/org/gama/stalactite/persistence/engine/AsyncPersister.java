@@ -0,0 +1,94 @@
+package org.gama.stalactite.persistence.engine;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over an {@link IEntityPersister} : reads and writes are executed according to {@link AsyncPersistenceContext} policy,
+ * reads with their own connection, writes serialized on transactional one.
+ * 
+ * @author Guillaume Mary
+ * @see AsyncPersistenceContext#getPersister(Class)
+ */
+public class AsyncPersister<C, I> {
+	
+	private final IEntityPersister<C, I> delegate;
+	
+	private final AsyncPersistenceContext asyncPersistenceContext;
+	
+	public AsyncPersister(IEntityPersister<C, I> delegate, AsyncPersistenceContext asyncPersistenceContext) {
+		this.delegate = delegate;
+		this.asyncPersistenceContext = asyncPersistenceContext;
+	}
+	
+	public IEntityPersister<C, I> getDelegate() {
+		return delegate;
+	}
+	
+	public CompletableFuture<C> select(I id) {
+		return read(persister -> persister.select(id));
+	}
+	
+	public CompletableFuture<List<C>> select(Iterable<I> ids) {
+		return read(persister -> persister.select(ids));
+	}
+	
+	public CompletableFuture<List<C>> selectAll() {
+		return read(IEntityPersister::selectAll);
+	}
+	
+	public CompletableFuture<Integer> persist(C entity) {
+		return write(persister -> persister.persist(entity));
+	}
+	
+	public CompletableFuture<Integer> persist(Iterable<? extends C> entities) {
+		return write(persister -> persister.persist(entities));
+	}
+	
+	public CompletableFuture<Integer> insert(C entity) {
+		return write(persister -> persister.insert(entity));
+	}
+	
+	public CompletableFuture<Integer> insert(Iterable<? extends C> entities) {
+		return write(persister -> persister.insert(entities));
+	}
+	
+	public CompletableFuture<Integer> update(C entity) {
+		return write(persister -> persister.update(entity));
+	}
+	
+	public CompletableFuture<Integer> update(Iterable<C> entities) {
+		return write(persister -> persister.update(entities));
+	}
+	
+	public CompletableFuture<Integer> delete(C entity) {
+		return write(persister -> persister.delete(entity));
+	}
+	
+	public CompletableFuture<Integer> delete(Iterable<C> entities) {
+		return write(persister -> persister.delete(entities));
+	}
+	
+	/**
+	 * Executes any reading code on wrapped persister, with its own connection
+	 * 
+	 * @param reader code that reads data through wrapped persister
+	 * @param <O> result type
+	 * @return a future of {@code reader} result
+	 */
+	public <O> CompletableFuture<O> read(Function<IEntityPersister<C, I>, O> reader) {
+		return asyncPersistenceContext.read(persistenceContext -> reader.apply(delegate));
+	}
+	
+	/**
+	 * Executes any writing code on wrapped persister, with transactional connection
+	 * 
+	 * @param writer code that writes data through wrapped persister
+	 * @param <O> result type
+	 * @return a future of {@code writer} result
+	 */
+	public <O> CompletableFuture<O> write(Function<IEntityPersister<C, I>, O> writer) {
+		return asyncPersistenceContext.write(persistenceContext -> writer.apply(delegate));
+	}
+}
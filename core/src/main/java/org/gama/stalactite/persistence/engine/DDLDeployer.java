@@ -9,9 +9,14 @@ import java.util.List;
 
 import org.gama.stalactite.persistence.engine.runtime.IConfiguredPersister;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.dml.SQLExecution;
+import org.gama.stalactite.sql.dml.SQLExecution.Kind;
 import org.gama.stalactite.sql.dml.SQLExecutionException;
+import org.gama.stalactite.sql.dml.SQLExecutionObserver;
+import org.gama.stalactite.sql.dml.SQLOperation;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.ddl.DDLGenerator;
+import org.gama.stalactite.persistence.sql.ddl.DDLSchemaComparator;
 import org.gama.stalactite.persistence.sql.ddl.DDLTableGenerator;
 import org.gama.stalactite.persistence.sql.ddl.JavaTypeToSqlTypeMapping;
 import org.gama.stalactite.persistence.structure.Table;
@@ -92,6 +97,28 @@ public class DDLDeployer {
 		return getDdlGenerator().getCreationScripts();
 	}
 	
+	/**
+	 * Deploys only the elements missing from database : tables, columns, foreign keys and indexes which don't exist yet are created,
+	 * others are left untouched. Handy to avoid dropping and recreating a whole schema when only a few elements changed.
+	 * 
+	 * @see #getUpdateScripts()
+	 */
+	public void updateDDL() {
+		execute(getUpdateScripts());
+	}
+	
+	/**
+	 * Gives the scripts needed to make current database match deployed tables, computed by a {@link DDLSchemaComparator}.
+	 * Note that, as a difference with {@link #getCreationScripts()}, scripts of {@link DDLGenerator} participants (sequences, ...)
+	 * are not took into account since their presence can't be checked.
+	 * 
+	 * @return scripts creating missing elements, empty if database is up to date
+	 */
+	public List<String> getUpdateScripts() {
+		DDLSchemaComparator schemaComparator = new DDLSchemaComparator(getDdlGenerator().getDdlTableGenerator());
+		return schemaComparator.generateUpdateScripts(getDdlGenerator().getTables(), getCurrentConnection());
+	}
+	
 	public void dropDDL() {
 		execute(getDropScripts());
 	}
@@ -100,15 +127,28 @@ public class DDLDeployer {
 		return getDdlGenerator().getDropScripts();
 	}
 	
+	/**
+	 * Executes given scripts, notifying {@link SQLOperation#getDefaultExecutionObserver()} of their execution
+	 * 
+	 * @param sqls scripts to be executed
+	 */
 	protected void execute(List<String> sqls) {
 		Connection currentConnection = getCurrentConnection();
+		SQLExecutionObserver executionObserver = SQLOperation.getDefaultExecutionObserver();
 		for (String sql : sqls) {
+			SQLExecution execution = new SQLExecution(Kind.DDL, sql);
+			executionObserver.onStart(execution);
 			try (Statement statement = currentConnection.createStatement()) {
 				LOGGER.debug(sql);
+				long executionStart = System.nanoTime();
 				statement.execute(sql);
+				execution.setExecutionNanos(System.nanoTime() - executionStart);
 			} catch (SQLException t) {
-				throw new SQLExecutionException(sql, t);
+				SQLExecutionException executionException = new SQLExecutionException(sql, t);
+				executionObserver.onError(execution, executionException);
+				throw executionException;
 			}
+			executionObserver.onEnd(execution);
 		}
 	}
 	
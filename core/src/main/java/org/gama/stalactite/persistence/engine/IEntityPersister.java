@@ -16,6 +16,7 @@ import org.gama.lang.Experimental;
 import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.Maps;
 import org.gama.lang.collection.PairIterator;
+import org.gama.stalactite.persistence.engine.PersistenceContext.ExecutableSQL;
 import org.gama.stalactite.persistence.engine.listening.IPersisterListener;
 import org.gama.stalactite.query.model.AbstractRelationalOperator;
 
@@ -85,6 +86,29 @@ public interface IEntityPersister<C, I> extends IInsertExecutor<C>, IUpdateExecu
 		return insert(Collections.singletonList(entity));
 	}
 	
+	/**
+	 * Inserts or updates an instance in a single statement, without selecting it first, see {@link #upsert(Iterable)}
+	 * 
+	 * @param entity an entity with an already-assigned identifier
+	 * @return written row count
+	 */
+	default int upsert(C entity) {
+		return upsert(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Inserts or updates instances according to their identifier presence in database, in a single statement per entity (and JDBC batch)
+	 * made of the "merge" or equivalent order of current {@link org.gama.stalactite.persistence.sql.Dialect}. Compared to
+	 * {@link #persist(Iterable)} this avoids loading already-persisted entities, hence it is dedicated to idempotent writing of external data.
+	 * <strong>Since it is unknown if entities were inserted or updated, neither cascade nor listener is triggered, and version is not
+	 * managed. Entities are expected to have an already-assigned identifier.</strong> Nevertheless, tables of parent entities are written
+	 * too when they are mapped with joined tables.
+	 * 
+	 * @param entities entities with an already-assigned identifier
+	 * @return written row count, as returned by JDBC driver (may count an update as 2 rows, as MySQL does)
+	 */
+	int upsert(Iterable<? extends C> entities);
+	
 	/**
 	 * Updates an instance that may have changes.
 	 * Groups statements to benefit from JDBC batch. Usefull overall when allColumnsStatement
@@ -195,6 +219,30 @@ public interface IEntityPersister<C, I> extends IInsertExecutor<C>, IUpdateExecu
 	
 	List<C> selectAll();
 	
+	/**
+	 * Creates a delete order of entities matching some criteria, executed as a single SQL statement without loading entities.
+	 * <strong>Since entities are not loaded, neither cascade nor listener is triggered, and optimistic lock is not checked : caller is
+	 * responsible for relations of deleted entities</strong>
+	 * 
+	 * @param getter a property accessor
+	 * @param operator criteria for the property
+	 * @param <O> value type returned by property accessor
+	 * @return a {@link EntityCriteria} to be executed through {@link ExecutableSQL#execute()}, which returns deleted row count
+	 */
+	<O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+	
+	/**
+	 * Creates an update order of entities matching some criteria, executed as a single SQL statement without loading entities.
+	 * Updated properties are given by {@link ExecutableBulkUpdate#set(SerializableFunction, Object)}.
+	 * <strong>Since entities are not loaded, neither cascade nor listener is triggered, and version is not upgraded</strong>
+	 *
+	 * @param getter a property accessor
+	 * @param operator criteria for the property
+	 * @param <O> value type returned by property accessor
+	 * @return a {@link EntityCriteria} to be executed through {@link ExecutableSQL#execute()}, which returns updated row count
+	 */
+	<O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+	
 	boolean isNew(C entity);
 	
 	I getId(C entity);
@@ -209,6 +257,60 @@ public interface IEntityPersister<C, I> extends IInsertExecutor<C>, IUpdateExecu
 		
 	}
 	
+	/**
+	 * Mashup between {@link EntityCriteria} and {@link ExecutableSQL} to make a criteria-based delete executable
+	 * @param <C> type of deleted entities
+	 */
+	interface ExecutableBulkDelete<C> extends EntityCriteria<C>, ExecutableSQL {
+		
+		@Override
+		<O> ExecutableBulkDelete<C> and(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkDelete<C> and(SerializableBiConsumer<C, O> setter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkDelete<C> or(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkDelete<C> or(SerializableBiConsumer<C, O> setter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<A, B> ExecutableBulkDelete<C> and(SerializableFunction<C, A> getter1, SerializableFunction<A, B> getter2, AbstractRelationalOperator<B> operator);
+	}
+	
+	/**
+	 * Mashup between {@link EntityCriteria} and {@link ExecutableSQL} to make a criteria-based update executable
+	 * @param <C> type of updated entities
+	 */
+	interface ExecutableBulkUpdate<C> extends EntityCriteria<C>, ExecutableSQL {
+		
+		/**
+		 * Adds a property to be updated
+		 * 
+		 * @param getter a method reference to a getter
+		 * @param value new value of the property for all matching entities, can be null
+		 * @param <O> getter return type
+		 * @return this
+		 */
+		<O> ExecutableBulkUpdate<C> set(SerializableFunction<C, O> getter, O value);
+		
+		@Override
+		<O> ExecutableBulkUpdate<C> and(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkUpdate<C> and(SerializableBiConsumer<C, O> setter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkUpdate<C> or(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<O> ExecutableBulkUpdate<C> or(SerializableBiConsumer<C, O> setter, AbstractRelationalOperator<O> operator);
+		
+		@Override
+		<A, B> ExecutableBulkUpdate<C> and(SerializableFunction<C, A> getter1, SerializableFunction<A, B> getter2, AbstractRelationalOperator<B> operator);
+	}
+	
 	/**
 	 * Contract that allows to create some query criteria based on property accessors
 	 * 
@@ -30,6 +30,7 @@ import org.gama.stalactite.command.model.Insert;
 import org.gama.stalactite.command.model.Update;
 import org.gama.stalactite.persistence.engine.runtime.Persister;
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
+import org.gama.stalactite.persistence.sql.AdaptiveBatchSizeController;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
@@ -674,6 +675,11 @@ public class PersistenceContext implements PersisterRegistry {
 			return connectionConfiguration.getBatchSize();
 		}
 		
+		@Override
+		public AdaptiveBatchSizeController getBatchSizeController() {
+			return connectionConfiguration.getBatchSizeController();
+		}
+		
 		@Override
 		public void executeInNewTransaction(JdbcOperation jdbcOperation) {
 			separateTransactionExecutor
@@ -0,0 +1,390 @@
+package org.gama.stalactite.persistence.engine;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gama.lang.Duo;
+import org.gama.lang.Reflections;
+import org.gama.stalactite.persistence.engine.runtime.IConfiguredPersister;
+import org.gama.stalactite.persistence.structure.ForeignKey;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.CommitListener;
+import org.gama.stalactite.sql.CommitObserver;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.RollbackListener;
+import org.gama.stalactite.sql.RollbackObserver;
+
+/**
+ * Facade over a {@link PersistenceContext} that records insert, update and delete orders instead of executing them immediately. They are
+ * executed on {@link #flush()}, or just before transaction commit if {@link PersistenceContext} connection provider is a {@link CommitObserver}
+ * (which is the case by default).
+ *
+ * Flush groups orders per persister so that each of them is invoked once per kind of order with all its entities, hence benefiting from
+ * a maximal JDBC batch per table and statement. Persisters are invoked in an order that respects foreign keys of their main table
+ * ({@link Table#getForeignKeys()}) : inserts and updates are made from referenced tables to referencing ones, deletes in the reverse order.
+ * Tables that reference each other (cycle) are kept in recording order.
+ * Since deletes are executed last, the deletion of an entity that is followed by the insertion of an entity with same identifier is executed
+ * before all inserts, else the insert would violate primary key.
+ *
+ * Instances register to transaction when they record their first order, and are unregistered at its completion : they record again on next
+ * transaction. Orders that are not flushed when transaction is rolled back are forgotten.
+ *
+ * Instances are not thread-safe.
+ *
+ * @author Guillaume Mary
+ */
+public class UnitOfWork implements CommitListener {
+	
+	private final PersistenceContext persistenceContext;
+	
+	/** Pending orders per persister, in persister first-usage order */
+	private final Map<IEntityPersister, PendingOperations> pendingOperations = new LinkedHashMap<>();
+	
+	/** Indicates that this instance listens to current transaction, see {@link #registerToTransaction()} */
+	private boolean registered = false;
+	
+	/**
+	 * Creates a unit of work which will be flushed on commit of given {@link PersistenceContext} transactions
+	 *
+	 * @param persistenceContext the context giving persisters of entities
+	 */
+	public UnitOfWork(PersistenceContext persistenceContext) {
+		this.persistenceContext = persistenceContext;
+	}
+	
+	/**
+	 * Records given entity for insertion
+	 *
+	 * @param entity entity to be inserted
+	 * @return this
+	 */
+	public UnitOfWork insert(Object entity) {
+		return insert(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Records given entities for insertion
+	 *
+	 * @param entities entities to be inserted
+	 * @return this
+	 */
+	public UnitOfWork insert(Iterable<?> entities) {
+		entities.forEach(entity -> giveOperations(entity).recordInsertion(entity, false));
+		return this;
+	}
+	
+	/**
+	 * Records given entity for persistence : it will be inserted or updated according to {@link IEntityPersister#persist(Iterable)}
+	 *
+	 * @param entity entity to be persisted
+	 * @return this
+	 */
+	public UnitOfWork persist(Object entity) {
+		return persist(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Records given entities for persistence : they will be inserted or updated according to {@link IEntityPersister#persist(Iterable)}
+	 *
+	 * @param entities entities to be persisted
+	 * @return this
+	 */
+	public UnitOfWork persist(Iterable<?> entities) {
+		entities.forEach(entity -> giveOperations(entity).recordInsertion(entity, true));
+		return this;
+	}
+	
+	/**
+	 * Records given entity for update : it will be compared to its database state, see {@link IEntityPersister#update(Iterable)}
+	 *
+	 * @param entity entity to be updated
+	 * @return this
+	 */
+	public UnitOfWork update(Object entity) {
+		return update(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Records given entities for update : they will be compared to their database state, see {@link IEntityPersister#update(Iterable)}
+	 *
+	 * @param entities entities to be updated
+	 * @return this
+	 */
+	public UnitOfWork update(Iterable<?> entities) {
+		entities.forEach(entity -> giveOperations(entity).toBeUpdated.add(entity));
+		return this;
+	}
+	
+	/**
+	 * Records an entity for update by comparing it to a given state, see {@link IEntityPersister#update(Object, Object, boolean)}
+	 *
+	 * @param modified entity to be updated
+	 * @param unmodified entity state to compare to
+	 * @param <C> entity type
+	 * @return this
+	 */
+	public <C> UnitOfWork update(C modified, C unmodified) {
+		giveOperations(modified).differences.add(new Duo<>(modified, unmodified));
+		return this;
+	}
+	
+	/**
+	 * Records given entity for deletion
+	 *
+	 * @param entity entity to be deleted
+	 * @return this
+	 */
+	public UnitOfWork delete(Object entity) {
+		return delete(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Records given entities for deletion
+	 *
+	 * @param entities entities to be deleted
+	 * @return this
+	 */
+	public UnitOfWork delete(Iterable<?> entities) {
+		entities.forEach(entity -> giveOperations(entity).recordDeletion(entity));
+		return this;
+	}
+	
+	private PendingOperations giveOperations(Object entity) {
+		registerToTransaction();
+		return pendingOperations.computeIfAbsent(givePersister(entity.getClass()), PendingOperations::new);
+	}
+	
+	/**
+	 * Registers this instance to current transaction of {@link PersistenceContext} (if its connection provider is a {@link CommitObserver}) so
+	 * that it is flushed before commit. Registration is temporary : it is removed at transaction completion, so this instance doesn't stay
+	 * in observer listeners, and it is done again on next recorded order.
+	 */
+	private void registerToTransaction() {
+		ConnectionProvider connectionProvider = persistenceContext.getConnectionProvider();
+		if (!registered && connectionProvider instanceof CommitObserver) {
+			((CommitObserver) connectionProvider).addCommitListener(this);
+			if (connectionProvider instanceof RollbackObserver) {
+				((RollbackObserver) connectionProvider).addRollbackListener(new UnflushedOrdersCleaner());
+			}
+			registered = true;
+		}
+	}
+	
+	private IEntityPersister givePersister(Class<?> entityType) {
+		// entity may be an instance of a subclass of persisted type (polymorphism), so we look for the persister of its ancestors too
+		Class<?> type = entityType;
+		while (type != null) {
+			IEntityPersister persister = persistenceContext.getPersister(type);
+			if (persister != null) {
+				return persister;
+			}
+			type = type.getSuperclass();
+		}
+		throw new IllegalArgumentException("No persister found for " + Reflections.toString(entityType));
+	}
+	
+	/**
+	 * @return true if some orders are waiting for {@link #flush()}
+	 */
+	public boolean isDirty() {
+		return !pendingOperations.isEmpty();
+	}
+	
+	/**
+	 * Executes all recorded orders, grouped per persister and sorted according to foreign keys.
+	 * Recorded orders are forgotten, even if an error occurs.
+	 */
+	public void flush() {
+		List<PendingOperations> operations = sortByDependency(pendingOperations.values());
+		pendingOperations.clear();
+		for (int i = operations.size() - 1; i >= 0; i--) {
+			operations.get(i).deleteReplacedEntities();
+		}
+		operations.forEach(PendingOperations::insert);
+		operations.forEach(PendingOperations::update);
+		for (int i = operations.size() - 1; i >= 0; i--) {
+			operations.get(i).delete();
+		}
+	}
+	
+	/**
+	 * Sorts operations so that those of tables referenced by foreign keys come before those of referencing tables. Operations of persisters
+	 * that don't give their table, as well as those of tables in a cycle, keep their relative order.
+	 *
+	 * @param operations operations to be sorted
+	 * @return a new {@link List} of sorted operations
+	 */
+	private static List<PendingOperations> sortByDependency(Collection<PendingOperations> operations) {
+		Map<Table, List<PendingOperations>> operationsPerTable = new LinkedHashMap<>();
+		List<PendingOperations> result = new ArrayList<>(operations.size());
+		for (PendingOperations operation : operations) {
+			if (operation.persister instanceof IConfiguredPersister) {
+				Table table = ((IConfiguredPersister<?, ?>) operation.persister).getMappingStrategy().getTargetTable();
+				operationsPerTable.computeIfAbsent(table, k -> new ArrayList<>()).add(operation);
+			} else {
+				result.add(operation);
+			}
+		}
+		
+		Set<Table> sortedTables = new LinkedHashSet<>();
+		Set<Table> visitedTables = new HashSet<>();
+		operationsPerTable.keySet().forEach(table -> visit(table, visitedTables, sortedTables));
+		sortedTables.forEach(table -> result.addAll(operationsPerTable.getOrDefault(table, Collections.emptyList())));
+		return result;
+	}
+	
+	/**
+	 * Depth-first visit of tables referenced by given one, adding them to sorted ones before given one
+	 */
+	private static void visit(Table<?> table, Set<Table> visitedTables, Set<Table> sortedTables) {
+		// visited tables are marked before their dependencies visit so that a cycle doesn't cause infinite loop
+		if (visitedTables.add(table)) {
+			for (ForeignKey<?, ?> foreignKey : table.getForeignKeys()) {
+				visit(foreignKey.getTargetTable(), visitedTables, sortedTables);
+			}
+			sortedTables.add(table);
+		}
+	}
+	
+	/**
+	 * Implemented to flush pending orders before commit
+	 */
+	@Override
+	public void beforeCommit() {
+		flush();
+	}
+	
+	/**
+	 * Implemented to mark this instance as unregistered since it is removed from listeners at transaction completion (see {@link #isTemporary()})
+	 */
+	@Override
+	public void afterCommit() {
+		registered = false;
+	}
+	
+	/**
+	 * Implemented to remove this instance from transaction listeners at transaction completion, it registers again on next recorded order
+	 *
+	 * @return true
+	 */
+	@Override
+	public boolean isTemporary() {
+		return true;
+	}
+	
+	/**
+	 * Forgets orders that were not flushed when transaction is rolled back, because they belong to it
+	 */
+	private class UnflushedOrdersCleaner implements RollbackListener {
+		
+		@Override
+		public void beforeRollback() {
+			// nothing to do
+		}
+		
+		@Override
+		public void afterRollback() {
+			pendingOperations.clear();
+			registered = false;
+		}
+		
+		@Override
+		public void beforeRollback(Savepoint savepoint) {
+			// transaction is not over
+		}
+		
+		@Override
+		public void afterRollback(Savepoint savepoint) {
+			// transaction is not over
+		}
+		
+		@Override
+		public boolean isTemporary() {
+			return true;
+		}
+	}
+	
+	/**
+	 * Orders recorded for a persister
+	 */
+	private static class PendingOperations {
+		
+		private final IEntityPersister persister;
+		
+		private final List<Object> toBeInserted = new ArrayList<>();
+		private final List<Object> toBePersisted = new ArrayList<>();
+		private final List<Object> toBeUpdated = new ArrayList<>();
+		private final List<Duo<Object, Object>> differences = new ArrayList<>();
+		private final List<Object> toBeDeleted = new ArrayList<>();
+		/** Identifiers of entities of {@link #toBeDeleted}, to detect quickly entities that are inserted again */
+		private final Set<Object> deletedIds = new HashSet<>();
+		/** Deleted entities that are replaced by inserted ones with same identifier, hence they must be deleted before insertions */
+		private final List<Object> toBeDeletedFirst = new ArrayList<>();
+		
+		private PendingOperations(IEntityPersister persister) {
+			this.persister = persister;
+		}
+		
+		private void recordInsertion(Object entity, boolean persist) {
+			Object id = persister.getId(entity);
+			if (id != null && deletedIds.remove(id)) {
+				Iterator<Object> deletedEntities = toBeDeleted.iterator();
+				while (deletedEntities.hasNext()) {
+					Object deletedEntity = deletedEntities.next();
+					if (id.equals(persister.getId(deletedEntity))) {
+						deletedEntities.remove();
+						toBeDeletedFirst.add(deletedEntity);
+					}
+				}
+			}
+			(persist ? toBePersisted : toBeInserted).add(entity);
+		}
+		
+		private void recordDeletion(Object entity) {
+			toBeDeleted.add(entity);
+			Object id = persister.getId(entity);
+			if (id != null) {
+				deletedIds.add(id);
+			}
+		}
+		
+		private void deleteReplacedEntities() {
+			if (!toBeDeletedFirst.isEmpty()) {
+				persister.delete(toBeDeletedFirst);
+			}
+		}
+		
+		private void insert() {
+			if (!toBeInserted.isEmpty()) {
+				persister.insert(toBeInserted);
+			}
+			if (!toBePersisted.isEmpty()) {
+				persister.persist(toBePersisted);
+			}
+		}
+		
+		private void update() {
+			if (!toBeUpdated.isEmpty()) {
+				persister.update(toBeUpdated);
+			}
+			if (!differences.isEmpty()) {
+				persister.update(differences, true);
+			}
+		}
+		
+		private void delete() {
+			if (!toBeDeleted.isEmpty()) {
+				persister.delete(toBeDeleted);
+			}
+		}
+	}
+}
@@ -1,6 +1,10 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
+import javax.annotation.Nullable;
+
 import org.gama.stalactite.persistence.engine.VersioningStrategy;
+import org.gama.stalactite.persistence.engine.runtime.InsertExecutor.VersioningStrategyRollbackListener;
+import org.gama.stalactite.sql.CommitObserver;
 import org.gama.stalactite.sql.ConnectionProvider;
 import org.gama.stalactite.sql.RollbackObserver;
 import org.gama.stalactite.persistence.structure.Column;
@@ -15,6 +19,9 @@ abstract class AbstractRevertOnRollbackMVCC {
 	protected final VersioningStrategy versioningStrategy;
 	protected final Column versionColumn;
 	protected final RollbackObserver rollbackObserver;
+	/** Journal of upgraded entities, null if {@link #rollbackObserver} doesn't notify commit, because journal couldn't be emptied */
+	@Nullable
+	private final VersionRollbackJournal<Object> versionRollbackJournal;
 	
 	/**
 	 * Main constructor.
@@ -29,6 +36,7 @@ abstract class AbstractRevertOnRollbackMVCC {
 		this.versioningStrategy = versioningStrategy;
 		this.versionColumn = versionColumn;
 		this.rollbackObserver = rollbackObserver;
+		this.versionRollbackJournal = buildJournal(versioningStrategy, rollbackObserver);
 	}
 	
 	/**
@@ -48,6 +56,30 @@ abstract class AbstractRevertOnRollbackMVCC {
 					+ " that also implements " + RollbackObserver.class.getName());
 		}
 		this.rollbackObserver = (RollbackObserver) rollbackObserver;
+		this.versionRollbackJournal = buildJournal(versioningStrategy, this.rollbackObserver);
+	}
+	
+	@Nullable
+	private static VersionRollbackJournal<Object> buildJournal(VersioningStrategy versioningStrategy, RollbackObserver rollbackObserver) {
+		if (rollbackObserver instanceof CommitObserver) {
+			return new VersionRollbackJournal<>(versioningStrategy, (RollbackObserver & CommitObserver) rollbackObserver);
+		} else {
+			return null;
+		}
+	}
+	
+	/**
+	 * Registers the version of an entity before its upgrade so that it is reverted on rollback
+	 * 
+	 * @param entity an upgraded entity
+	 * @param previousVersion entity version before its upgrade
+	 */
+	protected void revertOnRollback(Object entity, Object previousVersion) {
+		if (versionRollbackJournal != null) {
+			versionRollbackJournal.add(entity, previousVersion);
+		} else {
+			rollbackObserver.addRollbackListener(new VersioningStrategyRollbackListener<>(versioningStrategy, entity, previousVersion));
+		}
 	}
 	
 }
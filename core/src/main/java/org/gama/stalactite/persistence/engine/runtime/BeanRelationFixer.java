@@ -6,7 +6,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 import org.gama.lang.Reflections;
@@ -138,6 +140,49 @@ public interface BeanRelationFixer<E, I> {
 		});
 	}
 	
+	/**
+	 * Shortcut to create a {@link BeanRelationFixer} for a relation where the attribute is a {@link List} which element positions are known
+	 * while fixing relation (as for indexed one-to-many relations) : input is put at its position, {@link List} being filled with nulls to reach it,
+	 * so that it doesn't need to be sorted afterward. Since nulls may remain for missing positions, {@code paddingListener} is notified of
+	 * {@link List}s that were filled with some, so that caller can remove them once all relations are fixed.
+	 *
+	 * @param setter the method that sets the {@link List} onto the target bean
+	 * @param getter the method that gets the {@link List} from the target bean
+	 * @param collectionFactory a supplier of an instance to fill the relation if it is null
+	 * @param reverseSetter the setter for the other side of the relation
+	 * @param indexProvider gives position of the input being fixed
+	 * @param paddingListener consumer of the {@link List}s that were filled with nulls
+	 * @return a {@link BeanRelationFixer} that will put the input in the List at its position and create the List if the getter returns null
+	 * @throws IllegalStateException if position is negative or already taken by another element
+	 */
+	static <E, I, C extends List<I>> BeanRelationFixer<E, I> ofIndexed(BiConsumer<E, C> setter, Function<E, C> getter, Supplier<C> collectionFactory,
+																	   BiConsumer<I, E> reverseSetter, IntSupplier indexProvider,
+																	   Consumer<? super C> paddingListener) {
+		return ofAdapter(setter, getter, collectionFactory, (target, input, list) -> {
+			int index = indexProvider.getAsInt();
+			if (index < 0) {
+				throw new IllegalStateException("Can't put " + input + " in List of " + target + " : index " + index + " is out of range");
+			}
+			if (list.size() <= index) {
+				if (list.size() < index) {
+					paddingListener.accept(list);
+				}
+				while (list.size() <= index) {
+					list.add(null);
+				}
+			}
+			I existingElement = list.get(index);
+			if (existingElement == null) {
+				list.set(index, input);
+			} else if (existingElement != input) {
+				throw new IllegalStateException("Can't put " + input + " in List of " + target + " : index " + index + " is already taken by "
+						+ existingElement);
+			}	// else input is already at its position (relation is fixed again), nothing to do
+			// bidirectional assignment
+			reverseSetter.accept(input, target);
+		});
+	}
+	
 	/**
 	 * Shortcut to create a {@link BeanRelationFixer} for a relation where the attribute is a {@link Collection}
 	 *
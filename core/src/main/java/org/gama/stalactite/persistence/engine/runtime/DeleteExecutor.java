@@ -67,7 +67,8 @@ public class DeleteExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 	public int delete(Iterable<C> entities) {
 		ColumnParameterizedSQL<T> deleteStatement = getDmlGenerator().buildDelete(getMappingStrategy().getTargetTable(), getMappingStrategy().getVersionedKeys());
 		WriteOperation<Column<T, Object>> writeOperation = newWriteOperation(deleteStatement, new CurrentConnectionProvider());
-		JDBCBatchingIterator<C> jdbcBatchingIterator = new JDBCBatchingIterator<>(entities, writeOperation, getBatchSize());
+		JDBCBatchingIterator<C> jdbcBatchingIterator = new JDBCBatchingIterator<>(entities, writeOperation, getBatchingIteratorStep())
+				.setBatchSizeController(getBatchSizeController());
 		RowCounter rowCounter = new RowCounter();
 		while(jdbcBatchingIterator.hasNext()) {
 			C c = jdbcBatchingIterator.next();
@@ -129,7 +130,8 @@ public class DeleteExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 		if (!parcels.isEmpty()) {
 			deleteStatement = getDmlGenerator().buildDeleteByKey(targetTable, pkColumns, blockSize);
 			WriteOperation<Column<T, Object>> writeOperation = newWriteOperation(deleteStatement, currentConnectionProvider);
-			JDBCBatchingIterator<List<I>> jdbcBatchingIterator = new JDBCBatchingIterator<>(parcels, writeOperation, getBatchSize());
+			JDBCBatchingIterator<List<I>> jdbcBatchingIterator = new JDBCBatchingIterator<>(parcels, writeOperation, getBatchingIteratorStep())
+					.setBatchSizeController(getBatchSizeController());
 			while(jdbcBatchingIterator.hasNext()) {
 				List<I> updateValues = jdbcBatchingIterator.next();
 				Map<Column<T, Object>, List<Object>> pkValues = new HashMap<>();
@@ -4,9 +4,12 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.gama.lang.Retryer;
 import org.gama.lang.StringAppender;
@@ -14,6 +17,7 @@ import org.gama.lang.collection.Iterables;
 import org.gama.stalactite.persistence.engine.IInsertExecutor;
 import org.gama.stalactite.persistence.engine.VersioningStrategy;
 import org.gama.stalactite.persistence.id.manager.IdentifierInsertionManager;
+import org.gama.stalactite.persistence.id.manager.JDBCGeneratedKeysIdentifierManager;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.sql.dml.ColumnParameterizedSQL;
@@ -76,16 +80,53 @@ public class InsertExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 		return writeOperation;
 	}
 	
-	@Override
-	public int insert(Iterable<? extends C> entities) {
+	private WriteOperation<Column<T, Object>> newInsertOperation() {
 		Set<Column<T, Object>> columns = getMappingStrategy().getInsertableColumns();
 		ColumnParameterizedSQL<T> insertStatement = getDmlGenerator().buildInsert(columns);
-		WriteOperation<Column<T, Object>> writeOperation = newWriteOperation(insertStatement, new CurrentConnectionProvider());
-		JDBCBatchingIterator<C> jdbcBatchingIterator = identifierInsertionManager.buildJDBCBatchingIterator(entities, writeOperation, getBatchSize());
+		return newWriteOperation(insertStatement, new CurrentConnectionProvider());
+	}
+	
+	@Override
+	public int insert(Iterable<? extends C> entities) {
+		return insert(entities, newInsertOperation(), (insertValues, c) -> {});
+	}
+	
+	/**
+	 * Inserts given entities as {@link #insert(Iterable)} does, but statements rejected by database (because of a constraint violation for
+	 * instance) don't make insertion fail : they are isolated from their batch, see {@link WriteOperation#setPartialBatchRetry(boolean)}, and
+	 * their entities are returned. Made for imports of data that may contain invalid rows.
+	 * Be aware that partial retry relies on savepoints, hence connection must not be in auto-commit mode.
+	 * 
+	 * @param entities entities to be inserted
+	 * @return entities rejected by database, in insertion order, empty if all were inserted
+	 * @throws UnsupportedOperationException if identifiers are generated by database, because generated keys can't be given back to
+	 * entities once some rows were rejected
+	 */
+	public List<C> insertSkippingRejected(Iterable<? extends C> entities) {
+		if (identifierInsertionManager instanceof JDBCGeneratedKeysIdentifierManager) {
+			throw new UnsupportedOperationException("Rejected rows can't be skipped when identifiers are generated by database");
+		}
+		WriteOperation<Column<T, Object>> writeOperation = newInsertOperation();
+		writeOperation.setPartialBatchRetry(true);
+		Map<Map<Column<T, Object>, ?>, C> entityPerValues = new IdentityHashMap<>();
+		insert(entities, writeOperation, entityPerValues::put);
+		return giveRejectedEntities(writeOperation, entityPerValues);
+	}
+	
+	/**
+	 * @param entities entities to be inserted
+	 * @param writeOperation the operation to be executed
+	 * @param batchedValuesConsumer consumer of the values added to batch for each entity
+	 * @return inserted row count
+	 */
+	private int insert(Iterable<? extends C> entities, WriteOperation<Column<T, Object>> writeOperation,
+					   BiConsumer<Map<Column<T, Object>, Object>, C> batchedValuesConsumer) {
+		JDBCBatchingIterator<C> jdbcBatchingIterator = identifierInsertionManager.buildJDBCBatchingIterator(entities, writeOperation, getBatchingIteratorStep())
+				.setBatchSizeController(getBatchSizeController());
 		
 		jdbcBatchingIterator.forEachRemaining(c -> {
 			try {
-				addToBatch(c, writeOperation);
+				batchedValuesConsumer.accept(addToBatch(c, writeOperation), c);
 			} catch (RuntimeException e) {
 				throw new RuntimeException("Error while inserting values for " + c, e);
 			}
@@ -93,11 +134,12 @@ public class InsertExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 		return jdbcBatchingIterator.getUpdatedRowCount();
 	}
 	
-	private void addToBatch(C c, WriteOperation<Column<T, Object>> writeOperation) {
+	private Map<Column<T, Object>, Object> addToBatch(C c, WriteOperation<Column<T, Object>> writeOperation) {
 		Map<Column<T, Object>, Object> insertValues = getMappingStrategy().getInsertValues(c);
 		assertMandatoryColumnsHaveNonNullValues(insertValues);
 		optimisticLockManager.manageLock(c, insertValues);
 		writeOperation.addBatch(insertValues);
+		return insertValues;
 	}
 	
 	private void assertMandatoryColumnsHaveNonNullValues(Map<Column<T, Object>, Object> insertValues) {
@@ -163,7 +205,7 @@ public class InsertExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 			this.versioningStrategy.upgrade(instance);
 			Object newVersion = versioningStrategy.getVersion(instance);
 			updateValues.put(versionColumn, newVersion);
-			rollbackObserver.addRollbackListener(new VersioningStrategyRollbackListener<>(versioningStrategy, instance, previousVersion));
+			revertOnRollback(instance, previousVersion);
 		}
 	}
 	
@@ -9,6 +9,7 @@ import java.util.Set;
 import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
 import org.gama.lang.Duo;
+import org.gama.lang.Reflections;
 import org.gama.lang.Retryer;
 import org.gama.lang.collection.Iterables;
 import org.gama.lang.exception.NotImplementedException;
@@ -22,6 +23,8 @@ import org.gama.stalactite.persistence.engine.listening.InsertListener;
 import org.gama.stalactite.persistence.engine.listening.PersisterListener;
 import org.gama.stalactite.persistence.engine.listening.SelectListener;
 import org.gama.stalactite.persistence.engine.listening.UpdateListener;
+import org.gama.stalactite.persistence.id.manager.AlreadyAssignedIdentifierManager;
+import org.gama.stalactite.persistence.id.manager.IdentifierInsertionManager;
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
 import org.gama.stalactite.persistence.mapping.SimpleIdMappingStrategy;
@@ -47,6 +50,7 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 	private final int inOperatorMaxSize;
 	private PersisterListener<C, I> persisterListener = new PersisterListener<>();
 	private final InsertExecutor<C, I, T> insertExecutor;
+	private final UpsertExecutor<C, I, T> upsertExecutor;
 	private final UpdateExecutor<C, I, T> updateExecutor;
 	private final DeleteExecutor<C, I, T> deleteExecutor;
 	private final ISelectExecutor<C, I> selectExecutor;
@@ -63,6 +67,8 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 		this.inOperatorMaxSize = dialect.getInOperatorMaxSize();
 		this.insertExecutor = newInsertExecutor(mappingStrategy, this.connectionConfiguration, dmlGenerator,
 				writeOperationRetryer, inOperatorMaxSize);
+		this.upsertExecutor = newUpsertExecutor(mappingStrategy, this.connectionConfiguration, dmlGenerator,
+				writeOperationRetryer, inOperatorMaxSize);
 		this.updateExecutor = newUpdateExecutor(mappingStrategy, this.connectionConfiguration, dmlGenerator,
 				writeOperationRetryer, inOperatorMaxSize);
 		this.deleteExecutor = newDeleteExecutor(mappingStrategy, this.connectionConfiguration, dmlGenerator,
@@ -85,6 +91,7 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 		this.writeOperationRetryer = writeOperationRetryer;
 		this.inOperatorMaxSize = inOperatorMaxSize;
 		this.insertExecutor = insertExecutor;
+		this.upsertExecutor = newUpsertExecutor(mappingStrategy, connectionConfiguration, dmlGenerator, writeOperationRetryer, inOperatorMaxSize);
 		this.updateExecutor = updateExecutor;
 		this.deleteExecutor = deleteExecutor;
 		this.selectExecutor = selectExecutor;
@@ -99,6 +106,15 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 				writeOperationRetryer, inOperatorMaxSize);
 	}
 	
+	protected UpsertExecutor<C, I, T> newUpsertExecutor(IEntityMappingStrategy<C, I, T> mappingStrategy,
+														IConnectionConfiguration connectionConfiguration,
+														DMLGenerator dmlGenerator,
+														Retryer writeOperationRetryer,
+														int inOperatorMaxSize) {
+		return new UpsertExecutor<>(mappingStrategy, connectionConfiguration, dmlGenerator,
+				writeOperationRetryer, inOperatorMaxSize);
+	}
+	
 	protected UpdateExecutor<C, I, T> newUpdateExecutor(IEntityMappingStrategy<C, I, T> mappingStrategy,
 														IConnectionConfiguration connectionProvider,
 													  DMLGenerator dmlGenerator,
@@ -186,6 +202,10 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 		return insertExecutor;
 	}
 	
+	public UpsertExecutor<C, I, T> getUpsertExecutor() {
+		return upsertExecutor;
+	}
+	
 	public UpdateExecutor<C, I, T> getUpdateExecutor() {
 		return updateExecutor;
 	}
@@ -227,6 +247,16 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 		throw new NotImplementedException("Not yet implemented");
 	}
 	
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		throw new NotImplementedException("Not yet implemented");
+	}
+	
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		throw new NotImplementedException("Not yet implemented");
+	}
+	
 	@Override
 	public void addInsertListener(InsertListener insertListener) {
 		getPersisterListener().addInsertListener(insertListener);
@@ -274,6 +304,29 @@ public class Persister<C, I, T extends Table> implements IConfiguredPersister<C,
 		return insertExecutor.insert(entities);
 	}
 	
+	/**
+	 * Inserts or updates given entities in a single statement per entity, without triggering any listener.
+	 * Only supported for entities with already-assigned identifier, which are marked as persisted afterward.
+	 * 
+	 * @param entities entities with an already-assigned identifier
+	 * @return written row count, as returned by JDBC driver
+	 * @throws UnsupportedOperationException if identifier is not already-assigned
+	 */
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		if (Iterables.isEmpty(entities)) {
+			return 0;
+		}
+		IdentifierInsertionManager<C, I> identifierInsertionManager = getMappingStrategy().getIdMappingStrategy().getIdentifierInsertionManager();
+		if (!(identifierInsertionManager instanceof AlreadyAssignedIdentifierManager)) {
+			throw new UnsupportedOperationException("Upsert is only supported for entities with already-assigned identifier, "
+					+ Reflections.toString(getClassToPersist()) + " identifier is managed by " + Reflections.toString(identifierInsertionManager.getClass()));
+		}
+		int writtenRowCount = upsertExecutor.upsert(entities);
+		entities.forEach(((AlreadyAssignedIdentifierManager<C, I>) identifierInsertionManager)::setPersistedFlag);
+		return writtenRowCount;
+	}
+	
 	/**
 	 * Updates roughly some entities: no differences are computed, only update statements (full column) are applied.
 	 * 
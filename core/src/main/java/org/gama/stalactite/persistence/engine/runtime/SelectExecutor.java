@@ -1,11 +1,13 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.gama.lang.collection.Collections;
@@ -18,6 +20,7 @@ import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.PrimaryKey;
 import org.gama.stalactite.persistence.structure.Table;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.ReadConnectionProvider;
 import org.gama.stalactite.sql.SimpleConnectionProvider;
 import org.gama.stalactite.sql.dml.ReadOperation;
 import org.gama.stalactite.sql.dml.SQLExecutionException;
@@ -55,27 +58,54 @@ public class SelectExecutor<C, I, T extends Table> extends DMLExecutor<C, I, T>
 			} else {
 				lastParcel = java.util.Collections.emptyList();
 			}
+			List<List<I>> fullParcels = parcels;
+			List<I> finalLastParcel = lastParcel;
 			// We ensure that the same Connection is used for all operations
-			ConnectionProvider localConnectionProvider = new SimpleConnectionProvider(getConnectionProvider().getCurrentConnection());
-			// We distinguish the default case where packets are of the same size from the (last) case where it's different
-			// So we can apply the same read operation to all the firsts packets
-			T targetTable = getMappingStrategy().getTargetTable();
-			Set<Column<T, Object>> columnsToRead = getMappingStrategy().getSelectableColumns();
-			InternalExecutor executor = new InternalExecutor();
-			if (!parcels.isEmpty()) {
-				ReadOperation<Column<T, Object>> defaultReadOperation = newReadOperation(targetTable, columnsToRead, blockSize, localConnectionProvider);
-				parcels.forEach(parcel -> result.addAll(executor.execute(defaultReadOperation, parcel)));
-			}
-			
-			// last packet treatment (packet size may be different)
-			if (!lastParcel.isEmpty()) {
-				ReadOperation<Column<T, Object>> lastReadOperation = newReadOperation(targetTable, columnsToRead, lastBlockSize, localConnectionProvider);
-				result.addAll(executor.execute(lastReadOperation, lastParcel));
-			}
+			doWithReadConnection(localConnectionProvider -> {
+				// We distinguish the default case where packets are of the same size from the (last) case where it's different
+				// So we can apply the same read operation to all the firsts packets
+				T targetTable = getMappingStrategy().getTargetTable();
+				Set<Column<T, Object>> columnsToRead = getMappingStrategy().getSelectableColumns();
+				InternalExecutor executor = new InternalExecutor();
+				if (!fullParcels.isEmpty()) {
+					ReadOperation<Column<T, Object>> defaultReadOperation = newReadOperation(targetTable, columnsToRead, blockSize, localConnectionProvider);
+					fullParcels.forEach(parcel -> result.addAll(executor.execute(defaultReadOperation, parcel)));
+				}
+				
+				// last packet treatment (packet size may be different)
+				if (!finalLastParcel.isEmpty()) {
+					ReadOperation<Column<T, Object>> lastReadOperation = newReadOperation(targetTable, columnsToRead, lastBlockSize, localConnectionProvider);
+					result.addAll(executor.execute(lastReadOperation, finalLastParcel));
+				}
+				return null;
+			});
 		}
 		return result;
 	}
 	
+	/**
+	 * Executes some reading code with a single {@link Connection} : a read one when connection provider is a {@link ReadConnectionProvider}
+	 * (which may route it to a replica), released at the end, else current one.
+	 * 
+	 * @param reader code that reads data through given {@link ConnectionProvider}
+	 * @param <O> result type
+	 * @return result of {@code reader}
+	 */
+	protected <O> O doWithReadConnection(Function<ConnectionProvider, O> reader) {
+		ConnectionProvider connectionProvider = getConnectionProvider();
+		if (connectionProvider instanceof ReadConnectionProvider) {
+			ReadConnectionProvider readConnectionProvider = (ReadConnectionProvider) connectionProvider;
+			Connection readConnection = readConnectionProvider.giveReadConnection();
+			try {
+				return reader.apply(new SimpleConnectionProvider(readConnection));
+			} finally {
+				readConnectionProvider.releaseReadConnection(readConnection);
+			}
+		} else {
+			return reader.apply(new SimpleConnectionProvider(connectionProvider.getCurrentConnection()));
+		}
+	}
+	
 	@SuppressWarnings("java:S2095")	// ReadOperation is close at execution time and is not used in this method
 	private ReadOperation<Column<T, Object>> newReadOperation(T targetTable, Set<Column<T, Object>> columnsToRead, int blockSize,
 												   ConnectionProvider connectionProvider) {
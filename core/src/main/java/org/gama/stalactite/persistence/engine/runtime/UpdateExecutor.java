@@ -1,5 +1,6 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -16,13 +17,13 @@ import org.gama.lang.function.Predicates;
 import org.gama.stalactite.persistence.engine.IUpdateExecutor;
 import org.gama.stalactite.persistence.engine.RowCountManager;
 import org.gama.stalactite.persistence.engine.VersioningStrategy;
-import org.gama.stalactite.persistence.engine.runtime.InsertExecutor.VersioningStrategyRollbackListener;
 import org.gama.stalactite.persistence.engine.RowCountManager.RowCounter;
 import org.gama.stalactite.persistence.engine.listening.UpdateListener;
 import org.gama.stalactite.persistence.engine.listening.UpdateListener.UpdatePayload;
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
 import org.gama.stalactite.persistence.mapping.IMappingStrategy.UpwhereColumn;
+import org.gama.stalactite.persistence.sql.AdaptiveBatchSizeController;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
 import org.gama.stalactite.persistence.sql.dml.PreparedUpdate;
@@ -98,7 +99,8 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 			PreparedUpdate<T> updateOperation = getDmlGenerator().buildUpdate(columnsToUpdate, getMappingStrategy().getVersionedKeys());
 			WriteOperation<UpwhereColumn<T>> writeOperation = newWriteOperation(updateOperation, new CurrentConnectionProvider());
 			
-			JDBCBatchingIterator<C> jdbcBatchingIterator = new JDBCBatchingIterator<>(entities, writeOperation, getBatchSize());
+			JDBCBatchingIterator<C> jdbcBatchingIterator = new JDBCBatchingIterator<>(entities, writeOperation, getBatchingIteratorStep())
+					.setBatchSizeController(getBatchSizeController());
 			while (jdbcBatchingIterator.hasNext()) {
 				C c = jdbcBatchingIterator.next();
 				Map<UpwhereColumn<T>, Object> updateValues = getMappingStrategy().getUpdateValues(c, null, true);
@@ -185,7 +187,7 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 				PreparedUpdate<T> preparedUpdate = getDmlGenerator().buildUpdate(columnsToUpdate, getMappingStrategy().getVersionedKeys());
 				WriteOperation<UpwhereColumn<T>> writeOperation = newWriteOperation(preparedUpdate, new CurrentConnectionProvider());
 				// Since all columns are updated we can benefit from JDBC batch
-				JDBCBatchingOperation<T> jdbcBatchingOperation = new JDBCBatchingOperation<>(writeOperation, getBatchSize());
+				JDBCBatchingOperation<T> jdbcBatchingOperation = new JDBCBatchingOperation<>(writeOperation, getBatchSize(writeOperation), getBatchSizeController());
 				return executeUpdate(toUpdate, new SingleJDBCBatchingOperation(jdbcBatchingOperation));
 			} else {
 				return 0;
@@ -231,16 +233,21 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 	 * Facility to trigger JDBC Batch when number of setted values is reached. Usefull for update statements.
 	 * Its principle is near to JDBCBatchingIterator but update methods have to compute differences on each couple so
 	 * they generate multiple statements according to differences, hence an Iterator is not a good candidate for design.
+	 * If an {@link AdaptiveBatchSizeController} is given, batch size is adapted after each batch execution.
 	 */
 	private static class JDBCBatchingOperation<T extends Table> {
 		private final WriteOperation<UpwhereColumn<T>> writeOperation;
-		private final int batchSize;
+		private int batchSize;
+		@Nullable
+		private final AdaptiveBatchSizeController batchSizeController;
 		private long stepCounter = 0;
 		private int updatedRowCount;
 		
-		private JDBCBatchingOperation(WriteOperation<UpwhereColumn<T>> writeOperation, int batchSize) {
+		private JDBCBatchingOperation(WriteOperation<UpwhereColumn<T>> writeOperation, int batchSize,
+									  @Nullable AdaptiveBatchSizeController batchSizeController) {
 			this.writeOperation = writeOperation;
 			this.batchSize = batchSize;
+			this.batchSizeController = batchSizeController;
 		}
 		
 		private void setValues(Map<UpwhereColumn<T>, Object> values) {
@@ -250,14 +257,22 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 		}
 		
 		private void executeBatchIfNecessary() {
-			if (stepCounter == batchSize) {
+			if (stepCounter >= batchSize) {
 				executeBatch();
 				stepCounter = 0;
 			}
 		}
 		
 		private void executeBatch() {
+			int batchedStatementCount = writeOperation.getBatchedStatementCount();
+			long payloadSize = writeOperation.getBatchedPayloadSize();
+			long start = System.nanoTime();
 			this.updatedRowCount += writeOperation.executeBatch();
+			if (batchSizeController != null && batchedStatementCount > 0) {
+				String sql = writeOperation.getSqlStatement().getSQL();
+				batchSizeController.onBatchExecuted(sql, batchedStatementCount, payloadSize, System.nanoTime() - start);
+				this.batchSize = batchSizeController.giveBatchSize(sql);
+			}
 		}
 		
 		public int getUpdatedRowCount() {
@@ -308,7 +323,8 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 			// cache for WriteOperation instances (key is Columns to be updated) for batch use
 			updateOperationCache = new ValueFactoryHashMap<>(input -> {
 				PreparedUpdate<T> preparedUpdate = getDmlGenerator().buildUpdate(UpwhereColumn.getUpdateColumns(input), getMappingStrategy().getVersionedKeys());
-				return new JDBCBatchingOperation<>(newWriteOperation(preparedUpdate, currentConnectionProvider), getBatchSize());
+				WriteOperation<UpwhereColumn<T>> writeOperation = newWriteOperation(preparedUpdate, currentConnectionProvider);
+				return new JDBCBatchingOperation<>(writeOperation, getBatchSize(writeOperation), getBatchSizeController());
 			});
 		}
 		
@@ -420,7 +436,7 @@ public class UpdateExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T
 			versioningStrategy.upgrade(modified);
 			updateValues.put(new UpwhereColumn<T>(versionColumn, true), versioningStrategy.getVersion(modified));
 			updateValues.put(new UpwhereColumn<T>(versionColumn, false), unmodifiedVersion);
-			rollbackObserver.addRollbackListener(new VersioningStrategyRollbackListener<>(versioningStrategy, modified, modifiedVersion));
+			revertOnRollback(modified, modifiedVersion);
 		}
 		
 	}
@@ -0,0 +1,57 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.gama.lang.Retryer;
+import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
+import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
+import org.gama.stalactite.persistence.sql.dml.ColumnParameterizedSQL;
+import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.dml.WriteOperation;
+
+/**
+ * Dedicated class to upsert statement execution : rows are inserted or updated in a single statement according to their key presence in
+ * database, see {@link DMLGenerator#buildUpsert(Iterable, java.util.Collection)} for SQL generation. Statements are batched the same way
+ * as {@link InsertExecutor} does.
+ *
+ * Because entities are written without knowing if they were inserted or updated, versioning is not managed, and since identifier must be
+ * part of written values, it only makes sense for entities with already-assigned identifier.
+ *
+ * @author Guillaume Mary
+ */
+public class UpsertExecutor<C, I, T extends Table> extends WriteExecutor<C, I, T> {
+	
+	public UpsertExecutor(IEntityMappingStrategy<C, I, T> mappingStrategy, IConnectionConfiguration connectionConfiguration,
+						  DMLGenerator dmlGenerator, Retryer writeOperationRetryer,
+						  int inOperatorMaxSize) {
+		super(mappingStrategy, connectionConfiguration, dmlGenerator, writeOperationRetryer, inOperatorMaxSize);
+	}
+	
+	/**
+	 * Inserts or updates given entities
+	 *
+	 * @param entities entities to be written, with an identifier
+	 * @return number of written rows, as given by JDBC driver : some of them (MySQL) count 2 for an updated row
+	 */
+	public int upsert(Iterable<? extends C> entities) {
+		Set<Column<T, Object>> columns = getMappingStrategy().getInsertableColumns();
+		Set<Column<T, Object>> keyColumns = getMappingStrategy().getTargetTable().getPrimaryKey().getColumns();
+		ColumnParameterizedSQL<T> upsertStatement = getDmlGenerator().buildUpsert(columns, keyColumns);
+		WriteOperation<Column<T, Object>> writeOperation = new WriteOperation<>(upsertStatement, new CurrentConnectionProvider(), getWriteOperationRetryer());
+		JDBCBatchingIterator<C> jdbcBatchingIterator = new JDBCBatchingIterator<C>(entities, writeOperation, getBatchingIteratorStep())
+				.setBatchSizeController(getBatchSizeController());
+		
+		jdbcBatchingIterator.forEachRemaining(c -> {
+			try {
+				Map<Column<T, Object>, Object> upsertValues = getMappingStrategy().getInsertValues(c);
+				writeOperation.addBatch(upsertValues);
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Error while upserting values for " + c, e);
+			}
+		});
+		return jdbcBatchingIterator.getUpdatedRowCount();
+	}
+}
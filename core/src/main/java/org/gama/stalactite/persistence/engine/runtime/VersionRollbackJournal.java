@@ -0,0 +1,143 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.sql.Savepoint;
+import java.util.Arrays;
+
+import org.gama.stalactite.persistence.engine.VersioningStrategy;
+import org.gama.stalactite.sql.CommitListener;
+import org.gama.stalactite.sql.CommitObserver;
+import org.gama.stalactite.sql.RollbackListener;
+import org.gama.stalactite.sql.RollbackObserver;
+
+/**
+ * Journal of entities upgraded by a {@link VersioningStrategy} during current transaction, in order to revert their version on rollback.
+ * Entities and their previous version are stored in 2 parallel arrays, hence overhead of a journaled entity is 2 array slots, whereas a dedicated
+ * {@link RollbackListener} per entity would cost an object plus a slot in listeners collection of the {@link RollbackObserver}.
+ *
+ * Journal registers itself once, at construction time, as a permanent {@link RollbackListener} and {@link CommitListener}. Its entries are kept
+ * per thread since a transaction is bound to a thread : commit or rollback only empties (or reverts) entries of the thread that triggers it,
+ * entities upgraded by other threads are left untouched. Hence commit and rollback are expected to be invoked from the thread that upgraded
+ * entities.
+ *
+ * On rollback, entries are reverted in reverse order so that an entity upgraded several times in a transaction gets back the version it had
+ * at transaction start. Rollback to a {@link Savepoint} keeps entries since we don't know which entities were upgraded after it : they will be
+ * reverted if whole transaction is rolled back.
+ *
+ * @param <C> entity type
+ * @author Guillaume Mary
+ */
+class VersionRollbackJournal<C> implements RollbackListener, CommitListener {
+	
+	private final VersioningStrategy<C, Object> versioningStrategy;
+	
+	/** Entries of transaction of current thread, absent if it didn't upgrade any entity */
+	private final ThreadLocal<Entries> currentEntries = new ThreadLocal<>();
+	
+	/**
+	 * Constructor
+	 *
+	 * @param versioningStrategy the strategy used to revert entities version
+	 * @param transactionObserver the notifier of commit and rollback, on which this instance registers itself
+	 * @param <O> a notifier of both commit and rollback
+	 */
+	<O extends RollbackObserver & CommitObserver> VersionRollbackJournal(VersioningStrategy<C, Object> versioningStrategy, O transactionObserver) {
+		this.versioningStrategy = versioningStrategy;
+		transactionObserver.addRollbackListener(this);
+		transactionObserver.addCommitListener(this);
+	}
+	
+	/**
+	 * Records the version of an entity before its upgrade
+	 *
+	 * @param entity an upgraded entity
+	 * @param previousVersion entity version before its upgrade
+	 */
+	void add(C entity, Object previousVersion) {
+		Entries entries = currentEntries.get();
+		if (entries == null) {
+			entries = new Entries();
+			currentEntries.set(entries);
+		}
+		entries.add(entity, previousVersion);
+	}
+	
+	/**
+	 * @return number of entries of current thread transaction
+	 */
+	int size() {
+		Entries entries = currentEntries.get();
+		return entries == null ? 0 : entries.size;
+	}
+	
+	@Override
+	public void beforeCommit() {
+		// nothing to do before commit
+	}
+	
+	@Override
+	public void afterCommit() {
+		// removing entries releases memory of large transactions
+		currentEntries.remove();
+	}
+	
+	@Override
+	public void beforeRollback() {
+		// no pre rollback treatment to do
+	}
+	
+	@Override
+	public void afterRollback() {
+		Entries entries = currentEntries.get();
+		if (entries != null) {
+			for (int i = entries.size - 1; i >= 0; i--) {
+				versioningStrategy.revert((C) entries.entities[i], entries.previousVersions[i]);
+			}
+			currentEntries.remove();
+		}
+	}
+	
+	@Override
+	public void beforeRollback(Savepoint savepoint) {
+		// not implemented
+	}
+	
+	@Override
+	public void afterRollback(Savepoint savepoint) {
+		// not implemented : we don't know which entities were upgraded after savepoint, they are kept for whole transaction rollback
+	}
+	
+	/**
+	 * Implemented to stay registered between transactions since entries are kept per thread
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean isTemporary() {
+		return false;
+	}
+	
+	/**
+	 * Entities upgraded in a transaction and their previous version, stored in parallel arrays
+	 */
+	private static class Entries {
+		
+		private static final int INITIAL_CAPACITY = 16;
+		
+		private Object[] entities = new Object[INITIAL_CAPACITY];
+		
+		private Object[] previousVersions = new Object[INITIAL_CAPACITY];
+		
+		private int size = 0;
+		
+		private void add(Object entity, Object previousVersion) {
+			if (size == entities.length) {
+				int newCapacity = size * 2;
+				entities = Arrays.copyOf(entities, newCapacity);
+				previousVersions = Arrays.copyOf(previousVersions, newCapacity);
+			}
+			entities[size] = entity;
+			previousVersions[size] = previousVersion;
+			size++;
+		}
+	}
+}
@@ -1,8 +1,14 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
 import org.gama.lang.Retryer;
+import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.SteppingIterator;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
+import org.gama.stalactite.persistence.sql.AdaptiveBatchSizeController;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
 import org.gama.stalactite.persistence.structure.Table;
@@ -16,6 +22,8 @@ import org.gama.stalactite.sql.dml.WriteOperation;
 public abstract class WriteExecutor<C, I, T extends Table> extends DMLExecutor<C, I, T> {
 	
 	private final int batchSize;
+	@Nullable
+	private final AdaptiveBatchSizeController batchSizeController;
 	private final Retryer writeOperationRetryer;
 	
 	public WriteExecutor(IEntityMappingStrategy<C, I, T> mappingStrategy,
@@ -23,6 +31,7 @@ public abstract class WriteExecutor<C, I, T extends Table> extends DMLExecutor<C
 						 int inOperatorMaxSize) {
 		super(mappingStrategy, connectionConfiguration.getConnectionProvider(), dmlGenerator, inOperatorMaxSize);
 		this.batchSize = connectionConfiguration.getBatchSize();
+		this.batchSizeController = connectionConfiguration.getBatchSizeController();
 		this.writeOperationRetryer = writeOperationRetryer;
 	}
 	
@@ -30,26 +39,107 @@ public abstract class WriteExecutor<C, I, T extends Table> extends DMLExecutor<C
 		return batchSize;
 	}
 	
+	/**
+	 * Gives batch size to be used for a statement : the one computed by {@link AdaptiveBatchSizeController} if any, else {@link #getBatchSize()}
+	 * 
+	 * @param writeOperation the operation to be batched
+	 * @return batch size for given operation SQL
+	 */
+	protected int getBatchSize(WriteOperation<?> writeOperation) {
+		return batchSizeController == null ? batchSize : batchSizeController.giveBatchSize(writeOperation.getSqlStatement().getSQL());
+	}
+	
+	/**
+	 * Gives the step of {@link JDBCBatchingIterator}s : batch size, or maximum batch size of {@link AdaptiveBatchSizeController} if any since
+	 * iterators then execute their batch as soon as it reaches its adapted size
+	 * 
+	 * @return step to be given to {@link JDBCBatchingIterator}s
+	 */
+	protected int getBatchingIteratorStep() {
+		return batchSizeController == null ? batchSize : batchSizeController.getMaxBatchSize();
+	}
+	
+	@Nullable
+	public AdaptiveBatchSizeController getBatchSizeController() {
+		return batchSizeController;
+	}
+	
 	public Retryer getWriteOperationRetryer() {
 		return writeOperationRetryer;
 	}
 	
+	/**
+	 * Gives the entities which statements were rejected by database while executing given operation in partial retry mode
+	 * (see {@link WriteOperation#setPartialBatchRetry(boolean)})
+	 * 
+	 * @param writeOperation an executed operation
+	 * @param entityPerValues entities per values given to {@link WriteOperation#addBatch(Map)}, expected to be based on identity
+	 * @param <E> entity type
+	 * @param <P> operation parameter type
+	 * @return entities of rejected statements, in execution order
+	 */
+	protected static <E, P> List<E> giveRejectedEntities(WriteOperation<P> writeOperation, Map<? extends Map<P, ?>, E> entityPerValues) {
+		return Iterables.collectToList(writeOperation.getRejectedStatements(), rejectedStatement -> entityPerValues.get(rejectedStatement.getValues()));
+	}
+	
 	/**
 	 * Iterator that triggers batch execution every batch size step.
 	 * Usefull for insert and delete statements.
+	 * If an {@link AdaptiveBatchSizeController} is given, batch is executed as soon as it reaches the size given by the controller for the
+	 * statement, which is updated after each execution, hence iterator step should be the maximum batch size of the controller.
 	 */
 	public static class JDBCBatchingIterator<E> extends SteppingIterator<E> {
 		private final WriteOperation writeOperation;
 		private int updatedRowCount;
+		@Nullable
+		private AdaptiveBatchSizeController batchSizeController;
+		/** Batch size given by {@link #batchSizeController} for current statement, updated after each batch execution */
+		private int adaptedBatchSize;
 		
 		public JDBCBatchingIterator(Iterable<? extends E> entities, WriteOperation writeOperation, int batchSize) {
 			super(entities, batchSize);
 			this.writeOperation = writeOperation;
 		}
 		
+		/**
+		 * Sets the controller that gives batch size and that is notified of batch executions
+		 * 
+		 * @param batchSizeController the controller to be notified, may be null
+		 * @return this
+		 */
+		public JDBCBatchingIterator<E> setBatchSizeController(@Nullable AdaptiveBatchSizeController batchSizeController) {
+			this.batchSizeController = batchSizeController;
+			if (batchSizeController != null) {
+				this.adaptedBatchSize = batchSizeController.giveBatchSize(writeOperation.getSqlStatement().getSQL());
+			}
+			return this;
+		}
+		
+		/**
+		 * Overriden to execute batch when it reaches its adapted size, which may be lower than iterator step
+		 */
+		@Override
+		public boolean hasNext() {
+			if (batchSizeController != null && writeOperation.getBatchedStatementCount() >= adaptedBatchSize) {
+				onStep();
+			}
+			return super.hasNext();
+		}
+		
 		@Override
 		protected void onStep() {
-			this.updatedRowCount += writeOperation.executeBatch();
+			int batchedStatementCount = writeOperation.getBatchedStatementCount();
+			if (batchSizeController == null) {
+				this.updatedRowCount += writeOperation.executeBatch();
+			} else if (batchedStatementCount > 0) {
+				// batch may have already been executed by hasNext()
+				long payloadSize = writeOperation.getBatchedPayloadSize();
+				long start = System.nanoTime();
+				this.updatedRowCount += writeOperation.executeBatch();
+				String sql = writeOperation.getSqlStatement().getSQL();
+				batchSizeController.onBatchExecuted(sql, batchedStatementCount, payloadSize, System.nanoTime() - start);
+				this.adaptedBatchSize = batchSizeController.giveBatchSize(sql);
+			}
 		}
 		
 		public WriteOperation getWriteOperation() {
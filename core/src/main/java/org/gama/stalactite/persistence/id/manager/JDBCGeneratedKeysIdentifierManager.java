@@ -117,6 +117,10 @@ public class JDBCGeneratedKeysIdentifierManager<T, I> implements IdentifierInser
 		
 		@Override
 		public void onStep() {
+			if (elementsOfStep.isEmpty()) {
+				// batch was already executed (adaptive batch size flushes it before step end), there's no key to be read
+				return;
+			}
 			super.onStep();
 			try {
 				List<I> rows = generatedKeysReader.read(getWriteOperation());
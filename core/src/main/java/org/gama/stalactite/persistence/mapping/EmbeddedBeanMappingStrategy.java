@@ -6,12 +6,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.gama.lang.Duo;
 import org.gama.lang.Reflections;
@@ -54,9 +56,12 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 	/** Acts as a cache of updatable properties, could be dynamically deduced from {@link #propertyToColumn} and {@link #updatableColumns} */
 	private final Map<IReversibleAccessor<C, Object>, Column<T, Object>> updatableProperties;
 	
-	private final ToBeanRowTransformer<C> rowTransformer;
+	private final EmbeddedBeanRowTransformer rowTransformer;
 	
-	private DefaultValueDeterminer defaultValueDeterminer = new DefaultValueDeterminer() {};
+	/** Marker of the default {@link DefaultValueDeterminer}, which allows {@link RowApplicationPlan} to precompute default value checks */
+	private static final DefaultValueDeterminer DEFAULT_VALUE_DETERMINER = new DefaultValueDeterminer() {};
+	
+	private DefaultValueDeterminer defaultValueDeterminer = DEFAULT_VALUE_DETERMINER;
 	
 	/**
 	 * Columns (and their value provider) which are not officially mapped by a bean property.
@@ -72,6 +77,12 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 	
 	private final ValueAccessPointSet propertiesSetByConstructor = new ValueAccessPointSet();
 	
+	/**
+	 * Lazily computed from row transformer mapping, {@link #defaultValueDeterminer} and {@link #propertiesSetByConstructor}, reset when one
+	 * of them changes. Shared by all copies of the row transformer because they all have same mapping. 
+	 */
+	private RowApplicationPlan rowApplicationPlan;
+	
 	/**
 	 * Build a EmbeddedBeanMappingStrategy from a mapping between Field and Column.
 	 * Fields are expected to be from same class.
@@ -167,6 +178,7 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 	 */
 	public void setDefaultValueDeterminer(DefaultValueDeterminer defaultValueDeterminer) {
 		this.defaultValueDeterminer = defaultValueDeterminer;
+		this.rowApplicationPlan = null;
 	}
 	
 	@Override
@@ -195,6 +207,7 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 	@Override
 	public void addPropertySetByConstructor(ValueAccessPoint accessor) {
 		this.propertiesSetByConstructor.add(accessor);
+		this.rowApplicationPlan = null;
 	}
 	
 	@Nonnull
@@ -296,35 +309,34 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 			// Algorithm is a little bit complex due to embedded beans into this embedded one and the fact that we may not instanciate them
 			// if all of their attributes has default values in current row : because instanciation is done silently by AccessorChainMutator
 			// (the object that let us set embedded bean attributes) we have to check the need of their invokation before ... their invokation.
-			// Therefore we keep a boolean indicating if their values are default ones (if true its means that bean shouldn't be instanciated)
-			// per accessor to this bean. Example : with the mappings "Person::getTimestamp, Timestamp::setCreationDate" and
-			// "Person::getTimestamp, Timestamp::setModificationDate", then we keep a boolean per "Person::getTimestamp" saying that if one of
-			// creationDate and modificationDate is not null then we should instanciate Timestamp, if both are null then not. 
-			Map<Entry<Column, IMutator>, Object> beanValues = new HashMap<>();
-			Map<IAccessor, MutableBoolean> valuesAreDefaultOnes = new HashMap<>();
-			for (Entry<Column, IMutator> columnFieldEntry : getColumnToMember().entrySet()) {
-				Object propertyValue = getColumnedRow().getValue(columnFieldEntry.getKey(), values);
-				beanValues.put(columnFieldEntry, propertyValue);
-				boolean valueIsDefault = EmbeddedBeanMappingStrategy.this.defaultValueDeterminer.isDefaultValue(
-						new Duo<>(columnFieldEntry.getKey(), columnFieldEntry.getValue()), propertyValue);
-				if (columnFieldEntry.getValue() instanceof AccessorChainMutator) {
-					IAccessor valuesAreDefaultOnesKey = (IAccessor) ((AccessorChainMutator) columnFieldEntry.getValue()).getAccessors().get(0);
-					MutableBoolean mutableBoolean = valuesAreDefaultOnes.computeIfAbsent(valuesAreDefaultOnesKey, k -> new MutableBoolean(true));
-					mutableBoolean.and(valueIsDefault);
-				}
+			// Therefore columns are grouped per accessor to their embedded bean and a group is applied only if one of its values is not a
+			// default one. Example : with the mappings "Person::getTimestamp, Timestamp::setCreationDate" and
+			// "Person::getTimestamp, Timestamp::setModificationDate", then if one of creationDate and modificationDate is not null then we
+			// should instanciate Timestamp, if both are null then not.
+			// Grouping is computed once (see RowApplicationPlan) so that this method doesn't allocate anything per row.
+			RowApplicationPlan plan = giveRowApplicationPlan();
+			ColumnedRow columnedRow = getColumnedRow();
+			// columns directly mapped on this bean are always applied
+			for (int i = 0; i < plan.directColumnCount; i++) {
+				applyValueToBean(plan, i, targetRowBean, columnedRow.getValue(plan.columns[i], values));
 			}
-			// we apply values only if one of them is not a default one, because if all values are default one there's no reason that we create the bean
-			beanValues.forEach((mapping, value) -> {
-				if (mapping.getValue() instanceof AccessorChainMutator) {
-					IAccessor valuesAreDefaultOnesKey = (IAccessor) ((AccessorChainMutator) mapping.getValue()).getAccessors().get(0);
-					boolean valueIsDefault = valuesAreDefaultOnes.get(valuesAreDefaultOnesKey).value();
-					if (!valueIsDefault) {
-						applyValueToBean(targetRowBean, mapping, value);
+			int[] groupBoundaries = plan.groupBoundaries;
+			for (int groupIndex = 0; groupIndex < groupBoundaries.length - 1; groupIndex++) {
+				int groupStart = groupBoundaries[groupIndex];
+				int groupEnd = groupBoundaries[groupIndex + 1];
+				if (!plan.allValuesAreDefaultOnes(groupStart, groupEnd, values, columnedRow)) {
+					for (int i = groupStart; i < groupEnd; i++) {
+						applyValueToBean(plan, i, targetRowBean, columnedRow.getValue(plan.columns[i], values));
 					}
-				} else {
-					applyValueToBean(targetRowBean, mapping, value);
 				}
-			});
+			}
+		}
+		
+		private void applyValueToBean(RowApplicationPlan plan, int columnIndex, C targetRowBean, Object propertyValue) {
+			// we skip properties set by constructor
+			if (!plan.setByConstructor[columnIndex]) {
+				plan.mutators[columnIndex].set(targetRowBean, propertyValue);
+			}
 		}
 		
 		@Override
@@ -335,23 +347,6 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 			}
 		}
 		
-		private class MutableBoolean {
-			
-			private boolean value;
-			
-			private MutableBoolean(boolean value) {
-				this.value = value;
-			}
-			
-			public boolean value() {
-				return value;
-			}
-			
-			public void and(boolean otherValue) {
-				this.value &= otherValue;
-			}
-		}
-		
 		@Override
 		public EmbeddedBeanRowTransformer copyWithAliases(ColumnedRow columnedRow) {
 			return new EmbeddedBeanRowTransformer(beanFactory,
@@ -363,6 +358,107 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 		}
 	}
 	
+	private RowApplicationPlan giveRowApplicationPlan() {
+		RowApplicationPlan result = this.rowApplicationPlan;
+		if (result == null) {
+			// no need of synchronization here since computation is idempotent and plan is immutable
+			result = new RowApplicationPlan(rowTransformer.getColumnToMember(), defaultValueDeterminer, propertiesSetByConstructor);
+			this.rowApplicationPlan = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Precomputed way of applying {@link Row} values to a bean : columns are ordered so that the ones directly mapped on the bean come
+	 * first, then the ones of embedded beans are grouped per accessor to the embedded bean, hence a group can be skipped when all of its
+	 * values are default ones. Default value checks as well as "set by constructor" flags are also computed once for all.
+	 */
+	private static class RowApplicationPlan {
+		
+		private final Column[] columns;
+		
+		private final IMutator[] mutators;
+		
+		private final boolean[] setByConstructor;
+		
+		/** Default value checks, only filled for embedded bean columns (the ones after {@link #directColumnCount}) */
+		private final Predicate<Object>[] defaultValueCheckers;
+		
+		/** Columns directly mapped on bean are at the beginning of arrays, up to this (exclusive) index */
+		private final int directColumnCount;
+		
+		/** Start index of each group of embedded bean columns, last element is the length of arrays (exclusive end of last group) */
+		private final int[] groupBoundaries;
+		
+		private RowApplicationPlan(Map<Column, IMutator> columnToMember,
+								   DefaultValueDeterminer defaultValueDeterminer,
+								   ValueAccessPointSet propertiesSetByConstructor) {
+			List<Entry<Column, IMutator>> directMappings = new ArrayList<>();
+			Map<IAccessor, List<Entry<Column, IMutator>>> mappingsPerEmbeddedBean = new LinkedHashMap<>();
+			columnToMember.entrySet().forEach(entry -> {
+				if (entry.getValue() instanceof AccessorChainMutator) {
+					IAccessor embeddedBeanAccessor = (IAccessor) ((AccessorChainMutator) entry.getValue()).getAccessors().get(0);
+					mappingsPerEmbeddedBean.computeIfAbsent(embeddedBeanAccessor, k -> new ArrayList<>()).add(entry);
+				} else {
+					directMappings.add(entry);
+				}
+			});
+			
+			int columnCount = columnToMember.size();
+			this.columns = new Column[columnCount];
+			this.mutators = new IMutator[columnCount];
+			this.setByConstructor = new boolean[columnCount];
+			this.defaultValueCheckers = new Predicate[columnCount];
+			this.directColumnCount = directMappings.size();
+			this.groupBoundaries = new int[mappingsPerEmbeddedBean.size() + 1];
+			
+			int columnIndex = 0;
+			for (Entry<Column, IMutator> mapping : directMappings) {
+				fill(columnIndex++, mapping, propertiesSetByConstructor);
+			}
+			int groupIndex = 0;
+			for (List<Entry<Column, IMutator>> embeddedBeanMappings : mappingsPerEmbeddedBean.values()) {
+				groupBoundaries[groupIndex++] = columnIndex;
+				for (Entry<Column, IMutator> mapping : embeddedBeanMappings) {
+					defaultValueCheckers[columnIndex] = buildDefaultValueChecker(mapping, defaultValueDeterminer);
+					fill(columnIndex++, mapping, propertiesSetByConstructor);
+				}
+			}
+			groupBoundaries[groupIndex] = columnIndex;
+		}
+		
+		private void fill(int columnIndex, Entry<Column, IMutator> mapping, ValueAccessPointSet propertiesSetByConstructor) {
+			columns[columnIndex] = mapping.getKey();
+			mutators[columnIndex] = mapping.getValue();
+			setByConstructor[columnIndex] = propertiesSetByConstructor.contains(mapping.getValue());
+		}
+		
+		private static Predicate<Object> buildDefaultValueChecker(Entry<Column, IMutator> mapping, DefaultValueDeterminer defaultValueDeterminer) {
+			if (defaultValueDeterminer == DEFAULT_VALUE_DETERMINER) {
+				// default behavior only depends on property type, so we can avoid its computation for each row
+				Class inputType = Accessors.giveInputType(mapping.getValue());
+				return value -> isDefaultValue(inputType, value);
+			} else {
+				Duo<Column, IMutator> mappedProperty = new Duo<>(mapping.getKey(), mapping.getValue());
+				return value -> defaultValueDeterminer.isDefaultValue(mappedProperty, value);
+			}
+		}
+		
+		private boolean allValuesAreDefaultOnes(int groupStart, int groupEnd, Row row, ColumnedRow columnedRow) {
+			for (int i = groupStart; i < groupEnd; i++) {
+				if (!defaultValueCheckers[i].test(columnedRow.getValue(columns[i], row))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+	
+	private static boolean isDefaultValue(Class inputType, Object value) {
+		return (!inputType.isPrimitive() && value == null)
+				|| (inputType.isPrimitive() && Reflections.PRIMITIVE_DEFAULT_VALUES.get(inputType) == value);
+	}
+	
 	/**
 	 * Small constract that helps to determine if a value is a default one for a bean property.
 	 * Aimed at deciding if embedded beans must be instanciated or not according to row values (from {@link java.sql.ResultSet}
@@ -381,9 +477,7 @@ public class EmbeddedBeanMappingStrategy<C, T extends Table> implements IEmbedde
 		 */
 		default boolean isDefaultValue(Duo<Column, IMutator> mappedProperty, Object value) {
 			// we consider accessor type as more fine grained than Column one, hence we check default value with it
-			Class inputType = Accessors.giveInputType(mappedProperty.getRight());
-			return (!inputType.isPrimitive() && value == null)
-					|| (inputType.isPrimitive() && Reflections.PRIMITIVE_DEFAULT_VALUES.get(inputType) == value);
+			return EmbeddedBeanMappingStrategy.isDefaultValue(Accessors.giveInputType(mappedProperty.getRight()), value);
 		}
 		
 	}
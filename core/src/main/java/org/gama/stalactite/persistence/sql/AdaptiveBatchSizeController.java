@@ -0,0 +1,162 @@
+package org.gama.stalactite.persistence.sql;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes JDBC batch size per statement by observing batch executions : batch size of a statement is increased by a fixed step while its
+ * executions are faster than a target duration, and is halved as soon as one is slower (additive-increase / multiplicative-decrease algorithm).
+ * Thus each statement converges to its own batch size : narrow tables get large batches whereas tables with large columns (blobs for instance)
+ * get smaller ones. Batch size of a statement always stays between configured bounds.
+ * A maximum payload per batch can also be set with {@link #setMaxBatchPayloadSize(long)} : batch size is then also limited so that batches
+ * don't exceed it, according to the average payload of statements of last batch, hence rows with large values are sent in smaller batches
+ * before they slow down the database.
+ *
+ * Statements are identified by their SQL, which represents their shape (table and columns).
+ * Current values can be read with {@link #getBatchSizes()}, for monitoring purpose for instance.
+ *
+ * Instances are thread-safe.
+ *
+ * @author Guillaume Mary
+ * @see IConnectionConfiguration#getBatchSizeController()
+ */
+public class AdaptiveBatchSizeController {
+	
+	private final int minBatchSize;
+	
+	private final int maxBatchSize;
+	
+	private final long targetDurationNanos;
+	
+	private final int increaseStep;
+	
+	/** Maximum estimated size of batch values, in bytes, 0 means no limit */
+	private long maxBatchPayloadSize = 0;
+	
+	private final Map<String, Integer> batchSizePerStatement = new ConcurrentHashMap<>();
+	
+	/**
+	 * Creates a controller that starts every statement with minimum batch size and increases it by the same amount.
+	 *
+	 * @param minBatchSize batch size lower bound, must be positive
+	 * @param maxBatchSize batch size upper bound, must be greater than or equal to minimum one
+	 * @param targetDuration batch execution duration beyond which batch size is decreased
+	 * @param targetDurationUnit unit of targetDuration
+	 */
+	public AdaptiveBatchSizeController(int minBatchSize, int maxBatchSize, long targetDuration, TimeUnit targetDurationUnit) {
+		this(minBatchSize, maxBatchSize, targetDuration, targetDurationUnit, minBatchSize);
+	}
+	
+	/**
+	 * Creates a controller that starts every statement with minimum batch size.
+	 *
+	 * @param minBatchSize batch size lower bound, must be positive
+	 * @param maxBatchSize batch size upper bound, must be greater than or equal to minimum one
+	 * @param targetDuration batch execution duration beyond which batch size is decreased
+	 * @param targetDurationUnit unit of targetDuration
+	 * @param increaseStep amount added to batch size when execution is faster than target duration, must be positive
+	 */
+	public AdaptiveBatchSizeController(int minBatchSize, int maxBatchSize, long targetDuration, TimeUnit targetDurationUnit, int increaseStep) {
+		if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+			throw new IllegalArgumentException("Batch size bounds are expected to be positive and ordered : " + minBatchSize + " vs " + maxBatchSize);
+		}
+		if (increaseStep < 1) {
+			throw new IllegalArgumentException("Batch size increase step is expected to be positive : " + increaseStep);
+		}
+		this.minBatchSize = minBatchSize;
+		this.maxBatchSize = maxBatchSize;
+		this.targetDurationNanos = targetDurationUnit.toNanos(targetDuration);
+		this.increaseStep = increaseStep;
+	}
+	
+	public int getMinBatchSize() {
+		return minBatchSize;
+	}
+	
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+	
+	/**
+	 * Sets the maximum estimated size of values of a batch (see {@link org.gama.stalactite.sql.dml.WriteOperation#getBatchedPayloadSize()}).
+	 * Batch size is still never lower than minimum batch size.
+	 * 
+	 * @param maxBatchPayloadSize a number of bytes, 0 for no limit (default)
+	 * @return this
+	 */
+	public AdaptiveBatchSizeController setMaxBatchPayloadSize(long maxBatchPayloadSize) {
+		if (maxBatchPayloadSize < 0) {
+			throw new IllegalArgumentException("Batch payload size limit is expected to be positive : " + maxBatchPayloadSize);
+		}
+		this.maxBatchPayloadSize = maxBatchPayloadSize;
+		return this;
+	}
+	
+	public long getMaxBatchPayloadSize() {
+		return maxBatchPayloadSize;
+	}
+	
+	/**
+	 * Gives batch size to be used for a statement
+	 *
+	 * @param sql statement SQL
+	 * @return current batch size of statement, minimum one if statement was never executed
+	 */
+	public int giveBatchSize(String sql) {
+		return batchSizePerStatement.getOrDefault(sql, minBatchSize);
+	}
+	
+	/**
+	 * Adapts batch size of a statement according to one of its batch execution, without taking payload into account.
+	 *
+	 * @param sql statement SQL
+	 * @param statementCount number of statements in executed batch
+	 * @param durationNanos batch execution duration, in nanoseconds
+	 * @see #onBatchExecuted(String, int, long, long)
+	 */
+	public void onBatchExecuted(String sql, int statementCount, long durationNanos) {
+		onBatchExecuted(sql, statementCount, 0, durationNanos);
+	}
+	
+	/**
+	 * Adapts batch size of a statement according to one of its batch execution.
+	 * Batch size is only increased if executed batch was full, because a smaller batch doesn't tell anything about current size efficiency.
+	 * When a maximum payload is set, batch size is also limited to the number of statements that fit in it, computed from the average payload
+	 * of executed ones.
+	 *
+	 * @param sql statement SQL
+	 * @param statementCount number of statements in executed batch
+	 * @param payloadSize estimated size of executed batch values, 0 if unknown
+	 * @param durationNanos batch execution duration, in nanoseconds
+	 */
+	public void onBatchExecuted(String sql, int statementCount, long payloadSize, long durationNanos) {
+		batchSizePerStatement.compute(sql, (k, currentSize) -> {
+			int batchSize = currentSize == null ? minBatchSize : currentSize;
+			int result;
+			if (durationNanos > targetDurationNanos) {
+				result = batchSize / 2;
+			} else if (statementCount >= batchSize) {
+				result = batchSize + increaseStep;
+			} else {
+				result = batchSize;
+			}
+			if (maxBatchPayloadSize != 0 && payloadSize > 0 && statementCount > 0) {
+				long fittingStatementCount = maxBatchPayloadSize * statementCount / payloadSize;
+				result = (int) Math.min(result, fittingStatementCount);
+			}
+			return Math.max(minBatchSize, Math.min(maxBatchSize, result));
+		});
+	}
+	
+	/**
+	 * Gives current batch size of executed statements
+	 *
+	 * @return a copy of current batch size per statement SQL, sorted by SQL
+	 */
+	public Map<String, Integer> getBatchSizes() {
+		return Collections.unmodifiableMap(new TreeMap<>(batchSizePerStatement));
+	}
+}
@@ -5,6 +5,8 @@ import java.sql.SQLException;
 import java.util.List;
 
 import org.gama.lang.collection.Iterables;
+import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
+import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
 import org.gama.stalactite.sql.binder.DefaultParameterBinders;
 import org.gama.stalactite.sql.dml.GeneratedKeysReader;
 import org.gama.stalactite.sql.dml.WriteOperation;
@@ -14,6 +16,11 @@ import org.gama.stalactite.sql.dml.WriteOperation;
  */
 public class DerbyDialect extends Dialect {
 	
+	@Override
+	protected DMLGenerator newDmlGenerator(ColumnBinderRegistry columnBinderRegistry) {
+		return new DerbyDMLGenerator(columnBinderRegistry);
+	}
+	
 	/**
 	 * Overriden to return dedicated Derby generated keys reader because Derby as a special management
 	 * <strong>Only supports Integer</strong>
@@ -47,4 +54,19 @@ public class DerbyDialect extends Dialect {
 			return rows;
 		}
 	}
+	
+	public static class DerbyDMLGenerator extends DMLGenerator {
+		
+		public DerbyDMLGenerator(ColumnBinderRegistry columnBinderRegistry) {
+			super(columnBinderRegistry);
+		}
+		
+		/**
+		 * Overriden because Derby "merge" source can't be a "values" clause
+		 */
+		@Override
+		protected String getMergeSource() {
+			return "SYSIBM.SYSDUMMY1";
+		}
+	}
 }
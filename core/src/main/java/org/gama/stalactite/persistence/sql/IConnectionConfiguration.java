@@ -1,5 +1,7 @@
 package org.gama.stalactite.persistence.sql;
 
+import javax.annotation.Nullable;
+
 import org.gama.stalactite.sql.ConnectionProvider;
 
 /**
@@ -13,6 +15,16 @@ public interface IConnectionConfiguration {
 	
 	int getBatchSize();
 	
+	/**
+	 * Gives the controller of batch size per statement. When present, {@link #getBatchSize()} is only used as a hint (list initial size for instance)
+	 * 
+	 * @return null if batch size is fixed to {@link #getBatchSize()}, which is the default
+	 */
+	@Nullable
+	default AdaptiveBatchSizeController getBatchSizeController() {
+		return null;
+	}
+	
 	/**
 	 * Default implementation of {@link IConnectionConfiguration} that keeps and gives values provided at instanciation time
 	 * 
@@ -22,10 +34,27 @@ public interface IConnectionConfiguration {
 		
 		private final ConnectionProvider connectionProvider;
 		private final int batchSize;
+		@Nullable
+		private final AdaptiveBatchSizeController batchSizeController;
 		
 		public ConnectionConfigurationSupport(ConnectionProvider connectionProvider, int batchSize) {
+			this(connectionProvider, batchSize, null);
+		}
+		
+		/**
+		 * Constructor for adaptive batch size : {@link #getBatchSize()} will return maximum batch size of given controller
+		 * 
+		 * @param connectionProvider the provider of JDBC connection
+		 * @param batchSizeController the controller of batch size per statement
+		 */
+		public ConnectionConfigurationSupport(ConnectionProvider connectionProvider, AdaptiveBatchSizeController batchSizeController) {
+			this(connectionProvider, batchSizeController.getMaxBatchSize(), batchSizeController);
+		}
+		
+		public ConnectionConfigurationSupport(ConnectionProvider connectionProvider, int batchSize, @Nullable AdaptiveBatchSizeController batchSizeController) {
 			this.connectionProvider = connectionProvider;
 			this.batchSize = batchSize;
+			this.batchSizeController = batchSizeController;
 		}
 		
 		@Override
@@ -37,5 +66,11 @@ public interface IConnectionConfiguration {
 		public int getBatchSize() {
 			return batchSize;
 		}
+		
+		@Nullable
+		@Override
+		public AdaptiveBatchSizeController getBatchSizeController() {
+			return batchSizeController;
+		}
 	}
 }
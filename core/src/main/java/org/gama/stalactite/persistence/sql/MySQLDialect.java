@@ -3,29 +3,40 @@ package org.gama.stalactite.persistence.sql;
 import javax.annotation.Nonnull;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.gama.lang.Retryer;
 import org.gama.lang.StringAppender;
 import org.gama.lang.collection.Arrays;
+import org.gama.lang.collection.Iterables;
 import org.gama.lang.exception.Exceptions;
+import org.gama.stalactite.persistence.sql.ddl.DDLAppender;
 import org.gama.stalactite.persistence.sql.ddl.DDLTableGenerator;
 import org.gama.stalactite.persistence.sql.ddl.JavaTypeToSqlTypeMapping;
+import org.gama.stalactite.persistence.sql.dml.ColumnParameterizedSQL;
+import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
 import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.ForeignKey;
 import org.gama.stalactite.persistence.structure.Index;
 import org.gama.stalactite.persistence.structure.Table;
 import org.gama.stalactite.query.builder.DMLNameProvider;
+import org.gama.stalactite.sql.binder.ParameterBinder;
+
+import static org.gama.stalactite.sql.dml.ExpandableSQL.ExpandableParameter.SQL_PARAMETER_MARK_1;
 
 /**
  * Dialect specialization for MySQL:
  * - drop foreign key SQL statement
  * - null on timestamp column else current time is default value
  * - Retryer to handle "lock wait timeout" that appears sometimes even is low concurrency
+ * - "insert ... on duplicate key update" for upsert statements
  * 
  * @author Guillaume Mary
  */
@@ -55,6 +66,11 @@ public class MySQLDialect extends Dialect {
 		return new MySQLDDLTableGenerator(getJavaTypeToSqlTypeMapping());
 	}
 	
+	@Override
+	protected DMLGenerator newDmlGenerator(ColumnBinderRegistry columnBinderRegistry) {
+		return new MySQLDMLGenerator(columnBinderRegistry);
+	}
+	
 	public static class MySQLTypeMapping extends DefaultTypeMapping {
 		
 		public MySQLTypeMapping() {
@@ -100,6 +116,44 @@ public class MySQLDialect extends Dialect {
 		}
 	}
 	
+	public static class MySQLDMLGenerator extends DMLGenerator {
+		
+		public MySQLDMLGenerator(ColumnBinderRegistry columnBinderRegistry) {
+			super(columnBinderRegistry);
+		}
+		
+		/**
+		 * Overriden to generate an "insert ... on duplicate key update" order since MySQL doesn't support "merge"
+		 */
+		@Override
+		public <T extends Table> ColumnParameterizedSQL<T> buildUpsert(Iterable<? extends Column<T, Object>> columns, Collection<? extends Column<T, Object>> keyColumns) {
+			columns = (Iterable<? extends Column<T, Object>>) sort(columns);
+			Table table = Iterables.first(columns).getTable();
+			DDLAppender sqlInsert = new DDLAppender(dmlNameProvider, "insert into ", table, "(");
+			sqlInsert.ccat(columns, ", ");
+			sqlInsert.cat(") values (");
+			Map<Column<T, Object>, int[]> columnToIndex = new HashMap<>();
+			Map<Column<T, Object>, ParameterBinder> parameterBinders = new HashMap<>();
+			int positionCounter = 1;
+			for (Column<T, Object> column : columns) {
+				sqlInsert.cat(SQL_PARAMETER_MARK_1);
+				columnToIndex.put(column, new int[] { positionCounter++ });
+				parameterBinders.put(column, columnBinderRegistry.getBinder(column));
+			}
+			sqlInsert.cutTail(2).cat(") on duplicate key update ");
+			List<Column<T, Object>> updatedColumns = giveNonKeyColumns(columns, keyColumns);
+			if (updatedColumns.isEmpty()) {
+				// MySQL requires at least one assignment : rewriting a key with itself doesn't modify the row
+				updatedColumns = Collections.singletonList(Iterables.first(keyColumns));
+			}
+			for (Column<T, Object> column : updatedColumns) {
+				sqlInsert.cat(column, " = values(", column, "), ");
+			}
+			sqlInsert.cutTail(2);
+			return new ColumnParameterizedSQL<>(sqlInsert.toString(), columnToIndex, parameterBinders);
+		}
+	}
+	
 	public static class MySQLDMLNameProvier extends DMLNameProvider {
 		
 		/** MySQL keywords to be escape. TODO: to be completed */
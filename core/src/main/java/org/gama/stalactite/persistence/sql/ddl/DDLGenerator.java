@@ -49,6 +49,10 @@ public class DDLGenerator implements DDLProvider {
 		this.ddlTableGenerator = ddlTableGenerator;
 	}
 	
+	public Set<Table> getTables() {
+		return tables;
+	}
+	
 	public void setTables(Set<Table> tables) {
 		this.tables = tables;
 	}
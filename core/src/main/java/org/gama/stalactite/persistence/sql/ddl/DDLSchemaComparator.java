@@ -0,0 +1,142 @@
+package org.gama.stalactite.persistence.sql.ddl;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.gama.lang.Strings;
+import org.gama.lang.collection.Collections;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.ForeignKey;
+import org.gama.stalactite.persistence.structure.Index;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
+
+/**
+ * Compares mapped {@link Table}s to the schema of a live database, read through JDBC {@link DatabaseMetaData}, to generate only the scripts
+ * that make the database match the mapping : creation of missing tables, addition of missing columns, foreign keys and indexes.
+ * Elements are compared by their name, case-insensitively because databases generally store unquoted names in upper case. Database tables
+ * are looked up in current catalog and schema of the {@link Connection}.
+ *
+ * Nothing is dropped nor altered : database elements that are not mapped are left untouched, as well as columns whose type or nullability
+ * differs from mapping, because such changes may lose data and are better managed by hand.
+ *
+ * @author Guillaume Mary
+ * @see org.gama.stalactite.persistence.engine.DDLDeployer#getUpdateScripts()
+ */
+public class DDLSchemaComparator {
+	
+	private final DDLTableGenerator ddlTableGenerator;
+	
+	public DDLSchemaComparator(DDLTableGenerator ddlTableGenerator) {
+		this.ddlTableGenerator = ddlTableGenerator;
+	}
+	
+	/**
+	 * Gives the scripts to be executed on the database of given {@link Connection} so that it contains given tables.
+	 * Scripts are ordered as {@link DDLGenerator} does : tables creation and columns addition first, then foreign keys, then indexes.
+	 *
+	 * @param tables mapped tables
+	 * @param connection connection to the database to be compared to tables
+	 * @return scripts creating missing elements, empty if database is up to date
+	 */
+	public List<String> generateUpdateScripts(Collection<Table> tables, Connection connection) {
+		List<String> tableScripts = new ArrayList<>();
+		List<String> foreignKeysScripts = new ArrayList<>();
+		List<String> indexesScripts = new ArrayList<>();
+		try {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String catalog = connection.getCatalog();
+			String schema = connection.getSchema();
+			String searchStringEscape = metaData.getSearchStringEscape();
+			Map<String, String> existingTableNames = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			readNames(metaData.getTables(catalog, schema, "%", new String[] { "TABLE" }), "TABLE_NAME")
+					.forEach(name -> existingTableNames.put(name, name));
+			
+			for (Table<?> table : tables) {
+				String existingTableName = existingTableNames.get(table.getName());
+				if (existingTableName == null) {
+					tableScripts.add(ddlTableGenerator.generateCreateTable(table));
+					table.getForeignKeys().forEach(foreignKey -> foreignKeysScripts.add(ddlTableGenerator.generateCreateForeignKey(foreignKey)));
+					table.getIndexes().forEach(index -> indexesScripts.add(ddlTableGenerator.generateCreateIndex(index)));
+				} else {
+					Set<String> existingColumnNames = readNames(metaData.getColumns(catalog, schema,
+							escapeSearchPattern(existingTableName, searchStringEscape), "%"), "COLUMN_NAME");
+					for (Column column : table.getColumns()) {
+						if (!existingColumnNames.contains(column.getName())) {
+							tableScripts.add(ddlTableGenerator.generateAddColumn(column));
+						}
+					}
+					Set<String> existingForeignKeyNames = readNames(metaData.getImportedKeys(catalog, schema, existingTableName), "FK_NAME");
+					for (ForeignKey foreignKey : table.getForeignKeys()) {
+						if (!existingForeignKeyNames.contains(foreignKey.getName())) {
+							foreignKeysScripts.add(ddlTableGenerator.generateCreateForeignKey(foreignKey));
+						}
+					}
+					Set<String> existingIndexNames = readNames(metaData.getIndexInfo(catalog, schema, existingTableName, false, false), "INDEX_NAME");
+					for (Index index : table.getIndexes()) {
+						if (!existingIndexNames.contains(index.getName())) {
+							indexesScripts.add(ddlTableGenerator.generateCreateIndex(index));
+						}
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new SQLExecutionException(e);
+		}
+		// foreign keys must be after table scripts, index is fine tuning
+		return Collections.cat(tableScripts, foreignKeysScripts, indexesScripts);
+	}
+	
+	/**
+	 * Escapes the wildcard characters ('_' and '%') of a name so that it can be given as an exact value to {@link DatabaseMetaData} methods
+	 * that expect a pattern : without it, "Owner_targets" would also match "OwnerXtargets" for instance.
+	 *
+	 * @param name a table name
+	 * @param searchStringEscape escape string given by {@link DatabaseMetaData#getSearchStringEscape()}
+	 * @return given name with its wildcard characters escaped, unchanged if driver doesn't support escaping
+	 */
+	static String escapeSearchPattern(String name, @Nullable String searchStringEscape) {
+		if (Strings.isEmpty(searchStringEscape)) {
+			return name;
+		}
+		StringBuilder result = new StringBuilder(name.length());
+		for (char c : name.toCharArray()) {
+			if (c == '_' || c == '%') {
+				result.append(searchStringEscape);
+			}
+			result.append(c);
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * Reads a column of a {@link DatabaseMetaData} {@link ResultSet} and closes it
+	 *
+	 * @param resultSet a {@link ResultSet} coming from a {@link DatabaseMetaData} method
+	 * @param columnName column containing names
+	 * @return the (non null) names, compared case-insensitively
+	 * @throws SQLException if reading fails
+	 */
+	private static Set<String> readNames(ResultSet resultSet, String columnName) throws SQLException {
+		Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		try (ResultSet closeableResultSet = resultSet) {
+			while (closeableResultSet.next()) {
+				String name = closeableResultSet.getString(columnName);
+				if (name != null) {
+					result.add(name);
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -1,9 +1,11 @@
 package org.gama.stalactite.persistence.sql.dml;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
 
@@ -36,11 +38,11 @@ public class DMLGenerator {
 	
 	private static final String EQUAL_SQL_PARAMETER_MARK_AND = " = " + SQL_PARAMETER_MARK + " and ";
 	
-	private final ParameterBinderIndex<Column, ParameterBinder> columnBinderRegistry;
+	protected final ParameterBinderIndex<Column, ParameterBinder> columnBinderRegistry;
 	
 	private ISorter<Iterable<? extends Column>> columnSorter;
 	
-	private final DMLNameProvider dmlNameProvider;
+	protected final DMLNameProvider dmlNameProvider;
 	
 	public DMLGenerator(ParameterBinderIndex<Column, ParameterBinder> columnBinderRegistry) {
 		this(columnBinderRegistry, NoopSorter.INSTANCE);
@@ -216,7 +218,79 @@ public class DMLGenerator {
 		return new ColumnParameterizedSelect<>(sqlSelect.toString(), columnToIndex, parameterBinders, selectParameterBinders);
 	}
 	
-	private Iterable<? extends Column> sort(Iterable<? extends Column> columns) {
+	/**
+	 * Creates a SQL statement order for inserting some data in a table or updating it if its key already exists (so called "upsert").
+	 * Default implementation generates a SQL:2003 "merge" order which values are put directly in its "on", "update" and "insert" clauses,
+	 * so each column is present twice in statement. Its source is a single-row table given by {@link #getMergeSource()}.
+	 * Signature is made so that only columns of the same table can be used.
+	 * Dialects that don't support "merge" are expected to override this method.
+	 *
+	 * @param columns columns that must be inserted or updated, including key ones, at least 1 element
+	 * @param keyColumns columns that identify a row, expected to be part of {@code columns}
+	 * @param <T> table type
+	 * @return a (kind of) prepared statement parameterized by {@link Column}
+	 */
+	public <T extends Table> ColumnParameterizedSQL<T> buildUpsert(Iterable<? extends Column<T, Object>> columns, Collection<? extends Column<T, Object>> keyColumns) {
+		columns = (Iterable<? extends Column<T, Object>>) sort(columns);
+		Table table = Iterables.first(columns).getTable();
+		DDLAppender sqlMerge = new DDLAppender(dmlNameProvider, "merge into ", table, " using ", getMergeSource(), " on ");
+		Map<Column<T, Object>, int[]> columnToIndex = new HashMap<>();
+		Map<Column<T, Object>, ParameterBinder> parameterBinders = new HashMap<>();
+		ModifiableInt positionCounter = new ModifiableInt();
+		for (Column<T, Object> keyColumn : keyColumns) {
+			sqlMerge.cat(dmlNameProvider.getName(keyColumn), EQUAL_SQL_PARAMETER_MARK_AND);
+			columnToIndex.put(keyColumn, new int[] { positionCounter.increment(), 0 });
+		}
+		sqlMerge.cutTail(5);
+		List<Column<T, Object>> nonKeyColumns = giveNonKeyColumns(columns, keyColumns);
+		if (!nonKeyColumns.isEmpty()) {
+			sqlMerge.cat(" when matched then update set ");
+			for (Column<T, Object> column : nonKeyColumns) {
+				sqlMerge.cat(column, " = " + SQL_PARAMETER_MARK_1);
+				columnToIndex.put(column, new int[] { positionCounter.increment(), 0 });
+			}
+			sqlMerge.cutTail(2);
+		}
+		sqlMerge.cat(" when not matched then insert (").ccat(columns, ", ").cat(") values (");
+		for (Column<T, Object> column : columns) {
+			sqlMerge.cat(SQL_PARAMETER_MARK_1);
+			// second index of each column is the one of the insert clause
+			columnToIndex.computeIfAbsent(column, k -> new int[2])[1] = positionCounter.increment();
+			parameterBinders.put(column, columnBinderRegistry.getBinder(column));
+		}
+		sqlMerge.cutTail(2).cat(")");
+		return new ColumnParameterizedSQL<>(sqlMerge.toString(), columnToIndex, parameterBinders);
+	}
+	
+	/**
+	 * Gives the single-row table used as source of "merge" statement, see {@link #buildUpsert(Iterable, Collection)}
+	 * 
+	 * @return a table expression with exactly one row
+	 */
+	protected String getMergeSource() {
+		return "(values (0)) as src(dummy)";
+	}
+	
+	/**
+	 * Gives columns that are not part of given keys, keeping their order
+	 * 
+	 * @param columns some columns
+	 * @param keyColumns key columns to be excluded
+	 * @param <T> table type
+	 * @return a new {@link List} of columns absent from {@code keyColumns}
+	 */
+	protected <T extends Table> List<Column<T, Object>> giveNonKeyColumns(Iterable<? extends Column<T, Object>> columns,
+																		  Collection<? extends Column<T, Object>> keyColumns) {
+		List<Column<T, Object>> result = new ArrayList<>();
+		for (Column<T, Object> column : columns) {
+			if (!keyColumns.contains(column)) {
+				result.add(column);
+			}
+		}
+		return result;
+	}
+	
+	protected Iterable<? extends Column> sort(Iterable<? extends Column> columns) {
 		return this.columnSorter.sort(columns);
 	}
 	
@@ -1,8 +1,8 @@
 package org.gama.stalactite.query.model;
 
+import java.util.Iterator;
 import java.util.Map;
 
-import org.gama.lang.reflect.MethodDispatcher;
 import org.gama.stalactite.persistence.structure.Table;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.query.builder.SQLQueryBuilder;
@@ -35,56 +35,19 @@ public class Query implements FromAware, WhereAware, HavingAware, OrderByAware,
 	
 	public Query() {
 		this.selectSurrogate = new Select();
-		this.select = new MethodDispatcher()
-				.redirect(SelectChain.class, selectSurrogate, true)
-				.redirect(FromAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentSelect.class);
+		this.select = new FluentSelectSupport();
 		this.fromSurrogate = new From();
-		this.from = new MethodDispatcher()
-				.redirect(JoinChain.class, fromSurrogate, true)
-				.redirect(WhereAware.class, this)
-				.redirect(GroupByAware.class, this)
-				.redirect(OrderByAware.class, this)
-				.redirect(LimitAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentFrom.class);
+		this.from = new FluentFromSupport();
 		this.whereSurrogate = new Where();
-		this.where = new MethodDispatcher()
-				.redirect(CriteriaChain.class, whereSurrogate, true)
-				.redirect(Iterable.class, whereSurrogate)
-				.redirect(GroupByAware.class, this)
-				.redirect(OrderByAware.class, this)
-				.redirect(LimitAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentWhere.class);
+		this.where = new FluentWhereSupport();
 		this.groupBySurrogate = new GroupBy();
-		this.groupBy = new MethodDispatcher()
-				.redirect(GroupByChain.class, groupBySurrogate, true)
-				.redirect(HavingAware.class, this)
-				.redirect(OrderByAware.class, this)
-				.redirect(LimitAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentGroupBy.class);
+		this.groupBy = new FluentGroupBySupport();
 		this.havingSurrogate = new Having();
-		this.having = new MethodDispatcher()
-				.redirect(CriteriaChain.class, havingSurrogate, true)
-				.redirect(OrderByAware.class, this)
-				.redirect(LimitAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentHaving.class);
+		this.having = new FluentHavingSupport();
 		this.orderBySurrogate = new OrderBy();
-		this.orderBy = new MethodDispatcher()
-				.redirect(OrderByChain.class, orderBySurrogate, true)
-				.redirect(LimitAware.class, this)
-				.redirect(QueryProvider.class, this)
-				.build(FluentOrderBy.class);
+		this.orderBy = new FluentOrderBySupport();
 		this.limitSurrogate = new Limit();
-		this.limit = new MethodDispatcher()
-				.redirect(LimitChain.class, limitSurrogate, true)
-				.redirect(QueryProvider.class, this)
-				.build(FluentLimit.class);
-		
+		this.limit = new FluentLimitSupport();
 	}
 	
 	public FluentSelect getSelect() {
@@ -301,4 +264,430 @@ public class Query implements FromAware, WhereAware, HavingAware, OrderByAware,
 	public interface FluentLimit extends LimitChain<FluentLimit>, QueryProvider {
 		
 	}
+	
+	/*
+	 * Implementations of fluent interfaces : they redirect their chain methods to matching surrogate and other ones to this query.
+	 * Made as simple classes (instead of proxies) because queries are built very often and fluent methods invoked a lot.
+	 */
+	
+	private class QueryProviderSupport implements QueryProvider {
+		
+		@Override
+		public Query getQuery() {
+			return Query.this;
+		}
+	}
+	
+	private class LimitAwareSupport extends QueryProviderSupport implements LimitAware {
+		
+		@Override
+		public LimitChain limit(int value) {
+			return Query.this.limit(value);
+		}
+	}
+	
+	private class OrderByAwareSupport extends LimitAwareSupport implements OrderByAware {
+		
+		@Override
+		public FluentOrderBy orderBy(Column column, Order order) {
+			return Query.this.orderBy(column, order);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(Column col1, Order order1, Column col2, Order order2) {
+			return Query.this.orderBy(col1, order1, col2, order2);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(Column col1, Order order1, Column col2, Order order2, Column col3, Order order3) {
+			return Query.this.orderBy(col1, order1, col2, order2, col3, order3);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(String column, Order order) {
+			return Query.this.orderBy(column, order);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(String col1, Order order1, String col2, Order order2) {
+			return Query.this.orderBy(col1, order1, col2, order2);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(String col1, Order order1, String col2, Order order2, String col3, Order order3) {
+			return Query.this.orderBy(col1, order1, col2, order2, col3, order3);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(Column column, Column... columns) {
+			return Query.this.orderBy(column, columns);
+		}
+		
+		@Override
+		public FluentOrderBy orderBy(String column, String... columns) {
+			return Query.this.orderBy(column, columns);
+		}
+	}
+	
+	private class GroupByAwareSupport extends OrderByAwareSupport implements GroupByAware {
+		
+		@Override
+		public FluentGroupBy groupBy(Column column, Column... columns) {
+			return Query.this.groupBy(column, columns);
+		}
+		
+		@Override
+		public FluentGroupBy groupBy(String column, String... columns) {
+			return Query.this.groupBy(column, columns);
+		}
+	}
+	
+	private class FluentSelectSupport extends QueryProviderSupport implements FluentSelect {
+		
+		@Override
+		public FluentSelect add(Object selectable, Object... selectables) {
+			selectSurrogate.add(selectable, selectables);
+			return this;
+		}
+		
+		@Override
+		public FluentSelect add(Column column, String alias) {
+			selectSurrogate.add(column, alias);
+			return this;
+		}
+		
+		@Override
+		public FluentSelect add(Map<Column, String> aliasedColumns) {
+			selectSurrogate.add(aliasedColumns);
+			return this;
+		}
+		
+		@Override
+		public FluentSelect distinct() {
+			selectSurrogate.distinct();
+			return this;
+		}
+		
+		@Override
+		public FluentFrom from(Table leftTable) {
+			return Query.this.from(leftTable);
+		}
+		
+		@Override
+		public FluentFrom from(Table leftTable, String alias) {
+			return Query.this.from(leftTable, alias);
+		}
+		
+		@Override
+		public FluentFrom from(Table leftTable, Table rightTable, String joinCondition) {
+			return Query.this.from(leftTable, rightTable, joinCondition);
+		}
+		
+		@Override
+		public FluentFrom from(Table leftTable, String leftTableAlias, Table rightTable, String rightTableAlias, String joinCondition) {
+			return Query.this.from(leftTable, leftTableAlias, rightTable, rightTableAlias, joinCondition);
+		}
+		
+		@Override
+		public FluentFrom from(Column leftColumn, Column rightColumn) {
+			return Query.this.from(leftColumn, rightColumn);
+		}
+		
+		@Override
+		public FluentFrom fromLeftOuter(Column leftColumn, Column rightColumn) {
+			return Query.this.fromLeftOuter(leftColumn, rightColumn);
+		}
+		
+		@Override
+		public FluentFrom fromRightOuter(Column leftColumn, Column rightColumn) {
+			return Query.this.fromRightOuter(leftColumn, rightColumn);
+		}
+	}
+	
+	private class FluentFromSupport extends GroupByAwareSupport implements FluentFrom {
+		
+		@Override
+		public FluentFrom innerJoin(Column leftColumn, Column rightColumn) {
+			fromSurrogate.innerJoin(leftColumn, rightColumn);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom leftOuterJoin(Column leftColumn, Column rightColumn) {
+			fromSurrogate.leftOuterJoin(leftColumn, rightColumn);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom rightOuterJoin(Column leftColumn, Column rightColumn) {
+			fromSurrogate.rightOuterJoin(leftColumn, rightColumn);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom innerJoin(Table leftTable, Table rightTable, String joinClause) {
+			fromSurrogate.innerJoin(leftTable, rightTable, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom innerJoin(Table leftTable, String leftTableAlias, Table rigTable, String rightTableAlias, String joinClause) {
+			fromSurrogate.innerJoin(leftTable, leftTableAlias, rigTable, rightTableAlias, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom leftOuterJoin(Table leftTable, Table rigTable, String joinClause) {
+			fromSurrogate.leftOuterJoin(leftTable, rigTable, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom leftOuterJoin(Table leftTable, String leftTableAlias, Table rigTable, String rightTableAlias, String joinClause) {
+			fromSurrogate.leftOuterJoin(leftTable, leftTableAlias, rigTable, rightTableAlias, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom rightOuterJoin(Table leftTable, Table rigTable, String joinClause) {
+			fromSurrogate.rightOuterJoin(leftTable, rigTable, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom rightOuterJoin(Table leftTable, String leftTableAlias, Table rigTable, String rightTableAlias, String joinClause) {
+			fromSurrogate.rightOuterJoin(leftTable, leftTableAlias, rigTable, rightTableAlias, joinClause);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom crossJoin(Table table) {
+			fromSurrogate.crossJoin(table);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom crossJoin(Table table, String tableAlias) {
+			fromSurrogate.crossJoin(table, tableAlias);
+			return this;
+		}
+		
+		@Override
+		public FluentFrom setAlias(Table table, String alias) {
+			fromSurrogate.setAlias(table, alias);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere where(Column column, CharSequence condition) {
+			return Query.this.where(column, condition);
+		}
+		
+		@Override
+		public FluentWhere where(Column column, AbstractRelationalOperator condition) {
+			return Query.this.where(column, condition);
+		}
+		
+		@Override
+		public FluentWhere where(Criteria criteria) {
+			return Query.this.where(criteria);
+		}
+	}
+	
+	private class FluentWhereSupport extends GroupByAwareSupport implements FluentWhere {
+		
+		@Override
+		public FluentWhere and(Column column, CharSequence condition) {
+			whereSurrogate.and(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere or(Column column, CharSequence condition) {
+			whereSurrogate.or(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere and(Column column, AbstractRelationalOperator condition) {
+			whereSurrogate.and(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere or(Column column, AbstractRelationalOperator condition) {
+			whereSurrogate.or(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere and(Criteria criteria) {
+			whereSurrogate.and(criteria);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere or(Criteria criteria) {
+			whereSurrogate.or(criteria);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere and(Object... columns) {
+			whereSurrogate.and(columns);
+			return this;
+		}
+		
+		@Override
+		public FluentWhere or(Object... columns) {
+			whereSurrogate.or(columns);
+			return this;
+		}
+		
+		@Override
+		public Iterator<AbstractCriterion> iterator() {
+			return whereSurrogate.iterator();
+		}
+	}
+	
+	private class FluentGroupBySupport extends OrderByAwareSupport implements FluentGroupBy {
+		
+		@Override
+		public FluentGroupBy add(Column column, Column... columns) {
+			groupBySurrogate.add(column, columns);
+			return this;
+		}
+		
+		@Override
+		public FluentGroupBy add(String column, String... columns) {
+			groupBySurrogate.add(column, columns);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving having(Column column, String condition) {
+			return Query.this.having(column, condition);
+		}
+		
+		@Override
+		public FluentHaving having(Object... columns) {
+			return Query.this.having(columns);
+		}
+	}
+	
+	private class FluentHavingSupport extends OrderByAwareSupport implements FluentHaving {
+		
+		@Override
+		public FluentHaving and(Column column, CharSequence condition) {
+			havingSurrogate.and(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving or(Column column, CharSequence condition) {
+			havingSurrogate.or(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving and(Column column, AbstractRelationalOperator condition) {
+			havingSurrogate.and(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving or(Column column, AbstractRelationalOperator condition) {
+			havingSurrogate.or(column, condition);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving and(Criteria criteria) {
+			havingSurrogate.and(criteria);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving or(Criteria criteria) {
+			havingSurrogate.or(criteria);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving and(Object... columns) {
+			havingSurrogate.and(columns);
+			return this;
+		}
+		
+		@Override
+		public FluentHaving or(Object... columns) {
+			havingSurrogate.or(columns);
+			return this;
+		}
+		
+		@Override
+		public Iterator<AbstractCriterion> iterator() {
+			return havingSurrogate.iterator();
+		}
+	}
+	
+	private class FluentOrderBySupport extends LimitAwareSupport implements FluentOrderBy {
+		
+		@Override
+		public FluentOrderBy add(Column column, Order order) {
+			orderBySurrogate.add(column, order);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(Column col1, Order order1, Column col2, Order order2) {
+			orderBySurrogate.add(col1, order1, col2, order2);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(Column col1, Order order1, Column col2, Order order2, Column col3, Order order3) {
+			orderBySurrogate.add(col1, order1, col2, order2, col3, order3);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(String column, Order order) {
+			orderBySurrogate.add(column, order);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(String col1, Order order1, String col2, Order order2) {
+			orderBySurrogate.add(col1, order1, col2, order2);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(String col1, Order order1, String col2, Order order2, String col3, Order order3) {
+			orderBySurrogate.add(col1, order1, col2, order2, col3, order3);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(Column column, Column... columns) {
+			orderBySurrogate.add(column, columns);
+			return this;
+		}
+		
+		@Override
+		public FluentOrderBy add(String column, String... columns) {
+			orderBySurrogate.add(column, columns);
+			return this;
+		}
+	}
+	
+	private class FluentLimitSupport extends QueryProviderSupport implements FluentLimit {
+		
+		@Override
+		public FluentLimit setValue(Integer value) {
+			limitSurrogate.setValue(value);
+			return this;
+		}
+	}
 }
@@ -0,0 +1,206 @@
+package org.gama.stalactite.persistence.engine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.gama.lang.collection.Maps;
+import org.gama.reflection.IReversibleAccessor;
+import org.gama.reflection.PropertyAccessor;
+import org.gama.stalactite.persistence.engine.runtime.AbstractVersioningStrategy.VersioningStrategySupport;
+import org.gama.stalactite.persistence.engine.runtime.Persister;
+import org.gama.stalactite.persistence.id.manager.AlreadyAssignedIdentifierManager;
+import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
+import org.gama.stalactite.persistence.sql.HSQLDBDialect;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class AsyncPersistenceContextTest {
+	
+	private PersistenceContext persistenceContext;
+	private Connection readConnection;
+	private ConnectionProvider readConnectionProvider;
+	
+	@BeforeEach
+	void initContext() {
+		ConnectionProvider connectionProvider = mock(ConnectionProvider.class);
+		when(connectionProvider.getCurrentConnection()).thenReturn(mock(Connection.class));
+		persistenceContext = new PersistenceContext(connectionProvider, new HSQLDBDialect());
+		readConnection = mock(Connection.class);
+		readConnectionProvider = mock(ConnectionProvider.class);
+		when(readConnectionProvider.getCurrentConnection()).thenReturn(readConnection);
+	}
+	
+	@Test
+	void constructor_connectionProviderIsNotTransactionAware_throwsException() {
+		PersistenceContext persistenceContextWithBasicProvider = new PersistenceContext(mock(ConnectionProvider.class), new HSQLDBDialect()) {
+			@Override
+			public ConnectionProvider getConnectionProvider() {
+				return readConnectionProvider;
+			}
+		};
+		assertThrows(IllegalArgumentException.class, () -> new AsyncPersistenceContext(persistenceContextWithBasicProvider, readConnectionProvider, 2));
+	}
+	
+	@Test
+	void write_writesAreExecutedInSubmissionOrder() {
+		List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider, 2)) {
+			List<CompletableFuture<Integer>> writes = IntStream.range(0, 100)
+					.mapToObj(i -> testInstance.write(context -> {
+						executionOrder.add(i);
+						return i;
+					}))
+					.collect(Collectors.toList());
+			CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+		}
+		assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), executionOrder);
+	}
+	
+	@Test
+	void read_usesItsOwnConnectionAndClosesIt() throws SQLException {
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider, 2)) {
+			Connection usedConnection = testInstance.read(context -> context.getConnectionProvider().getCurrentConnection()).join();
+			assertSame(readConnection, usedConnection);
+		}
+		verify(readConnection).close();
+		// connection given to current thread is not the read one
+		assertNotSame(readConnection, persistenceContext.getConnectionProvider().getCurrentConnection());
+	}
+	
+	@Test
+	void write_usesTransactionalConnection() {
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider,
+				Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor())) {
+			Connection usedConnection = testInstance.write(context -> context.getConnectionProvider().getCurrentConnection()).join();
+			assertSame(persistenceContext.getConnectionProvider().getCurrentConnection(), usedConnection);
+		}
+	}
+	
+	@Test
+	void read_readerThrowsException_exceptionIsGivenByFutureAndConnectionIsClosed() throws SQLException {
+		IllegalStateException error = new IllegalStateException("read failure");
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider, 2)) {
+			CompletableFuture<Object> read = testInstance.read(context -> {
+				throw error;
+			});
+			ExecutionException thrown = assertThrows(ExecutionException.class, read::get);
+			assertSame(error, thrown.getCause());
+		}
+		verify(readConnection).close();
+	}
+	
+	@Test
+	void write_writerThrowsException_exceptionIsGivenByFutureAndNextWritesAreExecuted() throws ExecutionException, InterruptedException {
+		IllegalStateException error = new IllegalStateException("write failure");
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider, 2)) {
+			CompletableFuture<Object> failingWrite = testInstance.write(context -> {
+				throw error;
+			});
+			CompletableFuture<String> nextWrite = testInstance.write(context -> "done");
+			
+			ExecutionException thrown = assertThrows(ExecutionException.class, failingWrite::get);
+			assertSame(error, thrown.getCause());
+			assertEquals("done", nextWrite.get());
+		}
+	}
+	
+	@Test
+	void write_versionedUpdateThenRollback_versionIsReverted() throws SQLException {
+		PreparedStatement preparedStatement = mock(PreparedStatement.class);
+		when(preparedStatement.executeBatch()).thenReturn(new int[] { 1 });
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+		ConnectionProvider connectionProvider = mock(ConnectionProvider.class);
+		when(connectionProvider.getCurrentConnection()).thenReturn(connection);
+		PersistenceContext persistenceContext = new PersistenceContext(connectionProvider, new HSQLDBDialect());
+		
+		Table versionedTable = new Table("Versioned");
+		Column idColumn = versionedTable.addColumn("id", long.class).primaryKey();
+		Column nameColumn = versionedTable.addColumn("name", String.class);
+		Column versionColumn = versionedTable.addColumn("version", long.class);
+		PropertyAccessor<Versioned, Long> idAccessor = PropertyAccessor.fromMethodReference(Versioned::getId, Versioned::setId);
+		PropertyAccessor<Versioned, Long> versionAccessor = PropertyAccessor.fromMethodReference(Versioned::getVersion, Versioned::setVersion);
+		Map<IReversibleAccessor, Column> mapping = Maps.asMap((IReversibleAccessor) idAccessor, idColumn)
+				.add(PropertyAccessor.fromMethodReference(Versioned::getName, Versioned::setName), nameColumn)
+				.add(versionAccessor, versionColumn);
+		Persister<Versioned, Long, Table> persister = new Persister<>(new ClassMappingStrategy<Versioned, Long, Table>(Versioned.class,
+				versionedTable, (Map) mapping, idAccessor, new AlreadyAssignedIdentifierManager<>(Long.class, c -> {}, c -> false)),
+				persistenceContext);
+		persister.getUpdateExecutor().setVersioningStrategy(new VersioningStrategySupport<>(versionAccessor, input -> ++input));
+		
+		Versioned modified = new Versioned(1L, "Tours", 0);
+		Versioned unmodified = new Versioned(1L, "Paris", 0);
+		try (AsyncPersistenceContext testInstance = new AsyncPersistenceContext(persistenceContext, readConnectionProvider, 2)) {
+			testInstance.write(context -> persister.update(modified, unmodified, true)).join();
+			assertEquals(1, modified.getVersion());
+			
+			// transaction is rolled back by the thread that owns it : version upgraded by the asynchronous write must be reverted
+			persistenceContext.getConnectionProvider().getCurrentConnection().rollback();
+			assertEquals(0, modified.getVersion());
+		}
+	}
+	
+	private static class Versioned {
+		
+		private long id;
+		
+		private String name;
+		
+		private long version;
+		
+		private Versioned(long id, String name, long version) {
+			this.id = id;
+			this.name = name;
+			this.version = version;
+		}
+		
+		public long getId() {
+			return id;
+		}
+		
+		public void setId(long id) {
+			this.id = id;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		public void setName(String name) {
+			this.name = name;
+		}
+		
+		public long getVersion() {
+			return version;
+		}
+		
+		public void setVersion(long version) {
+			this.version = version;
+		}
+	}
+}
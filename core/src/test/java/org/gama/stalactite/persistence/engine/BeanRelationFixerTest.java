@@ -2,6 +2,7 @@ package org.gama.stalactite.persistence.engine;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -12,6 +13,8 @@ import org.gama.stalactite.persistence.engine.runtime.BeanRelationFixer;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author Guillaume Mary
@@ -56,6 +59,66 @@ public class BeanRelationFixerTest {
 		assertEquals(target, city.getCountry());
 	}
 	
+	@Test
+	public void ofIndexed_inputsAreGivenInAnyOrder_listIsOrderedByIndex() {
+		Iterator<Integer> indexes = Arrays.asList(2, 0, 1).iterator();
+		List<List<Integer>> paddedLists = new ArrayList<>();
+		BeanRelationFixer<DummyTarget, Integer> testInstance = BeanRelationFixer.ofIndexed(DummyTarget::setProp2, DummyTarget::getProp2, ArrayList::new,
+				(a, b) -> {}, indexes::next, paddedLists::add);
+		DummyTarget target = new DummyTarget();
+		testInstance.apply(target, 12);
+		testInstance.apply(target, 10);
+		testInstance.apply(target, 11);
+		assertEquals(Arrays.asList(10, 11, 12), target.getProp2());
+		// List was padded to put first input
+		assertEquals(1, paddedLists.size());
+		assertSame(target.getProp2(), paddedLists.get(0));
+	}
+	
+	@Test
+	public void ofIndexed_missingIndexes_listIsPaddedWithNulls() {
+		Iterator<Integer> indexes = Arrays.asList(0, 3).iterator();
+		List<List<Integer>> paddedLists = new ArrayList<>();
+		BeanRelationFixer<DummyTarget, Integer> testInstance = BeanRelationFixer.ofIndexed(DummyTarget::setProp2, DummyTarget::getProp2, ArrayList::new,
+				(a, b) -> {}, indexes::next, paddedLists::add);
+		DummyTarget target = new DummyTarget();
+		testInstance.apply(target, 10);
+		assertEquals(0, paddedLists.size());
+		testInstance.apply(target, 13);
+		assertEquals(Arrays.asList(10, null, null, 13), target.getProp2());
+		assertEquals(1, paddedLists.size());
+	}
+	
+	@Test
+	public void ofIndexed_sameInputAtSameIndex_isPutOnce() {
+		BeanRelationFixer<DummyTarget, Integer> testInstance = BeanRelationFixer.ofIndexed(DummyTarget::setProp2, DummyTarget::getProp2, ArrayList::new,
+				(a, b) -> {}, () -> 0, list -> {});
+		DummyTarget target = new DummyTarget();
+		Integer input = 1000;
+		testInstance.apply(target, input);
+		testInstance.apply(target, input);
+		assertEquals(Arrays.asList(input), target.getProp2());
+	}
+	
+	@Test
+	public void ofIndexed_duplicateIndex_throwsException() {
+		BeanRelationFixer<DummyTarget, Integer> testInstance = BeanRelationFixer.ofIndexed(DummyTarget::setProp2, DummyTarget::getProp2, ArrayList::new,
+				(a, b) -> {}, () -> 0, list -> {});
+		DummyTarget target = new DummyTarget();
+		testInstance.apply(target, 10);
+		IllegalStateException thrownException = assertThrows(IllegalStateException.class, () -> testInstance.apply(target, 11));
+		assertEquals("Can't put 11 in List of " + target + " : index 0 is already taken by 10", thrownException.getMessage());
+	}
+	
+	@Test
+	public void ofIndexed_negativeIndex_throwsException() {
+		BeanRelationFixer<DummyTarget, Integer> testInstance = BeanRelationFixer.ofIndexed(DummyTarget::setProp2, DummyTarget::getProp2, ArrayList::new,
+				(a, b) -> {}, () -> -1, list -> {});
+		DummyTarget target = new DummyTarget();
+		IllegalStateException thrownException = assertThrows(IllegalStateException.class, () -> testInstance.apply(target, 10));
+		assertEquals("Can't put 10 in List of " + target + " : index -1 is out of range", thrownException.getMessage());
+	}
+	
 	@Test
 	public void giveCollectionFactory() {
 		assertEquals(ArrayList.class, BeanRelationFixer.giveCollectionFactory(List.class).get().getClass());
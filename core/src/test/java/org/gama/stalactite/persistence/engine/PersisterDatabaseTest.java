@@ -4,8 +4,11 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.gama.lang.Duo;
 import org.gama.lang.collection.Arrays;
@@ -18,6 +21,7 @@ import org.gama.stalactite.persistence.id.manager.BeforeInsertIdentifierManager;
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
 import org.gama.stalactite.persistence.mapping.PersistentFieldHarverster;
 import org.gama.stalactite.persistence.mapping.SinglePropertyIdAccessor;
+import org.gama.stalactite.persistence.sql.AdaptiveBatchSizeController;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
 import org.gama.stalactite.persistence.sql.ddl.JavaTypeToSqlTypeMapping;
@@ -31,6 +35,7 @@ import org.gama.stalactite.sql.test.HSQLDBInMemoryDataSource;
 import org.gama.stalactite.sql.test.MariaDBEmbeddableDataSource;
 import org.gama.stalactite.test.JdbcConnectionProvider;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -367,6 +372,39 @@ public class PersisterDatabaseTest {
 		assertEquals(0, deleteRowCount);
 	}
 	
+	@Test
+	public void testInsertUpdateDelete_withAdaptiveBatchSize_batchSizeGrowsPerStatement() throws SQLException {
+		DataSource dataSource = new HSQLDBInMemoryDataSource();
+		transactionManager.setDataSource(dataSource);
+		DDLDeployer ddlDeployer = new DDLDeployer(dialect.getJavaTypeToSqlTypeMapping(), transactionManager);
+		ddlDeployer.getDdlGenerator().setTables(Arrays.asSet(totoClassTable));
+		ddlDeployer.deployDDL();
+		
+		// target duration is large enough to never be reached, so batch size only grows
+		AdaptiveBatchSizeController batchSizeController = new AdaptiveBatchSizeController(2, 50, 1, TimeUnit.HOURS, 2);
+		testInstance = new Persister<>(totoClassMappingStrategy, dialect, new ConnectionConfigurationSupport(transactionManager, batchSizeController));
+		
+		List<Toto> totos = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			totos.add(new Toto(i, i * 10));
+		}
+		assertEquals(30, testInstance.insert(totos));
+		totos.forEach(toto -> toto.b++);
+		assertEquals(30, testInstance.updateById(totos));
+		assertEquals(30, testInstance.delete(totos));
+		transactionManager.getCurrentConnection().commit();
+		
+		Map<String, Integer> batchSizes = batchSizeController.getBatchSizes();
+		assertEquals(3, batchSizes.size());
+		// batches of 2, 4, 6, 8 and 10 statements were executed, each one growing batch size by 2
+		batchSizes.forEach((sql, batchSize) -> assertEquals(12, (int) batchSize, sql));
+		assertEquals(Arrays.asSet("insert", "update", "delete"), Iterables.collect(batchSizes.keySet(), sql -> sql.substring(0, 6), HashSet::new));
+		
+		ResultSet resultSet = dataSource.getConnection().prepareStatement("select count(*) from Toto").executeQuery();
+		resultSet.next();
+		assertEquals(0, resultSet.getInt(1));
+	}
+	
 	static class Toto {
 		private Integer a, b, c;
 		
@@ -0,0 +1,190 @@
+package org.gama.stalactite.persistence.engine;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.engine.runtime.IConfiguredPersister;
+import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
+import org.gama.stalactite.persistence.sql.HSQLDBDialect;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.CommitListener;
+import org.gama.stalactite.sql.CommitObserver;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class UnitOfWorkTest {
+	
+	private PersistenceContext persistenceContext;
+	private Connection connectionMock;
+	private IConfiguredPersister<Country, Long> countryPersister;
+	private IConfiguredPersister<City, Long> cityPersister;
+	
+	@BeforeEach
+	void initPersisters() {
+		ConnectionProvider connectionProviderMock = mock(ConnectionProvider.class);
+		connectionMock = mock(Connection.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(connectionMock);
+		persistenceContext = new PersistenceContext(connectionProviderMock, new HSQLDBDialect());
+		
+		Table countryTable = new Table("Country");
+		Column<Table, Long> countryId = countryTable.addColumn("id", long.class).primaryKey();
+		Table cityTable = new Table("City");
+		cityTable.addColumn("id", long.class).primaryKey();
+		Column<Table, Long> cityCountryId = cityTable.addColumn("countryId", long.class);
+		cityTable.addForeignKey("FK_City_countryId", cityCountryId, countryId);
+		
+		countryPersister = mockPersister(Country.class, countryTable);
+		cityPersister = mockPersister(City.class, cityTable);
+		persistenceContext.addPersister(countryPersister);
+		persistenceContext.addPersister(cityPersister);
+	}
+	
+	private static <C> IConfiguredPersister<C, Long> mockPersister(Class<C> entityType, Table table) {
+		IConfiguredPersister<C, Long> result = mock(IConfiguredPersister.class);
+		IEntityMappingStrategy mappingStrategy = mock(IEntityMappingStrategy.class);
+		when(mappingStrategy.getTargetTable()).thenReturn(table);
+		when(result.getMappingStrategy()).thenReturn(mappingStrategy);
+		when(result.getClassToPersist()).thenReturn(entityType);
+		return result;
+	}
+	
+	@Test
+	void flush_ordersAreGroupedPerPersisterAndSortedByForeignKeys() {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		City paris = new City();
+		City lyon = new City();
+		Country france = new Country();
+		Country spain = new Country();
+		// cities are recorded first to check that countries are nevertheless inserted first
+		testInstance.insert(paris);
+		testInstance.insert(france);
+		testInstance.insert(lyon);
+		testInstance.delete(spain);
+		testInstance.delete(paris);
+		testInstance.update(lyon);
+		assertTrue(testInstance.isDirty());
+		
+		testInstance.flush();
+		
+		InOrder inOrder = inOrder(countryPersister, cityPersister);
+		inOrder.verify(countryPersister).insert(Arrays.asList(france));
+		inOrder.verify(cityPersister).insert(Arrays.asList(paris, lyon));
+		inOrder.verify(cityPersister).update(Arrays.asList(lyon));
+		inOrder.verify(cityPersister).delete(Arrays.asList(paris));
+		inOrder.verify(countryPersister).delete(Arrays.asList(spain));
+		assertFalse(testInstance.isDirty());
+	}
+	
+	@Test
+	void flush_isInvokedBeforeCommit() throws SQLException {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		Country france = new Country();
+		testInstance.insert(france);
+		
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		
+		InOrder inOrder = inOrder(countryPersister, connectionMock);
+		inOrder.verify(countryPersister).insert(Arrays.asList(france));
+		inOrder.verify(connectionMock).commit();
+		assertFalse(testInstance.isDirty());
+	}
+	
+	@Test
+	void flush_deletedEntityIsReplacedByAnInsertedOne_deletionIsExecutedBeforeInsertion() {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		Country france = new Country();
+		Country newFrance = new Country();
+		City paris = new City();
+		when(countryPersister.getId(france)).thenReturn(1L);
+		when(countryPersister.getId(newFrance)).thenReturn(1L);
+		when(cityPersister.getId(paris)).thenReturn(1L);
+		testInstance.delete(paris);
+		testInstance.delete(france);
+		testInstance.insert(newFrance);
+		
+		testInstance.flush();
+		
+		InOrder inOrder = inOrder(countryPersister, cityPersister);
+		inOrder.verify(countryPersister).delete(Arrays.asList(france));
+		inOrder.verify(countryPersister).insert(Arrays.asList(newFrance));
+		inOrder.verify(cityPersister).delete(Arrays.asList(paris));
+	}
+	
+	@Test
+	void flush_isInvokedBeforeCommit_persisterRegistersTransactionListener_listenerIsNotified() throws SQLException {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		CommitObserver commitObserver = (CommitObserver) persistenceContext.getConnectionProvider();
+		CommitListener listenerRegisteredByFlush = mock(CommitListener.class);
+		when(countryPersister.insert(any(Iterable.class))).thenAnswer(invocation -> {
+			commitObserver.addCommitListener(listenerRegisteredByFlush);
+			return 1;
+		});
+		testInstance.insert(new Country());
+		
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		
+		verify(listenerRegisteredByFlush).afterCommit();
+	}
+	
+	@Test
+	void flush_isInvokedBeforeCommitOfEachTransaction() throws SQLException {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		Country france = new Country();
+		Country spain = new Country();
+		testInstance.insert(france);
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		testInstance.insert(spain);
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		
+		InOrder inOrder = inOrder(countryPersister, connectionMock);
+		inOrder.verify(countryPersister).insert(Arrays.asList(france));
+		inOrder.verify(connectionMock).commit();
+		inOrder.verify(countryPersister).insert(Arrays.asList(spain));
+		inOrder.verify(connectionMock).commit();
+	}
+	
+	@Test
+	void rollback_unflushedOrdersAreForgotten() throws SQLException {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		Country france = new Country();
+		Country spain = new Country();
+		testInstance.insert(france);
+		persistenceContext.getConnectionProvider().getCurrentConnection().rollback();
+		assertFalse(testInstance.isDirty());
+		
+		testInstance.insert(spain);
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		
+		verify(countryPersister).insert(Arrays.asList(spain));
+		verify(countryPersister, never()).insert(Arrays.asList(france));
+	}
+	
+	@Test
+	void insert_entityWithoutPersister_throwsException() {
+		UnitOfWork testInstance = new UnitOfWork(persistenceContext);
+		assertThrows(IllegalArgumentException.class, () -> testInstance.insert(new Object()));
+	}
+	
+	private static class Country {
+	}
+	
+	private static class City {
+	}
+}
@@ -1,5 +1,6 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -37,6 +38,7 @@ import org.mockito.ArgumentCaptor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -112,6 +114,30 @@ public class InsertExecutorTest extends AbstractDMLExecutorTest {
 		assertEquals("insert into Toto(a, b, c) values (?, ?, ?)", sqlArgCaptor.getValue().getSQL());
 	}
 	
+	@Test
+	public void insertSkippingRejected_rejectedEntitiesAreReturned() throws SQLException {
+		// driver goes on after failing statement and marks it as failed, then replay of valid statements succeeds
+		when(dataSet.preparedStatement.executeBatch())
+				.thenThrow(new BatchUpdateException(new int[] { 1, Statement.EXECUTE_FAILED, 1 }))
+				.thenReturn(new int[] { 1, 1 });
+		
+		Toto rejectedToto = new Toto(29, 31);
+		List<Toto> rejectedEntities = testInstance.insertSkippingRejected(Arrays.asList(new Toto(17, 23), rejectedToto, new Toto(37, 41)));
+		
+		assertEquals(Arrays.asList(rejectedToto), rejectedEntities);
+		verify(dataSet.preparedStatement, times(2)).executeBatch();
+		verify(dataSet.connection).rollback(any());
+	}
+	
+	@Test
+	public void insertSkippingRejected_driverGivesNoUpdateCount_throwsException() throws SQLException {
+		// failing statement can't be known, hence it can't be isolated
+		when(dataSet.preparedStatement.executeBatch()).thenThrow(new BatchUpdateException(new int[0]));
+		
+		assertThrows(RuntimeException.class, () -> testInstance.insertSkippingRejected(Arrays.asList(new Toto(17, 23), new Toto(29, 31))));
+		verify(dataSet.preparedStatement, times(1)).executeBatch();
+	}
+	
 	@Test
 	public void withVersioningStrategy() throws SQLException {
 		InsertExecutor<VersionnedToto, Integer, Table> testInstance;
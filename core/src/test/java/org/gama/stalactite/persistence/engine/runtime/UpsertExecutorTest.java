@@ -0,0 +1,52 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.sql.SQLException;
+
+import org.gama.lang.Retryer;
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
+import org.gama.stalactite.persistence.sql.dml.DMLGenerator;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.test.PairSetList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Guillaume Mary
+ */
+public class UpsertExecutorTest extends AbstractDMLExecutorTest {
+	
+	private DataSetWithComposedId dataSet;
+	
+	private UpsertExecutor<Toto, Toto, Table> testInstance;
+	
+	@BeforeEach
+	public void setUp() throws SQLException {
+		dataSet = new DataSetWithComposedId();
+		DMLGenerator dmlGenerator = new DMLGenerator(dataSet.dialect.getColumnBinderRegistry(), new DMLGenerator.CaseSensitiveSorter());
+		testInstance = new UpsertExecutor<>(dataSet.persistenceConfiguration.classMappingStrategy, new ConnectionConfigurationSupport(dataSet.transactionManager, 3), dmlGenerator, Retryer.NO_RETRY, 3);
+	}
+	
+	@Test
+	public void testUpsert() throws Exception {
+		testInstance.upsert(Arrays.asList(new Toto(1, 17, 23), new Toto(2, 29, 31), new Toto(3, 37, 41), new Toto(4, 43, 53)));
+		
+		verify(dataSet.preparedStatement, times(4)).addBatch();
+		verify(dataSet.preparedStatement, times(2)).executeBatch();
+		// each value is set twice : in "on" or "update" clause, and in "insert" one
+		verify(dataSet.preparedStatement, times(24)).setInt(dataSet.indexCaptor.capture(), dataSet.valueCaptor.capture());
+		assertEquals("merge into Toto using (values (0)) as src(dummy) on Toto.a = ? and Toto.b = ?"
+				+ " when matched then update set c = ?"
+				+ " when not matched then insert (a, b, c) values (?, ?, ?)", dataSet.statementArgCaptor.getValue());
+		PairSetList<Integer, Integer> expectedPairs = new PairSetList<Integer, Integer>()
+				.newRow(1, 1).add(2, 17).add(3, 23).add(4, 1).add(5, 17).add(6, 23)
+				.newRow(1, 2).add(2, 29).add(3, 31).add(4, 2).add(5, 29).add(6, 31)
+				.newRow(1, 3).add(2, 37).add(3, 41).add(4, 3).add(5, 37).add(6, 41)
+				.newRow(1, 4).add(2, 43).add(3, 53).add(4, 4).add(5, 43).add(6, 53);
+		assertCapturedPairsEqual(dataSet, expectedPairs);
+	}
+}
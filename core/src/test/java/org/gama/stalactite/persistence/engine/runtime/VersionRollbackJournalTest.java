@@ -0,0 +1,131 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import org.gama.reflection.PropertyAccessor;
+import org.gama.stalactite.persistence.engine.VersioningStrategy;
+import org.gama.stalactite.persistence.engine.runtime.AbstractVersioningStrategy.VersioningStrategySupport;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.TransactionAwareConnectionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class VersionRollbackJournalTest {
+	
+	private TransactionAwareConnectionProvider connectionProvider;
+	private VersioningStrategy<Versioned, Object> versioningStrategy;
+	
+	@BeforeEach
+	void initConnection() {
+		ConnectionProvider connectionProviderMock = mock(ConnectionProvider.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(mock(Connection.class));
+		connectionProvider = new TransactionAwareConnectionProvider(connectionProviderMock);
+		versioningStrategy = (VersioningStrategy) new VersioningStrategySupport<>(
+				PropertyAccessor.fromMethodReference(Versioned::getVersion, Versioned::setVersion), input -> ++input);
+	}
+	
+	@Test
+	void afterRollback_entityUpgradedSeveralTimes_getsBackItsInitialVersion() throws SQLException {
+		VersionRollbackJournal<Versioned> testInstance = new VersionRollbackJournal<>(versioningStrategy, connectionProvider);
+		Versioned entity = new Versioned();
+		for (int i = 0; i < 20; i++) {
+			testInstance.add(entity, versioningStrategy.getVersion(entity));
+			versioningStrategy.upgrade(entity);
+		}
+		assertEquals(20, entity.getVersion());
+		assertEquals(20, testInstance.size());
+		
+		connectionProvider.getCurrentConnection().rollback();
+		
+		assertEquals(0, entity.getVersion());
+		assertEquals(0, testInstance.size());
+	}
+	
+	@Test
+	void afterCommit_journalIsEmptiedAndUsedAgainForNextTransaction() throws SQLException {
+		VersionRollbackJournal<Versioned> testInstance = new VersionRollbackJournal<>(versioningStrategy, connectionProvider);
+		Versioned entity = new Versioned();
+		testInstance.add(entity, versioningStrategy.getVersion(entity));
+		versioningStrategy.upgrade(entity);
+		
+		connectionProvider.getCurrentConnection().commit();
+		assertEquals(0, testInstance.size());
+		
+		testInstance.add(entity, versioningStrategy.getVersion(entity));
+		versioningStrategy.upgrade(entity);
+		connectionProvider.getCurrentConnection().rollback();
+		
+		// committed upgrade is kept
+		assertEquals(1, entity.getVersion());
+	}
+	
+	@Test
+	void afterRollbackToSavepoint_entriesAreKeptForTransactionRollback() throws SQLException {
+		VersionRollbackJournal<Versioned> testInstance = new VersionRollbackJournal<>(versioningStrategy, connectionProvider);
+		Versioned entity = new Versioned();
+		testInstance.add(entity, versioningStrategy.getVersion(entity));
+		versioningStrategy.upgrade(entity);
+		
+		connectionProvider.getCurrentConnection().rollback(mock(Savepoint.class));
+		assertEquals(1, entity.getVersion());
+		assertEquals(1, testInstance.size());
+		
+		// journal is still registered : next transaction upgrades are reverted too
+		connectionProvider.getCurrentConnection().rollback();
+		assertEquals(0, entity.getVersion());
+		testInstance.add(entity, versioningStrategy.getVersion(entity));
+		versioningStrategy.upgrade(entity);
+		connectionProvider.getCurrentConnection().rollback();
+		assertEquals(0, entity.getVersion());
+	}
+	
+	@Test
+	void afterRollback_onAnotherThread_entitiesOfCurrentThreadAreNotReverted() throws SQLException, InterruptedException {
+		VersionRollbackJournal<Versioned> testInstance = new VersionRollbackJournal<>(versioningStrategy, connectionProvider);
+		Versioned entity = new Versioned();
+		testInstance.add(entity, versioningStrategy.getVersion(entity));
+		versioningStrategy.upgrade(entity);
+		
+		Versioned otherThreadEntity = new Versioned();
+		Thread otherThread = new Thread(() -> {
+			testInstance.add(otherThreadEntity, versioningStrategy.getVersion(otherThreadEntity));
+			versioningStrategy.upgrade(otherThreadEntity);
+			try {
+				connectionProvider.getCurrentConnection().rollback();
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		otherThread.start();
+		otherThread.join();
+		
+		assertEquals(0, otherThreadEntity.getVersion());
+		assertEquals(1, entity.getVersion());
+		assertEquals(1, testInstance.size());
+		
+		connectionProvider.getCurrentConnection().rollback();
+		assertEquals(0, entity.getVersion());
+	}
+	
+	private static class Versioned {
+		
+		private long version;
+		
+		public long getVersion() {
+			return version;
+		}
+		
+		public void setVersion(long version) {
+			this.version = version;
+		}
+	}
+}
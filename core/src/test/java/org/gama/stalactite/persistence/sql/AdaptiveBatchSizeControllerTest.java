@@ -0,0 +1,92 @@
+package org.gama.stalactite.persistence.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.gama.lang.collection.Maps;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Guillaume Mary
+ */
+class AdaptiveBatchSizeControllerTest {
+	
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+	
+	@Test
+	void onBatchExecuted_fastFullBatch_increasesAdditivelyUntilMax() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 35, 100, TimeUnit.MILLISECONDS);
+		assertEquals(10, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 10, FAST);
+		assertEquals(20, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 20, FAST);
+		assertEquals(30, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 30, FAST);
+		assertEquals(35, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+	}
+	
+	@Test
+	void onBatchExecuted_fastPartialBatch_keepsSize() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 100, 100, TimeUnit.MILLISECONDS);
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 3, FAST);
+		assertEquals(10, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+	}
+	
+	@Test
+	void onBatchExecuted_slowBatch_halvesSizeUntilMin() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 100, 100, TimeUnit.MILLISECONDS, 40);
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 10, FAST);
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 50, FAST);
+		assertEquals(90, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 90, SLOW);
+		assertEquals(45, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 45, SLOW);
+		assertEquals(22, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 22, SLOW);
+		assertEquals(11, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 11, SLOW);
+		assertEquals(10, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+	}
+	
+	@Test
+	void onBatchExecuted_withMaxPayload_sizeIsLimitedToStatementsFittingInPayload() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 100, 100, TimeUnit.MILLISECONDS, 40)
+				.setMaxBatchPayloadSize(100_000);
+		// 10 statements of 1000 bytes : 100 statements would fit, increase is not limited
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 10, 10_000, FAST);
+		assertEquals(50, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		// 50 statements of 4000 bytes : only 25 fit
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 50, 200_000, FAST);
+		assertEquals(25, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+		// statements larger than payload limit : size doesn't go below minimum
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 25, 2_500_000, FAST);
+		assertEquals(10, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+	}
+	
+	@Test
+	void onBatchExecuted_withoutMaxPayload_payloadIsIgnored() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 100, 100, TimeUnit.MILLISECONDS);
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 10, 10_000_000, FAST);
+		assertEquals(20, testInstance.giveBatchSize("insert into Toto(a) values (?)"));
+	}
+	
+	@Test
+	void getBatchSizes_sizesAreComputedPerStatement() {
+		AdaptiveBatchSizeController testInstance = new AdaptiveBatchSizeController(10, 100, 100, TimeUnit.MILLISECONDS);
+		testInstance.onBatchExecuted("insert into Toto(a) values (?)", 10, FAST);
+		testInstance.onBatchExecuted("insert into Tata(b) values (?)", 10, SLOW);
+		
+		assertEquals(Maps.asMap("insert into Tata(b) values (?)", 10).add("insert into Toto(a) values (?)", 20), testInstance.getBatchSizes());
+	}
+	
+	@Test
+	void constructor_invalidBounds_throwsException() {
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizeController(0, 10, 100, TimeUnit.MILLISECONDS));
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizeController(20, 10, 100, TimeUnit.MILLISECONDS));
+	}
+}
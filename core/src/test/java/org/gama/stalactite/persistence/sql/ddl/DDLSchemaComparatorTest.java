@@ -0,0 +1,88 @@
+package org.gama.stalactite.persistence.sql.ddl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.test.HSQLDBInMemoryDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Guillaume Mary
+ */
+class DDLSchemaComparatorTest {
+	
+	@Test
+	void generateUpdateScripts() throws SQLException {
+		try (Connection connection = new HSQLDBInMemoryDataSource().getConnection()) {
+			JavaTypeToSqlTypeMapping typeMapping = new JavaTypeToSqlTypeMapping();
+			typeMapping.put(Integer.class, "integer");
+			typeMapping.put(String.class, "varchar(255)");
+			DDLTableGenerator ddlTableGenerator = new DDLTableGenerator(typeMapping);
+			
+			Table totoTable = new Table("Toto");
+			Column totoId = totoTable.addColumn("id", Integer.class).primaryKey();
+			try (Statement statement = connection.createStatement()) {
+				statement.execute(ddlTableGenerator.generateCreateTable(totoTable));
+			}
+			
+			DDLSchemaComparator testInstance = new DDLSchemaComparator(ddlTableGenerator);
+			assertEquals(Collections.emptyList(), testInstance.generateUpdateScripts(Arrays.asList(totoTable), connection));
+			
+			// mapping evolves : a column, an index and a table with a foreign key are added
+			Column totoName = totoTable.addColumn("name", String.class);
+			totoTable.addIndex("totoNameIDX", totoName);
+			Table tataTable = new Table("Tata");
+			tataTable.addColumn("id", Integer.class);
+			Column tataTotoId = tataTable.addColumn("totoId", Integer.class);
+			tataTable.addForeignKey("FK_tata_toto", tataTotoId, totoId);
+			
+			List<String> updateScripts = testInstance.generateUpdateScripts(Arrays.asList(totoTable, tataTable), connection);
+			assertEquals(Arrays.asList(
+					"alter table Toto add column name varchar(255)",
+					"create table Tata(id integer, totoId integer)",
+					"alter table Tata add constraint FK_tata_toto foreign key(totoId) references Toto(id)",
+					"create index totoNameIDX on Toto(name)"), updateScripts);
+			
+			try (Statement statement = connection.createStatement()) {
+				for (String updateScript : updateScripts) {
+					statement.execute(updateScript);
+				}
+			}
+			// database is up to date : nothing more to do
+			assertEquals(Collections.emptyList(), testInstance.generateUpdateScripts(Arrays.asList(totoTable, tataTable), connection));
+		}
+	}
+	
+	@Test
+	void generateUpdateScripts_tableNameContainsWildcard_columnsOfOtherTablesAreIgnored() throws SQLException {
+		try (Connection connection = new HSQLDBInMemoryDataSource().getConnection()) {
+			JavaTypeToSqlTypeMapping typeMapping = new JavaTypeToSqlTypeMapping();
+			typeMapping.put(Integer.class, "integer");
+			typeMapping.put(String.class, "varchar(255)");
+			DDLTableGenerator ddlTableGenerator = new DDLTableGenerator(typeMapping);
+			
+			Table associationTable = new Table("Owner_targets");
+			associationTable.addColumn("id", Integer.class);
+			// a table matching "Owner_targets" as a LIKE pattern, with a column that is missing from association table
+			Table otherTable = new Table("OwnerXtargets");
+			otherTable.addColumn("name", String.class);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute(ddlTableGenerator.generateCreateTable(associationTable));
+				statement.execute(ddlTableGenerator.generateCreateTable(otherTable));
+			}
+			
+			associationTable.addColumn("name", String.class);
+			DDLSchemaComparator testInstance = new DDLSchemaComparator(ddlTableGenerator);
+			assertEquals(Arrays.asList("alter table Owner_targets add column name varchar(255)"),
+					testInstance.generateUpdateScripts(Arrays.asList(associationTable), connection));
+		}
+	}
+}
@@ -8,7 +8,9 @@ import java.util.Set;
 import org.gama.lang.collection.Arrays;
 import org.gama.stalactite.sql.binder.ParameterBinder;
 import org.gama.stalactite.persistence.mapping.IMappingStrategy.UpwhereColumn;
+import org.gama.stalactite.persistence.sql.DerbyDialect.DerbyDMLGenerator;
 import org.gama.stalactite.persistence.sql.Dialect;
+import org.gama.stalactite.persistence.sql.MySQLDialect.MySQLDMLGenerator;
 import org.gama.stalactite.persistence.sql.ddl.JavaTypeToSqlTypeMapping;
 import org.gama.stalactite.persistence.sql.dml.DMLGenerator.NoopSorter;
 import org.gama.stalactite.persistence.structure.Column;
@@ -17,6 +19,7 @@ import org.gama.stalactite.query.builder.DMLNameProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class DMLGeneratorTest {
@@ -211,6 +214,78 @@ public class DMLGeneratorTest {
 		assertEquals(stringBinder, builtDelete.getParameterBinder(colA));
 	}
 	
+	@Test
+	public void testBuildUpsert() {
+		Table toto = new Table(null, "Toto");
+		Column<Table, Object> colA = toto.addColumn("A", String.class);
+		Column<Table, Object> colB = toto.addColumn("B", String.class);
+		Column<Table, Object> colC = toto.addColumn("C", String.class);
+		
+		ColumnParameterizedSQL builtUpsert = testInstance.buildUpsert(toto.getColumns(), Arrays.asList(colA));
+		assertEquals("merge into Toto using (values (0)) as src(dummy) on Toto.A = ?"
+				+ " when matched then update set B = ?, C = ?"
+				+ " when not matched then insert (A, B, C) values (?, ?, ?)", builtUpsert.getSQL());
+		
+		// each column is present twice : in "on" or "update" clause, and in "insert" one
+		assertArrayEquals(new int[] { 1, 4 }, builtUpsert.getIndexes(colA));
+		assertArrayEquals(new int[] { 2, 5 }, builtUpsert.getIndexes(colB));
+		assertArrayEquals(new int[] { 3, 6 }, builtUpsert.getIndexes(colC));
+		assertEquals(stringBinder, builtUpsert.getParameterBinder(colA));
+	}
+	
+	@Test
+	public void testBuildUpsert_onlyKeyColumns() {
+		Table toto = new Table(null, "Toto");
+		Column<Table, Object> colA = toto.addColumn("A", String.class);
+		Column<Table, Object> colB = toto.addColumn("B", String.class);
+		
+		ColumnParameterizedSQL builtUpsert = testInstance.buildUpsert(toto.getColumns(), Arrays.asList(colA, colB));
+		assertEquals("merge into Toto using (values (0)) as src(dummy) on Toto.A = ? and Toto.B = ?"
+				+ " when not matched then insert (A, B) values (?, ?)", builtUpsert.getSQL());
+		
+		assertArrayEquals(new int[] { 1, 3 }, builtUpsert.getIndexes(colA));
+		assertArrayEquals(new int[] { 2, 4 }, builtUpsert.getIndexes(colB));
+	}
+	
+	@Test
+	public void testBuildUpsert_mySQL() {
+		Table toto = new Table(null, "Toto");
+		Column<Table, Object> colA = toto.addColumn("A", String.class);
+		Column<Table, Object> colB = toto.addColumn("B", String.class);
+		Column<Table, Object> colC = toto.addColumn("C", String.class);
+		
+		DMLGenerator testInstance = new MySQLDMLGenerator(currentDialect.getColumnBinderRegistry());
+		ColumnParameterizedSQL builtUpsert = testInstance.buildUpsert(toto.getColumns(), Arrays.asList(colA));
+		assertEquals("insert into Toto(A, B, C) values (?, ?, ?) on duplicate key update B = values(B), C = values(C)", builtUpsert.getSQL());
+		
+		assertArrayEquals(new int[] { 1 }, builtUpsert.getIndexes(colA));
+		assertArrayEquals(new int[] { 2 }, builtUpsert.getIndexes(colB));
+		assertArrayEquals(new int[] { 3 }, builtUpsert.getIndexes(colC));
+		
+		// a table made only of its key must also be upserted
+		builtUpsert = testInstance.buildUpsert(toto.getColumns(), Arrays.asList(colA, colB, colC));
+		assertEquals("insert into Toto(A, B, C) values (?, ?, ?) on duplicate key update A = values(A)", builtUpsert.getSQL());
+	}
+	
+	@Test
+	public void testBuildUpsert_derby() {
+		Table toto = new Table(null, "Toto");
+		Column<Table, Object> colA = toto.addColumn("A", String.class);
+		Column<Table, Object> colB = toto.addColumn("B", String.class);
+		Column<Table, Object> colC = toto.addColumn("C", String.class);
+		
+		DMLGenerator testInstance = new DerbyDMLGenerator(currentDialect.getColumnBinderRegistry());
+		ColumnParameterizedSQL builtUpsert = testInstance.buildUpsert(toto.getColumns(), Arrays.asList(colA));
+		assertEquals("merge into Toto using SYSIBM.SYSDUMMY1 on Toto.A = ?"
+				+ " when matched then update set B = ?, C = ?"
+				+ " when not matched then insert (A, B, C) values (?, ?, ?)", builtUpsert.getSQL());
+		
+		assertArrayEquals(new int[] { 1, 4 }, builtUpsert.getIndexes(colA));
+		assertArrayEquals(new int[] { 2, 5 }, builtUpsert.getIndexes(colB));
+		assertArrayEquals(new int[] { 3, 6 }, builtUpsert.getIndexes(colC));
+		assertEquals(stringBinder, builtUpsert.getParameterBinder(colC));
+	}
+	
 	@Test
 	public void testBuildSelect() {
 		Table toto = new Table(null, "Toto");
@@ -38,4 +38,25 @@ public interface CascadeOptions {
 		 */
 		READ_ONLY
 	}
+	
+	/**
+	 * Way target entities of a relation are loaded when source entities are selected.
+	 * Shouldn't be confused with {@link RelationMode} which is about insert, update and delete.
+	 */
+	enum FetchMode {
+		/** Target entities are loaded in the same query as source ones by joining their tables (default) */
+		JOIN,
+		/**
+		 * Target entities are loaded right after source ones, with a query dedicated to the relation and filtered on source identifiers.
+		 * Avoids row multiplication of joins at the cost of one more query per relation.
+		 */
+		SELECT,
+		/**
+		 * Target entities are loaded on first access to the relation, then siblings relations (those of source entities loaded by same query)
+		 * are loaded by batch in a single query. Only relations declared as a {@link java.util.Collection} interface can be lazily loaded
+		 * because a proxy of it is set on source entities, other relations (one-to-one ones, or collections declared as a concrete class)
+		 * are loaded as {@link #SELECT} does.
+		 */
+		LAZY
+	}
 }
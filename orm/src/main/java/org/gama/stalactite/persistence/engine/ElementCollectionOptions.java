@@ -18,4 +18,13 @@ public interface ElementCollectionOptions<C, O, S extends Collection<O>> {
 	
 	ElementCollectionOptions<C, O, S> withTable(String tableName);
 	
+	/**
+	 * Asks for collection to be written as a whole : on update or delete of owners, their rows are deleted by a single statement on owner
+	 * identifier then current elements are inserted in batch, instead of computing differences between collection states and writing
+	 * changed elements one by one. Preferable for large collections that are often modified.
+	 * 
+	 * @return this
+	 */
+	ElementCollectionOptions<C, O, S> replaceWholeCollection();
+	
 }
@@ -51,6 +51,18 @@ public interface EntityMappingConfiguration<C, I> {
 	
 	AssociationTableNamingStrategy getAssociationTableNamingStrategy();
 	
+	/**
+	 * Gives JDBC batch size of entity tables
+	 * @return null if batch size of connection configuration must be used
+	 */
+	@javax.annotation.Nullable
+	Integer getBatchSize();
+	
+	/**
+	 * @return true if root entity collections must be loaded by a query each when entities are selected by criteria
+	 */
+	boolean isCollectionJoinsSplit();
+	
 	ElementCollectionTableNamingStrategy getElementCollectionTableNamingStrategy();
 	
 	ColumnNamingStrategy getJoinColumnNamingStrategy();
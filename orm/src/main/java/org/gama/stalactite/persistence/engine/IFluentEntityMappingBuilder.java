@@ -265,6 +265,28 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 	
 	IFluentEntityMappingBuilder<C, I> withAssociationTableNaming(AssociationTableNamingStrategy associationTableNamingStrategy);
 	
+	/**
+	 * Sets a fixed JDBC batch size for insert, update and delete statements of entity tables, overriding the one of connection configuration
+	 * (including its {@link org.gama.stalactite.persistence.sql.AdaptiveBatchSizeController} if any). Usefull for tables with large columns.
+	 * It also applies to sub-entities and relations tables (association tables, element collection tables and target entities ones), except for
+	 * target entities that define their own batch size.
+	 * 
+	 * @param batchSize a positive number of statements per batch
+	 * @return this
+	 */
+	IFluentEntityMappingBuilder<C, I> withBatchSize(int batchSize);
+	
+	/**
+	 * Asks for loading each collection of root entity with a dedicated query when entities are selected by criteria, instead of joining all of
+	 * them in one query : several collections joined together give the cartesian product of them (2 collections of 50 elements each give 2500
+	 * rows per entity), whereas dedicated queries make row count grow additively, at the cost of one query per collection.
+	 * Has no effect on entities having less than 2 collections.
+	 * 
+	 * @return this
+	 * @see org.gama.stalactite.persistence.query.EntitySelectExecutor#setCollectionJoinsSplit(boolean)
+	 */
+	IFluentEntityMappingBuilder<C, I> withCollectionJoinsSplit();
+	
 	<V> IFluentEntityMappingBuilder<C, I> versionedBy(SerializableFunction<C, V> getter);
 	
 	<V> IFluentEntityMappingBuilder<C, I> versionedBy(SerializableFunction<C, V> getter, Serie<V> sequence);
@@ -323,6 +345,9 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 		
 		@Override
 		IFluentMappingBuilderOneToOneOptions<C, I, T> cascading(RelationMode relationMode);
+		
+		@Override
+		IFluentMappingBuilderOneToOneOptions<C, I, T> fetching(FetchMode fetchMode);
 	}
 	
 	interface IFluentMappingBuilderOneToManyOptions<C, I, O, S extends Collection<O>> extends IFluentEntityMappingBuilder<C, I>, OneToManyOptions<C, I, O, S> {
@@ -363,6 +388,12 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 		@Override
 		IFluentMappingBuilderOneToManyOptions<C, I, O, S> cascading(RelationMode relationMode);
 		
+		@Override
+		IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetching(FetchMode fetchMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetchBatchSize(int batchSize);
+		
 	}
 	
 	/**
@@ -418,6 +449,12 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 		
 		@Override
 		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> cascading(RelationMode relationMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> fetching(FetchMode fetchMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> fetchBatchSize(int batchSize);
 	}
 	
 	/**
@@ -502,6 +539,9 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 
 		@Override
 		IFluentMappingBuilderElementCollectionOptions<C, I, O, S> withTable(String tableName);
+		
+		@Override
+		IFluentMappingBuilderElementCollectionOptions<C, I, O, S> replaceWholeCollection();
 	}
 	
 	interface IFluentMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S extends Collection<O>>
@@ -522,5 +562,8 @@ public interface IFluentEntityMappingBuilder<C, I> extends PersisterBuilder<C, I
 
 		@Override
 		IFluentMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S> withTable(String tableName);
+		
+		@Override
+		IFluentMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S> replaceWholeCollection();
 	}
 }
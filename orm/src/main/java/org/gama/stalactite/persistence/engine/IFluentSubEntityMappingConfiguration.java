@@ -226,6 +226,9 @@ public interface IFluentSubEntityMappingConfiguration<C, I> extends SubEntityMap
 		
 		@Override
 		IFluentMappingBuilderOneToOneOptions<C, I, T> cascading(RelationMode relationMode);
+		
+		@Override
+		IFluentMappingBuilderOneToOneOptions<C, I, T> fetching(FetchMode fetchMode);
 	}
 	
 	interface IFluentMappingBuilderOneToManyOptions<C, I, O, S extends Collection<O>> extends IFluentSubEntityMappingConfiguration<C, I>, OneToManyOptions<C, I, O, S> {
@@ -266,6 +269,12 @@ public interface IFluentSubEntityMappingConfiguration<C, I> extends SubEntityMap
 		@Override
 		IFluentMappingBuilderOneToManyOptions<C, I, O, S> cascading(RelationMode relationMode);
 		
+		@Override
+		IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetching(FetchMode fetchMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetchBatchSize(int batchSize);
+		
 	}
 	
 	/**
@@ -321,6 +330,12 @@ public interface IFluentSubEntityMappingConfiguration<C, I> extends SubEntityMap
 		
 		@Override
 		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> cascading(RelationMode relationMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> fetching(FetchMode fetchMode);
+		
+		@Override
+		IFluentMappingBuilderOneToManyListOptions<C, I, O, S> fetchBatchSize(int batchSize);
 	}
 	
 	/**
@@ -381,6 +396,9 @@ public interface IFluentSubEntityMappingConfiguration<C, I> extends SubEntityMap
 		
 		@Override
 		IFluentSubEntityMappingBuilderElementCollectionOptions<C, I, O, S> withTable(String tableName);
+		
+		@Override
+		IFluentSubEntityMappingBuilderElementCollectionOptions<C, I, O, S> replaceWholeCollection();
 	}
 	
 	interface IFluentSubEntityMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S extends Collection<O>>
@@ -401,6 +419,9 @@ public interface IFluentSubEntityMappingConfiguration<C, I> extends SubEntityMap
 		
 		@Override
 		IFluentSubEntityMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S> withTable(String tableName);
+		
+		@Override
+		IFluentSubEntityMappingBuilderElementCollectionImportEmbedOptions<C, I, O, S> replaceWholeCollection();
 	}
 	
 }
@@ -78,4 +78,23 @@ public interface OneToManyOptions<C, I, O, S extends Collection<O>> extends Casc
 	 */
 	OneToManyOptions<C, I, O, S> initializeWith(Supplier<S> collectionFactory);
 	
+	/**
+	 * Specifies how target entities are loaded when source entities are selected. Default is {@link FetchMode#JOIN}.
+	 * 
+	 * @param fetchMode any {@link FetchMode}
+	 * @return the global mapping configurer
+	 */
+	OneToManyOptions<C, I, O, S> fetching(FetchMode fetchMode);
+	
+	/**
+	 * Specifies the maximum number of source entities which relation is loaded at once when a {@link FetchMode#LAZY} relation is accessed :
+	 * relations of source entities loaded by the same query are loaded together, by this number, to avoid one query per entity.
+	 * Default is dialect "in" operator maximum size.
+	 * Has no effect on other fetch modes.
+	 * 
+	 * @param batchSize a strictly positive number
+	 * @return the global mapping configurer
+	 */
+	OneToManyOptions<C, I, O, S> fetchBatchSize(int batchSize);
+	
 }
@@ -52,4 +52,13 @@ public interface OneToOneOptions<C, I, T extends Table> extends CascadeOptions {
 	 * @return the global mapping configurer
 	 */
 	OneToOneOptions<C, I, T> mappedBy(Column<T, I> reverseLink);
+	
+	/**
+	 * Specifies how target entity is loaded when source entities are selected. Default is {@link FetchMode#JOIN}.
+	 * Note that {@link FetchMode#LAZY} is loaded as {@link FetchMode#SELECT} for one-to-one relations since target entity can't be proxied.
+	 * 
+	 * @param fetchMode any {@link FetchMode}
+	 * @return the global mapping configurer
+	 */
+	OneToOneOptions<C, I, T> fetching(FetchMode fetchMode);
 }
@@ -8,6 +8,7 @@ import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
 import org.gama.reflection.IReversibleAccessor;
 import org.gama.reflection.ValueAccessPointByMethodReference;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
 import org.gama.stalactite.persistence.engine.CascadeOptions.RelationMode;
 import org.gama.stalactite.persistence.engine.EntityMappingConfiguration;
 import org.gama.stalactite.persistence.engine.EntityMappingConfigurationProvider;
@@ -44,6 +45,10 @@ public class CascadeMany<SRC, TRGT, TRGTID, C extends Collection<TRGT>> {
 	
 	/** Default relation mode is {@link RelationMode#ALL} */
 	private RelationMode relationMode = RelationMode.ALL;
+	/** Default fetch mode is {@link FetchMode#JOIN} */
+	private FetchMode fetchMode = FetchMode.JOIN;
+	/** Optional maximum number of source entities which relation is loaded at once in {@link FetchMode#LAZY} */
+	private Integer fetchBatchSize;
 	/** Optional provider of collection instance to be used if collection value is null */
 	private Supplier<C> collectionFactory;
 	
@@ -149,6 +154,23 @@ public class CascadeMany<SRC, TRGT, TRGTID, C extends Collection<TRGT>> {
 		this.relationMode = relationMode;
 	}
 	
+	public FetchMode getFetchMode() {
+		return fetchMode;
+	}
+	
+	public void setFetchMode(FetchMode fetchMode) {
+		this.fetchMode = fetchMode;
+	}
+	
+	@Nullable
+	public Integer getFetchBatchSize() {
+		return fetchBatchSize;
+	}
+	
+	public void setFetchBatchSize(Integer fetchBatchSize) {
+		this.fetchBatchSize = fetchBatchSize;
+	}
+	
 	/**
 	 * Indicates if relation is owned by target entities table
 	 * @return true if one of {@link #getReverseSetter()}, {@link #getReverseGetter()}, {@link #getReverseColumn()} is not null
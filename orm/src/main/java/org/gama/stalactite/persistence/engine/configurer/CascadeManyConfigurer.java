@@ -27,6 +27,7 @@ import org.gama.reflection.MutatorByMethod;
 import org.gama.reflection.PropertyAccessor;
 import org.gama.reflection.ValueAccessPointMap;
 import org.gama.stalactite.persistence.engine.AssociationTableNamingStrategy;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
 import org.gama.stalactite.persistence.engine.CascadeOptions.RelationMode;
 import org.gama.stalactite.persistence.engine.ColumnNamingStrategy;
 import org.gama.stalactite.persistence.engine.ForeignKeyNamingStrategy;
@@ -49,6 +50,8 @@ import org.gama.stalactite.persistence.engine.runtime.OneToManyWithAssociationTa
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithIndexedAssociationTableEngine;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithIndexedMappedAssociationEngine;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine;
+import org.gama.stalactite.persistence.engine.runtime.fetch.LazyCollectionLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.RelationTargetsLoader;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
 import org.gama.stalactite.persistence.mapping.IMappingStrategy.ShadowColumnValueProvider;
 import org.gama.stalactite.persistence.mapping.IdAccessor;
@@ -110,7 +113,7 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 			if (maintenanceMode == ASSOCIATION_ONLY) {
 				throw new MappingConfigurationException(RelationMode.ASSOCIATION_ONLY + " is only relevent with an association table");
 			}
-			configurer = new CascadeManyWithMappedAssociationConfigurer<>(manyAssociationConfiguration, orphanRemoval);
+			configurer = new CascadeManyWithMappedAssociationConfigurer<>(manyAssociationConfiguration, orphanRemoval, dialect, connectionConfiguration);
 		} else {
 			configurer = new CascadeManyWithAssociationTableConfigurer<>(manyAssociationConfiguration,
 					associationTableNamingStrategy,
@@ -179,7 +182,7 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 			if (maintenanceMode == ASSOCIATION_ONLY) {
 				throw new MappingConfigurationException(RelationMode.ASSOCIATION_ONLY + " is only relevent with an association table");
 			}
-			configurer = new CascadeManyWithMappedAssociationConfigurer<>(manyAssociationConfiguration, orphanRemoval);
+			configurer = new CascadeManyWithMappedAssociationConfigurer<>(manyAssociationConfiguration, orphanRemoval, dialect, connectionConfiguration);
 		} else {
 			configurer = new CascadeManyWithAssociationTableConfigurer<>(manyAssociationConfiguration,
 					associationTableNamingStrategy,
@@ -285,8 +288,16 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 		 */
 		protected AccessorDefinition accessorDefinition;
 		
-		protected ConfigurerTemplate(ManyAssociationConfiguration<SRC, TRGT, SRCID, TRGTID, C> manyAssociationConfiguration) {
+		protected final Dialect dialect;
+		
+		protected final IConnectionConfiguration connectionConfiguration;
+		
+		protected ConfigurerTemplate(ManyAssociationConfiguration<SRC, TRGT, SRCID, TRGTID, C> manyAssociationConfiguration,
+									 Dialect dialect,
+									 IConnectionConfiguration connectionConfiguration) {
 			this.manyAssociationConfiguration = manyAssociationConfiguration;
+			this.dialect = dialect;
+			this.connectionConfiguration = connectionConfiguration;
 		}
 		
 		void determineAccessorDefinition(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
@@ -300,6 +311,36 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 					targetPersister.getClassToPersist());
 		}
 		
+		/**
+		 * Gives the way target entities must be loaded : the one asked by configuration, except for {@link FetchMode#LAZY} which is
+		 * replaced by {@link FetchMode#SELECT} if collection type can't be proxied (not an interface)
+		 * 
+		 * @return fetch mode to be applied
+		 */
+		protected FetchMode giveFetchMode() {
+			FetchMode fetchMode = manyAssociationConfiguration.cascadeMany.getFetchMode();
+			if (fetchMode == FetchMode.LAZY && !LazyCollectionLoader.isProxyable(giveCollectionType())) {
+				return FetchMode.SELECT;
+			}
+			return fetchMode;
+		}
+		
+		protected Class<C> giveCollectionType() {
+			return (Class<C>) manyAssociationConfiguration.cascadeMany.getMethodReference().getPropertyType();
+		}
+		
+		protected int giveFetchBatchSize() {
+			return nullable(manyAssociationConfiguration.cascadeMany.getFetchBatchSize()).getOr(dialect.getInOperatorMaxSize());
+		}
+		
+		protected RelationTargetsLoader<SRCID, TRGT, TRGTID> newTargetsLoader(Column sourceIdColumn,
+																			   Column targetIdColumn,
+																			   @Nullable Column<?, Integer> targetIndexColumn,
+																			   IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
+			return new RelationTargetsLoader<>(sourceIdColumn, targetIdColumn, targetIndexColumn, targetPersister,
+					connectionConfiguration.getConnectionProvider(), dialect.getColumnBinderRegistry(), dialect.getInOperatorMaxSize());
+		}
+		
 		abstract void configure(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister);
 		
 		public abstract ConfigurationResult<SRC,TRGT> appendCascadesWithSelectIn2Phases(String tableAlias, IEntityConfiguredJoinedTablesPersister<TRGT,
@@ -312,22 +353,20 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 	private static class CascadeManyWithAssociationTableConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collection<TRGT>> extends ConfigurerTemplate<SRC, TRGT, SRCID, TRGTID, C> {
 		
 		private final AssociationTableNamingStrategy associationTableNamingStrategy;
-		private final Dialect dialect;
 		private final boolean maintainAssociationOnly;
-		private final IConnectionConfiguration connectionConfiguration;
 		
 		private AbstractOneToManyWithAssociationTableEngine<SRC, TRGT, SRCID, TRGTID, C, ? extends AssociationRecord, ? extends AssociationTable> associationTableEngine;
 		
+		private AssociationTable associationTable;
+		
 		private CascadeManyWithAssociationTableConfigurer(ManyAssociationConfiguration<SRC, TRGT, SRCID, TRGTID, C> manyAssociationConfiguration,
 														  AssociationTableNamingStrategy associationTableNamingStrategy,
 														  Dialect dialect,
 														  boolean maintainAssociationOnly,
 														  IConnectionConfiguration connectionConfiguration) {
-			super(manyAssociationConfiguration);
+			super(manyAssociationConfiguration, dialect, connectionConfiguration);
 			this.associationTableNamingStrategy = associationTableNamingStrategy;
-			this.dialect = dialect;
 			this.maintainAssociationOnly = maintainAssociationOnly;
-			this.connectionConfiguration = connectionConfiguration;
 		}
 		
 		private void prepare(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
@@ -352,7 +391,21 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 		@Override
 		void configure(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
 			prepare(targetPersister);
-			associationTableEngine.addSelectCascade(manyAssociationConfiguration.srcPersister);
+			FetchMode fetchMode = giveFetchMode();
+			if (fetchMode == FetchMode.JOIN) {
+				associationTableEngine.addSelectCascade(manyAssociationConfiguration.srcPersister);
+			} else {
+				Column<?, Integer> indexColumn = associationTable instanceof IndexedAssociationTable
+						? ((IndexedAssociationTable) associationTable).getIndexColumn()
+						: null;
+				RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader = newTargetsLoader(associationTable.getOneSideKeyColumn(),
+						associationTable.getManySideKeyColumn(), indexColumn, targetPersister);
+				if (fetchMode == FetchMode.LAZY) {
+					associationTableEngine.addLazySelectCascade(targetsLoader, giveCollectionType(), giveFetchBatchSize());
+				} else {
+					associationTableEngine.addSeparateSelectCascade(targetsLoader);
+				}
+			}
 			addWriteCascades(associationTableEngine);
 		}
 		
@@ -395,6 +448,7 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 						intermediaryTable.getManySideKeyColumn(), rightPrimaryKey);
 			}
 			
+			associationTable = intermediaryTable;
 			AssociationRecordPersister<AssociationRecord, AssociationTable> associationPersister = new AssociationRecordPersister<>(
 					new AssociationRecordMappingStrategy(intermediaryTable),
 					dialect,
@@ -432,6 +486,7 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 						intermediaryTable.getManySideKeyColumn(), rightPrimaryKey);
 			}
 			
+			associationTable = intermediaryTable;
 			AssociationRecordPersister<IndexedAssociationRecord, IndexedAssociationTable> indexedAssociationPersister =
 					new AssociationRecordPersister<>(
 							new IndexedAssociationRecordMappingStrategy(intermediaryTable),
@@ -456,9 +511,15 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 		
 		private OneToManyWithMappedAssociationEngine<SRC, TRGT, SRCID, TRGTID, C> mappedAssociationEngine;
 		
+		/** Column storing target entities index, only present for indexed relation */
+		@Nullable
+		private Column<? extends Table, Integer> indexingColumn;
+		
 		private CascadeManyWithMappedAssociationConfigurer(ManyAssociationConfiguration<SRC, TRGT, SRCID, TRGTID, C> manyAssociationConfiguration,
-														   boolean allowOrphanRemoval) {
-			super(manyAssociationConfiguration);
+														   boolean allowOrphanRemoval,
+														   Dialect dialect,
+														   IConnectionConfiguration connectionConfiguration) {
+			super(manyAssociationConfiguration, dialect, connectionConfiguration);
 			this.manyAssociationConfiguration = manyAssociationConfiguration;
 			this.allowOrphanRemoval = allowOrphanRemoval;
 		}
@@ -580,7 +641,22 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 		@Override
 		void configure(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
 			prepare(targetPersister);
-			mappedAssociationEngine.addSelectCascade(manyAssociationConfiguration.leftPrimaryKey, mappedAssociationEngine.getManyRelationDescriptor().getReverseColumn());
+			Column reverseColumn = mappedAssociationEngine.getManyRelationDescriptor().getReverseColumn();
+			// table-per-class polymorphic targets have their reverse column spread over each sub-entity table, which is only supported by joins
+			FetchMode fetchMode = manyAssociationConfiguration.cascadeMany.isTargetTablePerClassPolymorphic() ? FetchMode.JOIN : giveFetchMode();
+			if (fetchMode == FetchMode.JOIN) {
+				mappedAssociationEngine.addSelectCascade(manyAssociationConfiguration.leftPrimaryKey, reverseColumn);
+			} else {
+				// target identifier is read from reverse column table, which may differ from target main one in case of joined-tables polymorphism
+				Column targetPrimaryKey = (Column) first(reverseColumn.getTable().getPrimaryKey().getColumns());
+				RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader = newTargetsLoader(reverseColumn, targetPrimaryKey,
+						(Column<?, Integer>) indexingColumn, targetPersister);
+				if (fetchMode == FetchMode.LAZY) {
+					mappedAssociationEngine.addLazySelectCascade(targetsLoader, giveCollectionType(), giveFetchBatchSize());
+				} else {
+					mappedAssociationEngine.addSeparateSelectCascade(targetsLoader);
+				}
+			}
 			addWriteCascades(mappedAssociationEngine);
 		}
 		
@@ -626,6 +702,7 @@ public class CascadeManyConfigurer<SRC, TRGT, SRCID, TRGTID, C extends Collectio
 				String indexingColumnName = manyAssociationConfiguration.indexColumnNamingStrategy.giveName(accessorDefinition);
 				indexingColumn = targetPersister.getMappingStrategy().getTargetTable().addColumn(indexingColumnName, int.class);
 			}
+			this.indexingColumn = indexingColumn;
 			IndexedMappedManyRelationDescriptor<SRC, TRGT, C> manyRelationDefinition = new IndexedMappedManyRelationDescriptor<>(
 					manyAssociationConfiguration.collectionGetter::get, manyAssociationConfiguration.setter::set,
 					manyAssociationConfiguration.giveCollectionFactory(), reverseSetter, reverseColumn, reverseGetter, getterSignature);
@@ -5,7 +5,9 @@ import javax.annotation.Nullable;
 import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
 import org.gama.reflection.IReversibleAccessor;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
 import org.gama.stalactite.persistence.engine.CascadeOptions.RelationMode;
+import org.gama.stalactite.persistence.engine.PolymorphismPolicy.TablePerClassPolymorphism;
 import org.gama.stalactite.persistence.engine.EntityMappingConfiguration;
 import org.gama.stalactite.persistence.engine.EntityMappingConfigurationProvider;
 import org.gama.stalactite.persistence.structure.Column;
@@ -37,6 +39,9 @@ public class CascadeOne<SRC, TRGT, TRGTID> {
 	/** Default relation mode is {@link RelationMode#ALL} */
 	private RelationMode relationMode = RelationMode.ALL;
 	
+	/** Default fetch mode is {@link FetchMode#JOIN} */
+	private FetchMode fetchMode = FetchMode.JOIN;
+	
 	<T extends Table> CascadeOne(IReversibleAccessor<SRC, TRGT> targetProvider, EntityMappingConfiguration<TRGT, TRGTID> targetMappingConfiguration, T table) {
 		this(targetProvider, () -> targetMappingConfiguration, table);
 	}
@@ -57,6 +62,10 @@ public class CascadeOne<SRC, TRGT, TRGTID> {
 		return targetMappingConfiguration.getConfiguration();
 	}
 	
+	public boolean isTargetTablePerClassPolymorphic() {
+		return getTargetMappingConfiguration().getPolymorphismPolicy() instanceof TablePerClassPolymorphism;
+	}
+	
 	@Nullable
 	public Table getTargetTable() {
 		return this.targetTable;
@@ -103,6 +112,14 @@ public class CascadeOne<SRC, TRGT, TRGTID> {
 		this.relationMode = relationMode;
 	}
 	
+	public FetchMode getFetchMode() {
+		return fetchMode;
+	}
+	
+	public void setFetchMode(FetchMode fetchMode) {
+		this.fetchMode = fetchMode;
+	}
+	
 	/**
 	 * Indicates if relation is owned by target entities table
 	 * @return true if one of {@link #getReverseSetter()}, {@link #getReverseGetter()}, {@link #getReverseColumn()} is not null
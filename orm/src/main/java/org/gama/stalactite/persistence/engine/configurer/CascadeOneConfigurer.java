@@ -26,6 +26,7 @@ import org.gama.reflection.Accessors;
 import org.gama.reflection.IAccessor;
 import org.gama.reflection.IMutator;
 import org.gama.reflection.ValueAccessPoint;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
 import org.gama.stalactite.persistence.engine.CascadeOptions.RelationMode;
 import org.gama.stalactite.persistence.engine.ColumnNamingStrategy;
 import org.gama.stalactite.persistence.engine.ForeignKeyNamingStrategy;
@@ -47,6 +48,8 @@ import org.gama.stalactite.persistence.engine.runtime.BeanRelationFixer;
 import org.gama.stalactite.persistence.engine.runtime.IConfiguredJoinedTablesPersister;
 import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredJoinedTablesPersister;
 import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredPersister;
+import org.gama.stalactite.persistence.engine.runtime.fetch.RelationTargetsLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.SeparateSelectRelationLoader;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
 import org.gama.stalactite.persistence.engine.runtime.load.PassiveJoinNode;
@@ -153,7 +156,13 @@ public class CascadeOneConfigurer<SRC, TRGT, SRCID, TRGTID> {
 		public void appendCascades(String tableAlias,
 								   IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
 			prepare(targetPersister);
-			addSelectCascade(tableAlias, targetPersister, beanRelationFixer);
+			// table-per-class polymorphic targets are spread over several tables, which is only supported by joins
+			if (cascadeOne.getFetchMode() == FetchMode.JOIN || cascadeOne.isTargetTablePerClassPolymorphic()) {
+				addSelectCascade(tableAlias, targetPersister, beanRelationFixer);
+			} else {
+				// target entity can't be proxied, hence lazy relation is loaded as a separate select one
+				addSeparateSelectCascade(targetPersister);
+			}
 			addWriteCascades(targetPersister);
 		}
 		
@@ -227,6 +236,27 @@ public class CascadeOneConfigurer<SRC, TRGT, SRCID, TRGTID> {
 			});
 		}
 		
+		/**
+		 * Adds loading of target entity with a query dedicated to the relation, right after source entities one
+		 * 
+		 * @param targetPersister target entity persister
+		 */
+		protected void addSeparateSelectCascade(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister) {
+			Duo<Column, Column> relationIdColumns = giveRelationIdColumns();
+			RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader = new RelationTargetsLoader<>(
+					relationIdColumns.getLeft(), relationIdColumns.getRight(), null, targetPersister,
+					connectionConfiguration.getConnectionProvider(), dialect.getColumnBinderRegistry(), dialect.getInOperatorMaxSize());
+			sourcePersister.addSelectListener(new SeparateSelectRelationLoader<>(sourcePersister.getMappingStrategy()::getId, targetsLoader,
+					beanRelationFixer));
+		}
+		
+		/**
+		 * Gives columns that store relation identifiers
+		 * 
+		 * @return source identifier column on the left, target identifier one on the right, both of the same table
+		 */
+		protected abstract Duo<Column, Column> giveRelationIdColumns();
+		
 		abstract protected void addSelectCascadeIn2Phases(
 				String tableAlias,
 				IConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister,
@@ -263,6 +293,12 @@ public class CascadeOneConfigurer<SRC, TRGT, SRCID, TRGTID> {
 			leftColumn.getTable().addForeignKey(foreignKeyName, leftColumn, rightColumn);
 		}
 		
+		@Override
+		protected Duo<Column, Column> giveRelationIdColumns() {
+			// relation is stored in source table, by the column pointing to target primary key
+			return new Duo<>(Iterables.first(leftColumn.getTable().getPrimaryKey().getColumns()), leftColumn);
+		}
+		
 		@Override
 		protected void addSelectCascadeIn2Phases(
 				String tableAlias,
@@ -436,6 +472,12 @@ public class CascadeOneConfigurer<SRC, TRGT, SRCID, TRGTID> {
 			rightColumn.getTable().addForeignKey(foreignKeyName, rightColumn, leftColumn);
 		}
 		
+		@Override
+		protected Duo<Column, Column> giveRelationIdColumns() {
+			// relation is stored in target table, by the column pointing to source primary key
+			return new Duo<>(rightColumn, Iterables.first(rightColumn.getTable().getPrimaryKey().getColumns()));
+		}
+		
 		private Column createOrUseReverseColumn(IEntityMappingStrategy<TRGT, TRGTID, ?> targetMappingStrategy,
 												Column reverseColumn,
 												ValueAccessPoint reverseGetter,
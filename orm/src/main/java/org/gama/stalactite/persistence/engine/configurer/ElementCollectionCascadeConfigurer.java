@@ -1,17 +1,22 @@
 package org.gama.stalactite.persistence.engine.configurer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.gama.lang.Duo;
 import org.gama.lang.collection.Arrays;
+import org.gama.lang.collection.Collections;
 import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.Maps;
 import org.gama.reflection.AccessorChain;
@@ -36,6 +41,9 @@ import org.gama.stalactite.persistence.engine.runtime.CollectionUpdater;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.DeleteTargetEntitiesBeforeDeleteCascader;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.TargetInstancesInsertCascader;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.TargetInstancesUpdateCascader;
+import org.gama.stalactite.persistence.engine.listening.DeleteByIdListener;
+import org.gama.stalactite.persistence.engine.listening.DeleteListener;
+import org.gama.stalactite.persistence.engine.listening.UpdateListener;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.id.PersistableIdentifier;
 import org.gama.stalactite.persistence.id.PersistedIdentifier;
@@ -50,8 +58,10 @@ import org.gama.stalactite.persistence.mapping.EmbeddedBeanMappingStrategy;
 import org.gama.stalactite.persistence.mapping.IdAccessor;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
+import org.gama.stalactite.persistence.sql.dml.ColumnParameterizedSQL;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.dml.WriteOperation;
 import org.gama.stalactite.sql.result.Row;
 
 import static org.gama.lang.Nullable.nullable;
@@ -145,11 +155,22 @@ public class ElementCollectionCascadeConfigurer<SRC, TRGT, ID, C extends Collect
 		IAccessor<SRC, C> collectionAccessor = linkage.getCollectionProvider();
 		addInsertCascade(sourcePersister, elementRecordPersister, collectionAccessor);
 		
-		// update management
-		addUpdateCascade(sourcePersister, elementRecordPersister, collectionAccessor);
-		
-		// delete management (we provided persisted instances so they are perceived as deletable)
-		addDeleteCascade(sourcePersister, elementRecordPersister, collectionAccessor);
+		if (linkage.isWholeCollectionReplaced()) {
+			// rows are deleted by owner identifier, hence without loading nor wrapping elements
+			Consumer<List<ID>> ownerRowsDeleter = ownerIds -> deleteByOwnerIds(targetTable, reverseColumn, ownerIds);
+			
+			// update management
+			addWholeCollectionUpdateCascade(sourcePersister, elementRecordPersister, collectionAccessor, ownerRowsDeleter);
+			
+			// delete management
+			addWholeCollectionDeleteCascade(sourcePersister, ownerRowsDeleter);
+		} else {
+			// update management
+			addUpdateCascade(sourcePersister, elementRecordPersister, collectionAccessor);
+			
+			// delete management (we provided persisted instances so they are perceived as deletable)
+			addDeleteCascade(sourcePersister, elementRecordPersister, collectionAccessor);
+		}
 		
 		// select management
 		Supplier<C> collectionFactory = preventNull(
@@ -216,6 +237,87 @@ public class ElementCollectionCascadeConfigurer<SRC, TRGT, ID, C extends Collect
 		sourcePersister.addDeleteListener(new DeleteTargetEntitiesBeforeDeleteCascader<>(wrapperPersister, collectionProviderAsPersistedInstances));
 	}
 	
+	/**
+	 * Update cascade of whole-collection mode : owners which collection changed get their rows deleted by a single statement (per block of
+	 * "in" operator max size), then their current elements are inserted in batch
+	 */
+	private void addWholeCollectionUpdateCascade(IEntityConfiguredJoinedTablesPersister<SRC, ID> sourcePersister,
+												 IEntityPersister<ElementRecord, ElementRecord> wrapperPersister,
+												 IAccessor<SRC, C> collectionAccessor,
+												 Consumer<List<ID>> ownerRowsDeleter) {
+		Function<SRC, Collection<ElementRecord>> collectionProviderForInsert = collectionProvider(
+				collectionAccessor,
+				sourcePersister.getMappingStrategy(),
+				PersistableIdentifier::new);
+		
+		sourcePersister.addUpdateListener(new UpdateListener<SRC>() {
+			@Override
+			public void afterUpdate(Iterable<? extends Duo<? extends SRC, ? extends SRC>> entities, boolean allColumnsStatement) {
+				List<ID> modifiedOwnerIds = new ArrayList<>();
+				List<ElementRecord> recordsToInsert = new ArrayList<>();
+				for (Duo<? extends SRC, ? extends SRC> payload : entities) {
+					C modifiedCollection = collectionAccessor.get(payload.getLeft());
+					if (!asSet(modifiedCollection).equals(asSet(collectionAccessor.get(payload.getRight())))) {
+						modifiedOwnerIds.add(sourcePersister.getMappingStrategy().getId(payload.getLeft()));
+						if (modifiedCollection != null) {
+							recordsToInsert.addAll(collectionProviderForInsert.apply(payload.getLeft()));
+						}
+					}
+				}
+				if (!modifiedOwnerIds.isEmpty()) {
+					ownerRowsDeleter.accept(modifiedOwnerIds);
+					wrapperPersister.insert(recordsToInsert);
+				}
+			}
+		});
+	}
+	
+	private static <E> Set<E> asSet(@Nullable Collection<E> collection) {
+		return collection == null ? new HashSet<>() : new HashSet<>(collection);
+	}
+	
+	/**
+	 * Delete cascade of whole-collection mode : rows are deleted by owner identifier, so it also supports deletion by id
+	 */
+	private void addWholeCollectionDeleteCascade(IEntityConfiguredJoinedTablesPersister<SRC, ID> sourcePersister,
+												 Consumer<List<ID>> ownerRowsDeleter) {
+		sourcePersister.addDeleteListener(new DeleteListener<SRC>() {
+			@Override
+			public void beforeDelete(Iterable<SRC> entities) {
+				ownerRowsDeleter.accept(Iterables.collectToList(entities, sourcePersister.getMappingStrategy()::getId));
+			}
+		});
+		sourcePersister.addDeleteByIdListener(new DeleteByIdListener<SRC>() {
+			@Override
+			public void beforeDeleteById(Iterable<SRC> entities) {
+				ownerRowsDeleter.accept(Iterables.collectToList(entities, sourcePersister.getMappingStrategy()::getId));
+			}
+		});
+	}
+	
+	/**
+	 * Deletes all rows of given owners with "delete from targetTable where reverseColumn in (?, ...)" statements
+	 * 
+	 * @param targetTable element collection table
+	 * @param reverseColumn column pointing to owner identifier
+	 * @param ownerIds identifiers of owners which rows must be deleted
+	 * @return deleted row count
+	 */
+	private int deleteByOwnerIds(Table targetTable, Column reverseColumn, List<ID> ownerIds) {
+		int deletedRowCount = 0;
+		for (List<ID> block : Collections.parcel(ownerIds, dialect.getInOperatorMaxSize())) {
+			ColumnParameterizedSQL deleteStatement = dialect.getDmlGenerator().buildDeleteByKey(targetTable,
+					(Collection) Arrays.asList(reverseColumn), block.size());
+			try (WriteOperation<Column> writeOperation = new WriteOperation<Column>(deleteStatement, connectionConfiguration.getConnectionProvider(),
+					dialect.getWriteOperationRetryer())) {
+				// we must pass a single value when expected, else ExpandableStatement may be confused when applying them
+				writeOperation.setValue(reverseColumn, block.size() == 1 ? block.get(0) : block);
+				deletedRowCount += writeOperation.execute();
+			}
+		}
+		return deletedRowCount;
+	}
+	
 	private <T extends Table> void addSelectCascade(IEntityConfiguredJoinedTablesPersister<SRC, ID> sourcePersister,
 								  IJoinedTablesPersister<ElementRecord, ElementRecord> elementRecordPersister,
 								  Column sourcePK,
@@ -37,6 +37,9 @@ public class ElementCollectionLinkage<SRC, TRGT, C extends Collection<TRGT>> {
 	private Column<Table, ?> reverseColumn;
 	private String reverseColumnName;
 	
+	/** Indicates that collection is written as a whole (delete by owner identifier + insert) rather than by difference */
+	private boolean wholeCollectionReplaced = false;
+	
 	/** Element column name override, used in simple case : {@link EmbeddableMappingConfigurationProvider} null, aka not when element is a complex type */
 	private String elementColumnName;
 	
@@ -143,6 +146,14 @@ public class ElementCollectionLinkage<SRC, TRGT, C extends Collection<TRGT>> {
 		return this;
 	}
 	
+	public boolean isWholeCollectionReplaced() {
+		return wholeCollectionReplaced;
+	}
+	
+	public void setWholeCollectionReplaced(boolean wholeCollectionReplaced) {
+		this.wholeCollectionReplaced = wholeCollectionReplaced;
+	}
+	
 	public Class<TRGT> getComponentType() {
 		return componentType;
 	}
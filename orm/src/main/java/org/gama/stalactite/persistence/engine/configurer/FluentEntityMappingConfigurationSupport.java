@@ -97,6 +97,10 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 	
 	private AssociationTableNamingStrategy associationTableNamingStrategy = AssociationTableNamingStrategy.DEFAULT;
 	
+	private Integer batchSize;
+	
+	private boolean collectionJoinsSplit = false;
+	
 	private ElementCollectionTableNamingStrategy elementCollectionTableNamingStrategy = ElementCollectionTableNamingStrategy.DEFAULT;
 	
 	private OptimisticLockOption optimisticLockOption;
@@ -204,6 +208,16 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 		return this.associationTableNamingStrategy;
 	}
 	
+	@Override
+	public Integer getBatchSize() {
+		return this.batchSize;
+	}
+	
+	@Override
+	public boolean isCollectionJoinsSplit() {
+		return this.collectionJoinsSplit;
+	}
+	
 	@Override
 	public ElementCollectionTableNamingStrategy getElementCollectionTableNamingStrategy() {
 		return this.elementCollectionTableNamingStrategy;
@@ -383,6 +397,12 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 				elementCollectionLinkage.setTargetTableName(tableName);
 				return null;
 			}
+			
+			@Override
+			public ElementCollectionOptions<C, O, S> replaceWholeCollection() {
+				elementCollectionLinkage.setWholeCollectionReplaced(true);
+				return null;
+			}
 		};
 	}
 	
@@ -483,6 +503,12 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 						cascadeOne.setReverseColumn(reverseLink);
 						return null;	// we can return null because dispatcher will return proxy
 					}
+					
+					@Override
+					public OneToOneOptions fetching(FetchMode fetchMode) {
+						cascadeOne.setFetchMode(fetchMode);
+						return null;	// we can return null because dispatcher will return proxy
+					}
 				}, true)	// true to allow "return null" in implemented methods
 				.fallbackOn(this)
 				.build((Class<IFluentMappingBuilderOneToOneOptions<C, I, T>>) (Class) IFluentMappingBuilderOneToOneOptions.class);
@@ -710,6 +736,21 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 		return this;
 	}
 	
+	@Override
+	public IFluentEntityMappingBuilder<C, I> withBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size is expected to be positive : " + batchSize);
+		}
+		this.batchSize = batchSize;
+		return this;
+	}
+	
+	@Override
+	public IFluentEntityMappingBuilder<C, I> withCollectionJoinsSplit() {
+		this.collectionJoinsSplit = true;
+		return this;
+	}
+	
 	/**
 	 * Defines the versioning property of beans. This implies that Optmistic Locking will be applied on those beans.
 	 * Versioning policy is supported for following types:
@@ -917,6 +958,21 @@ public class FluentEntityMappingConfigurationSupport<C, I> implements IFluentEnt
 			cascadeMany.setRelationMode(relationMode);
 			return null;	// we can return null because dispatcher will return proxy
 		}
+		
+		@Override
+		public IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetching(FetchMode fetchMode) {
+			cascadeMany.setFetchMode(fetchMode);
+			return null;	// we can return null because dispatcher will return proxy
+		}
+		
+		@Override
+		public IFluentMappingBuilderOneToManyOptions<C, I, O, S> fetchBatchSize(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("Fetch batch size must be strictly positive : " + batchSize);
+			}
+			cascadeMany.setFetchBatchSize(batchSize);
+			return null;	// we can return null because dispatcher will return proxy
+		}
 	}
 	
 	/**
@@ -292,6 +292,12 @@ public class FluentSubEntityMappingConfigurationSupport<C, I> implements IFluent
 				elementCollectionLinkage.setTargetTableName(tableName);
 				return null;
 			}
+			
+			@Override
+			public ElementCollectionOptions<C, O, S> replaceWholeCollection() {
+				elementCollectionLinkage.setWholeCollectionReplaced(true);
+				return null;
+			}
 		};
 	}
 	
@@ -374,6 +380,12 @@ public class FluentSubEntityMappingConfigurationSupport<C, I> implements IFluent
 						cascadeOne.setReverseColumn(reverseLink);
 						return null;	// we can return null because dispatcher will return proxy
 					}
+					
+					@Override
+					public OneToOneOptions fetching(FetchMode fetchMode) {
+						cascadeOne.setFetchMode(fetchMode);
+						return null;	// we can return null because dispatcher will return proxy
+					}
 				}, true)	// true to allow "return null" in implemented methods
 				.fallbackOn(this)
 				.build((Class<IFluentMappingBuilderOneToOneOptions<C, I, T>>) (Class) IFluentMappingBuilderOneToOneOptions.class);
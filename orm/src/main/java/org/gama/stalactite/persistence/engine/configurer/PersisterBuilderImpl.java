@@ -40,6 +40,7 @@ import org.gama.stalactite.persistence.engine.EntityMappingConfigurationProvider
 import org.gama.stalactite.persistence.engine.ForeignKeyNamingStrategy;
 import org.gama.stalactite.persistence.engine.IEntityPersister;
 import org.gama.stalactite.persistence.engine.MappingConfigurationException;
+import org.gama.stalactite.persistence.engine.NotYetSupportedOperationException;
 import org.gama.stalactite.persistence.engine.PersistenceContext;
 import org.gama.stalactite.persistence.engine.PersisterBuilder;
 import org.gama.stalactite.persistence.engine.PersisterRegistry;
@@ -69,8 +70,10 @@ import org.gama.stalactite.persistence.id.manager.JDBCGeneratedKeysIdentifierMan
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
 import org.gama.stalactite.persistence.mapping.SimpleIdMappingStrategy;
 import org.gama.stalactite.persistence.mapping.SinglePropertyIdAccessor;
+import org.gama.stalactite.persistence.query.EntitySelectExecutor;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
+import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
 import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.PrimaryKey;
@@ -242,12 +245,20 @@ public class PersisterBuilderImpl<C, I> implements PersisterBuilder<C, I> {
 		// determining insertion manager must be done AFTER primary key addition, else it would fall into NullPointerException
 		determineIdentifierManager(identification, inheritanceMappingPerTable, identification.getIdAccessor(), generatedKeysReaderBuilder);
 		
+		// Batch size defined on entity overrides the one of connection configuration for its tables, as well as for its relations and sub-entities
+		// ones (a relation target entity that defines its own batch size keeps it)
+		IConnectionConfiguration entityConnectionConfiguration = connectionConfiguration;
+		if (entityMappingConfiguration.getBatchSize() != null) {
+			entityConnectionConfiguration = new ConnectionConfigurationSupport(connectionConfiguration.getConnectionProvider(),
+					entityMappingConfiguration.getBatchSize());
+		}
+		
 		// Creating main persister 
 		Mapping mainMapping = Iterables.first(inheritanceMappingPerTable.getMappings());
-		JoinedTablesPersister<C, I, Table> mainPersister = buildMainPersister(identification, mainMapping, dialect, connectionConfiguration);
+		JoinedTablesPersister<C, I, Table> mainPersister = buildMainPersister(identification, mainMapping, dialect, entityConnectionConfiguration);
 		PersisterBuilderContext.CURRENT.get().addEntity(mainPersister.getMappingStrategy().getClassToPersist());
 		
-		RelationConfigurer<C, I, ?> relationConfigurer = new RelationConfigurer<>(dialect, connectionConfiguration, persisterRegistry, mainPersister,
+		RelationConfigurer<C, I, ?> relationConfigurer = new RelationConfigurer<>(dialect, entityConnectionConfiguration, persisterRegistry, mainPersister,
 				columnNamingStrategy,
 				foreignKeyNamingStrategy,
 				elementCollectionTableNamingStrategy,
@@ -274,7 +285,14 @@ public class PersisterBuilderImpl<C, I> implements PersisterBuilder<C, I> {
 					this.columnNamingStrategy, this.foreignKeyNamingStrategy, this.elementCollectionTableNamingStrategy,
 					this.joinColumnNamingStrategy, this.indexColumnNamingStrategy,
 					this.associationTableNamingStrategy, mainMapping.getMapping(), this.tableNamingStrategy);
-			result = polymorphismPersisterBuilder.build(dialect, connectionConfiguration, persisterRegistry);
+			result = polymorphismPersisterBuilder.build(dialect, entityConnectionConfiguration, persisterRegistry);
+		}
+		
+		if (entityMappingConfiguration.isCollectionJoinsSplit()) {
+			if (polymorphismPolicy != null || !(mainPersister.getEntitySelectExecutor() instanceof EntitySelectExecutor)) {
+				throw new NotYetSupportedOperationException("Collection joins split is not supported for polymorphic entities");
+			}
+			((EntitySelectExecutor) mainPersister.getEntitySelectExecutor()).setCollectionJoinsSplit(true);
 		}
 		
 		// when identifier policy is already-assigned one, we must ensure that entity is marked as persisted when it comes back from database
@@ -293,7 +311,7 @@ public class PersisterBuilderImpl<C, I> implements PersisterBuilder<C, I> {
 		Iterator<Mapping> mappings = Iterables.filter(Iterables.reverseIterator(inheritanceMappingPerTable.getMappings().asSet()),
 				m -> !mainMapping.equals(m) && !m.mappedSuperClass);
 		KeepOrderSet<JoinedTablesPersister<C, I, Table>> parentPersisters = buildParentPersisters(() -> mappings,
-				identification, mainPersister, dialect, connectionConfiguration
+				identification, mainPersister, dialect, entityConnectionConfiguration
 		);
 		
 		addCascadesBetweenChildAndParentTable(mainPersister, parentPersisters);
@@ -306,13 +324,23 @@ public class PersisterBuilderImpl<C, I> implements PersisterBuilder<C, I> {
 		// (because it has no purpose since entity is not given as argument) but update(C, C, boolean) is and should be, that is not the case if
 		// EntityIsManagedByPersisterAsserter is done first since OptimizedUpdatePersister invokes itself with "this.update(C, C, boolean)"
 		OptimizedUpdatePersister<C, I> optimizedPersister = new OptimizedUpdatePersister<>(
-				new EntityIsManagedByPersisterAsserter<>(result));
+				new EntityIsManagedByPersisterAsserter<>(result), polymorphismPolicy == null && parentPersisters.isEmpty() && !hasRelations());
 		persisterRegistry.addPersister(optimizedPersister);
 		parentPersisters.forEach(persisterRegistry::addPersister);
 		
 		return optimizedPersister;
 	}
 	
+	/**
+	 * @return true if entity or one of its ancestors declares a relation (one-to-one, one-to-many or element collection)
+	 */
+	private boolean hasRelations() {
+		return Iterables.stream(entityMappingConfiguration.inheritanceIterable()).anyMatch(configuration ->
+				!configuration.getOneToOnes().isEmpty()
+						|| !configuration.getOneToManys().isEmpty()
+						|| !configuration.getElementCollections().isEmpty());
+	}
+	
 	/**
 	 * Contract to post initialize some thing after persister has been instanciated but need some more configuration.
 	 * Used in particular to deal with bean cycle load.
@@ -440,6 +468,8 @@ public class PersisterBuilderImpl<C, I> implements PersisterBuilder<C, I> {
 		superPersistersWithChangingTable.forEach(superPersister -> {
 			// Before insert of child we must insert parent
 			persisterListener.addInsertListener(new BeforeInsertSupport<>(superPersister::insert, Function.identity()));
+			// upsert doesn't trigger listeners, so parent is given to child for it to be upserted first
+			mainPersister.addParentTablePersister(superPersister);
 			
 			// On child update, parent must be updated too, no constraint on order for this, after is arbitrarly choosen
 			persisterListener.addUpdateListener(new AfterUpdateSupport<>(superPersister::update, Function.identity()));
@@ -26,6 +26,9 @@ import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssocia
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.DeleteTargetEntitiesBeforeDeleteCascader;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.TargetInstancesInsertCascader;
 import org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.TargetInstancesUpdateCascader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.LazyCollectionLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.RelationTargetsLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.SeparateSelectRelationLoader;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
 import org.gama.stalactite.persistence.id.diff.AbstractDiff;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
@@ -106,6 +109,29 @@ public abstract class AbstractOneToManyWithAssociationTableEngine<SRC, TRGT, SRC
 		});
 	}
 	
+	/**
+	 * Adds loading of target entities with a query dedicated to the relation, right after source entities one, instead of joining them
+	 * to source entities graph.
+	 * 
+	 * @param targetsLoader loader of target entities per source identifier
+	 */
+	public void addSeparateSelectCascade(RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader) {
+		sourcePersister.addSelectListener(new SeparateSelectRelationLoader<>(sourcePersister.getMappingStrategy()::getId, targetsLoader,
+				manyRelationDescriptor.getRelationFixer()));
+	}
+	
+	/**
+	 * Adds lazy loading of target entities : a proxy of relation is set on source entities, which loads target entities on first access.
+	 * 
+	 * @param targetsLoader loader of target entities per source identifier
+	 * @param collectionType relation type, must be an interface
+	 * @param batchSize maximum number of source entities which relation is loaded at once
+	 */
+	public void addLazySelectCascade(RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader, Class<C> collectionType, int batchSize) {
+		sourcePersister.addSelectListener(new LazyCollectionLoader<>(sourcePersister.getMappingStrategy()::getId, targetsLoader,
+				manyRelationDescriptor, collectionType, batchSize));
+	}
+	
 	public void addInsertCascade(boolean maintainAssociationOnly) {
 		// Can we cascade insert on target entities ? it depends on relation maintenance mode
 		if (!maintainAssociationOnly) {
@@ -38,7 +38,6 @@ import org.gama.stalactite.query.builder.DMLNameProvider;
 import org.gama.stalactite.query.builder.SQLQueryBuilder;
 import org.gama.stalactite.query.model.Query;
 import org.gama.stalactite.sql.ConnectionProvider;
-import org.gama.stalactite.sql.SimpleConnectionProvider;
 import org.gama.stalactite.sql.binder.ParameterBinder;
 import org.gama.stalactite.sql.binder.ParameterBinderIndex;
 import org.gama.stalactite.sql.binder.ParameterBinderIndex.ParameterBinderIndexFromMap;
@@ -180,28 +179,30 @@ public class EntityMappingStrategyTreeSelectExecutor<C, I, T extends Table> exte
 			}
 			
 			SQLQueryBuilder sqlQueryBuilder = new SQLQueryBuilder(query);
-			// Be aware that this executor is made to use same Connection to execute next SQL orders in same transaction
-			InternalExecutor executor = newInternalExecutor(entityTreeQuery);
-			if (!parcels.isEmpty()) {
-				// change parameter mark count to adapt "in" operator values
-				ParameterizedWhere tableParameterizedWhere = dmlGenerator.appendTupledWhere(identifierCriteria, primaryKey.getColumns(), blockSize);
-				result.addAll(executor.execute(sqlQueryBuilder.toSQL(), parcels, tableParameterizedWhere.getColumnToIndex()));
-			}
-			if (!lastBlock.isEmpty()) {
-				// change parameter mark count to adapt "in" operator values, we must clear previous where clause
-				identifierCriteria.getAppender().setLength(0);
-				ParameterizedWhere tableParameterizedWhere = dmlGenerator.appendTupledWhere(identifierCriteria, primaryKey.getColumns(), lastBlock.size());
-				result.addAll(executor.execute(sqlQueryBuilder.toSQL(), java.util.Collections.singleton(lastBlock), tableParameterizedWhere.getColumnToIndex()));
-			}
+			List<List<I>> fullBlocks = parcels;
+			doWithReadConnection(connectionProvider -> {
+				// Be aware that this executor is made to use same Connection to execute next SQL orders
+				InternalExecutor executor = newInternalExecutor(entityTreeQuery, connectionProvider);
+				if (!fullBlocks.isEmpty()) {
+					// change parameter mark count to adapt "in" operator values
+					ParameterizedWhere tableParameterizedWhere = dmlGenerator.appendTupledWhere(identifierCriteria, primaryKey.getColumns(), blockSize);
+					result.addAll(executor.execute(sqlQueryBuilder.toSQL(), fullBlocks, tableParameterizedWhere.getColumnToIndex()));
+				}
+				if (!lastBlock.isEmpty()) {
+					// change parameter mark count to adapt "in" operator values, we must clear previous where clause
+					identifierCriteria.getAppender().setLength(0);
+					ParameterizedWhere tableParameterizedWhere = dmlGenerator.appendTupledWhere(identifierCriteria, primaryKey.getColumns(), lastBlock.size());
+					result.addAll(executor.execute(sqlQueryBuilder.toSQL(), java.util.Collections.singleton(lastBlock), tableParameterizedWhere.getColumnToIndex()));
+				}
+				return null;
+			});
 		}
 		return result;
 	}
 	
 	@VisibleForTesting
-	InternalExecutor newInternalExecutor(EntityTreeQuery<C> entityTreeQuery) {
-		return new InternalExecutor(entityTreeQuery,
-				// NB : this instance is reused so we must ensure that the same Connection is used for all operations
-				new SimpleConnectionProvider(getConnectionProvider().getCurrentConnection()));
+	InternalExecutor newInternalExecutor(EntityTreeQuery<C> entityTreeQuery, ConnectionProvider connectionProvider) {
+		return new InternalExecutor(entityTreeQuery, connectionProvider);
 	}
 	
 	/**
@@ -0,0 +1,61 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.engine.runtime.IJoinedTablesPersister.ExecutableProjectionQuery;
+import org.gama.stalactite.persistence.query.EntityCriteriaSupport;
+import org.gama.stalactite.persistence.query.IEntitySelectExecutor;
+
+/**
+ * Implementation of {@link ExecutableProjectionQuery} that converts properties to their columns and delegates reading to an
+ * {@link IEntitySelectExecutor}. Made to be plugged into a {@link IJoinedTablesPersister.RelationalExecutableEntityQuery} proxy.
+ * 
+ * @author Guillaume Mary
+ */
+class ExecutableProjectionQuerySupport<C> implements ExecutableProjectionQuery<C> {
+	
+	private final EntityCriteriaSupport<C> criteriaSupport;
+	
+	private final IEntitySelectExecutor<C> entitySelectExecutor;
+	
+	ExecutableProjectionQuerySupport(EntityCriteriaSupport<C> criteriaSupport, IEntitySelectExecutor<C> entitySelectExecutor) {
+		this.criteriaSupport = criteriaSupport;
+		this.entitySelectExecutor = entitySelectExecutor;
+	}
+	
+	@Override
+	public <O> List<O> executeProjection(SerializableFunction<C, O> property) {
+		return entitySelectExecutor.loadProjection(criteriaSupport.getCriteria(),
+				Arrays.asList(criteriaSupport.giveColumn(property)),
+				values -> (O) values[0]);
+	}
+	
+	@Override
+	public <A, B, R> List<R> executeProjection(BiFunction<A, B, R> factory, SerializableFunction<C, A> property1, SerializableFunction<C, B> property2) {
+		return entitySelectExecutor.loadProjection(criteriaSupport.getCriteria(),
+				Arrays.asList(criteriaSupport.giveColumn(property1), criteriaSupport.giveColumn(property2)),
+				values -> factory.apply((A) values[0], (B) values[1]));
+	}
+	
+	@Override
+	public <R> List<R> executeProjection(Function<Object[], R> factory, List<? extends SerializableFunction<C, ?>> properties) {
+		return entitySelectExecutor.loadProjection(criteriaSupport.getCriteria(),
+				properties.stream().map(criteriaSupport::giveColumn).collect(Collectors.toList()),
+				factory);
+	}
+	
+	@Override
+	public long count() {
+		return entitySelectExecutor.count(criteriaSupport.getCriteria());
+	}
+	
+	@Override
+	public boolean exists() {
+		return entitySelectExecutor.exists(criteriaSupport.getCriteria());
+	}
+}
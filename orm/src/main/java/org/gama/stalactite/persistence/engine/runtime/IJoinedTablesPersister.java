@@ -3,8 +3,10 @@ package org.gama.stalactite.persistence.engine.runtime;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
@@ -128,7 +130,8 @@ public interface IJoinedTablesPersister<C, I> {
 	 * Mashup between {@link EntityCriteria} and {@link ExecutableQuery} to make an {@link EntityCriteria} executable
 	 * @param <C> type of object returned by query execution
 	 */
-	interface RelationalExecutableEntityQuery<C> extends ExecutableEntityQuery<C>, CriteriaProvider, RelationalEntityCriteria<C> {
+	interface RelationalExecutableEntityQuery<C> extends ExecutableEntityQuery<C>, CriteriaProvider, RelationalEntityCriteria<C>,
+			ExecutableProjectionQuery<C> {
 		
 		<O> RelationalExecutableEntityQuery<C> and(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator);
 		
@@ -143,4 +146,63 @@ public interface IJoinedTablesPersister<C, I> {
 		<S extends Collection<A>, A, B> RelationalExecutableEntityQuery<C> andMany(SerializableFunction<C, S> getter1, SerializableFunction<A, B> getter2, AbstractRelationalOperator<B> operator);
 		
 	}
+	
+	/**
+	 * Terminal operations of an {@link EntityCriteria} that read only some information of matching entities instead of loading them :
+	 * no bean graph is built, only given property columns (or a count) are selected. Hence properties are expected to be stored in entity
+	 * main table (relations or embedded collections are not supported).
+	 * For projections, each result element matches an entity : if several entities share the same values, result will contain duplicates.
+	 * 
+	 * @param <C> type of entity on which criteria are applied
+	 */
+	interface ExecutableProjectionQuery<C> {
+		
+		/**
+		 * Reads the value of a property for each entity matching criteria
+		 * 
+		 * @param property property accessor of the values to be read
+		 * @param <O> property type
+		 * @return property values, one per entity matching criteria
+		 */
+		<O> List<O> executeProjection(SerializableFunction<C, O> property);
+		
+		/**
+		 * Reads the value of 2 properties for each entity matching criteria and gives them to a factory, which is expected to be a DTO
+		 * constructor
+		 * 
+		 * @param factory builder of result elements from properties values
+		 * @param property1 property accessor of the values given as first argument of factory
+		 * @param property2 property accessor of the values given as second argument of factory
+		 * @param <A> first property type
+		 * @param <B> second property type
+		 * @param <R> result element type
+		 * @return elements built by factory, one per entity matching criteria
+		 */
+		<A, B, R> List<R> executeProjection(BiFunction<A, B, R> factory, SerializableFunction<C, A> property1, SerializableFunction<C, B> property2);
+		
+		/**
+		 * Reads the value of some properties for each entity matching criteria and gives them to a factory, made for projections on more than
+		 * 2 properties
+		 * 
+		 * @param factory builder of result elements from properties values, which are given in properties order
+		 * @param properties property accessors of the values to be read
+		 * @param <R> result element type
+		 * @return elements built by factory, one per entity matching criteria
+		 */
+		<R> List<R> executeProjection(Function<Object[], R> factory, List<? extends SerializableFunction<C, ?>> properties);
+		
+		/**
+		 * Counts entities matching criteria
+		 * 
+		 * @return number of entities matching criteria
+		 */
+		long count();
+		
+		/**
+		 * Checks if at least one entity matches criteria. Cheaper than {@link #count()} since at most one row is read.
+		 * 
+		 * @return true if an entity matches criteria
+		 */
+		boolean exists();
+	}
 }
@@ -3,17 +3,28 @@ package org.gama.stalactite.persistence.engine.runtime;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
 import org.gama.lang.Duo;
+import org.gama.lang.Reflections;
 import org.gama.lang.collection.Iterables;
+import org.gama.lang.function.SerializableTriFunction;
 import org.gama.reflection.MethodReferenceDispatcher;
+import org.gama.stalactite.command.builder.DeleteCommandBuilder;
+import org.gama.stalactite.command.builder.UpdateCommandBuilder;
+import org.gama.stalactite.command.builder.UpdateCommandBuilder.UpdateStatement;
+import org.gama.stalactite.command.model.Delete;
+import org.gama.stalactite.command.model.Update;
 import org.gama.stalactite.persistence.engine.ExecutableQuery;
+import org.gama.stalactite.persistence.engine.IEntityPersister;
 import org.gama.stalactite.persistence.engine.PersistenceContext;
+import org.gama.stalactite.persistence.engine.PersistenceContext.ExecutableSQL;
 import org.gama.stalactite.persistence.engine.listening.DeleteByIdListener;
 import org.gama.stalactite.persistence.engine.listening.DeleteListener;
 import org.gama.stalactite.persistence.engine.listening.InsertListener;
@@ -24,6 +35,7 @@ import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.EntityInflater;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.EntityInflater.EntityMappingStrategyAdapter;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
+import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode;
 import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.mapping.IEntityMappingStrategy;
@@ -35,9 +47,14 @@ import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.model.AbstractCriterion;
 import org.gama.stalactite.query.model.AbstractRelationalOperator;
+import org.gama.stalactite.query.model.ColumnCriterion;
+import org.gama.stalactite.query.model.Criteria;
 import org.gama.stalactite.query.model.CriteriaChain;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.dml.PreparedSQL;
+import org.gama.stalactite.sql.dml.WriteOperation;
 import org.gama.stalactite.sql.result.Row;
 
 import static java.util.Collections.emptyList;
@@ -68,6 +85,12 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 	/** Support for defining Entity criteria on {@link #newWhere()} */
 	private final EntityCriteriaSupport<C> criteriaSupport;
 	private final EntityMappingStrategyTreeSelectExecutor<C, I, T> selectGraphExecutor;
+	private final Dialect dialect;
+	/**
+	 * Persisters of parent entity tables (joined-tables inheritance), upserted before this one, see {@link #upsert(Iterable)}.
+	 * Also prevent bulk delete, see {@link #deleteWhere(SerializableFunction, AbstractRelationalOperator)}
+	 */
+	private final List<IEntityPersister<C, I>> parentTablePersisters = new ArrayList<>();
 	
 	public JoinedTablesPersister(PersistenceContext persistenceContext, ClassMappingStrategy<C, I, T> mainMappingStrategy) {
 		this(mainMappingStrategy, persistenceContext.getDialect(), persistenceContext.getConnectionConfiguration());
@@ -76,6 +99,7 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 	public JoinedTablesPersister(ClassMappingStrategy<C, I, T> mainMappingStrategy, Dialect dialect,
 								 IConnectionConfiguration connectionConfiguration) {
 		this.persister = new Persister<>(mainMappingStrategy, dialect, connectionConfiguration);
+		this.dialect = dialect;
 		this.criteriaSupport = new EntityCriteriaSupport<>(getMappingStrategy());
 		this.selectGraphExecutor = newSelectExecutor(mainMappingStrategy, connectionConfiguration.getConnectionProvider(), dialect);
 		this.entitySelectExecutor = newEntitySelectExecutor(dialect);
@@ -91,7 +115,17 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 		return new EntitySelectExecutor<>(
 				getEntityMappingStrategyTreeSelectExecutor().getEntityJoinTree(),
 				persister.getConnectionProvider(),
-				dialect.getColumnBinderRegistry());
+				dialect);
+	}
+	
+	/**
+	 * Gives access to the executor of {@link #selectWhere(SerializableFunction, AbstractRelationalOperator)} and {@link #selectAll()}, for
+	 * advanced usage such as {@link EntitySelectExecutor#setCollectionJoinsSplit(boolean)}
+	 * 
+	 * @return the executor of criteria-based entity graph loading
+	 */
+	public IEntitySelectExecutor<C> getEntitySelectExecutor() {
+		return this.entitySelectExecutor;
 	}
 	
 	/**
@@ -213,6 +247,7 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 						() -> getPersisterListener().doWithSelectListener(emptyList(), () -> entitySelectExecutor.loadGraph(localCriteriaSupport.getCriteria())))
 				.redirect(CriteriaProvider::getCriteria, localCriteriaSupport::getCriteria)
 				.redirect(RelationalEntityCriteria.class, localCriteriaSupport, true)
+				.redirect(ExecutableProjectionQuery.class, new ExecutableProjectionQuerySupport<>(localCriteriaSupport, entitySelectExecutor), false)
 				.build((Class<RelationalExecutableEntityQuery<C>>) (Class) RelationalExecutableEntityQuery.class);
 	}
 	
@@ -228,6 +263,101 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 		);
 	}
 	
+	/**
+	 * Creates a delete order of entities matching some criteria, executed as a single SQL statement without loading entities.
+	 * Criteria are expected to target properties stored in main table.
+	 * Not supported on entities mapped with joined-tables inheritance because rows of parent tables would be left orphaned.
+	 * 
+	 * @param getter a property accessor
+	 * @param operator criteria for the property
+	 * @param <O> value type returned by property accessor
+	 * @return a {@link EntityCriteria} to be executed through {@link ExecutableSQL#execute()}
+	 * @throws UnsupportedOperationException if entity has parent tables (see {@link #addParentTablePersister(IEntityPersister)})
+	 */
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		if (!parentTablePersisters.isEmpty()) {
+			throw new UnsupportedOperationException("Bulk delete is not supported on joined-tables inherited entities");
+		}
+		EntityCriteriaSupport<C> localCriteriaSupport = newWhere();
+		localCriteriaSupport.and(getter, operator);
+		return new MethodReferenceDispatcher()
+				.redirect(ExecutableSQL::execute, () -> executeBulkDelete(localCriteriaSupport.getCriteria()))
+				.redirect(EntityCriteria.class, localCriteriaSupport, true)
+				.build((Class<ExecutableBulkDelete<C>>) (Class) ExecutableBulkDelete.class);
+	}
+	
+	/**
+	 * Creates an update order of entities matching some criteria, executed as a single SQL statement without loading entities.
+	 * Criteria and updated properties are expected to target properties stored in main table.
+	 *
+	 * @param getter a property accessor
+	 * @param operator criteria for the property
+	 * @param <O> value type returned by property accessor
+	 * @return a {@link EntityCriteria} to be executed through {@link ExecutableSQL#execute()}
+	 */
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		EntityCriteriaSupport<C> localCriteriaSupport = newWhere();
+		localCriteriaSupport.and(getter, operator);
+		Map<Column<T, Object>, Object> updatedValues = new LinkedHashMap<>();
+		return new MethodReferenceDispatcher()
+				.redirect((SerializableTriFunction<ExecutableBulkUpdate<C>, SerializableFunction<C, Object>, Object, ExecutableBulkUpdate<C>>) ExecutableBulkUpdate::set,
+						(propertyGetter, value) -> updatedValues.put(localCriteriaSupport.giveColumn(propertyGetter), value))
+				.redirect(ExecutableSQL::execute, () -> executeBulkUpdate(updatedValues, localCriteriaSupport.getCriteria()))
+				.redirect(EntityCriteria.class, localCriteriaSupport, true)
+				.build((Class<ExecutableBulkUpdate<C>>) (Class) ExecutableBulkUpdate.class);
+	}
+	
+	private int executeBulkDelete(CriteriaChain where) {
+		assertTargetsMainTable(where);
+		Delete<T> delete = new Delete<>(getMainTable());
+		delete.getCriteria().and((Criteria) where);
+		PreparedSQL deleteStatement = new DeleteCommandBuilder<>(delete).toStatement(dialect.getColumnBinderRegistry());
+		try (WriteOperation<Integer> writeOperation = new WriteOperation<>(deleteStatement, persister.getConnectionProvider(),
+				dialect.getWriteOperationRetryer())) {
+			writeOperation.setValues(deleteStatement.getValues());
+			return writeOperation.execute();
+		}
+	}
+	
+	private int executeBulkUpdate(Map<Column<T, Object>, Object> updatedValues, CriteriaChain where) {
+		if (updatedValues.isEmpty()) {
+			throw new IllegalStateException("No property to be updated, please declare some with " + Reflections.toString(ExecutableBulkUpdate.class) + ".set(..)");
+		}
+		assertTargetsMainTable(where);
+		updatedValues.keySet().forEach(column -> assertTargetsMainTable(column));
+		Update<T> update = new Update<>(getMainTable());
+		// values are set after statement build because null values are not supported by Update.set(column, value)
+		updatedValues.keySet().forEach(update::set);
+		update.getCriteria().and((Criteria) where);
+		UpdateStatement<T> updateStatement = new UpdateCommandBuilder<>(update).toStatement(dialect.getColumnBinderRegistry());
+		updatedValues.forEach(updateStatement::setValue);
+		try (WriteOperation<Integer> writeOperation = new WriteOperation<>(updateStatement, persister.getConnectionProvider(),
+				dialect.getWriteOperationRetryer())) {
+			writeOperation.setValues(updateStatement.getValues());
+			return writeOperation.execute();
+		}
+	}
+	
+	/**
+	 * Checks that criteria only target main table columns, because bulk statements can't be portably written with joins
+	 */
+	private void assertTargetsMainTable(CriteriaChain<?> where) {
+		for (AbstractCriterion criterion : where) {
+			if (criterion instanceof ColumnCriterion) {
+				assertTargetsMainTable(((ColumnCriterion) criterion).getColumn());
+			}
+		}
+	}
+	
+	private void assertTargetsMainTable(Column column) {
+		if (column.getTable() != getMainTable()) {
+			throw new UnsupportedOperationException("Bulk statements only support properties stored in " + getMainTable().getAbsoluteName()
+					+ " table, but " + column.getAbsoluteName() + " was given");
+		}
+	}
+	
 	@Override
 	public boolean isNew(C entity) {
 		return persister.isNew(entity);
@@ -298,6 +428,8 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 				beanRelationFixer,
 				selectableColumns,
 				duplicateIdentifierProvider);
+		// marking the relation as a collection one for algorithms that need to know if join multiplies rows
+		((RelationJoinNode) sourcePersister.getEntityJoinTree().getJoin(createdJoinNodeName)).setManyRelation(true);
 		
 		// adding our subgraph select to source persister
 		copyRootJoinsTo(sourcePersister.getEntityJoinTree(), createdJoinNodeName);
@@ -325,6 +457,29 @@ public class JoinedTablesPersister<C, I, T extends Table> implements IEntityConf
 		return persister.insert(entities);
 	}
 	
+	/**
+	 * Declares a persister of a parent entity table (joined-tables inheritance) to be upserted before this one : since upsert doesn't trigger
+	 * any listener, parent tables wouldn't be written otherwise (whereas they are by listeners on insert, update and delete). For the same reason
+	 * bulk delete is no longer supported once a parent table is declared.
+	 * 
+	 * @param parentTablePersister persister of a parent table, expected to be given in same order as parent tables must be inserted
+	 */
+	public void addParentTablePersister(IEntityPersister<C, I> parentTablePersister) {
+		this.parentTablePersisters.add(parentTablePersister);
+	}
+	
+	/**
+	 * Overriden to upsert parent entity tables first (see {@link #addParentTablePersister(IEntityPersister)})
+	 * 
+	 * @param entities entities with an already-assigned identifier
+	 * @return written row count of this persister table, as for {@link #insert(Iterable)}
+	 */
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		parentTablePersisters.forEach(parentTablePersister -> parentTablePersister.upsert(entities));
+		return persister.upsert(entities);
+	}
+	
 	@Override
 	public int updateById(Iterable<C> entities) {
 		return persister.updateById(entities);
@@ -153,6 +153,18 @@ public class JoinedTablesPolymorphicPersister<C, I> implements IEntityConfigured
 		return insertCount.getValue();
 	}
 	
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		mainPersister.upsert(entities);
+		
+		ModifiableInt upsertCount = new ModifiableInt();
+		Map<IEntityPersister<C, I>, Set<C>> entitiesPerType = computeEntitiesPerPersister((Iterable) entities);
+		
+		entitiesPerType.forEach((persister, adhocEntities) -> upsertCount.increment(persister.upsert(adhocEntities)));
+		
+		return upsertCount.getValue();
+	}
+	
 	@Override
 	public int updateById(Iterable<C> entities) {
 		ModifiableInt mainUpdateCount = new ModifiableInt();
@@ -289,6 +301,7 @@ public class JoinedTablesPolymorphicPersister<C, I> implements IEntityConfigured
 						() -> entitySelectExecutor.loadGraph(localCriteriaSupport.getCriteria()))
 				.redirect(CriteriaProvider::getCriteria, localCriteriaSupport::getCriteria)
 				.redirect(RelationalEntityCriteria.class, localCriteriaSupport, true)
+				.redirect(ExecutableProjectionQuery.class, new ExecutableProjectionQuerySupport<>(localCriteriaSupport, entitySelectExecutor), false)
 				.build((Class<RelationalExecutableEntityQuery<C>>) (Class) RelationalExecutableEntityQuery.class);
 	}
 	
@@ -310,6 +323,22 @@ public class JoinedTablesPolymorphicPersister<C, I> implements IEntityConfigured
 		return entitySelectExecutor.loadGraph(newWhere().getCriteria());
 	}
 	
+	/**
+	 * Not supported because sub-entities rows are stored in their own table, which would require several statements
+	 */
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		throw new UnsupportedOperationException("Bulk delete is not supported on joined-tables polymorphic entities");
+	}
+	
+	/**
+	 * Implemented by main persister since properties of main entity are stored in its table
+	 */
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		return mainPersister.updateWhere(getter, operator);
+	}
+	
 	@Override
 	public boolean isNew(C entity) {
 		return mainPersister.isNew(entity);
@@ -9,11 +9,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.gama.lang.collection.Iterables;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
+import org.gama.stalactite.persistence.query.EntityProjectionExecutor;
 import org.gama.stalactite.persistence.query.IEntitySelectExecutor;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.structure.Column;
@@ -40,6 +42,7 @@ public class JoinedTablesPolymorphismEntitySelectExecutor<C, I, T extends Table>
 	private final EntityJoinTree<C, I> entityJoinTree;
 	private final ConnectionProvider connectionProvider;
 	private final Dialect dialect;
+	private final EntityProjectionExecutor<C, I> projectionExecutor;
 	
 	public JoinedTablesPolymorphismEntitySelectExecutor(Map<Class<? extends C>, JoinedTablesPersister<C, I, T>> persisterPerSubclass,
 														Map<Class<? extends C>, JoinedTablesPersister<C, I, T>> persisterPerSubclass2,
@@ -53,6 +56,7 @@ public class JoinedTablesPolymorphismEntitySelectExecutor<C, I, T extends Table>
 		this.entityJoinTree = entityJoinTree;
 		this.connectionProvider = connectionProvider;
 		this.dialect = dialect;
+		this.projectionExecutor = new EntityProjectionExecutor<>(entityJoinTree, connectionProvider, dialect.getColumnBinderRegistry());
 	}
 	
 	@Override
@@ -86,6 +90,21 @@ public class JoinedTablesPolymorphismEntitySelectExecutor<C, I, T extends Table>
 		return result;
 	}
 	
+	@Override
+	public <R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer) {
+		return projectionExecutor.loadProjection(where, columns, rowTransformer);
+	}
+	
+	@Override
+	public long count(CriteriaChain where) {
+		return projectionExecutor.count(where);
+	}
+	
+	@Override
+	public boolean exists(CriteriaChain where) {
+		return projectionExecutor.exists(where);
+	}
+	
 	private Map<Class, Set<I>> readIds(SQLQueryBuilder sqlQueryBuilder, Map<String, ResultSetReader> aliases,
 									   Column<T, I> primaryKey) {
 		Map<Class, Set<I>> result = new HashMap<>();
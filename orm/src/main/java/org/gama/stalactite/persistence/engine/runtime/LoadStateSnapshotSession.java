@@ -0,0 +1,397 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.gama.stalactite.persistence.engine.IEntityPersister;
+import org.gama.stalactite.persistence.engine.runtime.OptimizedUpdatePersister.ResultSetCacheKey;
+import org.gama.stalactite.persistence.structure.Column;
+
+/**
+ * Scope in which entities loaded by {@link OptimizedUpdatePersister}s keep their load state so that a later {@link IEntityPersister#update(Object)}
+ * doesn't need to select them again to compute differences with database : the "unmodified" entity is rebuilt from the data that were read
+ * when entity was loaded, hence no SQL Select is executed.
+ *
+ * Load state is kept compactly, in one of two forms depending on aggregate shape :
+ * - for entities mapped on a single table without relation, their column values are stored as arrays sharing the columns of their persister,
+ * the "unmodified" entity is then rebuilt from them without replaying any select
+ * - for other aggregates, values read from each select {@link java.sql.ResultSet} are stored as arrays (one per row) sharing the column labels
+ * of their {@link java.sql.ResultSet}, so the whole aggregate is rebuilt as it was at load time, including its relations, by replaying its
+ * selects on them. Only select statements are recorded.
+ *
+ * Load state of an entity is dropped once it is updated, so next update of it falls back to database select : this prevents it from being compared
+ * to an outdated state (which would make optimistic lock fail for instance). Data read by a select are dropped as soon as all entities it loaded
+ * are updated (or loaded again).
+ * Only entities loaded by {@link IEntityPersister#select(Iterable)} (and its single-entity variant) get a load state : entities loaded by a
+ * {@code selectWhere(..)} query don't, hence their update selects them from database as usual.
+ *
+ * Session is bound to current thread and is opt-in : it must be opened by {@link #doWithSnapshots(Supplier)} or {@link #doWithSnapshots(Runnable)}.
+ * Note that data read in the session are held until it ends, so it should be short-lived (typically a service method).
+ *
+ * @author Guillaume Mary
+ */
+public class LoadStateSnapshotSession {
+	
+	private static final ThreadLocal<LoadStateSnapshotSession> CURRENT_SESSION = new ThreadLocal<>();
+	
+	/**
+	 * Runs some code in a session : entities loaded by it are updated without being selected again.
+	 * Joins current session if one is already opened for current thread.
+	 *
+	 * @param sessionCode some code loading then updating entities
+	 * @param <T> returned value type
+	 * @return value returned by given code
+	 */
+	public static <T> T doWithSnapshots(Supplier<T> sessionCode) {
+		if (CURRENT_SESSION.get() != null) {
+			return sessionCode.get();
+		} else {
+			CURRENT_SESSION.set(new LoadStateSnapshotSession());
+			try {
+				return sessionCode.get();
+			} finally {
+				CURRENT_SESSION.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Same as {@link #doWithSnapshots(Supplier)} for code that doesn't return any value
+	 *
+	 * @param sessionCode some code loading then updating entities
+	 */
+	public static void doWithSnapshots(Runnable sessionCode) {
+		doWithSnapshots(() -> {
+			sessionCode.run();
+			return null;
+		});
+	}
+	
+	/**
+	 * @return session of current thread, null if none was opened
+	 */
+	@Nullable
+	static LoadStateSnapshotSession current() {
+		return CURRENT_SESSION.get();
+	}
+	
+	/** Data read by select statements executed in the session */
+	private final Map<ResultSetCacheKey, ResultSetSnapshot> resultSets = new HashMap<>();
+	
+	/** Number of {@link Loading}s that read each of {@link #resultSets}, so they can be dropped when none of them needs it anymore */
+	private final Map<ResultSetCacheKey, Integer> resultSetUsages = new HashMap<>();
+	
+	/** Selects that loaded entities, per persister then per entity identifier */
+	private final Map<IEntityPersister, Map<Object, Loading>> loadings = new HashMap<>();
+	
+	/** Selects being executed, several ones when a select triggers another one of an {@link OptimizedUpdatePersister} */
+	private final Deque<Loading> ongoingLoadings = new ArrayDeque<>();
+	
+	/** Column values of entities loaded in the session, per persister (for those that don't need select replay) */
+	private final Map<IEntityPersister, ColumnSnapshots> columnSnapshots = new HashMap<>();
+	
+	/** Indicates that an entity is being rebuilt from load state, thus select statements must be read from {@link #resultSets} */
+	private boolean replaying = false;
+	
+	/** Indicates that select results must be kept, false while loading entities whose load state is kept as {@link #columnSnapshots} */
+	private boolean recording = true;
+	
+	private LoadStateSnapshotSession() {
+	}
+	
+	/**
+	 * Keeps rows read by a statement executed by ongoing selects (see {@link #recordLoading(IEntityPersister, List, Supplier)}).
+	 * 
+	 * @param key statement and its arguments
+	 * @param rows read data
+	 */
+	void putResultSet(ResultSetCacheKey key, List<? extends Map<String, Object>> rows) {
+		if (!ongoingLoadings.isEmpty()) {
+			resultSets.put(key, new ResultSetSnapshot(rows));
+			ongoingLoadings.forEach(loading -> {
+				if (loading.resultSetKeys.add(key)) {
+					resultSetUsages.merge(key, 1, Integer::sum);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Gives rows read in the session for a statement, only while rebuilding entities (see {@link #replay(Supplier)}), because statement results
+	 * may have changed since then (typically when statement was executed again after an update)
+	 *
+	 * @param key statement and its arguments
+	 * @return null if not replaying or if statement wasn't executed in the session
+	 */
+	@Nullable
+	List<Map<String, Object>> giveResultSet(ResultSetCacheKey key) {
+		ResultSetSnapshot resultSetSnapshot = replaying ? resultSets.get(key) : null;
+		return resultSetSnapshot == null ? null : resultSetSnapshot.toRows();
+	}
+	
+	boolean isReplaying() {
+		return replaying;
+	}
+	
+	/**
+	 * @return true if results of select statements must be kept, which is only the case while executing
+	 * {@link #recordLoading(IEntityPersister, List, Supplier)}
+	 */
+	boolean isRecording() {
+		return recording && !ongoingLoadings.isEmpty();
+	}
+	
+	/**
+	 * Executes some code without keeping results of the selects it executes, made for entities which load state is kept by
+	 * {@link #addColumnSnapshot(IEntityPersister, Object, Map)}
+	 * 
+	 * @param selector code selecting entities
+	 * @param <T> returned value type
+	 * @return value returned by given code
+	 */
+	<T> T doWithoutRecording(Supplier<T> selector) {
+		boolean previousState = recording;
+		recording = false;
+		try {
+			return selector.get();
+		} finally {
+			recording = previousState;
+		}
+	}
+	
+	/**
+	 * Keeps column values of a loaded entity
+	 * 
+	 * @param persister persister that loaded entity
+	 * @param id entity identifier
+	 * @param columnValues values of entity columns, as they were read
+	 * @param <I> identifier type
+	 */
+	<I> void addColumnSnapshot(IEntityPersister<?, I> persister, I id, Map<? extends Column, Object> columnValues) {
+		columnSnapshots.computeIfAbsent(persister, k -> new ColumnSnapshots()).put(id, columnValues);
+	}
+	
+	/**
+	 * Gives column values of an entity as they were when it was loaded in the session
+	 * 
+	 * @param persister persister that loaded entity
+	 * @param id entity identifier
+	 * @param <I> identifier type
+	 * @return null if entity was not loaded in the session, or if it was updated since, or if its persister doesn't keep column values
+	 */
+	@Nullable
+	<I> Map<Column, Object> giveColumnSnapshot(IEntityPersister<?, I> persister, I id) {
+		ColumnSnapshots snapshots = columnSnapshots.get(persister);
+		return snapshots == null ? null : snapshots.get(id);
+	}
+	
+	/**
+	 * Executes a select of entities and keeps data it reads so they can be rebuilt by replaying it (see {@link #replay(Supplier)})
+	 *
+	 * @param persister persister that loads entities
+	 * @param selectedIds identifiers given to the select
+	 * @param selector code selecting entities of given identifiers
+	 * @param <C> entity type
+	 * @param <I> identifier type
+	 * @return loaded entities
+	 */
+	<C, I> List<C> recordLoading(IEntityPersister<C, I> persister, List<I> selectedIds, Supplier<List<C>> selector) {
+		Loading loading = new Loading(selectedIds);
+		ongoingLoadings.push(loading);
+		List<C> result;
+		try {
+			result = selector.get();
+		} finally {
+			ongoingLoadings.pop();
+		}
+		Map<Object, Loading> loadingPerId = this.loadings.computeIfAbsent(persister, k -> new HashMap<>());
+		for (C entity : result) {
+			loading.loadedEntityCount++;
+			Loading previousLoading = loadingPerId.put(persister.getId(entity), loading);
+			if (previousLoading != null) {
+				// entity was already loaded : its former load state is replaced by the new one
+				release(previousLoading);
+			}
+		}
+		if (loading.loadedEntityCount == 0) {
+			dropResultSets(loading);
+		}
+		return result;
+	}
+	
+	/**
+	 * Gives identifiers that were given to the select that loaded an entity, so it can be rebuilt by selecting them again
+	 * during {@link #replay(Supplier)}
+	 *
+	 * @param persister persister that loaded entity
+	 * @param id entity identifier
+	 * @param <I> identifier type
+	 * @return null if entity was not loaded in the session or if it was updated since
+	 */
+	@Nullable
+	<I> List<I> giveLoadingIds(IEntityPersister<?, I> persister, I id) {
+		Map<Object, Loading> loadingPerId = this.loadings.get(persister);
+		Loading loading = loadingPerId == null ? null : loadingPerId.get(id);
+		return loading == null ? null : (List<I>) loading.selectedIds;
+	}
+	
+	/**
+	 * Drops load state of an entity, as well as data read by the select that loaded it if no other entity needs them
+	 *
+	 * @param persister persister that loaded entity
+	 * @param id entity identifier
+	 * @param <I> identifier type
+	 */
+	<I> void forget(IEntityPersister<?, I> persister, I id) {
+		Map<Object, Loading> loadingPerId = this.loadings.get(persister);
+		if (loadingPerId != null) {
+			Loading loading = loadingPerId.remove(id);
+			if (loading != null) {
+				release(loading);
+			}
+		}
+		ColumnSnapshots snapshots = columnSnapshots.get(persister);
+		if (snapshots != null) {
+			snapshots.remove(id);
+		}
+	}
+	
+	private void release(Loading loading) {
+		loading.loadedEntityCount--;
+		if (loading.loadedEntityCount == 0) {
+			dropResultSets(loading);
+		}
+	}
+	
+	private void dropResultSets(Loading loading) {
+		loading.resultSetKeys.forEach(key -> {
+			if (resultSetUsages.merge(key, -1, Integer::sum) == 0) {
+				resultSetUsages.remove(key);
+				resultSets.remove(key);
+			}
+		});
+		loading.resultSetKeys.clear();
+	}
+	
+	/**
+	 * Executes some code that selects entities from data read in the session instead of database ones
+	 *
+	 * @param selector code selecting entities
+	 * @param <T> returned value type
+	 * @return value returned by given code
+	 */
+	<T> T replay(Supplier<T> selector) {
+		boolean previousState = replaying;
+		replaying = true;
+		try {
+			return selector.get();
+		} finally {
+			replaying = previousState;
+		}
+	}
+	
+	/**
+	 * A select executed in the session : its identifiers, statements it executed, and the number of its entities that still have their load state
+	 */
+	private static class Loading {
+		
+		private final List<?> selectedIds;
+		
+		private final Set<ResultSetCacheKey> resultSetKeys = new HashSet<>();
+		
+		private int loadedEntityCount = 0;
+		
+		private Loading(List<?> selectedIds) {
+			this.selectedIds = selectedIds;
+		}
+	}
+	
+	/**
+	 * Compact storage of values read from a {@link java.sql.ResultSet} : column labels are stored once, then values of each row are stored in an
+	 * array in label order
+	 */
+	private static class ResultSetSnapshot {
+		
+		private final String[] columnLabels;
+		
+		private final List<Object[]> rows;
+		
+		private ResultSetSnapshot(List<? extends Map<String, Object>> rows) {
+			// all rows generally have same columns, but we don't take it for granted since readers may skip some columns on some rows
+			Set<String> labels = new LinkedHashSet<>();
+			rows.forEach(row -> labels.addAll(row.keySet()));
+			this.columnLabels = labels.toArray(new String[0]);
+			this.rows = new ArrayList<>(rows.size());
+			for (Map<String, Object> row : rows) {
+				Object[] values = new Object[columnLabels.length];
+				for (int i = 0; i < columnLabels.length; i++) {
+					values[i] = row.get(columnLabels[i]);
+				}
+				this.rows.add(values);
+			}
+		}
+		
+		private List<Map<String, Object>> toRows() {
+			List<Map<String, Object>> result = new ArrayList<>(rows.size());
+			for (Object[] values : rows) {
+				Map<String, Object> row = new TreeMap<>();
+				for (int i = 0; i < columnLabels.length; i++) {
+					row.put(columnLabels[i], values[i]);
+				}
+				result.add(row);
+			}
+			return result;
+		}
+	}
+	
+	/**
+	 * Compact storage of column values of entities : columns are stored once, then values of each entity are stored in an array in column order
+	 */
+	private static class ColumnSnapshots {
+		
+		private final List<Column> columns = new ArrayList<>();
+		
+		private final Map<Column, Integer> columnIndexes = new HashMap<>();
+		
+		private final Map<Object, Object[]> valuesPerId = new HashMap<>();
+		
+		private void put(Object id, Map<? extends Column, Object> columnValues) {
+			// entities of a persister generally have same columns, but we don't take it for granted : new ones are appended, hence former arrays
+			// may be shorter than column list
+			columnValues.keySet().forEach(column -> columnIndexes.computeIfAbsent(column, c -> {
+				columns.add(c);
+				return columns.size() - 1;
+			}));
+			Object[] values = new Object[columns.size()];
+			columnValues.forEach((column, value) -> values[columnIndexes.get(column)] = value);
+			valuesPerId.put(id, values);
+		}
+		
+		@Nullable
+		private Map<Column, Object> get(Object id) {
+			Object[] values = valuesPerId.get(id);
+			if (values == null) {
+				return null;
+			}
+			Map<Column, Object> result = new HashMap<>();
+			for (int i = 0; i < values.length; i++) {
+				result.put(columns.get(i), values[i]);
+			}
+			return result;
+		}
+		
+		private void remove(Object id) {
+			valuesPerId.remove(id);
+		}
+	}
+}
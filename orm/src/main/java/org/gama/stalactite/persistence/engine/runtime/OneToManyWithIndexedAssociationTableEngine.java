@@ -5,12 +5,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.gama.lang.Duo;
 import org.gama.lang.Nullable;
+import org.gama.lang.bean.Objects;
 import org.gama.lang.collection.Arrays;
 import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.PairIterator;
@@ -25,6 +27,7 @@ import org.gama.stalactite.persistence.structure.Column;
 
 import static org.gama.lang.collection.Iterables.first;
 import static org.gama.lang.collection.Iterables.minus;
+import static org.gama.stalactite.persistence.engine.runtime.OneToManyWithMappedAssociationEngine.NOOP_REVERSE_SETTER;
 import static org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.ROOT_STRATEGY_NAME;
 
 /**
@@ -52,9 +55,17 @@ public class OneToManyWithIndexedAssociationTableEngine<SRC, TRGT, SRCID, TRGTID
 				associationPersister.getMainTable().getOneSideKeyColumn(),
 				JoinType.OUTER, (Set) Arrays.asHashSet(indexColumn));
 		
-		// we add target subgraph joins to main persister
+		// we add target subgraph joins to main persister, targets are put in their List slot while rows are consumed
+		BeanRelationFixer<SRC, TRGT> indexedRelationFixer = BeanRelationFixer.ofIndexed(
+				manyRelationDescriptor.getCollectionSetter(),
+				manyRelationDescriptor.getCollectionGetter(),
+				manyRelationDescriptor.getCollectionFactory(),
+				Objects.preventNull(manyRelationDescriptor.getReverseSetter(), (BiConsumer<TRGT, SRC>) NOOP_REVERSE_SETTER),
+				() -> OneToManyWithIndexedMappedAssociationEngine.giveLoadedIndex(
+						EntityTreeInflater.currentContext().giveValue(associationTableJoinNodeName, indexColumn)),
+				OneToManyWithIndexedMappedAssociationEngine::removeMissingIndexesAtInflationEnd);
 		targetPersister.joinAsMany(sourcePersister, associationPersister.getMainTable().getManySideKeyColumn(),
-				associationPersister.getMainTable().getManySidePrimaryKey(), manyRelationDescriptor.getRelationFixer(),
+				associationPersister.getMainTable().getManySidePrimaryKey(), indexedRelationFixer,
 				(row, columnedRow) -> {
 					TRGTID identifier = targetPersister.getMappingStrategy().getIdMappingStrategy().getIdentifierAssembler().assemble(row, columnedRow);
 					Integer targetEntityIndex = EntityTreeInflater.currentContext().getRowDecoder().giveValue(associationTableJoinNodeName, indexColumn, row);
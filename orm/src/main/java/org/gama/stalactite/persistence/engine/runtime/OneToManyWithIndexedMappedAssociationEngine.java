@@ -3,10 +3,10 @@ package org.gama.stalactite.persistence.engine.runtime;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -16,11 +16,11 @@ import java.util.stream.Stream;
 import org.gama.lang.Duo;
 import org.gama.lang.Reflections;
 import org.gama.lang.ThreadLocals;
+import org.gama.lang.bean.Objects;
 import org.gama.lang.collection.Arrays;
 import org.gama.lang.collection.Iterables;
 import org.gama.stalactite.persistence.engine.RuntimeMappingException;
 import org.gama.stalactite.persistence.engine.listening.SelectListener;
-import org.gama.stalactite.persistence.engine.runtime.load.AbstractJoinNode;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater;
 import org.gama.stalactite.persistence.id.diff.AbstractDiff;
@@ -28,7 +28,6 @@ import org.gama.stalactite.persistence.id.diff.IndexedDiff;
 import org.gama.stalactite.persistence.mapping.IMappingStrategy.ShadowColumnValueProvider;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
-import org.gama.stalactite.query.builder.IdentityMap;
 
 /**
  * @author Guillaume Mary
@@ -36,17 +35,16 @@ import org.gama.stalactite.query.builder.IdentityMap;
 public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTID, C extends List<TRGT>>
 		extends OneToManyWithMappedAssociationEngine<SRC, TRGT, SRCID, TRGTID, C> {
 	
-	/**
-	 * Context for indexed mapped List. Will keep bean index during select between "unrelated" methods/phases :
-	 * index column must be added to SQL select, read from ResultSet and order applied to sort final List, but this particular feature crosses over
-	 * layers (entities and SQL) which is not implemented. In such circumstances, ThreadLocal comes to the rescue.
-	 * Could be static, but would lack the TRGT typing, which leads to some generics errors, so left non static (acceptable small overhead)
-	 */
-	private final ThreadLocal<IdentityMap<TRGTID, Integer>> currentSelectedIndexes = new ThreadLocal<>();
-	
 	/** Column that stores index value, owned by reverse side table (table of targetPersister) */
 	private final Column<Table, Integer> indexingColumn;
 	
+	/**
+	 * Context for indexed mapped List insertion : positions of elements of the Lists being inserted, so that index of each element is not
+	 * computed with {@link List#indexOf(Object)} which would make whole insertion quadratic. Only available while targets are inserted by source
+	 * insertion or update cascade (see {@link #addInsertCascade()} and {@link #addUpdateCascade(boolean)}).
+	 */
+	private final ThreadLocal<Map<List<TRGT>, ListPositions<TRGT>>> currentInsertedListPositions = new ThreadLocal<>();
+	
 	public OneToManyWithIndexedMappedAssociationEngine(IEntityConfiguredJoinedTablesPersister<TRGT, TRGTID> targetPersister,
 													   IndexedMappedManyRelationDescriptor<SRC, TRGT, C> manyRelationDefinition,
 													   IEntityConfiguredJoinedTablesPersister<SRC, SRCID> sourcePersister,
@@ -61,7 +59,15 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 	) {
 		// we add target subgraph joins to main persister
 		Column<Table, TRGTID> primaryKey = (Column<Table, TRGTID>) Iterables.first(targetPersister.getMappingStrategy().getTargetTable().getPrimaryKey().getColumns());
-		String joinNodeName = targetPersister.joinAsMany(sourcePersister, sourcePrimaryKey, relationOwner, manyRelationDescriptor.getRelationFixer(),
+		// Targets are put in their List slot while rows are consumed, their index is read from their own join node
+		BeanRelationFixer<SRC, TRGT> indexedRelationFixer = BeanRelationFixer.ofIndexed(
+				manyRelationDescriptor.getCollectionSetter(),
+				manyRelationDescriptor.getCollectionGetter(),
+				manyRelationDescriptor.getCollectionFactory(),
+				Objects.preventNull(manyRelationDescriptor.getReverseSetter(), (BiConsumer<TRGT, SRC>) NOOP_REVERSE_SETTER),
+				() -> giveLoadedIndex(EntityTreeInflater.currentContext().giveCurrentNodeValue(indexingColumn)),
+				OneToManyWithIndexedMappedAssociationEngine::removeMissingIndexesAtInflationEnd);
+		targetPersister.joinAsMany(sourcePersister, sourcePrimaryKey, relationOwner, indexedRelationFixer,
 				(row, columnedRow) -> {
 					TRGTID identifier = targetPersister.getMappingStrategy().getIdMappingStrategy().getIdentifierAssembler().assemble(row, columnedRow);
 					Integer targetEntityIndex = columnedRow.getValue(indexingColumn, row);
@@ -69,8 +75,6 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 				}, EntityJoinTree.ROOT_STRATEGY_NAME, relationOwner.isNullable(),
 				Arrays.asHashSet(indexingColumn, primaryKey));
 		
-		addIndexSelection(joinNodeName, primaryKey);
-		
 		// we must trigger subgraph event on loading of our own graph, this is mainly for event that initializes things because given ids
 		// are not those of their entity
 		SelectListener targetSelectListener = targetPersister.getPersisterListener().getSelectListener();
@@ -98,61 +102,41 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 		});
 	}
 	
-	private void addIndexSelection(String joinNodeName, Column<Table, TRGTID> primaryKey) {
-		// Implementation note: 2 possiblities
-		// - keep object indexes and put sorted beans in a temporary List, then add them all to the target List
-		// - keep object indexes and sort the target List throught a comparator of indexes
-		// The latter is used because target List is already filled by the relationFixer
-		// If we use the former we must change the relation fixer and keep a temporary List. Seems little bit more complex.
-		// May be changed if any performance issue is noticed
-		sourcePersister.getPersisterListener().addSelectListener(new SelectListener<SRC, SRCID>() {
-			@Override
-			public void beforeSelect(Iterable<SRCID> ids) {
-				currentSelectedIndexes.set(new IdentityMap<>());
-			}
-			
-			@Override
-			public void afterSelect(Iterable<? extends SRC> result) {
-				try {
-					// reordering List element according to read indexes during the transforming phase (see below)
-					result.forEach(src -> {
-						List<TRGT> apply = manyRelationDescriptor.getCollectionGetter().apply(src);
-						apply.sort(Comparator.comparingInt(target -> currentSelectedIndexes.get().get(targetPersister.getId(target))));
-					});
-				} finally {
-					cleanContext();
-				}
-			}
-			
-			@Override
-			public void onError(Iterable<SRCID> ids, RuntimeException exception) {
-				cleanContext();
-			}
-			
-			private void cleanContext() {
-				currentSelectedIndexes.remove();
-			}
-		});
-		AbstractJoinNode<TRGT, Table, Table, TRGTID> join = (AbstractJoinNode<TRGT, Table, Table, TRGTID>) sourcePersister.getEntityJoinTree().getJoin(joinNodeName);
-		join.setTransformerListener((trgt, rowValueProvider) -> {
-			IdentityMap<TRGTID, Integer> indexPerBean = currentSelectedIndexes.get();
-			// indexPerBean may not be present because its mecanism was added on persisterListener which is the one of the source bean
-			// so in case of entity loading from its own persister (targetPersister) ThreadLocal is not available
-			if (indexPerBean != null) {
-				// Indexing column is not defined in targetPersister.getMappingStrategy().getRowTransformer() but is present in row
-				// because it was read from ResultSet
-				int index = EntityTreeInflater.currentContext().giveValue(joinNodeName, indexingColumn);
-				TRGTID relationOwnerId = (TRGTID) EntityTreeInflater.currentContext().giveValue(joinNodeName, primaryKey);
-				indexPerBean.put(relationOwnerId, index);
-			}
-		});
+	/**
+	 * Checks an index read from database before putting an element at its position in a List
+	 * 
+	 * @param index value of an indexing column
+	 * @return given index
+	 * @throws RuntimeMappingException if index is null
+	 */
+	static int giveLoadedIndex(@Nullable Integer index) {
+		if (index == null) {
+			throw new RuntimeMappingException("Can't put element in List : its index is null");
+		}
+		return index;
+	}
+	
+	/**
+	 * Asks for removal of the nulls left in a List filled by {@link BeanRelationFixer#ofIndexed} for missing indexes once all rows are consumed,
+	 * hence before any select listener gets the List
+	 * 
+	 * @param list a List being loaded, containing nulls
+	 */
+	static void removeMissingIndexesAtInflationEnd(List<?> list) {
+		EntityTreeInflater.currentContext().runAtInflationEnd(list, () -> list.removeIf(element -> element == null));
 	}
 	
 	@Override
 	public void addInsertCascade() {
 		// For a List and a given manner to get its owner (so we can deduce index value), we configure persistence to keep index value in database
 		addIndexInsertion();
-		super.addInsertCascade();
+		// List positions are only kept while targets are inserted, so they can't outlive source insertion, even on error
+		sourcePersister.addInsertListener(new TargetInstancesInsertCascader<SRC, TRGT, TRGTID>(targetPersister, manyRelationDescriptor.getCollectionGetter()) {
+			@Override
+			public void afterInsert(Iterable<? extends SRC> entities) {
+				ThreadLocals.doWithThreadLocal(currentInsertedListPositions, IdentityHashMap::new, (Runnable) () -> super.afterInsert(entities));
+			}
+		});
 	}
 	
 	/**
@@ -171,7 +155,7 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 						// NB: we let Mutator print itself because it has a self defined toString()
 						+ manyRelationDefinition.getReverseGetterSignature() + " returned null");
 			}
-			return collectionGetter.apply(source).indexOf(target);
+			return giveIndex(collectionGetter.apply(source), target);
 		}) {
 			@Override
 			public boolean accept(TRGT entity) {
@@ -193,6 +177,76 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 		});
 	}
 	
+	/**
+	 * Gives index of an element in a List from positions computed once per List during source insertion or update cascade, then in constant time
+	 * for each of its elements while List is not modified. Out of them (direct insertion of targets for instance), {@link List#indexOf(Object)}
+	 * is used.
+	 * 
+	 * @param list the List containing {@code target}
+	 * @param target an element of {@code list}
+	 * @return same as {@link List#indexOf(Object)}
+	 */
+	private int giveIndex(List<TRGT> list, TRGT target) {
+		Map<List<TRGT>, ListPositions<TRGT>> positionsPerList = currentInsertedListPositions.get();
+		if (positionsPerList == null) {
+			return list.indexOf(target);
+		}
+		ListPositions<TRGT> positions = positionsPerList.get(list);
+		if (positions == null || !positions.isSnapshotOf(list)) {
+			positions = new ListPositions<>(list);
+			positionsPerList.put(list, positions);
+		}
+		Integer result = positions.indexOf(target);
+		if (result == null) {
+			// List was modified since positions computation, or target is only equal to one of its elements (not the same instance)
+			return list.indexOf(target);
+		}
+		return result;
+	}
+	
+	/**
+	 * Snapshot of elements position in a List, based on instance identity
+	 * 
+	 * @param <E> List elements type
+	 */
+	private static class ListPositions<E> {
+		
+		private final List<E> list;
+		
+		private final int size;
+		
+		private final Map<E, Integer> positions = new IdentityHashMap<>();
+		
+		private ListPositions(List<E> list) {
+			this.list = list;
+			this.size = list.size();
+			int index = 0;
+			for (E element : list) {
+				// first occurrence wins, as with List.indexOf(..)
+				positions.putIfAbsent(element, index);
+				index++;
+			}
+		}
+		
+		private boolean isSnapshotOf(List<E> list) {
+			return this.list == list && this.size == list.size();
+		}
+		
+		/**
+		 * @param element any object
+		 * @return index of given element in List, null if it is not known or if position is no longer valid
+		 */
+		@Nullable
+		private Integer indexOf(E element) {
+			Integer result = positions.get(element);
+			// checking position only when it's cheap (not for LinkedList for instance)
+			if (result != null && list instanceof RandomAccess && list.get(result) != element) {
+				return null;
+			}
+			return result;
+		}
+	}
+	
 	@Override
 	public void addUpdateCascade(boolean shouldDeleteRemoved) {
 		BiConsumer<Duo<SRC, SRC>, Boolean> updateListener = new ListCollectionUpdater<>(
@@ -202,7 +256,14 @@ public class OneToManyWithIndexedMappedAssociationEngine<SRC, TRGT, SRCID, TRGTI
 				shouldDeleteRemoved,
 				this.targetPersister.getMappingStrategy()::getId,
 				this.indexingColumn);
-		sourcePersister.getPersisterListener().addUpdateListener(new TargetInstancesUpdateCascader<>(targetPersister, updateListener));
+		// List positions are also used for targets inserted by update cascade, and only kept during it
+		sourcePersister.getPersisterListener().addUpdateListener(new TargetInstancesUpdateCascader<SRC, TRGT>(targetPersister, updateListener) {
+			@Override
+			public void afterUpdate(Iterable<? extends Duo<? extends SRC, ? extends SRC>> entities, boolean allColumnsStatement) {
+				ThreadLocals.doWithThreadLocal(currentInsertedListPositions, IdentityHashMap::new,
+						(Runnable) () -> super.afterUpdate(entities, allColumnsStatement));
+			}
+		});
 	}
 	
 	private static class ListCollectionUpdater<SRC, TRGT, ID, C extends List<TRGT>> extends CollectionUpdater<SRC, TRGT, C> {
@@ -22,6 +22,9 @@ import org.gama.stalactite.persistence.engine.cascade.BeforeDeleteByIdCollection
 import org.gama.stalactite.persistence.engine.cascade.BeforeDeleteCollectionCascader;
 import org.gama.stalactite.persistence.engine.configurer.CascadeManyConfigurer.FirstPhaseCycleLoadListener;
 import org.gama.stalactite.persistence.engine.listening.SelectListener;
+import org.gama.stalactite.persistence.engine.runtime.fetch.LazyCollectionLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.RelationTargetsLoader;
+import org.gama.stalactite.persistence.engine.runtime.fetch.SeparateSelectRelationLoader;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
 import org.gama.stalactite.persistence.structure.Column;
@@ -95,6 +98,29 @@ public class OneToManyWithMappedAssociationEngine<SRC, TRGT, SRCID, TRGTID, C ex
 		});
 	}
 	
+	/**
+	 * Adds loading of target entities with a query dedicated to the relation, right after source entities one, instead of joining them
+	 * to source entities graph.
+	 * 
+	 * @param targetsLoader loader of target entities per source identifier
+	 */
+	public void addSeparateSelectCascade(RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader) {
+		sourcePersister.addSelectListener(new SeparateSelectRelationLoader<>(sourcePersister.getMappingStrategy()::getId, targetsLoader,
+				manyRelationDescriptor.getRelationFixer()));
+	}
+	
+	/**
+	 * Adds lazy loading of target entities : a proxy of relation is set on source entities, which loads target entities on first access.
+	 * 
+	 * @param targetsLoader loader of target entities per source identifier
+	 * @param collectionType relation type, must be an interface
+	 * @param batchSize maximum number of source entities which relation is loaded at once
+	 */
+	public void addLazySelectCascade(RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader, Class<C> collectionType, int batchSize) {
+		sourcePersister.addSelectListener(new LazyCollectionLoader<>(sourcePersister.getMappingStrategy()::getId, targetsLoader,
+				manyRelationDescriptor, collectionType, batchSize));
+	}
+	
 	public void addInsertCascade() {
 		sourcePersister.addInsertListener(
 				new OneToManyWithMappedAssociationEngine.TargetInstancesInsertCascader<>(targetPersister, manyRelationDescriptor.getCollectionGetter()));
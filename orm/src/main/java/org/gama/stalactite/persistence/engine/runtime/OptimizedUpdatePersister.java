@@ -3,6 +3,7 @@ package org.gama.stalactite.persistence.engine.runtime;
 import javax.annotation.Nonnull;
 import java.io.InputStream;
 import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.net.URL;
@@ -18,8 +19,10 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,6 +30,7 @@ import java.util.TreeMap;
 import java.util.function.Consumer;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.gama.lang.Duo;
 import org.gama.lang.Experimental;
 import org.gama.lang.ThreadLocals;
 import org.gama.lang.bean.ClassIterator;
@@ -39,12 +43,15 @@ import org.gama.lang.sql.ResultSetWrapper;
 import org.gama.stalactite.persistence.engine.NotYetSupportedOperationException;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
+import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.ReadConnectionProvider;
 import org.gama.stalactite.sql.RollbackObserver;
 import org.gama.stalactite.sql.dml.SQLExecutionException;
 import org.gama.stalactite.sql.dml.SQLOperation;
 import org.gama.stalactite.sql.result.InMemoryResultSet;
 import org.gama.stalactite.sql.result.NoopPreparedStatement;
+import org.gama.stalactite.sql.result.Row;
 
 /**
  * Persister with optimized {@link #update(Object, Consumer)} method by leveraging an internal cache so only one select is really executed. 
@@ -54,6 +61,10 @@ import org.gama.stalactite.sql.result.NoopPreparedStatement;
  * It requires that given {@link IEntityConfiguredJoinedTablesPersister} uses a {@link CachingQueryConnectionProvider}, this is done at build time
  * ({@link org.gama.stalactite.persistence.engine.configurer.PersisterBuilderImpl}) by calling {@link #wrapWithQueryCache(IConnectionConfiguration)}.
  * </strong>
+ * Inside a {@link LoadStateSnapshotSession}, it also enhances {@link #update(Object)} and {@link #update(Iterable)} : data read while loading
+ * entities are kept by the session to build the "unmodified" entities, so they're not selected again. Entities mapped on a single table without
+ * relation are rebuilt from their column values, other aggregates (relations, inheritance, polymorphism) need their selects to be replayed
+ * because their column values can't be attached to their entities without running the whole inflation algorithm.
  * 
  * @author Guillaume Mary
  */
@@ -74,21 +85,44 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 		ConnectionProvider delegate = connectionConfiguration.getConnectionProvider();
 		CachingQueryConnectionProvider cachingQueryConnectionProvider = new CachingQueryConnectionProvider(delegate);
 		// We created a proxy that will redirect ConnectionProvider#getCurrentConnection to the caching one (then queries will be cached) and
-		// leave other methods invoked on original provider 
+		// leave other methods invoked on original provider. Read connections of ReadConnectionProvider are redirected too, else reads would
+		// bypass the cache.
 		// NB : we use a Set to avoid error thrown by Proxy.newProxyInstance when an interface is present several time
 		Set<Class> interfaces = new HashSet<>(Iterables.copy(new InterfaceIterator(new ClassIterator(delegate.getClass(), null))));
 		ConnectionProvider connectionProvider = (ConnectionProvider) Proxy.newProxyInstance(delegate.getClass().getClassLoader(), interfaces.toArray(new Class[0]),
 				(proxy, method, args) -> {
-					if (!method.getName().equals("getCurrentConnection")) {
-						return method.invoke(delegate, args);
+					switch (method.getName()) {
+						case "getCurrentConnection":
+							return cachingQueryConnectionProvider.getCurrentConnection();
+						case "giveReadConnection":
+							return cachingQueryConnectionProvider.giveReadConnection();
+						case "releaseReadConnection":
+							cachingQueryConnectionProvider.releaseReadConnection((Connection) args[0]);
+							return null;
+						default:
+							return method.invoke(delegate, args);
 					}
-					return cachingQueryConnectionProvider.getCurrentConnection();
 				});
-		return new ConnectionConfigurationSupport(connectionProvider, connectionConfiguration.getBatchSize());
+		return new ConnectionConfigurationSupport(connectionProvider, connectionConfiguration.getBatchSize(),
+				connectionConfiguration.getBatchSizeController());
 	}
 	
+	/** Indicates that entities are mapped on a single table without relation, so their column values are enough to rebuild them */
+	private final boolean singleTableAggregate;
+	
 	public OptimizedUpdatePersister(IEntityConfiguredJoinedTablesPersister<C, I> surrogate) {
+		this(surrogate, false);
+	}
+	
+	/**
+	 * @param surrogate the persister to be enhanced
+	 * @param singleTableAggregate true if entities are mapped on a single table without any relation (neither inheritance nor polymorphism),
+	 * which allows to keep their load state at column level in {@link LoadStateSnapshotSession} (as long as no shadow column is added to their
+	 * table, see {@link #isSingleTableAggregate()})
+	 */
+	public OptimizedUpdatePersister(IEntityConfiguredJoinedTablesPersister<C, I> surrogate, boolean singleTableAggregate) {
 		super(surrogate);
+		this.singleTableAggregate = singleTableAggregate;
 	}
 	
 	/**
@@ -118,28 +152,168 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 	}
 	
 	/**
-	 * Key for SQL Select statement (in the context of {@link OptimizedUpdatePersister})
+	 * Overriden to remember, when a {@link LoadStateSnapshotSession} is active, which select loaded entities, so they can be rebuilt from
+	 * session data by {@link #update(Iterable)}
+	 * 
+	 * @param ids entities identifiers
+	 * @return loaded entities
+	 */
+	@Override
+	public List<C> select(Iterable<I> ids) {
+		LoadStateSnapshotSession session = LoadStateSnapshotSession.current();
+		if (session == null || session.isReplaying() || QUERY_CACHE.get() != null) {
+			return super.select(ids);
+		} else {
+			// ids are copied because they are kept by session and given Iterable may not be re-iterable
+			List<I> selectedIds = new ArrayList<>();
+			ids.forEach(selectedIds::add);
+			List<C> result;
+			if (isSingleTableAggregate()) {
+				// column values of entities are enough to rebuild them, so there's no need to keep what the select read
+				result = session.doWithoutRecording(() -> super.select(selectedIds));
+				result.forEach(entity -> session.addColumnSnapshot(this, getId(entity), giveColumnValues(entity)));
+			} else {
+				result = session.recordLoading(this, selectedIds, () -> super.select(selectedIds));
+			}
+			return result;
+		}
+	}
+	
+	@Experimental
+	@Override
+	public int update(C entity) {
+		return update(Collections.singletonList(entity));
+	}
+	
+	/**
+	 * Implementation that, inside a {@link LoadStateSnapshotSession}, builds "unmodified" entities from data read when they were loaded in the
+	 * session, hence without executing any SQL Select : from their column values for single-table aggregates, by replaying their selects on
+	 * recorded data for others. Entities unknown to the session are selected from database as usual.
+	 * 
+	 * @param entities the entities to be updated
+	 * @return the number of updated rows : 0 if no entities were updated, maximum is number of given entities
+	 */
+	@Experimental
+	@Override
+	public int update(Iterable<C> entities) {
+		LoadStateSnapshotSession session = LoadStateSnapshotSession.current();
+		if (session == null) {
+			return super.update(entities);
+		}
+		List<Duo<C, C>> differences = new ArrayList<>();
+		List<C> entitiesToSelect = new ArrayList<>();
+		// entities are grouped by the select that loaded them so each select is replayed only once
+		Map<List<I>, List<C>> entitiesPerLoadingIds = new LinkedHashMap<>();
+		for (C entity : entities) {
+			I id = getId(entity);
+			Map<Column, Object> columnValues = session.giveColumnSnapshot(this, id);
+			if (columnValues != null) {
+				differences.add(new Duo<>(entity, toEntity(columnValues)));
+			} else {
+				List<I> loadingIds = session.giveLoadingIds(this, id);
+				if (loadingIds == null) {
+					entitiesToSelect.add(entity);
+				} else {
+					entitiesPerLoadingIds.computeIfAbsent(loadingIds, k -> new ArrayList<>()).add(entity);
+				}
+			}
+		}
+		
+		entitiesPerLoadingIds.forEach((loadingIds, modifiedEntities) -> {
+			Holder<List<C>> unmodifiedEntities = new Holder<>();
+			// QUERY_CACHE activates query spying, which then looks for results in session
+			ThreadLocals.doWithThreadLocal(QUERY_CACHE, HashMap::new, (Runnable) () ->
+					unmodifiedEntities.set(session.replay(() -> surrogate.select(loadingIds))));
+			Map<I, C> unmodifiedPerId = Iterables.map(unmodifiedEntities.get(), this::getId);
+			modifiedEntities.forEach(modified -> differences.add(new Duo<>(modified, unmodifiedPerId.get(getId(modified)))));
+		});
+		if (!entitiesToSelect.isEmpty()) {
+			Map<I, C> unmodifiedPerId = Iterables.map(select(Iterables.collectToList(entitiesToSelect, this::getId)), this::getId);
+			entitiesToSelect.forEach(modified -> differences.add(new Duo<>(modified, unmodifiedPerId.get(getId(modified)))));
+		}
+		return update(differences, true);
+	}
+	
+	/**
+	 * Indicates if entities can be rebuilt from their column values. Checked at runtime because relations declared by other entities may add
+	 * shadow columns to our table (reverse foreign key or index of a one-to-many for instance) once this instance is created : their values
+	 * are not held by entities but computed by those relations, so they can't be taken from a loaded entity.
+	 * 
+	 * @return true if entities are mapped on a single table without relation, and if all their written columns are read ones
+	 */
+	private boolean isSingleTableAggregate() {
+		Set<? extends Column> selectableColumns = getMappingStrategy().getSelectableColumns();
+		return singleTableAggregate
+				&& selectableColumns.containsAll(getMappingStrategy().getInsertableColumns())
+				&& selectableColumns.containsAll(getMappingStrategy().getUpdatableColumns());
+	}
+	
+	/**
+	 * Gives the values of the columns of an entity, including its identifier and version ones which are not always part of insert ones
+	 * 
+	 * @param entity any entity of this persister
+	 * @return values per column
+	 */
+	private Map<Column, Object> giveColumnValues(C entity) {
+		Map<Column, Object> result = new HashMap<>(getMappingStrategy().getInsertValues(entity));
+		result.putAll(getMappingStrategy().getVersionedKeyValues(entity));
+		return result;
+	}
+	
+	/**
+	 * Creates an entity from its column values, as if they were read from database
+	 * 
+	 * @param columnValues values given by {@link #giveColumnValues(Object)}
+	 * @return a new entity
+	 */
+	private C toEntity(Map<Column, Object> columnValues) {
+		Row row = new Row();
+		columnValues.forEach((column, value) -> row.put(column.getName(), value));
+		return getMappingStrategy().transform(row);
+	}
+	
+	/**
+	 * Overriden to drop load state of updated entities from current {@link LoadStateSnapshotSession} (if any) because it is no more
+	 * representative of database content
+	 */
+	@Override
+	public int update(Iterable<? extends Duo<? extends C, ? extends C>> differencesIterable, boolean allColumnsStatement) {
+		int result = super.update(differencesIterable, allColumnsStatement);
+		LoadStateSnapshotSession session = LoadStateSnapshotSession.current();
+		if (session != null) {
+			differencesIterable.forEach(duo -> session.forget(this, getId(duo.getLeft())));
+		}
+		return result;
+	}
+	
+	/**
+	 * Key for SQL Select statement (in the context of {@link OptimizedUpdatePersister}).
+	 * Immutable because it is used as a {@link Map} key : statements collect their parameters on their own and create the key when they're
+	 * executed.
 	 */
 	@VisibleForTesting
 	static class ResultSetCacheKey {
 		private final String sql;
-		private final Map<Integer, Object> values = new HashMap<>();
-		private final Map<Integer, ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>> writers = new HashMap<>();
+		private final Map<Integer, Object> values;
+		private final Map<Integer, ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>> writers;
 		
 		@VisibleForTesting
 		ResultSetCacheKey(String sql) {
+			this(sql, Collections.emptyMap(), Collections.emptyMap());
+		}
+		
+		private ResultSetCacheKey(String sql, Map<Integer, Object> values,
+								  Map<Integer, ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>> writers) {
 			this.sql = sql;
+			// HashMap because values may contain null (setNull(..))
+			this.values = Collections.unmodifiableMap(new HashMap<>(values));
+			this.writers = Collections.unmodifiableMap(new HashMap<>(writers));
 		}
 		
 		private Map<Integer, Object> getValues() {
 			return values;
 		}
 		
-		private <T> void setValue(Integer index, Object value, ThrowingTriConsumer<PreparedStatement, Integer, T, SQLException> writer) {
-			this.values.put(index, value);
-			this.writers.put(index, (ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>) writer);
-		}
-		
 		public Map<Integer, ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>> getWriters() {
 			return writers;
 		}
@@ -193,6 +367,27 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 			}
 			return currentConnection;
 		}
+		
+		/**
+		 * Wraps read connection of delegate, only invoked when it is a {@link ReadConnectionProvider}
+		 * 
+		 * @return a caching wrapper of delegate read connection
+		 */
+		private Connection giveReadConnection() {
+			return new CachingQueryConnectionWrapper(((ReadConnectionProvider) delegate).giveReadConnection());
+		}
+		
+		/**
+		 * Gives back to delegate the read connection wrapped by {@link #giveReadConnection()}, only invoked when it is a {@link ReadConnectionProvider}
+		 * 
+		 * @param connection a connection given by {@link #giveReadConnection()}
+		 */
+		private void releaseReadConnection(Connection connection) {
+			Connection readConnection = connection instanceof CachingQueryConnectionWrapper
+					? ((CachingQueryConnectionWrapper) connection).wrappedConnection
+					: connection;
+			((ReadConnectionProvider) delegate).releaseReadConnection(readConnection);
+		}
 	}
 	
 	/**
@@ -205,20 +400,67 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 	 */
 	private static class CachingQueryConnectionWrapper extends ConnectionWrapper {
 		
+		/** Wrapped connection, kept to be given back to its provider when it's a read one */
+		private final Connection wrappedConnection;
+		
 		private CachingQueryConnectionWrapper(Connection surrogate) {
 			super(surrogate);
+			this.wrappedConnection = surrogate;
 		}
 		
 		@Override
 		public PreparedStatement prepareStatement(String sql) throws SQLException {
-			if (QUERY_CACHE.get() == null) {
+			LoadStateSnapshotSession session = LoadStateSnapshotSession.current();
+			if (QUERY_CACHE.get() != null) {
+				return new SpyingQueryPreparedStatement(sql);
+			} else if (session != null && session.isRecording() && isSelect(sql)) {
+				return newRecordingPreparedStatement(sql, session);
+			} else {
 				// No cache active so we let default behavior
 				return super.prepareStatement(sql);
-			} else {
-				return new SpyingQueryPreparedStatement(sql);
 			}
 		}
 		
+		private static boolean isSelect(String sql) {
+			return sql.trim().regionMatches(true, 0, "select", 0, "select".length());
+		}
+		
+		/**
+		 * Creates a real {@link PreparedStatement} which results are recorded into given session. Contrary to
+		 * {@link SpyingQueryPreparedStatement}, it is executed as usual since it is used along the whole session. Only select statements are
+		 * expected to be given, others don't need to be proxied.
+		 * 
+		 * @param sql the select SQL
+		 * @param session the session that stores select results
+		 * @return a proxy over a real {@link PreparedStatement}
+		 * @throws SQLException if statement creation fails
+		 */
+		private PreparedStatement newRecordingPreparedStatement(String sql, LoadStateSnapshotSession session) throws SQLException {
+			PreparedStatement realStatement = super.prepareStatement(sql);
+			Map<Integer, Object> values = new HashMap<>();
+			return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] { PreparedStatement.class },
+					(proxy, method, args) -> {
+						// parameter setters are spied to build statement key the same way SpyingQueryPreparedStatement does
+						if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+							values.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+						} else if (method.getName().equals("clearParameters")) {
+							values.clear();
+						}
+						Object result;
+						try {
+							result = method.invoke(realStatement, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+						if (method.getName().equals("executeQuery") && args == null) {
+							// key is created at execution time since statement parameters may change between executions
+							ResultSetCacheKey resultSetCacheKey = new ResultSetCacheKey(sql, values, Collections.emptyMap());
+							return new CachingResultSet((ResultSet) result, rows -> session.putResultSet(resultSetCacheKey, rows));
+						}
+						return result;
+					});
+		}
+		
 		/**
 		 * {@link ResultSet} that stores in memory data of a delegate {@link ResultSet} : acts as a proxy over it.
 		 * Only read data are cached (to avoid reading {@link java.sql.ResultSetMetaData} which causes performance issue) and only read rows, hence
@@ -228,14 +470,12 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 			
 			private final List<Map<String, Object>> inMemoryValues = new ArrayList<>();
 			
-			private final ResultSetCacheKey resultSetCacheKey;
 			private Map<String, Object> rowContent;
-			private final Map<ResultSetCacheKey, ResultSet> cache;
+			private final Consumer<List<Map<String, Object>>> cacheFiller;
 			
-			private CachingResultSet(ResultSet resultSet, ResultSetCacheKey resultSetCacheKey, Map<ResultSetCacheKey, ResultSet> cache) {
+			private CachingResultSet(ResultSet resultSet, Consumer<List<Map<String, Object>>> cacheFiller) {
 				super(resultSet);
-				this.resultSetCacheKey = resultSetCacheKey;
-				this.cache = cache;
+				this.cacheFiller = cacheFiller;
 			}
 			
 			/**
@@ -252,7 +492,7 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 					inMemoryValues.add(rowContent);
 				} else {
 					// we've reached last row so we can put result into cache
-					cache.put(resultSetCacheKey, new InMemoryResultSet(inMemoryValues));
+					cacheFiller.accept(inMemoryValues);
 				}
 				return next;
 			}
@@ -400,16 +640,21 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 		 */
 		private class SpyingQueryPreparedStatement extends NoopPreparedStatement {
 			private final String sql;
-			private final ResultSetCacheKey resultSetCacheKey;
+			private final Map<Integer, Object> values = new HashMap<>();
+			private final Map<Integer, ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>> writers = new HashMap<>();
 			
 			private SpyingQueryPreparedStatement(String sql) {
 				this.sql = sql;
-				this.resultSetCacheKey = new ResultSetCacheKey(sql);
+			}
+			
+			private <T> void setValue(Integer index, Object value, ThrowingTriConsumer<PreparedStatement, Integer, T, SQLException> writer) {
+				this.values.put(index, value);
+				this.writers.put(index, (ThrowingTriConsumer<PreparedStatement, Integer, Object, SQLException>) writer);
 			}
 			
 			@Override
 			public ResultSet executeQuery() throws SQLException {
-				return executeQueryAndCacheResult(sql, resultSetCacheKey);
+				return executeQueryAndCacheResult(sql, new ResultSetCacheKey(sql, values, writers));
 			}
 			
 			private ResultSet executeQueryAndCacheResult(String sql, ResultSetCacheKey resultSetCacheKey) throws SQLException {
@@ -419,6 +664,12 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 					// we trace cache usage in log to prevent user from becoming crazy by not seeing any real call to RDBMS
 					SQLOperation.LOGGER.debug("Result found in cache, statement will not be executed");
 					return previousResult;
+				}
+				LoadStateSnapshotSession session = LoadStateSnapshotSession.current();
+				List<Map<String, Object>> sessionResult = session == null ? null : session.giveResultSet(resultSetCacheKey);
+				if (sessionResult != null) {
+					SQLOperation.LOGGER.debug("Result found in load state snapshot, statement will not be executed");
+					return new InMemoryResultSet(sessionResult);
 				} else {
 					PreparedStatement realStatement = CachingQueryConnectionWrapper.super.prepareStatement(sql);
 					resultSetCacheKey.getValues().forEach((index, value) -> {
@@ -428,113 +679,114 @@ public class OptimizedUpdatePersister<C, I> extends PersisterWrapper<C, I> {
 							throw new SQLExecutionException(throwable);
 						}
 					});
-					return new CachingResultSet(realStatement.executeQuery(), resultSetCacheKey, resultSetCache);
+					return new CachingResultSet(realStatement.executeQuery(),
+							rows -> resultSetCache.put(resultSetCacheKey, new InMemoryResultSet(rows)));
 				}
 			}
 			
 			@Override
 			public void setArray(int parameterIndex, Array value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setArray);
+				setValue(parameterIndex, value, PreparedStatement::setArray);
 			}
 			
 			@Override
 			public void setBigDecimal(int parameterIndex, BigDecimal value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setBigDecimal);
+				setValue(parameterIndex, value, PreparedStatement::setBigDecimal);
 			}
 			
 			@Override
 			public void setBoolean(int parameterIndex, boolean value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setBoolean);
+				setValue(parameterIndex, value, PreparedStatement::setBoolean);
 			}
 			
 			@Override
 			public void setByte(int parameterIndex, byte value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setByte);
+				setValue(parameterIndex, value, PreparedStatement::setByte);
 			}
 			
 			@Override
 			public void setBytes(int parameterIndex, byte[] value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setBytes);
+				setValue(parameterIndex, value, PreparedStatement::setBytes);
 			}
 			
 			@Override
 			public void setDate(int parameterIndex, Date value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setDate(index, (Date) x));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setDate(index, (Date) x));
 			}
 			
 			@Override
 			public void setDate(int parameterIndex, Date value, Calendar cal) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setDate(index, (Date) x, cal));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setDate(index, (Date) x, cal));
 			}
 			
 			@Override
 			public void setDouble(int parameterIndex, double value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setDouble);
+				setValue(parameterIndex, value, PreparedStatement::setDouble);
 			}
 			
 			@Override
 			public void setFloat(int parameterIndex, float value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setFloat);
+				setValue(parameterIndex, value, PreparedStatement::setFloat);
 			}
 			
 			@Override
 			public void setInt(int parameterIndex, int value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setInt);
+				setValue(parameterIndex, value, PreparedStatement::setInt);
 			}
 			
 			@Override
 			public void setLong(int parameterIndex, long value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setLong);
+				setValue(parameterIndex, value, PreparedStatement::setLong);
 			}
 			
 			@Override
 			public void setNull(int parameterIndex, int sqlType) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, null, (ps, index, x) -> ps.setNull(index, sqlType));
+				setValue(parameterIndex, null, (ps, index, x) -> ps.setNull(index, sqlType));
 			}
 			
 			@Override
 			public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, null, (ps, index, x) -> ps.setNull(index, sqlType, typeName));
+				setValue(parameterIndex, null, (ps, index, x) -> ps.setNull(index, sqlType, typeName));
 			}
 			
 			@Override
 			public void setObject(int parameterIndex, Object value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setObject);
+				setValue(parameterIndex, value, PreparedStatement::setObject);
 			}
 			
 			@Override
 			public void setShort(int parameterIndex, short value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setShort);
+				setValue(parameterIndex, value, PreparedStatement::setShort);
 			}
 			
 			@Override
 			public void setString(int parameterIndex, String value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setString);
+				setValue(parameterIndex, value, PreparedStatement::setString);
 			}
 			
 			@Override
 			public void setTime(int parameterIndex, Time value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setTime(index, (Time) x));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setTime(index, (Time) x));
 			}
 			
 			@Override
 			public void setTime(int parameterIndex, Time value, Calendar cal) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setTime(index, (Time) x, cal));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setTime(index, (Time) x, cal));
 			}
 			
 			@Override
 			public void setTimestamp(int parameterIndex, Timestamp value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setTimestamp(index, (Timestamp) x));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setTimestamp(index, (Timestamp) x));
 			}
 			
 			@Override
 			public void setTimestamp(int parameterIndex, Timestamp value, Calendar cal) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, (ps, index, x) -> ps.setTimestamp(index, (Timestamp) x, cal));
+				setValue(parameterIndex, value, (ps, index, x) -> ps.setTimestamp(index, (Timestamp) x, cal));
 			}
 			
 			@Override
 			public void setURL(int parameterIndex, URL value) throws SQLException {
-				resultSetCacheKey.setValue(parameterIndex, value, PreparedStatement::setURL);
+				setValue(parameterIndex, value, PreparedStatement::setURL);
 			}
 				
 			/*
@@ -75,6 +75,16 @@ public class PersisterWrapper<C, I> implements IEntityConfiguredJoinedTablesPers
 		return surrogate.selectAll();
 	}
 	
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		return surrogate.deleteWhere(getter, operator);
+	}
+	
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		return surrogate.updateWhere(getter, operator);
+	}
+	
 	@Override
 	public boolean isNew(C entity) {
 		return surrogate.isNew(entity);
@@ -145,6 +155,11 @@ public class PersisterWrapper<C, I> implements IEntityConfiguredJoinedTablesPers
 		return surrogate.insert(entities);
 	}
 	
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		return surrogate.upsert(entities);
+	}
+	
 	@Override
 	public List<C> select(Iterable<I> ids) {
 		return surrogate.select(ids);
@@ -0,0 +1,161 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.gama.stalactite.persistence.engine.ISelectExecutor;
+
+/**
+ * Coordinator of entity loadings that happen after a main select (relations of polymorphic entities, cycling relations, etc.).
+ * Loadings requested while a root one is being processed are not executed immediately but queued, then grouped per {@link ISelectExecutor}
+ * so that all identifiers of a same entity type requested at a same depth of the graph are loaded with a single call. Entities loaded
+ * during the whole process are remembered so that an identifier requested several times (typical of cycling graphs such as employee -> manager
+ * -> manager ...) is only loaded once.
+ *
+ * Queue is bound to current thread and only lives for the duration of the root loading, which is the first
+ * {@link #load(ISelectExecutor, Function, Set, Iterable, Consumer)} invocation : it processes queued loadings until no more are requested.
+ * As a consequence, entities given to consumers of nested requests are available when root invocation returns, not when nested one does :
+ * a select triggered while queue is processed returns entities which relations are filled later in the same root invocation. Hence, whatever
+ * its depth, the graph is complete when the select that started the root loading returns, but consumers and select listeners must not expect
+ * relations of the entities they are given to be already filled.
+ *
+ * @author Guillaume Mary
+ */
+public class SecondPhaseLoadQueue {
+	
+	private static final ThreadLocal<SecondPhaseLoadQueue> CURRENT_QUEUE = new ThreadLocal<>();
+	
+	/**
+	 * Asks for loading of some entities. Executed immediately if no loading is in progress for current thread, else queued and executed with
+	 * other requests of same {@link ISelectExecutor}.
+	 *
+	 * @param selectExecutor the executor that must load entities
+	 * @param idAccessor entity identifier accessor, to map loaded entities to requested identifiers
+	 * @param ids identifiers of entities to be loaded
+	 * @param alreadyLoadedEntities entities already available for caller, which won't be loaded again if their identifier is requested
+	 * @param loadedEntitiesConsumer will be given requested entities per their identifier, missing ones (not found in database) are absent
+	 * @param <C> entity type
+	 * @param <I> identifier type
+	 */
+	public static <C, I> void load(ISelectExecutor<C, I> selectExecutor,
+								   Function<C, I> idAccessor,
+								   Set<I> ids,
+								   Iterable<? extends C> alreadyLoadedEntities,
+								   Consumer<Map<I, C>> loadedEntitiesConsumer) {
+		loadTogether(() -> CURRENT_QUEUE.get().enqueue(selectExecutor, idAccessor, ids, alreadyLoadedEntities, loadedEntitiesConsumer));
+	}
+	
+	/**
+	 * Runs some code that makes several {@link #load(ISelectExecutor, Function, Set, Iterable, Consumer)} invocations so that they are
+	 * grouped as if they were nested ones : if no loading is in progress for current thread, they'll be executed at the end of given code.
+	 * 
+	 * @param loadRequester some code invoking {@link #load(ISelectExecutor, Function, Set, Iterable, Consumer)}
+	 */
+	public static void loadTogether(Runnable loadRequester) {
+		SecondPhaseLoadQueue currentQueue = CURRENT_QUEUE.get();
+		if (currentQueue != null) {
+			loadRequester.run();
+		} else {
+			currentQueue = new SecondPhaseLoadQueue();
+			CURRENT_QUEUE.set(currentQueue);
+			try {
+				loadRequester.run();
+				currentQueue.flush();
+			} finally {
+				CURRENT_QUEUE.remove();
+			}
+		}
+	}
+	
+	/** Requests waiting for execution. Made as a {@link LinkedHashMap} to have steady SQL order */
+	private Map<ISelectExecutor, PendingLoad> pendingLoads = new LinkedHashMap<>();
+	
+	/** Entities loaded (or given as already loaded) since the beginning of the root loading, per their executor then their identifier */
+	private final Map<ISelectExecutor, Map<Object, Object>> loadedEntities = new HashMap<>();
+	
+	private SecondPhaseLoadQueue() {
+	}
+	
+	private <C, I> void enqueue(ISelectExecutor<C, I> selectExecutor,
+								Function<C, I> idAccessor,
+								Set<I> ids,
+								Iterable<? extends C> alreadyLoadedEntities,
+								Consumer<Map<I, C>> loadedEntitiesConsumer) {
+		Map<I, C> knownEntities = giveLoadedEntities(selectExecutor);
+		alreadyLoadedEntities.forEach(c -> knownEntities.putIfAbsent(idAccessor.apply(c), c));
+		PendingLoad<C, I> pendingLoad = pendingLoads.computeIfAbsent(selectExecutor, k -> new PendingLoad<>(selectExecutor, idAccessor));
+		pendingLoad.add(ids, loadedEntitiesConsumer);
+	}
+	
+	private <C, I> Map<I, C> giveLoadedEntities(ISelectExecutor<C, I> selectExecutor) {
+		return (Map<I, C>) (Map) loadedEntities.computeIfAbsent(selectExecutor, k -> new HashMap<>());
+	}
+	
+	/**
+	 * Executes pending requests, grouped by {@link ISelectExecutor}, until no more are requested. Requests made during execution (by
+	 * select listeners of loaded entities) are processed in next iteration, hence graph is loaded by depth.
+	 */
+	private void flush() {
+		while (!pendingLoads.isEmpty()) {
+			Map<ISelectExecutor, PendingLoad> currentLoads = pendingLoads;
+			pendingLoads = new LinkedHashMap<>();
+			currentLoads.values().forEach(PendingLoad::execute);
+		}
+	}
+	
+	/**
+	 * Requests of a same {@link ISelectExecutor}
+	 *
+	 * @param <C> entity type
+	 * @param <I> identifier type
+	 */
+	private class PendingLoad<C, I> {
+		
+		private final ISelectExecutor<C, I> selectExecutor;
+		
+		private final Function<C, I> idAccessor;
+		
+		/** Identifiers of all requests, merged to be loaded at once */
+		private final Set<I> ids = new HashSet<>();
+		
+		private final List<Consumer<Map<I, C>>> consumers = new ArrayList<>();
+		
+		private final List<Set<I>> requestedIds = new ArrayList<>();
+		
+		private PendingLoad(ISelectExecutor<C, I> selectExecutor, Function<C, I> idAccessor) {
+			this.selectExecutor = selectExecutor;
+			this.idAccessor = idAccessor;
+		}
+		
+		private void add(Set<I> ids, Consumer<Map<I, C>> loadedEntitiesConsumer) {
+			this.ids.addAll(ids);
+			this.requestedIds.add(ids);
+			this.consumers.add(loadedEntitiesConsumer);
+		}
+		
+		private void execute() {
+			Map<I, C> knownEntities = giveLoadedEntities(selectExecutor);
+			ids.removeIf(knownEntities::containsKey);
+			if (!ids.isEmpty()) {
+				selectExecutor.select(ids).forEach(c -> knownEntities.put(idAccessor.apply(c), c));
+			}
+			for (int i = 0; i < consumers.size(); i++) {
+				Map<I, C> result = new HashMap<>();
+				requestedIds.get(i).forEach(id -> {
+					C entity = knownEntities.get(id);
+					if (entity != null) {
+						result.put(id, entity);
+					}
+				});
+				consumers.get(i).accept(result);
+			}
+		}
+	}
+}
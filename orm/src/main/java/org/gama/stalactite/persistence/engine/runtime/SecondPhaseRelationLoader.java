@@ -1,9 +1,9 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -11,7 +11,6 @@ import java.util.function.Function;
 
 import org.gama.lang.Nullable;
 import org.gama.lang.Reflections;
-import org.gama.lang.collection.Iterables;
 import org.gama.stalactite.persistence.engine.ISelectExecutor;
 import org.gama.stalactite.persistence.engine.listening.SelectListener;
 
@@ -51,9 +50,9 @@ public class SecondPhaseRelationLoader<SRC, TRGT, ID> implements SelectListener<
 	 * @param <TRGTID> target identifier type
 	 */
 	private <TRGTID> void selectTargetEntities(Iterable<? extends SRC> sourceEntities) {
-		Map<ISelectExecutor<TRGT, TRGTID>, Set<TRGTID>> selectsToExecute = new HashMap<>();
 		Map<ISelectExecutor<TRGT, TRGTID>, Function<TRGT, TRGTID>> idAccessors = new HashMap<>();
-		Map<SRC, Set<TRGTID>> targetIdPerSource = new HashMap<>();
+		// target ids are stored per executor then per source, to apply targets of each executor as soon as they're loaded
+		Map<ISelectExecutor<TRGT, TRGTID>, Map<SRC, Set<TRGTID>>> targetIdsPerSource = new HashMap<>();
 		Set<RelationIds<SRC, TRGT, TRGTID>> relationIds = ((Queue<Set<RelationIds<SRC, TRGT, TRGTID>>>) (Queue) relationIdsHolder.get()).poll();
 		// we remove null targetIds (Target Ids may be null if relation is nullified) because
 		// - selecting entities with null id is non-sensence
@@ -61,18 +60,19 @@ public class SecondPhaseRelationLoader<SRC, TRGT, ID> implements SelectListener<
 		// - it prevents from NullPointerException when applying target to source
 		relationIds.stream().filter(r -> !isDefaultValue(r.getTargetId())).forEach(r -> {
 			idAccessors.putIfAbsent(r.getSelectExecutor(), r.getIdAccessor());
-			targetIdPerSource.computeIfAbsent(r.getSource(), k -> new HashSet<>()).add(r.getTargetId());
-			selectsToExecute.computeIfAbsent(r.getSelectExecutor(), k -> new HashSet<>()).add(r.getTargetId());
+			targetIdsPerSource.computeIfAbsent(r.getSelectExecutor(), k -> new HashMap<>())
+					.computeIfAbsent(r.getSource(), k -> new HashSet<>()).add(r.getTargetId());
 		});
 		
-		// we load target entities from their ids, and map them per their loader
-		Map<ISelectExecutor, List<TRGT>> targetsPerSelector = new HashMap<>();
-		selectsToExecute.forEach((selectExecutor, ids) -> targetsPerSelector.put(selectExecutor, selectExecutor.select(ids)));
-		// then we apply them onto their source entities, to remember which target applies to which source, we use target id
-		Map<TRGTID, TRGT> targetPerId = new HashMap<>();
-		targetsPerSelector.forEach((selector, loadedTargets) -> targetPerId.putAll(Iterables.map(loadedTargets, idAccessors.get(selector))));
-		sourceEntities.forEach(src -> Nullable.nullable(targetIdPerSource.get(src))    // source may not have targetIds if relation if null
-				.invoke(targetIds -> targetIds.forEach(targetId -> beanRelationFixer.apply(src, targetPerId.get(targetId)))));
+		// we load target entities from their ids through the shared queue so that they're loaded together with other relations of same type
+		SecondPhaseLoadQueue.loadTogether(() -> targetIdsPerSource.forEach((selectExecutor, targetIdsOfExecutor) -> {
+			Set<TRGTID> ids = new HashSet<>();
+			targetIdsOfExecutor.values().forEach(ids::addAll);
+			SecondPhaseLoadQueue.load(selectExecutor, idAccessors.get(selectExecutor), ids, Collections.emptyList(), targetPerId ->
+					// then we apply them onto their source entities, to remember which target applies to which source, we use target id
+					sourceEntities.forEach(src -> Nullable.nullable(targetIdsOfExecutor.get(src))    // source may not have targetIds if relation if null
+							.invoke(targetIds -> targetIds.forEach(targetId -> beanRelationFixer.apply(src, targetPerId.get(targetId))))));
+		}));
 	}
 	
 	public static boolean isDefaultValue(Object value) {
@@ -145,6 +145,16 @@ public class SingleTablePolymorphicPersister<C, I, T extends Table<T>, D> implem
 		return insertCount.getValue();
 	}
 	
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		Map<IEntityPersister<C, I>, Set<C>> entitiesPerType = computeEntitiesPerPersister(entities);
+		
+		ModifiableInt upsertCount = new ModifiableInt();
+		entitiesPerType.forEach((persister, cs) -> upsertCount.increment(persister.upsert(cs)));
+		
+		return upsertCount.getValue();
+	}
+	
 	@Override
 	public int updateById(Iterable<C> entities) {
 		Map<IEntityPersister<C, I>, Set<C>> entitiesPerType = computeEntitiesPerPersister(entities);
@@ -240,6 +250,7 @@ public class SingleTablePolymorphicPersister<C, I, T extends Table<T>, D> implem
 						() -> entitySelectExecutor.loadGraph(localCriteriaSupport.getCriteria()))
 				.redirect(CriteriaProvider::getCriteria, localCriteriaSupport::getCriteria)
 				.redirect(RelationalEntityCriteria.class, localCriteriaSupport, true)
+				.redirect(ExecutableProjectionQuery.class, new ExecutableProjectionQuerySupport<>(localCriteriaSupport, entitySelectExecutor), false)
 				.build((Class<RelationalExecutableEntityQuery<C>>) (Class) RelationalExecutableEntityQuery.class);
 	}
 	
@@ -261,6 +272,22 @@ public class SingleTablePolymorphicPersister<C, I, T extends Table<T>, D> implem
 		return entitySelectExecutor.loadGraph(newWhere().getCriteria());
 	}
 	
+	/**
+	 * Implemented by main persister since all entities are stored in its table
+	 */
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		return mainPersister.deleteWhere(getter, operator);
+	}
+	
+	/**
+	 * Implemented by main persister since all entities are stored in its table
+	 */
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		return mainPersister.updateWhere(getter, operator);
+	}
+	
 	@Override
 	public boolean isNew(C entity) {
 		return mainPersister.isNew(entity);
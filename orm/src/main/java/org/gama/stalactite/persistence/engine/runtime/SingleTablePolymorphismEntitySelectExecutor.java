@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.gama.lang.Duo;
 import org.gama.lang.collection.Iterables;
@@ -14,6 +15,7 @@ import org.gama.lang.collection.Maps;
 import org.gama.stalactite.persistence.engine.PolymorphismPolicy.SingleTablePolymorphism;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder;
+import org.gama.stalactite.persistence.query.EntityProjectionExecutor;
 import org.gama.stalactite.persistence.query.IEntitySelectExecutor;
 import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.structure.Column;
@@ -41,6 +43,7 @@ public class SingleTablePolymorphismEntitySelectExecutor<C, I, T extends Table,
 	private final EntityJoinTree<C, I> entityJoinTree;
 	private final ConnectionProvider connectionProvider;
 	private final Dialect dialect;
+	private final EntityProjectionExecutor<C, I> projectionExecutor;
 	
 	public SingleTablePolymorphismEntitySelectExecutor(Map<Class<? extends C>, IEntityConfiguredJoinedTablesPersister<C, I>> persisterPerSubclass,
 												Column<T, D> discriminatorColumn,
@@ -54,6 +57,7 @@ public class SingleTablePolymorphismEntitySelectExecutor<C, I, T extends Table,
 		this.entityJoinTree = mainEntityJoinTree;
 		this.connectionProvider = connectionProvider;
 		this.dialect = dialect;
+		this.projectionExecutor = new EntityProjectionExecutor<>(mainEntityJoinTree, connectionProvider, dialect.getColumnBinderRegistry());
 	}
 	
 	@Override
@@ -82,6 +86,21 @@ public class SingleTablePolymorphismEntitySelectExecutor<C, I, T extends Table,
 		return result;
 	}
 	
+	@Override
+	public <R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer) {
+		return projectionExecutor.loadProjection(where, columns, rowTransformer);
+	}
+	
+	@Override
+	public long count(CriteriaChain where) {
+		return projectionExecutor.count(where);
+	}
+	
+	@Override
+	public boolean exists(CriteriaChain where) {
+		return projectionExecutor.exists(where);
+	}
+	
 	private List<Duo<I, D>> readIds(SQLQueryBuilder sqlQueryBuilder, Column<T, I> pk) {
 		PreparedSQL preparedSQL = sqlQueryBuilder.toPreparedSQL(dialect.getColumnBinderRegistry());
 		try (ReadOperation<Integer> closeableOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
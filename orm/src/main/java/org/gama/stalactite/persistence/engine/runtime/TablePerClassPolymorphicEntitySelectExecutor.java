@@ -1,16 +1,21 @@
 package org.gama.stalactite.persistence.engine.runtime;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 
+import org.gama.lang.Reflections;
 import org.gama.lang.StringAppender;
 import org.gama.lang.collection.Iterables;
+import org.gama.lang.collection.Maps;
 import org.gama.lang.function.Functions;
 import org.gama.lang.trace.ModifiableInt;
 import org.gama.stalactite.persistence.engine.SubEntityMappingConfiguration;
@@ -26,11 +31,13 @@ import org.gama.stalactite.query.model.Query;
 import org.gama.stalactite.query.model.QueryEase;
 import org.gama.stalactite.query.model.Where;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.binder.DefaultParameterBinders;
 import org.gama.stalactite.sql.binder.ParameterBinder;
 import org.gama.stalactite.sql.binder.PreparedStatementWriter;
 import org.gama.stalactite.sql.binder.ResultSetReader;
 import org.gama.stalactite.sql.dml.PreparedSQL;
 import org.gama.stalactite.sql.dml.ReadOperation;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
 import org.gama.stalactite.sql.result.RowIterator;
 
 /**
@@ -38,6 +45,8 @@ import org.gama.stalactite.sql.result.RowIterator;
  */
 public class TablePerClassPolymorphicEntitySelectExecutor<C, I, T extends Table> implements IEntitySelectExecutor<C> {
 	
+	private static final String COUNT_ALIAS = "entityCount";
+	
 	private final Map<Class, Table> tablePerSubConfiguration;
 	private final Map<Class<? extends C>, JoinedTablesPersister<C, I, T>> persisterPerSubclass;
 	private final ConnectionProvider connectionProvider;
@@ -101,18 +110,7 @@ public class TablePerClassPolymorphicEntitySelectExecutor<C, I, T extends Table>
 					.from(subEntityTable)
 					.getQuery();
 			
-			Where projectedWhere = new Where();
-			for(AbstractCriterion c : ((CriteriaChain<?>) where)) {
-				// TODO: take other types into acount
-				if (c instanceof ColumnCriterion) {
-					ColumnCriterion columnCriterion = (ColumnCriterion) c;
-					Column projectedColumn = subEntityTable.getColumn(columnCriterion.getColumn().getName());
-					projectedWhere.add(columnCriterion.copyFor(projectedColumn));
-				}
-			}
-			if (projectedWhere.iterator().hasNext()) {    // prevents from empty where causing malformed SQL
-				query.getWhere().and(projectedWhere);
-			}
+			addProjectedWhere(where, subEntityTable, query);
 			
 			SQLQueryBuilder sqlQueryBuilder = new SQLQueryBuilder(query);
 			PreparedSQL preparedSQL = sqlQueryBuilder.toPreparedSQL(columnBinderRegistry);
@@ -163,4 +161,135 @@ public class TablePerClassPolymorphicEntitySelectExecutor<C, I, T extends Table>
 		
 		return result;
 	}
-}
+	
+	/**
+	 * Reads values of given columns for entities matching given criteria : since each entity is stored in the table of its type, one query
+	 * is executed per sub-entity table, each on the columns of its table having same name as given ones.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @param columns columns to be read, expected to be owned by main table
+	 * @param rowTransformer builder of result elements from read values, which are given in columns order
+	 * @param <R> result element type
+	 * @return one element per entity matching criteria
+	 */
+	@Override
+	public <R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer) {
+		assertProjectable(where);
+		List<R> result = new ArrayList<>();
+		tablePerSubConfiguration.values().forEach(subEntityTable -> {
+			Query query = new Query();
+			Map<String, ResultSetReader> readers = new LinkedHashMap<>();
+			ModifiableInt aliasIndex = new ModifiableInt();
+			columns.forEach(column -> {
+				String alias = "projection" + aliasIndex.getValue();
+				aliasIndex.increment();
+				query.select(subEntityTable.getColumn(column.getName()), alias);
+				readers.put(alias, columnBinderRegistry.getBinder(column));
+			});
+			query.getFromSurrogate().add(subEntityTable);
+			addProjectedWhere(where, subEntityTable, query);
+			
+			PreparedSQL preparedSQL = new SQLQueryBuilder(query).toPreparedSQL(columnBinderRegistry);
+			try (ReadOperation<Integer> readOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+				RowIterator rowIterator = new RowIterator(readOperation.execute(), readers);
+				rowIterator.forEachRemaining(row -> result.add(rowTransformer.apply(readers.keySet().stream().map(row::get).toArray())));
+			} catch (RuntimeException e) {
+				throw new SQLExecutionException(preparedSQL.getSQL(), e);
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Counts entities matching given criteria by summing counts of each sub-entity table, since each entity is stored in only one of them.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @return number of entities matching criteria
+	 */
+	@Override
+	public long count(CriteriaChain where) {
+		assertProjectable(where);
+		long result = 0;
+		for (Table subEntityTable : tablePerSubConfiguration.values()) {
+			Query query = QueryEase.select("count(*) as " + COUNT_ALIAS).from(subEntityTable).getQuery();
+			addProjectedWhere(where, subEntityTable, query);
+			
+			PreparedSQL preparedSQL = new SQLQueryBuilder(query).toPreparedSQL(columnBinderRegistry);
+			try (ReadOperation<Integer> readOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+				RowIterator rowIterator = new RowIterator(readOperation.execute(), Maps.asMap(COUNT_ALIAS, DefaultParameterBinders.LONG_PRIMITIVE_BINDER));
+				// an aggregate query always returns one row
+				result += (Long) rowIterator.next().get(COUNT_ALIAS);
+			} catch (RuntimeException e) {
+				throw new SQLExecutionException(preparedSQL.getSQL(), e);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Checks if an entity matches given criteria by looking for one in each sub-entity table, stopping at first found. Only first row of each
+	 * query is read thanks to {@link ReadOperation#setMaxRows(int)}.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @return true if at least one entity matches criteria
+	 */
+	@Override
+	public boolean exists(CriteriaChain where) {
+		assertProjectable(where);
+		for (Table subEntityTable : tablePerSubConfiguration.values()) {
+			Query query = new Query();
+			((Set<Column>) subEntityTable.getPrimaryKey().getColumns()).forEach(query::select);
+			query.getFromSurrogate().add(subEntityTable);
+			addProjectedWhere(where, subEntityTable, query);
+			
+			PreparedSQL preparedSQL = new SQLQueryBuilder(query).toPreparedSQL(columnBinderRegistry);
+			try (ReadOperation<Integer> readOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+				readOperation.setMaxRows(1);
+				if (readOperation.execute().next()) {
+					return true;
+				}
+			} catch (SQLException | RuntimeException e) {
+				throw new SQLExecutionException(preparedSQL.getSQL(), e);
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks that given criteria can be applied on sub-entity tables by {@link #addProjectedWhere(CriteriaChain, Table, Query)}, which only
+	 * supports {@link ColumnCriterion}s. Made to prevent other criteria from being ignored, which would give wrong counts or projections.
+	 * 
+	 * @param where some criteria on main table columns
+	 * @throws UnsupportedOperationException if a criterion is not a {@link ColumnCriterion}
+	 */
+	private static void assertProjectable(CriteriaChain<?> where) {
+		for (AbstractCriterion c : where) {
+			if (!(c instanceof ColumnCriterion)) {
+				throw new UnsupportedOperationException("Criteria of type " + Reflections.toString(c.getClass())
+						+ " are not supported on table-per-class polymorphic entities, only " + Reflections.toString(ColumnCriterion.class) + " are");
+			}
+		}
+	}
+	
+	/**
+	 * Adds given criteria to given query, applied on the columns of given sub-entity table that have same name as criteria ones
+	 * 
+	 * @param where some criteria on main table columns
+	 * @param subEntityTable the table queried
+	 * @param query the query to be completed
+	 */
+	private static void addProjectedWhere(CriteriaChain<?> where, Table subEntityTable, Query query) {
+		Where projectedWhere = new Where();
+		for(AbstractCriterion c : where) {
+			// TODO: take other types into acount
+			if (c instanceof ColumnCriterion) {
+				ColumnCriterion columnCriterion = (ColumnCriterion) c;
+				Column projectedColumn = subEntityTable.getColumn(columnCriterion.getColumn().getName());
+				projectedWhere.add(columnCriterion.copyFor(projectedColumn));
+			}
+		}
+		if (projectedWhere.iterator().hasNext()) {    // prevents from empty where causing malformed SQL
+			query.getWhere().and(projectedWhere);
+		}
+	}
+}
\ No newline at end of file
@@ -136,6 +136,16 @@ public class TablePerClassPolymorphismPersister<C, I, T extends Table<T>> implem
 		return insertCount.getValue();
 	}
 	
+	@Override
+	public int upsert(Iterable<? extends C> entities) {
+		Map<IEntityPersister<C, I>, Set<C>> entitiesPerType = computeEntitiesPerPersister(entities);
+		
+		ModifiableInt upsertCount = new ModifiableInt();
+		entitiesPerType.forEach((persister, adhocEntities) -> upsertCount.increment(persister.upsert(adhocEntities)));
+		
+		return upsertCount.getValue();
+	}
+	
 	@Override
 	public int updateById(Iterable<C> entities) {
 		Map<IEntityPersister<C, I>, Set<C>> entitiesPerType = computeEntitiesPerPersister(entities);
@@ -225,6 +235,7 @@ public class TablePerClassPolymorphismPersister<C, I, T extends Table<T>> implem
 						() -> entitySelectExecutor.loadGraph(localCriteriaSupport.getCriteria()))
 				.redirect(CriteriaProvider::getCriteria, localCriteriaSupport::getCriteria)
 				.redirect(RelationalEntityCriteria.class, localCriteriaSupport, true)
+				.redirect(ExecutableProjectionQuery.class, new ExecutableProjectionQuerySupport<>(localCriteriaSupport, entitySelectExecutor), false)
 				.build((Class<RelationalExecutableEntityQuery<C>>) (Class) RelationalExecutableEntityQuery.class);
 	}
 	
@@ -246,6 +257,22 @@ public class TablePerClassPolymorphismPersister<C, I, T extends Table<T>> implem
 		return entitySelectExecutor.loadGraph(newWhere().getCriteria());
 	}
 	
+	/**
+	 * Not supported because entities are stored in as many tables as sub-entities, which would require several statements
+	 */
+	@Override
+	public <O> ExecutableBulkDelete<C> deleteWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		throw new UnsupportedOperationException("Bulk delete is not supported on table-per-class polymorphic entities");
+	}
+	
+	/**
+	 * Not supported because entities are stored in as many tables as sub-entities, which would require several statements
+	 */
+	@Override
+	public <O> ExecutableBulkUpdate<C> updateWhere(SerializableFunction<C, O> getter, AbstractRelationalOperator<O> operator) {
+		throw new UnsupportedOperationException("Bulk update is not supported on table-per-class polymorphic entities");
+	}
+	
 	@Override
 	public boolean isNew(C entity) {
 		return mainPersister.isNew(entity);
@@ -1,16 +1,17 @@
 package org.gama.stalactite.persistence.engine.runtime.cycle;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.gama.lang.collection.Iterables;
 import org.gama.stalactite.persistence.engine.IEntityPersister;
 import org.gama.stalactite.persistence.engine.configurer.CascadeOneConfigurer.ConfigurationResult;
 import org.gama.stalactite.persistence.engine.configurer.CascadeOneConfigurer.FirstPhaseCycleLoadListener;
 import org.gama.stalactite.persistence.engine.listening.SelectListener;
 import org.gama.stalactite.persistence.engine.runtime.BeanRelationFixer;
+import org.gama.stalactite.persistence.engine.runtime.SecondPhaseLoadQueue;
 import org.gama.stalactite.persistence.engine.runtime.SecondPhaseRelationLoader;
 
 /**
@@ -37,7 +38,8 @@ public class OneToOneCycleLoader<SRC, TRGT, TRGTID> implements SelectListener<TR
 	 */
 	private final Map<String, ConfigurationResult<SRC, TRGT>> relations = new HashMap<>();
 	
-	private final ThreadLocal<CycleLoadRuntimeContext<SRC, TRGT, TRGTID>> currentRuntimeContext = ThreadLocal.withInitial(CycleLoadRuntimeContext::new);
+	/** Contexts of current select executions, stacked because cycle resolution may trigger nested selects */
+	private final ThreadLocal<Deque<CycleLoadRuntimeContext<SRC, TRGT, TRGTID>>> currentRuntimeContexts = ThreadLocal.withInitial(ArrayDeque::new);
 	
 	OneToOneCycleLoader(IEntityPersister<TRGT, TRGTID> targetPersister) {
 		this.targetPersister = targetPersister;
@@ -49,7 +51,7 @@ public class OneToOneCycleLoader<SRC, TRGT, TRGTID> implements SelectListener<TR
 	
 	@Override
 	public void beforeSelect(Iterable<TRGTID> ids) {
-		this.currentRuntimeContext.get().beforeSelect();
+		this.currentRuntimeContexts.get().push(new CycleLoadRuntimeContext<>());
 	}
 	
 	/**
@@ -60,30 +62,45 @@ public class OneToOneCycleLoader<SRC, TRGT, TRGTID> implements SelectListener<TR
 		if (!SecondPhaseRelationLoader.isDefaultValue(targetId)) {
 			this.relations.forEach((relationName, configurationResult) -> {
 				if (configurationResult.getSourcePersister().getClassToPersist().isInstance(src)) {
-					this.currentRuntimeContext.get().addRelationToInitialize(relationName, src, targetId);
+					addRelationToInitialize(relationName, src, targetId);
 				}
 			});
 		}
 	}
 	
+	private void addRelationToInitialize(String relationName, SRC src, TRGTID targetId) {
+		CycleLoadRuntimeContext<SRC, TRGT, TRGTID> runtimeContext = this.currentRuntimeContexts.get().peek();
+		// rows may be read by a select that is not one of our target persister (source persister used on its own), in which case there's no
+		// context and relation can't be fulfilled
+		if (runtimeContext != null) {
+			runtimeContext.addRelationToInitialize(relationName, src, targetId);
+		}
+	}
+	
 	@Override
 	public void afterSelect(Iterable<? extends TRGT> result) {
-		CycleLoadRuntimeContext<SRC, TRGT, TRGTID> runtimeContext = this.currentRuntimeContext.get();
+		CycleLoadRuntimeContext<SRC, TRGT, TRGTID> runtimeContext = popRuntimeContext();
 		Set<TRGTID> targetIds = runtimeContext.giveIdentifiersToLoad();
-		// NB: Iterable.forEach(Set.remove(..)) is a better performance way of doing Set.removeAll(Iterable) because :
-		// - Iterable must be transformed as a List (with Iterables.collectToList for example)
-		// - and algorithm of Set.remove(..) depends on List.contains() (if List is smaller than Set) which is not efficient
-		result.forEach(o -> targetIds.remove(targetPersister.getId(o)));
-		// WARN : this select may be recursive if targetPersister is the same as source one or owns a relation of same type as source one
-		List<TRGT> targets = targetPersister.select(targetIds);
-		final Map<TRGTID, TRGT> targetPerId = Iterables.map(targets, targetPersister::getId);
-		relations.forEach((relationName, configurationResult) -> {
-			EntityRelationStorage<SRC, TRGT, TRGTID> targetIdsPerSource = runtimeContext.getEntitiesToFulFill(relationName);
-			if (targetIdsPerSource != null) {
-				applyRelationToSource(targetIdsPerSource, configurationResult.getBeanRelationFixer(), targetPerId);
-			}
-		});
-		runtimeContext.afterSelect();
+		// Loading is made through the shared queue because it is recursive if targetPersister is the same as source one or owns a relation of
+		// same type as source one : nested loadings are then grouped by depth and already loaded entities (including given ones) are not
+		// loaded again
+		SecondPhaseLoadQueue.load(targetPersister, targetPersister::getId, targetIds, result, targetPerId ->
+				// Associating target instances to source ones
+				relations.forEach((relationName, configurationResult) -> {
+					EntityRelationStorage<SRC, TRGT, TRGTID> targetIdsPerSource = runtimeContext.getEntitiesToFulFill(relationName);
+					if (targetIdsPerSource != null) {
+						applyRelationToSource(targetIdsPerSource, configurationResult.getBeanRelationFixer(), targetPerId);
+					}
+				}));
+	}
+	
+	private CycleLoadRuntimeContext<SRC, TRGT, TRGTID> popRuntimeContext() {
+		Deque<CycleLoadRuntimeContext<SRC, TRGT, TRGTID>> runtimeContexts = this.currentRuntimeContexts.get();
+		CycleLoadRuntimeContext<SRC, TRGT, TRGTID> result = runtimeContexts.pop();
+		if (runtimeContexts.isEmpty()) {
+			this.currentRuntimeContexts.remove();
+		}
+		return result;
 	}
 	
 	private void applyRelationToSource(EntityRelationStorage<SRC, TRGT, TRGTID> relationStorage, BeanRelationFixer<SRC, TRGT> beanRelationFixer, Map<TRGTID, TRGT> targetPerId) {
@@ -97,6 +114,7 @@ public class OneToOneCycleLoader<SRC, TRGT, TRGTID> implements SelectListener<TR
 	
 	@Override
 	public void onError(Iterable<TRGTID> ids, RuntimeException exception) {
+		popRuntimeContext();
 		throw exception;
 	}
 	
@@ -0,0 +1,195 @@
+package org.gama.stalactite.persistence.engine.runtime.fetch;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.gama.lang.collection.Iterables;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
+import org.gama.stalactite.persistence.engine.listening.SelectListener;
+import org.gama.stalactite.persistence.engine.runtime.ManyRelationDescriptor;
+
+/**
+ * {@link SelectListener} that sets a proxy of relation {@link Collection} on selected entities, which loads target entities on first access.
+ * Proxies of entities selected by the same query share a batch : when one of them is accessed, relations of next not-yet-loaded siblings are
+ * loaded by the same query (up to a batch size), so iterating over source entities and their relation doesn't generate one query per entity.
+ * Implementation of {@link FetchMode#LAZY}.
+ *
+ * As {@link Proxy} is used, relation must be declared as an interface, see {@link #isProxyable(Class)}.
+ * Note that, as for other {@link Collection}, proxies are not thread-safe.
+ * {@link Object#toString()} doesn't trigger loading so that proxy can be logged without any query. {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} do trigger it because, as required by {@link Collection} contract, they are based on content : hence a proxy
+ * keeps same hash code before and after its first access, and can be compared to any other collection.
+ *
+ * @param <SRC> source entity type
+ * @param <SRCID> source entity identifier type
+ * @param <TRGT> target entity type
+ * @param <TRGTID> target entity identifier type
+ * @param <C> relation collection type
+ * @author Guillaume Mary
+ */
+public class LazyCollectionLoader<SRC, SRCID, TRGT, TRGTID, C extends Collection<TRGT>> implements SelectListener<SRC, SRCID> {
+	
+	/**
+	 * Indicates if given type can be lazily loaded by this class
+	 *
+	 * @param collectionType relation type
+	 * @return true if given type is an interface
+	 */
+	public static boolean isProxyable(Class<? extends Collection> collectionType) {
+		return collectionType.isInterface();
+	}
+	
+	/**
+	 * Indicates if given collection is a lazy one which targets are not loaded yet
+	 *
+	 * @param collection any collection, even null
+	 * @return true for a proxy created by this class that has not been accessed yet, false in any other case
+	 */
+	public static boolean isUninitialized(Collection<?> collection) {
+		return collection != null
+				&& Proxy.isProxyClass(collection.getClass())
+				&& Proxy.getInvocationHandler(collection) instanceof LazyCollectionLoader.LazyCollectionHandler
+				&& ((LazyCollectionLoader.LazyCollectionHandler) Proxy.getInvocationHandler(collection)).delegate == null;
+	}
+	
+	private final Function<SRC, SRCID> sourceIdProvider;
+	
+	private final RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader;
+	
+	private final ManyRelationDescriptor<SRC, TRGT, C> manyRelationDescriptor;
+	
+	private final Class<C> collectionType;
+	
+	private final int batchSize;
+	
+	public LazyCollectionLoader(Function<SRC, SRCID> sourceIdProvider,
+								RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader,
+								ManyRelationDescriptor<SRC, TRGT, C> manyRelationDescriptor,
+								Class<C> collectionType,
+								int batchSize) {
+		if (!isProxyable(collectionType)) {
+			throw new IllegalArgumentException("Lazy loading is only supported for relation declared as an interface : " + collectionType.getName());
+		}
+		this.sourceIdProvider = sourceIdProvider;
+		this.targetsLoader = targetsLoader;
+		this.manyRelationDescriptor = manyRelationDescriptor;
+		this.collectionType = collectionType;
+		this.batchSize = batchSize;
+	}
+	
+	@Override
+	public void afterSelect(Iterable<? extends SRC> result) {
+		List<SRC> sources = new ArrayList<>();
+		result.forEach(sources::add);
+		if (!sources.isEmpty()) {
+			List<SRCID> sourceIds = Iterables.collectToList(sources, sourceIdProvider);
+			SiblingsBatch siblingsBatch = new SiblingsBatch(sourceIds);
+			for (int i = 0; i < sources.size(); i++) {
+				SRC source = sources.get(i);
+				manyRelationDescriptor.getCollectionSetter().accept(source, newProxy(source, sourceIds.get(i), siblingsBatch));
+			}
+		}
+	}
+	
+	private C newProxy(SRC source, SRCID sourceId, SiblingsBatch siblingsBatch) {
+		return (C) Proxy.newProxyInstance(collectionType.getClassLoader(), new Class[] { collectionType },
+				new LazyCollectionHandler(source, sourceId, siblingsBatch));
+	}
+	
+	/**
+	 * Group of source identifiers selected by a same query, which relations are loaded together on first access to one of them
+	 */
+	private class SiblingsBatch {
+		
+		private final Set<SRCID> notLoadedSourceIds;
+		
+		private final Map<SRCID, List<TRGT>> loadedTargets = new HashMap<>();
+		
+		private SiblingsBatch(Collection<SRCID> sourceIds) {
+			this.notLoadedSourceIds = new LinkedHashSet<>(sourceIds);
+		}
+		
+		private synchronized List<TRGT> giveTargets(SRCID sourceId) {
+			if (!loadedTargets.containsKey(sourceId)) {
+				List<SRCID> sourceIdsToLoad = new ArrayList<>(Math.min(batchSize, notLoadedSourceIds.size() + 1));
+				sourceIdsToLoad.add(sourceId);
+				notLoadedSourceIds.remove(sourceId);
+				Iterator<SRCID> siblingsIterator = notLoadedSourceIds.iterator();
+				while (sourceIdsToLoad.size() < batchSize && siblingsIterator.hasNext()) {
+					sourceIdsToLoad.add(siblingsIterator.next());
+					siblingsIterator.remove();
+				}
+				Map<SRCID, List<TRGT>> targetsPerSourceId = targetsLoader.load(sourceIdsToLoad);
+				sourceIdsToLoad.forEach(id -> loadedTargets.put(id, targetsPerSourceId.getOrDefault(id, Collections.emptyList())));
+			}
+			// targets of a source are asked only once (by its proxy), so we release them
+			return loadedTargets.remove(sourceId);
+		}
+	}
+	
+	/**
+	 * Proxy handler that loads relation on first invocation, then delegates all invocations to a {@link Collection} filled with targets
+	 */
+	private class LazyCollectionHandler implements InvocationHandler {
+		
+		private final SRC source;
+		
+		private final SRCID sourceId;
+		
+		private final SiblingsBatch siblingsBatch;
+		
+		private C delegate;
+		
+		private LazyCollectionHandler(SRC source, SRCID sourceId, SiblingsBatch siblingsBatch) {
+			this.source = source;
+			this.sourceId = sourceId;
+			this.siblingsBatch = siblingsBatch;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (delegate == null) {
+				switch (method.getName()) {
+					case "toString":
+						if (method.getParameterCount() == 0) {
+							return "Uninitialized lazy " + collectionType.getSimpleName() + " of " + sourceId;
+						}
+						break;
+					default:
+						break;
+				}
+				delegate = load();
+			}
+			try {
+				return method.invoke(delegate, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+		
+		private C load() {
+			C result = manyRelationDescriptor.getCollectionFactory().get();
+			BiConsumer<TRGT, SRC> reverseSetter = manyRelationDescriptor.getReverseSetter();
+			for (TRGT target : siblingsBatch.giveTargets(sourceId)) {
+				result.add(target);
+				if (reverseSetter != null) {
+					reverseSetter.accept(target, source);
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.gama.stalactite.persistence.engine.runtime.fetch;
+
+import javax.annotation.Nullable;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gama.lang.collection.Collections;
+import org.gama.lang.collection.Iterables;
+import org.gama.stalactite.persistence.engine.IEntityPersister;
+import org.gama.stalactite.persistence.engine.runtime.SecondPhaseRelationLoader;
+import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.query.builder.SQLQueryBuilder;
+import org.gama.stalactite.query.model.Query;
+import org.gama.stalactite.query.model.QueryEase;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.binder.ParameterBinder;
+import org.gama.stalactite.sql.dml.PreparedSQL;
+import org.gama.stalactite.sql.dml.ReadOperation;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
+import org.gama.stalactite.sql.result.Row;
+import org.gama.stalactite.sql.result.RowIterator;
+
+import static org.gama.stalactite.query.model.Operators.in;
+
+/**
+ * Loads target entities of a relation from source entity identifiers with queries dedicated to the relation, as opposed to joining target
+ * table to the source one. Loading is made in 2 steps :
+ * - relation identifiers (source one, target one, and optionally target index) are read from the table that stores the relation, which can be
+ * target table (relation mapped by target), an association table, or source table (one-to-one relation owned by source)
+ * - then target entities are loaded by their identifier through their persister, so their own relations are loaded too
+ *
+ * @param <SRCID> source entity identifier type
+ * @param <TRGT> target entity type
+ * @param <TRGTID> target entity identifier type
+ * @author Guillaume Mary
+ */
+public class RelationTargetsLoader<SRCID, TRGT, TRGTID> {
+	
+	private static final String SOURCE_ID_ALIAS = "sourceId";
+	private static final String TARGET_ID_ALIAS = "targetId";
+	private static final String TARGET_INDEX_ALIAS = "targetIndex";
+	
+	/** Column of relation storage table that contains source identifier */
+	private final Column<?, SRCID> sourceIdColumn;
+	
+	/** Column of relation storage table that contains target identifier, expected to be in the same table as {@link #sourceIdColumn} */
+	private final Column<?, TRGTID> targetIdColumn;
+	
+	/** Optional column of relation storage table that contains target position in relation (case of indexed List) */
+	@Nullable
+	private final Column<?, Integer> targetIndexColumn;
+	
+	private final IEntityPersister<TRGT, TRGTID> targetPersister;
+	
+	private final ConnectionProvider connectionProvider;
+	
+	private final ColumnBinderRegistry columnBinderRegistry;
+	
+	private final int inOperatorMaxSize;
+	
+	public RelationTargetsLoader(Column<?, SRCID> sourceIdColumn,
+								 Column<?, TRGTID> targetIdColumn,
+								 @Nullable Column<?, Integer> targetIndexColumn,
+								 IEntityPersister<TRGT, TRGTID> targetPersister,
+								 ConnectionProvider connectionProvider,
+								 ColumnBinderRegistry columnBinderRegistry,
+								 int inOperatorMaxSize) {
+		if (sourceIdColumn.getTable() != targetIdColumn.getTable()) {
+			throw new IllegalArgumentException("Relation identifiers are expected to be stored in the same table : "
+					+ sourceIdColumn.getAbsoluteName() + " vs " + targetIdColumn.getAbsoluteName());
+		}
+		this.sourceIdColumn = sourceIdColumn;
+		this.targetIdColumn = targetIdColumn;
+		this.targetIndexColumn = targetIndexColumn;
+		this.targetPersister = targetPersister;
+		this.connectionProvider = connectionProvider;
+		this.columnBinderRegistry = columnBinderRegistry;
+		this.inOperatorMaxSize = inOperatorMaxSize;
+	}
+	
+	/**
+	 * Loads targets of given source identifiers.
+	 *
+	 * @param sourceIds identifiers of source entities, no SQL order is executed if empty
+	 * @return target entities per source identifier, ordered by index column if this loader has one, sources without target are absent
+	 */
+	public Map<SRCID, List<TRGT>> load(Collection<SRCID> sourceIds) {
+		Map<SRCID, List<RelationRow<SRCID, TRGTID>>> relationRowsPerSource = new HashMap<>();
+		for (List<SRCID> parcel : Collections.parcel(sourceIds, inOperatorMaxSize)) {
+			readRelationRows(parcel).forEach(row -> relationRowsPerSource.computeIfAbsent(row.sourceId, k -> new ArrayList<>()).add(row));
+		}
+		
+		Set<TRGTID> targetIds = new HashSet<>();
+		relationRowsPerSource.values().forEach(rows -> rows.forEach(row -> targetIds.add(row.targetId)));
+		Map<TRGTID, TRGT> targetPerId = targetIds.isEmpty()
+				? java.util.Collections.emptyMap()
+				: Iterables.map(targetPersister.select(targetIds), targetPersister::getId);
+		
+		Map<SRCID, List<TRGT>> result = new HashMap<>();
+		relationRowsPerSource.forEach((sourceId, rows) -> {
+			if (targetIndexColumn != null) {
+				rows.sort(Comparator.comparingInt(row -> row.targetIndex));
+			}
+			List<TRGT> targets = new ArrayList<>(rows.size());
+			for (RelationRow<SRCID, TRGTID> row : rows) {
+				TRGT target = targetPerId.get(row.targetId);
+				// target may be absent if it was deleted between the 2 queries
+				if (target != null) {
+					targets.add(target);
+				}
+			}
+			result.put(sourceId, targets);
+		});
+		return result;
+	}
+	
+	private List<RelationRow<SRCID, TRGTID>> readRelationRows(List<SRCID> sourceIds) {
+		Map<Column, String> aliases = new LinkedHashMap<>();
+		aliases.put(sourceIdColumn, SOURCE_ID_ALIAS);
+		aliases.put(targetIdColumn, TARGET_ID_ALIAS);
+		Map<String, ParameterBinder> readers = new HashMap<>();
+		readers.put(SOURCE_ID_ALIAS, columnBinderRegistry.getBinder(sourceIdColumn));
+		readers.put(TARGET_ID_ALIAS, columnBinderRegistry.getBinder(targetIdColumn));
+		if (targetIndexColumn != null) {
+			aliases.put(targetIndexColumn, TARGET_INDEX_ALIAS);
+			readers.put(TARGET_INDEX_ALIAS, columnBinderRegistry.getBinder(targetIndexColumn));
+		}
+		Query query = QueryEase.select(aliases).from(sourceIdColumn.getTable()).where(sourceIdColumn, in(sourceIds)).getQuery();
+		PreparedSQL preparedSQL = new SQLQueryBuilder(query).toPreparedSQL(columnBinderRegistry);
+		try (ReadOperation<Integer> readOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+			ResultSet resultSet = readOperation.execute();
+			RowIterator rowIterator = new RowIterator(resultSet, readers);
+			List<RelationRow<SRCID, TRGTID>> result = new ArrayList<>();
+			while (rowIterator.hasNext()) {
+				Row row = rowIterator.next();
+				TRGTID targetId = (TRGTID) row.get(TARGET_ID_ALIAS);
+				// target id may be null when relation is nullified (one-to-one owned by source)
+				if (!SecondPhaseRelationLoader.isDefaultValue(targetId)) {
+					Integer targetIndex = targetIndexColumn == null ? 0 : (Integer) row.get(TARGET_INDEX_ALIAS);
+					result.add(new RelationRow<>((SRCID) row.get(SOURCE_ID_ALIAS), targetId, targetIndex));
+				}
+			}
+			return result;
+		} catch (RuntimeException e) {
+			throw new SQLExecutionException(preparedSQL.getSQL(), e);
+		}
+	}
+	
+	/**
+	 * Simple storage of values read from relation storage table
+	 */
+	private static class RelationRow<SRCID, TRGTID> {
+		
+		private final SRCID sourceId;
+		private final TRGTID targetId;
+		private final int targetIndex;
+		
+		private RelationRow(SRCID sourceId, TRGTID targetId, int targetIndex) {
+			this.sourceId = sourceId;
+			this.targetId = targetId;
+			this.targetIndex = targetIndex;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package org.gama.stalactite.persistence.engine.runtime.fetch;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
+import org.gama.stalactite.persistence.engine.listening.SelectListener;
+import org.gama.stalactite.persistence.engine.runtime.BeanRelationFixer;
+
+/**
+ * {@link SelectListener} that loads relation of selected entities right after them with a query dedicated to the relation.
+ * Implementation of {@link FetchMode#SELECT}.
+ *
+ * @param <SRC> source entity type
+ * @param <SRCID> source entity identifier type
+ * @param <TRGT> target entity type
+ * @param <TRGTID> target entity identifier type
+ * @author Guillaume Mary
+ */
+public class SeparateSelectRelationLoader<SRC, SRCID, TRGT, TRGTID> implements SelectListener<SRC, SRCID> {
+	
+	private final Function<SRC, SRCID> sourceIdProvider;
+	
+	private final RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader;
+	
+	private final BeanRelationFixer<SRC, TRGT> beanRelationFixer;
+	
+	public SeparateSelectRelationLoader(Function<SRC, SRCID> sourceIdProvider,
+										RelationTargetsLoader<SRCID, TRGT, TRGTID> targetsLoader,
+										BeanRelationFixer<SRC, TRGT> beanRelationFixer) {
+		this.sourceIdProvider = sourceIdProvider;
+		this.targetsLoader = targetsLoader;
+		this.beanRelationFixer = beanRelationFixer;
+	}
+	
+	@Override
+	public void afterSelect(Iterable<? extends SRC> result) {
+		Map<SRCID, SRC> sourcePerId = new LinkedHashMap<>();
+		result.forEach(src -> sourcePerId.put(sourceIdProvider.apply(src), src));
+		if (!sourcePerId.isEmpty()) {
+			Map<SRCID, List<TRGT>> targetsPerSourceId = targetsLoader.load(sourcePerId.keySet());
+			targetsPerSourceId.forEach((sourceId, targets) -> {
+				SRC source = sourcePerId.get(sourceId);
+				targets.forEach(target -> beanRelationFixer.apply(source, target));
+			});
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package org.gama.stalactite.persistence.engine.runtime.load;
+
+import javax.annotation.Nullable;
+
+import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.TreeInflationContext;
+import org.gama.stalactite.sql.result.Row;
+
+/**
+ * Contract for {@link JoinRowConsumer} of non-root nodes : they consume a {@link Row} for the entity created (or given) by their parent node.
+ * Made to let {@link EntityTreeInflater} dispatch row consumption without checking consumer type for each row.
+ * 
+ * @author Guillaume Mary
+ */
+interface ChildJoinRowConsumer extends JoinRowConsumer {
+	
+	/**
+	 * Consumes given {@link Row} for given entity
+	 * 
+	 * @param parentJoinEntity entity created (or given) by parent node
+	 * @param row current row
+	 * @param context current inflation context
+	 * @return the entity to be given to children nodes, null if in-depth iteration must be stopped (as for a relation without related entity)
+	 */
+	@Nullable
+	Object consume(Object parentJoinEntity, Row row, TreeInflationContext context);
+}
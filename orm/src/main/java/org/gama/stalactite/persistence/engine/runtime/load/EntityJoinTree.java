@@ -2,9 +2,12 @@ package org.gama.stalactite.persistence.engine.runtime.load;
 
 import javax.annotation.Nullable;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
@@ -346,6 +349,114 @@ public class EntityJoinTree<C, I> {
 		});
 	}
 	
+	/**
+	 * Gives joins of root node that may multiply root table rows in a select : the ones which subtree contains a relation to many entities
+	 * (see {@link RelationJoinNode#isManyRelation()}), as for one-to-many relations, element collections or association tables (the association
+	 * table join being the root one). Other joins (one-to-one relations, whatever side owns them, inheritance joins) are not part of result.
+	 * 
+	 * @return root joins which may create several rows per root entity
+	 */
+	public List<AbstractJoinNode> giveRowMultiplyingRootJoins() {
+		List<AbstractJoinNode> result = new ArrayList<>();
+		for (AbstractJoinNode join : root.getJoins()) {
+			if (containsManyRelation(join)) {
+				result.add(join);
+			}
+		}
+		return result;
+	}
+	
+	private static boolean containsManyRelation(AbstractJoinNode node) {
+		if (node instanceof RelationJoinNode && ((RelationJoinNode) node).isManyRelation()) {
+			return true;
+		}
+		for (AbstractJoinNode child : (Iterable<AbstractJoinNode>) node.getJoins()) {
+			if (containsManyRelation(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Creates a copy of this tree which root only has given joins (with their whole subtree). Join names are kept so nodes can be found in the
+	 * copy with same names as in this tree.
+	 * Made to split a load of this tree into several queries, see {@link org.gama.stalactite.persistence.query.EntitySelectExecutor}.
+	 * 
+	 * @param rootJoins some root joins of this tree
+	 * @return a new tree with same root as this one but only with given joins
+	 */
+	public EntityJoinTree<C, I> copyWithRootJoins(Iterable<? extends AbstractJoinNode> rootJoins) {
+		EntityJoinTree<C, I> result = newTree(this.root);
+		Map<JoinNode, String> nameIndex = new IdentityHashMap<>();
+		this.joinIndex.forEach((name, node) -> nameIndex.put(node, name));
+		for (AbstractJoinNode rootJoin : rootJoins) {
+			copyBranch(rootJoin, result.getRoot(), result, nameIndex);
+		}
+		return result;
+	}
+	
+	private static <C, I, T extends Table> EntityJoinTree<C, I> newTree(JoinRoot<C, I, T> root) {
+		return new EntityJoinTree<>(root.getEntityInflater(), root.getTable());
+	}
+	
+	private static void copyBranch(AbstractJoinNode node, JoinNode parent, EntityJoinTree<?, ?> target, Map<JoinNode, String> nameIndex) {
+		// tables are shared between trees, so left column can be kept as is
+		AbstractJoinNode nodeCopy = copyNodeToParent(node, parent, node.getLeftJoinColumn());
+		String nodeName = nameIndex.get(node);
+		if (nodeName != null) {
+			target.joinIndex.put(nodeName, nodeCopy);
+		}
+		for (AbstractJoinNode child : (Iterable<AbstractJoinNode>) node.getJoins()) {
+			copyBranch(child, nodeCopy, target, nameIndex);
+		}
+	}
+	
+	/**
+	 * Creates a copy of this tree which only has the joins leading to given tables : nodes which table is one of them, and their parents up to
+	 * root. Other joins are dropped. Join names are kept so nodes can be found in the copy with same names as in this tree.
+	 * Made for queries that don't load entities but need some joins for their criteria, see
+	 * {@link org.gama.stalactite.persistence.query.EntityProjectionExecutor}.
+	 *
+	 * @param tables tables that must be reachable in the copy, compared with {@link Set#contains(Object)} hence an identity {@link Set} should be
+	 * 		used to distinguish nodes of same table
+	 * @return a new tree with same root as this one but only with joins leading to given tables
+	 */
+	public EntityJoinTree<C, I> copyWithJoinsTo(Set<? extends Table> tables) {
+		EntityJoinTree<C, I> result = newTree(this.root);
+		Map<JoinNode, String> nameIndex = new IdentityHashMap<>();
+		this.joinIndex.forEach((name, node) -> nameIndex.put(node, name));
+		copyJoinsTo(this.root, result.getRoot(), tables, result, nameIndex);
+		return result;
+	}
+	
+	private static void copyJoinsTo(JoinNode node, JoinNode parent, Set<? extends Table> tables, EntityJoinTree<?, ?> target,
+									Map<JoinNode, String> nameIndex) {
+		for (AbstractJoinNode child : (Iterable<AbstractJoinNode>) node.getJoins()) {
+			if (leadsTo(child, tables)) {
+				// tables are shared between trees, so left column can be kept as is
+				AbstractJoinNode childCopy = copyNodeToParent(child, parent, child.getLeftJoinColumn());
+				String childName = nameIndex.get(child);
+				if (childName != null) {
+					target.joinIndex.put(childName, childCopy);
+				}
+				copyJoinsTo(child, childCopy, tables, target, nameIndex);
+			}
+		}
+	}
+	
+	private static boolean leadsTo(AbstractJoinNode node, Set<? extends Table> tables) {
+		if (tables.contains(node.getTable())) {
+			return true;
+		}
+		for (AbstractJoinNode child : (Iterable<AbstractJoinNode>) node.getJoins()) {
+			if (leadsTo(child, tables)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Creates an {@link Iterator} that goes down this tree by breadth first. Made to avoid everyone implements node iteration.
 	 * Consumer is invoked foreach node <strong>except root</strong> because it usually has a special treatment. 
@@ -465,7 +576,8 @@ public class EntityJoinTree<C, I> {
 					node.getTableAlias(),
 					((RelationJoinNode) node).getEntityInflater(),
 					((RelationJoinNode) node).getBeanRelationFixer(),
-					((RelationJoinNode) node).getDuplicateIdentifierProvider());
+					((RelationJoinNode) node).getDuplicateIdentifierProvider())
+					.setManyRelation(((RelationJoinNode) node).isManyRelation());
 		} else if (node instanceof MergeJoinNode) {
 			nodeCopy = new MergeJoinNode(
 					parent,
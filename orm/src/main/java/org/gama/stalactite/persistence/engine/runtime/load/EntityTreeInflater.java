@@ -1,11 +1,10 @@
 package org.gama.stalactite.persistence.engine.runtime.load;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -16,19 +15,21 @@ import org.gama.lang.Reflections;
 import org.gama.lang.ThreadLocals;
 import org.gama.lang.collection.Collections;
 import org.gama.stalactite.persistence.engine.MappingConfigurationException;
+import org.gama.stalactite.persistence.id.AbstractIdentifier;
 import org.gama.stalactite.persistence.engine.runtime.load.JoinRoot.JoinRootRowConsumer;
-import org.gama.stalactite.persistence.engine.runtime.load.MergeJoinNode.MergeJoinRowConsumer;
-import org.gama.stalactite.persistence.engine.runtime.load.PassiveJoinNode.PassiveJoinRowConsumer;
 import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.BasicEntityCache;
 import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.EntityCache;
 import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.RelationJoinRowConsumer;
+import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
 import org.gama.stalactite.query.builder.IdentityMap;
+import org.gama.stalactite.sql.result.LongObjectMap;
 import org.gama.stalactite.sql.result.Row;
 
 /**
- * Bean graph creator from database rows. Based on a tree of {@link ConsumerNode}s which wraps some {@link JoinRowConsumer}.
+ * Bean graph creator from database rows. Based on a tree of {@link ConsumerNode}s which wraps some {@link JoinRowConsumer}, flattened at
+ * construction time.
  * 
  * @param <C> main entity type
  * @author Guillaume Mary
@@ -53,6 +54,20 @@ public class EntityTreeInflater<C> {
 	 */
 	private final ConsumerNode consumerRoot;
 	
+	/**
+	 * Consumers of {@link #consumerRoot} descendants, flattened in pre-order (children being visited from last to first) to avoid in-depth
+	 * iteration structure creation for each {@link Row}. Entities produced by nodes are stored in slots of an array of size
+	 * {@code consumers.length + 1} : slot 0 is for root entity, slot {@code i + 1} for entity of {@code consumers[i]}.
+	 * Their type is checked at construction time so that {@link Row} consumption doesn't need to.
+	 */
+	private final ChildJoinRowConsumer[] consumers;
+	
+	/** Slot index of the entity to be given to each consumer (same index as {@link #consumers}), hence the one produced by its parent node */
+	private final int[] parentSlots;
+	
+	/** Index (in {@link #consumers}) following the last descendant of each consumer, used to skip its subtree when it produces no entity */
+	private final int[] subtreeEnds;
+	
 	/**
 	 * Query row decoder, overall used to be passed to current {@link TreeInflationContext}
  	 */
@@ -67,6 +82,41 @@ public class EntityTreeInflater<C> {
 	EntityTreeInflater(ConsumerNode consumerRoot, IdentityMap<Column, String> columnAliases, Map<String, Table> tablePerJoinNodeName) {
 		this.consumerRoot = consumerRoot;
 		this.rowDecoder = new EntityTreeQueryRowDecoder(columnAliases, tablePerJoinNodeName);
+		List<ConsumerNode> flattenedNodes = new ArrayList<>();
+		List<Integer> flattenedParentSlots = new ArrayList<>();
+		List<Integer> flattenedSubtreeEnds = new ArrayList<>();
+		flatten(consumerRoot, 0, flattenedNodes, flattenedParentSlots, flattenedSubtreeEnds);
+		int nodeCount = flattenedNodes.size();
+		this.consumers = new ChildJoinRowConsumer[nodeCount];
+		this.parentSlots = new int[nodeCount];
+		this.subtreeEnds = new int[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			JoinRowConsumer consumer = flattenedNodes.get(i).consumer;
+			if (!(consumer instanceof ChildJoinRowConsumer)) {
+				// Developer made something wrong because other types than ChildJoinRowConsumer are not expected
+				throw new IllegalArgumentException("Unexpected join type, only " + Reflections.toString(ChildJoinRowConsumer.class)
+						+ " are handled, not " + Reflections.toString(consumer.getClass()));
+			}
+			this.consumers[i] = (ChildJoinRowConsumer) consumer;
+			this.parentSlots[i] = flattenedParentSlots.get(i);
+			this.subtreeEnds[i] = flattenedSubtreeEnds.get(i);
+		}
+	}
+	
+	/**
+	 * Adds children of given node to given lists, recursively, in pre-order and from last to first child (which is the order in which the
+	 * former LIFO algorithm visited them)
+	 */
+	private static void flatten(ConsumerNode node, int nodeSlot, List<ConsumerNode> nodes, List<Integer> parentSlots, List<Integer> subtreeEnds) {
+		for (int i = node.consumers.size() - 1; i >= 0; i--) {
+			ConsumerNode child = node.consumers.get(i);
+			int childIndex = nodes.size();
+			nodes.add(child);
+			parentSlots.add(nodeSlot);
+			subtreeEnds.add(null);	// placeholder, filled once child descendants are added
+			flatten(child, childIndex + 1, nodes, parentSlots, subtreeEnds);
+			subtreeEnds.set(childIndex, nodes.size());
+		}
 	}
 	
 	/**
@@ -80,6 +130,20 @@ public class EntityTreeInflater<C> {
 						new ArrayList<>(transform(rows, resultSize, context)));
 	}
 	
+	/**
+	 * Same as {@link #transform(Iterable, int)} with an entity cache given by caller, made to share entities between several queries
+	 * (as for a graph load split into several queries)
+	 *
+	 * @param rows rows (coming from database select) to be read to build beans graph
+	 * @param resultSize expected reuslt size, only for resulting list optimization
+	 * @param entityCache cache of entities, may already contain some entities
+	 * @return a list of root beans, built from given rows by asking internal strategy joins to instanciate and complete them
+	 */
+	public List<C> transform(Iterable<Row> rows, int resultSize, EntityCache entityCache) {
+		return ThreadLocals.doWithThreadLocal(CURRENT_CONTEXT, () -> this.new TreeInflationContext(entityCache), (Function<EntityTreeInflater<?>.TreeInflationContext, List<C>>) context ->
+						new ArrayList<>(transform(rows, resultSize, context)));
+	}
+	
 	private Set<C> transform(Iterable<Row> rows, int resultSize, EntityTreeInflater<?>.TreeInflationContext context) {
 		// we use an "IdentitySet" (doesn't exist directly, but can be done through IdentityHashMap) to avoid duplicate entity : with a HashSet
 		// duplicate can happen if equals/hashCode depends on relation, in particular Collection ones, because they are filled from row to row
@@ -89,6 +153,7 @@ public class EntityTreeInflater<C> {
 			Nullable<C> newInstance = transform(row, context);
 			newInstance.invoke(result::add);
 		}
+		context.runInflationEndTasks();
 		return result;
 	}
 	
@@ -100,48 +165,40 @@ public class EntityTreeInflater<C> {
 		Nullable<C> result = Nullable.nullable(((JoinRootRowConsumer<C, ?>) this.consumerRoot.consumer).createRootInstance(row, context));
 		
 		if (result.isPresent()) {
-			foreachNode(new NodeVisitor(result.get()) {
-				
-				@Override
-				public Object apply(JoinRowConsumer join, Object entity) {
-					// processing current depth
-					if (join instanceof PassiveJoinNode.PassiveJoinRowConsumer) {
-						((PassiveJoinRowConsumer) join).consume(entity, row);
-						return entity;
-					} else if (join instanceof MergeJoinNode.MergeJoinRowConsumer) {
-						((MergeJoinRowConsumer) join).mergeProperties(entity, row);
-						return entity;
-					} else if (join instanceof RelationJoinNode.RelationJoinRowConsumer) {
-						return ((RelationJoinRowConsumer) join).applyRelatedEntity(entity, row, context);
-					} else {
-						// Developer made something wrong because other types than MergeJoin and RelationJoin are not expected
-						throw new IllegalArgumentException("Unexpected join type, only "
-								+ Reflections.toString(PassiveJoinRowConsumer.class)
-								+ ", " + Reflections.toString(MergeJoinRowConsumer.class)
-								+ " and " + Reflections.toString(RelationJoinRowConsumer.class) + " are handled"
-								+ ", not " + Reflections.toString(join.getClass()));
-					}
-				}
-			});
+			// processing nodes in pre-order, entities are given to children through the slots of the context
+			Object[] entitySlots = context.entitySlots;
+			entitySlots[0] = result.get();
+			int i = 0;
+			while (i < consumers.length) {
+				Object entity = consumers[i].consume(entitySlots[parentSlots[i]], row, context);
+				i = giveNextNodeIndex(i, entity, entitySlots);
+			}
 		}
 		return result;
 	}
 	
+	/**
+	 * Stores given entity in the slot of node at given index and gives index of next node to be consumed : the next one if entity is not null,
+	 * else the one following node subtree (to cancel in-depth iteration)
+	 */
+	private int giveNextNodeIndex(int nodeIndex, @javax.annotation.Nullable Object entity, Object[] entitySlots) {
+		if (entity == null) {
+			return subtreeEnds[nodeIndex];
+		} else {
+			entitySlots[nodeIndex + 1] = entity;
+			return nodeIndex + 1;
+		}
+	}
+	
 	@VisibleForTesting
 	void foreachNode(NodeVisitor consumer) {
-		Queue<ConsumerNode> joinNodeStack = Collections.newLifoQueue();
-		joinNodeStack.addAll(this.consumerRoot.consumers);
 		// Maintaining entities that will be given to each node : they are entities produced by parent node
-		Map<ConsumerNode, Object> entityPerNode = new HashMap<>(10);
-		joinNodeStack.forEach(node -> entityPerNode.put(node, consumer.entityRoot));
-		
-		while (!joinNodeStack.isEmpty()) {
-			ConsumerNode joinNode = joinNodeStack.poll();
-			Object entity = consumer.apply(joinNode.consumer, entityPerNode.get(joinNode));
-			if (entity != null) {
-				joinNodeStack.addAll(joinNode.consumers);
-				joinNode.consumers.forEach(node -> entityPerNode.put(node, entity));
-			}
+		Object[] entitySlots = new Object[consumers.length + 1];
+		entitySlots[0] = consumer.entityRoot;
+		int i = 0;
+		while (i < consumers.length) {
+			Object entity = consumer.apply(consumers[i], entitySlots[parentSlots[i]]);
+			i = giveNextNodeIndex(i, entity, entitySlots);
 		}
 	}
 	
@@ -243,11 +300,23 @@ public class EntityTreeInflater<C> {
 		/** Entity cache */
 		private final EntityCache entityCache;
 		
-		/** Storage for treated relations */
-		private final Set<RelationIdentifier> treatedRelations = new HashSet<>();
+		/**
+		 * Storage for treated relations : relation identifiers per parent entity per relation node. Parent entities are compared by instance
+		 * to avoid being dependent of equals() implementation which may vary during inflation process.
+		 */
+		private final Map<RelationJoinRowConsumer, Map<Object, TreatedIdentifiers>> treatedRelations = new IdentityHashMap<>();
+		
+		/** Entities produced by nodes for current {@link Row}, reused from row to row, see {@link EntityTreeInflater#consumers} for layout */
+		private final Object[] entitySlots = new Object[consumers.length + 1];
 		
 		private Row currentRow;
 		
+		/** Column aliases of the relation node being applied, see {@link #giveCurrentNodeValue(Column)} */
+		private ColumnedRow currentNodeColumnedRow;
+		
+		/** Tasks to be run once all rows are consumed, per key to register them only once */
+		private final Map<Object, Runnable> inflationEndTasks = new IdentityHashMap<>();
+		
 		@VisibleForTesting
 		TreeInflationContext() {
 			this(new BasicEntityCache());
@@ -262,6 +331,40 @@ public class EntityTreeInflater<C> {
 			return this;
 		}
 		
+		void setCurrentNodeColumnedRow(ColumnedRow currentNodeColumnedRow) {
+			this.currentNodeColumnedRow = currentNodeColumnedRow;
+		}
+		
+		/**
+		 * Gives the value of a column of the relation node being applied in current {@link Row}, made for relation fixers that need some
+		 * data that are not mapped by the entity they fix (as the index of a List element), without knowing node name.
+		 * 
+		 * @param column a column of the relation node table
+		 * @param <T> column table type
+		 * @param <O> column data type
+		 * @return null if data is null
+		 */
+		@javax.annotation.Nullable
+		public <T extends Table<T>, O> O giveCurrentNodeValue(Column<T, O> column) {
+			return currentNodeColumnedRow.getValue(column, currentRow);
+		}
+		
+		/**
+		 * Registers a task to be run once all rows are consumed, hence before any select listener is notified of loaded entities.
+		 * Made for relation fixers that need to finalize what they filled (as removing holes of a List)
+		 * 
+		 * @param key identifier of the task, a task being registered only once per key (compared by instance)
+		 * @param task the code to be run
+		 */
+		public void runAtInflationEnd(Object key, Runnable task) {
+			inflationEndTasks.putIfAbsent(key, task);
+		}
+		
+		private void runInflationEndTasks() {
+			inflationEndTasks.values().forEach(Runnable::run);
+			inflationEndTasks.clear();
+		}
+		
 		
 		@javax.annotation.Nullable
 		public <T extends Table<T>, O> O giveValue(String joinNodeName, Column<T, O> column) {
@@ -277,11 +380,26 @@ public class EntityTreeInflater<C> {
 		}
 		
 		public boolean isTreatedOrAppend(RelationIdentifier relationIdentifier) {
-			boolean alreadyTreated = treatedRelations.contains(relationIdentifier);
-			if (!alreadyTreated) {
-				treatedRelations.add(relationIdentifier);
+			return isTreatedOrAppend(relationIdentifier.joinNode, relationIdentifier.rootEntity, relationIdentifier.relatedBeanIdentifier);
+		}
+		
+		/**
+		 * Marks relation between given entity and related bean identifier through given node as treated
+		 * 
+		 * @param joinNode the relation node
+		 * @param parentEntity entity owning the relation
+		 * @param relatedBeanIdentifier identifier of the related bean
+		 * @return true if relation was not already treated (hence has been appended), false otherwise
+		 */
+		boolean isTreatedOrAppend(RelationJoinRowConsumer joinNode, Object parentEntity, Object relatedBeanIdentifier) {
+			Map<Object, TreatedIdentifiers> treatedRelationsPerParent = treatedRelations.computeIfAbsent(joinNode, k -> new IdentityHashMap<>());
+			TreatedIdentifiers treatedIdentifiers = treatedRelationsPerParent.get(parentEntity);
+			if (treatedIdentifiers == null) {
+				treatedRelationsPerParent.put(parentEntity, new TreatedIdentifiers(relatedBeanIdentifier));
+				return true;
+			} else {
+				return treatedIdentifiers.add(relatedBeanIdentifier);
 			}
-			return !alreadyTreated;
 		}
 		
 		/**
@@ -297,6 +415,48 @@ public class EntityTreeInflater<C> {
 		}
 	}
 	
+	/**
+	 * Identifiers of the beans related to an entity through a relation node. Since most relations are one-to-one or many-to-one, hence have
+	 * a single related bean per entity, first identifier is stored as a field and a {@link Set} is only created for the following ones.
+	 * As for {@link BasicEntityCache}, following {@link Long} identifiers (or {@link AbstractIdentifier} of {@link Long}) are stored without
+	 * boxing, in a {@link LongObjectMap}.
+	 */
+	private static final class TreatedIdentifiers {
+		
+		private final Object first;
+		
+		private Set<Object> others;
+		
+		/** Following identifiers that are {@link Long}s, values are meaningless : only keys presence matters */
+		private LongObjectMap<Boolean> longOthers;
+		
+		private TreatedIdentifiers(Object first) {
+			this.first = first;
+		}
+		
+		/**
+		 * @param identifier a related bean identifier
+		 * @return true if identifier was not already present
+		 */
+		private boolean add(Object identifier) {
+			if (first.equals(identifier)) {
+				return false;
+			}
+			// AbstractIdentifiers are equal on their surrogate, so it can replace them as key
+			Object surrogate = identifier instanceof AbstractIdentifier ? ((AbstractIdentifier) identifier).getSurrogate() : identifier;
+			if (surrogate instanceof Long) {
+				if (longOthers == null) {
+					longOthers = new LongObjectMap<>();
+				}
+				return longOthers.put((Long) surrogate, Boolean.TRUE) == null;
+			}
+			if (others == null) {
+				others = new HashSet<>();
+			}
+			return others.add(identifier);
+		}
+	}
+	
 	/**
 	 * Gives access to a {@link Row} value by a {@link Column} and the join node identifier that "owns" the column.
 	 * Made for nodes that need to read data from row but don't own the column table under which the data are, in particular indexing column of a
@@ -5,6 +5,7 @@ import java.util.Set;
 
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.EntityMerger;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.TreeInflationContext;
 import org.gama.stalactite.persistence.engine.runtime.load.PassiveJoinNode.PassiveJoinRowConsumer;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.mapping.IRowTransformer;
@@ -45,7 +46,7 @@ class MergeJoinNode<C, T1 extends Table, T2 extends Table, I> extends AbstractJo
 	 * 
 	 * @param <C>
 	 */
-	static class MergeJoinRowConsumer<C> implements JoinRowConsumer {
+	static class MergeJoinRowConsumer<C> implements ChildJoinRowConsumer {
 		
 		private final IRowTransformer<C> merger;
 		
@@ -53,8 +54,10 @@ class MergeJoinNode<C, T1 extends Table, T2 extends Table, I> extends AbstractJo
 			this.merger = merger;
 		}
 		
-		void mergeProperties(C parentJoinEntity, Row row) {
-			this.merger.applyRowToBean(row, parentJoinEntity);
+		@Override
+		public Object consume(Object parentJoinEntity, Row row, TreeInflationContext context) {
+			this.merger.applyRowToBean(row, (C) parentJoinEntity);
+			return parentJoinEntity;
 		}
 	}
 }
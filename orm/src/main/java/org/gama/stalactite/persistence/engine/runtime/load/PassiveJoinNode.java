@@ -4,6 +4,7 @@ import javax.annotation.Nullable;
 import java.util.Set;
 
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.TreeInflationContext;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.mapping.IRowTransformer.TransformerListener;
 import org.gama.stalactite.persistence.structure.Column;
@@ -32,7 +33,7 @@ public class PassiveJoinNode<C, T1 extends Table, T2 extends Table, I> extends A
 		return new PassiveJoinRowConsumer<>(getTransformerListener(), columnedRow);
 	}
 	
-	static class PassiveJoinRowConsumer<C> implements JoinRowConsumer {
+	static class PassiveJoinRowConsumer<C> implements ChildJoinRowConsumer {
 		
 		/** Optional listener of ResultSet decoding */
 		@Nullable
@@ -46,10 +47,12 @@ public class PassiveJoinNode<C, T1 extends Table, T2 extends Table, I> extends A
 			this.columnedRow = columnedRow;
 		}
 		
-		void consume(C parentJoinEntity, Row row) {
+		@Override
+		public Object consume(Object parentJoinEntity, Row row, TreeInflationContext context) {
 			if (this.transformerListener != null) {
-				this.transformerListener.onTransform(parentJoinEntity, column -> columnedRow.getValue(column, row));
+				this.transformerListener.onTransform((C) parentJoinEntity, column -> columnedRow.getValue(column, row));
 			}
+			return parentJoinEntity;
 		}
 	}
 }
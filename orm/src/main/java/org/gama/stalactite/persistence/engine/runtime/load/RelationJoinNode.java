@@ -11,13 +11,14 @@ import org.gama.lang.bean.Objects;
 import org.gama.stalactite.persistence.engine.runtime.BeanRelationFixer;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.EntityInflater;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinType;
-import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.RelationIdentifier;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.TreeInflationContext;
+import org.gama.stalactite.persistence.id.AbstractIdentifier;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.mapping.IRowTransformer;
 import org.gama.stalactite.persistence.mapping.IRowTransformer.TransformerListener;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.sql.result.LongObjectMap;
 import org.gama.stalactite.sql.result.Row;
 
 /**
@@ -35,6 +36,9 @@ public class RelationJoinNode<C, T1 extends Table, T2 extends Table, I> extends
 	
 	private final BiFunction<Row, ColumnedRow, Object> duplicateIdentifierProvider;
 	
+	/** Indicates if this node represents a relation to many entities (one-to-many, many-to-many), hence that it may multiply rows */
+	private boolean manyRelation = false;
+	
 	RelationJoinNode(JoinNode<T1> parent,
 					 Column<T1, I> leftJoinColumn,
 					 Column<T2, I> rightJoinColumn,
@@ -62,12 +66,21 @@ public class RelationJoinNode<C, T1 extends Table, T2 extends Table, I> extends
 		return duplicateIdentifierProvider;
 	}
 	
+	public boolean isManyRelation() {
+		return manyRelation;
+	}
+	
+	public RelationJoinNode<C, T1, T2, I> setManyRelation(boolean manyRelation) {
+		this.manyRelation = manyRelation;
+		return this;
+	}
+	
 	@Override
 	public RelationJoinRowConsumer<C, I> toConsumer(ColumnedRow columnedRow) {
 		return new RelationJoinRowConsumer<>(entityInflater, beanRelationFixer, columnedRow, duplicateIdentifierProvider, getTransformerListener());
 	}
 	
-	static class RelationJoinRowConsumer<C, I> implements JoinRowConsumer {
+	static class RelationJoinRowConsumer<C, I> implements ChildJoinRowConsumer {
 		
 		private final Class<C> entityType;
 		
@@ -100,16 +113,23 @@ public class RelationJoinNode<C, T1 extends Table, T2 extends Table, I> extends
 			this.transformerListener = transformerListener;
 		}
 		
+		@Override
+		public C consume(Object parentJoinEntity, Row row, TreeInflationContext context) {
+			return applyRelatedEntity(parentJoinEntity, row, context);
+		}
+		
 		C applyRelatedEntity(Object parentJoinEntity, Row row, TreeInflationContext context) {
 			I rightIdentifier = identifierProvider.apply(row, columnedRow);
 			// we avoid treating twice same relation, overall to avoid adding twice same instance to a collection (one-to-many list cases)
 			// in case of multiple collections in ResultSet because it creates similar data (through cross join) which are treated as many as
 			// collections cross with each other. This also works for one-to-one relations but produces no bugs. It can also be seen as a performance
 			// enhancement even if it hasn't been measured.
-			RelationIdentifier eventuallyApplied = new RelationIdentifier(parentJoinEntity, this.entityType, relationIdentifierComputer.apply(row, columnedRow), this);
+			Object relationIdentifier = relationIdentifierComputer.apply(row, columnedRow);
 			// primary key null means no entity => nothing to do
-			if (rightIdentifier != null && context.isTreatedOrAppend(eventuallyApplied)) {
+			if (rightIdentifier != null && context.isTreatedOrAppend(this, parentJoinEntity, relationIdentifier)) {
 				C rightEntity = (C) context.giveEntityFromCache(entityType, rightIdentifier, () -> rowTransformer.transform(row));
+				// giving access to our columns to relation fixer, for those that need some data which are not mapped by entity
+				context.setCurrentNodeColumnedRow(columnedRow);
 				beanRelationFixer.apply(parentJoinEntity, rightEntity);
 				if (this.transformerListener != null) {
 					this.transformerListener.onTransform(rightEntity, column -> columnedRow.getValue(column, row));
@@ -139,11 +159,23 @@ public class RelationJoinNode<C, T1 extends Table, T2 extends Table, I> extends
 	 * Simple class to ease access or creation to entity from the cache
 	 * @see #computeIfAbsent(Class, Object, Supplier)
 	 */
-	static final class BasicEntityCache implements EntityCache {
+	public static final class BasicEntityCache implements EntityCache {
 		
 		private final Map<Class, Map<Object, Object>> entityCache = new HashMap<>();
 		
+		/**
+		 * Cache for entities with a {@link Long} identifier, or an {@link AbstractIdentifier} of {@link Long}, made to avoid a {@link HashMap}
+		 * entry per entity for this common case
+		 */
+		private final Map<Class, LongObjectMap<Object>> longIdentifiedEntityCache = new HashMap<>();
+		
 		public <C> C computeIfAbsent(Class<C> clazz, Object identifier, Supplier<C> factory) {
+			// AbstractIdentifiers are equal on their surrogate, so it can replace them as key
+			Object surrogate = identifier instanceof AbstractIdentifier ? ((AbstractIdentifier) identifier).getSurrogate() : identifier;
+			if (surrogate instanceof Long) {
+				LongObjectMap<Object> classInstanceCacheByIdentifier = longIdentifiedEntityCache.computeIfAbsent(clazz, k -> new LongObjectMap<>());
+				return (C) classInstanceCacheByIdentifier.computeIfAbsent((Long) surrogate, k -> factory.get());
+			}
 			Map<Object, Object> classInstanceCacheByIdentifier = entityCache.computeIfAbsent(clazz, k -> new HashMap<>());
 			return (C) classInstanceCacheByIdentifier.computeIfAbsent(identifier, k -> factory.get());
 		}
@@ -127,6 +127,17 @@ public class EntityCriteriaSupport<C> implements RelationalEntityCriteria<C> {
 		return this;
 	}
 	
+	/**
+	 * Gives the column mapped by a property of root entity
+	 * 
+	 * @param getter a method reference to a getter
+	 * @return the column matching getter
+	 * @throws IllegalArgumentException if column matching getter was not found
+	 */
+	public Column giveColumn(SerializableFunction<C, ?> getter) {
+		return getColumn(new AccessorByMethodReference<>(getter));
+	}
+	
 	private Column getColumn(ValueAccessPointByMethodReference ... methodReferences) {
 		Column column = rootConfiguration.getColumn(methodReferences);
 		if (column == null) {
@@ -0,0 +1,164 @@
+package org.gama.stalactite.persistence.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.gama.lang.collection.Iterables;
+import org.gama.lang.collection.Maps;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder;
+import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.builder.SQLQueryBuilder;
+import org.gama.stalactite.query.model.CriteriaChain;
+import org.gama.stalactite.query.model.Query;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.binder.DefaultParameterBinders;
+import org.gama.stalactite.sql.binder.PreparedStatementWriter;
+import org.gama.stalactite.sql.binder.ResultSetReader;
+import org.gama.stalactite.sql.dml.PreparedSQL;
+import org.gama.stalactite.sql.dml.ReadOperation;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
+import org.gama.stalactite.sql.result.RowIterator;
+
+/**
+ * Reads some information of root entities of an {@link EntityJoinTree} that match some criteria, without loading them : values of some
+ * columns, count, existence.
+ * As a difference with entity loading, from clause only contains the joins required by criteria (and read columns), and root entities are
+ * made distinct on all their primary key columns since collection joins used by criteria multiply rows.
+ *
+ * Made to share {@link IEntitySelectExecutor#loadProjection(CriteriaChain, List, Function)}, {@link IEntitySelectExecutor#count(CriteriaChain)}
+ * and {@link IEntitySelectExecutor#exists(CriteriaChain)} implementations between executors based on an {@link EntityJoinTree}.
+ *
+ * @author Guillaume Mary
+ */
+public class EntityProjectionExecutor<C, I> {
+	
+	private static final String PRIMARY_KEY_ALIAS_PREFIX = "rootId";
+	
+	private static final String PROJECTION_ALIAS_PREFIX = "projection";
+	
+	private static final String COUNT_ALIAS = "rootCount";
+	
+	private static final String ROOT_IDS_ALIAS = "rootIds";
+	
+	private final EntityJoinTree<C, I> entityJoinTree;
+	
+	private final ConnectionProvider connectionProvider;
+	
+	private final ColumnBinderRegistry columnBinderRegistry;
+	
+	public EntityProjectionExecutor(EntityJoinTree<C, I> entityJoinTree, ConnectionProvider connectionProvider, ColumnBinderRegistry columnBinderRegistry) {
+		this.entityJoinTree = entityJoinTree;
+		this.connectionProvider = connectionProvider;
+		this.columnBinderRegistry = columnBinderRegistry;
+	}
+	
+	/**
+	 * Reads values of given columns for root entities that match given criteria, without building any bean.
+	 *
+	 * @param where some criteria for root entities selection
+	 * @param columns columns to be read, expected to be owned by root table or by a table joined without multiplying rows
+	 * @param rowTransformer builder of result elements from read values, which are given in columns order
+	 * @param <R> result element type
+	 * @return one element per root entity matching criteria
+	 */
+	public <R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer) {
+		Map<String, ResultSetReader> projectionReaders = new LinkedHashMap<>();
+		PreparedSQL preparedSQL = buildRootIdsQuery(where, true, columns, projectionReaders);
+		try (ReadOperation<Integer> closeableOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+			ResultSet resultSet = closeableOperation.execute();
+			RowIterator rowIterator = new RowIterator(resultSet, projectionReaders);
+			return Iterables.collectToList(() -> rowIterator,
+					row -> rowTransformer.apply(projectionReaders.keySet().stream().map(row::get).toArray()));
+		} catch (RuntimeException e) {
+			throw new SQLExecutionException(preparedSQL.getSQL(), e);
+		}
+	}
+	
+	/**
+	 * Counts root entities that match given criteria. Distinct root primary keys are selected by a sub-query which is then counted, because
+	 * a count(distinct ..) on several columns is not supported by all databases.
+	 *
+	 * @param where some criteria for root entities selection
+	 * @return number of root entities matching criteria
+	 */
+	public long count(CriteriaChain where) {
+		PreparedSQL rootIdsSQL = buildRootIdsQuery(where, true, Collections.emptyList(), new HashMap<>());
+		Map<Integer, PreparedStatementWriter> parameterBinders = new HashMap<>();
+		rootIdsSQL.getValues().keySet().forEach(index -> parameterBinders.put(index, rootIdsSQL.getParameterBinder(index)));
+		PreparedSQL preparedSQL = new PreparedSQL("select count(*) as " + COUNT_ALIAS + " from (" + rootIdsSQL.getSQL() + ") " + ROOT_IDS_ALIAS,
+				parameterBinders);
+		preparedSQL.setValues(rootIdsSQL.getValues());
+		try (ReadOperation<Integer> closeableOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+			ResultSet resultSet = closeableOperation.execute();
+			RowIterator rowIterator = new RowIterator(resultSet, Maps.asMap(COUNT_ALIAS, DefaultParameterBinders.LONG_PRIMITIVE_BINDER));
+			// an aggregate query always returns one row
+			return (Long) rowIterator.next().get(COUNT_ALIAS);
+		} catch (RuntimeException e) {
+			throw new SQLExecutionException(preparedSQL.getSQL(), e);
+		}
+	}
+	
+	/**
+	 * Checks if a root entity matches given criteria : root primary key is selected but only first row is read, thanks to
+	 * {@link ReadOperation#setMaxRows(int)}, which doesn't depend on database dialect.
+	 *
+	 * @param where some criteria for root entities selection
+	 * @return true if at least one root entity matches criteria
+	 */
+	public boolean exists(CriteriaChain where) {
+		// no need of distinct since only first row is read
+		PreparedSQL preparedSQL = buildRootIdsQuery(where, false, Collections.emptyList(), new HashMap<>());
+		try (ReadOperation<Integer> closeableOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
+			closeableOperation.setMaxRows(1);
+			return closeableOperation.execute().next();
+		} catch (SQLException | RuntimeException e) {
+			throw new SQLExecutionException(preparedSQL.getSQL(), e);
+		}
+	}
+	
+	/**
+	 * Builds the query selecting root primary key columns, and given ones, of entities matching given criteria. Its from clause only contains
+	 * the joins leading to tables of criteria and given columns.
+	 *
+	 * @param where some criteria for root entities selection
+	 * @param distinct true to add a distinct clause
+	 * @param columns some columns to be selected after primary key ones
+	 * @param projectionReaders receiver of the readers of given columns, per their alias, in columns order
+	 * @return the SQL to be executed
+	 */
+	private PreparedSQL buildRootIdsQuery(CriteriaChain where, boolean distinct, List<? extends Column> columns,
+										  Map<String, ResultSetReader> projectionReaders) {
+		Set<Table> requiredTables = IEntitySelectExecutor.giveTables(where);
+		columns.forEach(column -> requiredTables.add(column.getTable()));
+		EntityJoinTree<C, I> requiredJoinTree = entityJoinTree.copyWithJoinsTo(requiredTables);
+		Query query = new EntityTreeQueryBuilder<>(requiredJoinTree, columnBinderRegistry).buildSelectQuery().getQuery();
+		
+		SQLQueryBuilder sqlQueryBuilder = IEntitySelectExecutor.createQueryBuilder(where, query);
+		
+		query.getSelectSurrogate().clear();
+		if (distinct) {
+			query.getSelectSurrogate().distinct();
+		}
+		int aliasIndex = 0;
+		for (Column pkColumn : (Set<Column>) entityJoinTree.getRoot().getTable().getPrimaryKey().getColumns()) {
+			query.select(pkColumn, PRIMARY_KEY_ALIAS_PREFIX + aliasIndex++);
+		}
+		aliasIndex = 0;
+		for (Column column : columns) {
+			String alias = PROJECTION_ALIAS_PREFIX + aliasIndex++;
+			query.select(column, alias);
+			projectionReaders.put(alias, columnBinderRegistry.getBinder(column));
+		}
+		return sqlQueryBuilder.toPreparedSQL(columnBinderRegistry);
+	}
+}
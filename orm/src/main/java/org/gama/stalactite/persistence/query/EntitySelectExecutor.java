@@ -1,16 +1,23 @@
 package org.gama.stalactite.persistence.query;
 
+import javax.annotation.Nullable;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.Maps;
 import org.gama.stalactite.persistence.engine.runtime.EntityMappingStrategyTreeSelectExecutor;
+import org.gama.stalactite.persistence.engine.runtime.load.AbstractJoinNode;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder.EntityTreeQuery;
+import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.BasicEntityCache;
+import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.EntityCache;
+import org.gama.stalactite.persistence.sql.Dialect;
 import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
@@ -35,6 +42,9 @@ import static org.gama.stalactite.query.model.Operators.in;
  * @author Guillaume Mary
  * @see #loadGraph(CriteriaChain)
  * @see #loadSelection(CriteriaChain)
+ * @see #loadProjection(CriteriaChain, List, Function)
+ * @see #count(CriteriaChain)
+ * @see #exists(CriteriaChain)
  */
 public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelectExecutor<C> {
 	
@@ -46,12 +56,81 @@ public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelec
 	
 	private final EntityJoinTree<C, I> entityJoinTree;
 	
+	private final EntityProjectionExecutor<C, I> projectionExecutor;
+	
+	/** Maximum number of root ids per query of second phase of {@link #loadGraph(CriteriaChain)}, see {@link Dialect#getInOperatorMaxSize()} */
+	private final int inOperatorMaxSize;
+	
+	/** Indicates if sibling collections of root entity must be loaded with one query each, see {@link #setCollectionJoinsSplit(boolean)} */
+	private boolean collectionJoinsSplit = false;
+	
+	/**
+	 * Trees to be used by {@link #loadGraph(CriteriaChain)} to load sibling collections of root entity with one query each instead of joining
+	 * all of them in one query : first one is the main tree, others are made of one collection each. Empty if split is not relevant, null
+	 * until first use of split, see {@link #giveCollectionSplitTrees()}
+	 */
+	@Nullable
+	private volatile List<EntityJoinTree<C, I>> collectionSplitTrees;
+	
 	public EntitySelectExecutor(EntityJoinTree<C, I> entityJoinTree,
 								ConnectionProvider connectionProvider,
-								ColumnBinderRegistry columnBinderRegistry) {
+								Dialect dialect) {
+		this(entityJoinTree, connectionProvider, dialect.getColumnBinderRegistry(), dialect.getInOperatorMaxSize());
+	}
+	
+	public EntitySelectExecutor(EntityJoinTree<C, I> entityJoinTree,
+								ConnectionProvider connectionProvider,
+								ColumnBinderRegistry columnBinderRegistry,
+								int inOperatorMaxSize) {
 		this.entityJoinTree = entityJoinTree;
 		this.connectionProvider = connectionProvider;
 		this.parameterBinderProvider = columnBinderRegistry;
+		this.inOperatorMaxSize = inOperatorMaxSize;
+		this.projectionExecutor = new EntityProjectionExecutor<>(entityJoinTree, connectionProvider, columnBinderRegistry);
+	}
+	
+	/**
+	 * Changes the way {@link #loadGraph(CriteriaChain)} loads root entity collections : when several of them are present (as for an entity
+	 * with 2 one-to-many relations), joining all of them in one query returns the cartesian product of them, for instance 2 collections of
+	 * 50 elements each give 2500 rows per root entity. By activating the split, each collection (and its subgraph) is loaded by a dedicated
+	 * query filtered on root entity ids, so row count grows additively rather than multiplicatively, at the cost of one query per collection.
+	 * Default is false (one query for the whole graph).
+	 * Usually activated by {@link org.gama.stalactite.persistence.engine.IFluentEntityMappingBuilder#withCollectionJoinsSplit()}.
+	 * 
+	 * @param collectionJoinsSplit true to load each root entity collection with a dedicated query
+	 * @see EntityJoinTree#giveRowMultiplyingRootJoins()
+	 */
+	public void setCollectionJoinsSplit(boolean collectionJoinsSplit) {
+		this.collectionJoinsSplit = collectionJoinsSplit;
+		this.collectionSplitTrees = null;
+	}
+	
+	/**
+	 * Gives trees used to load root entity collections with one query each. They are computed at first call because relations may be added
+	 * to {@link EntityJoinTree} after this instance creation (relations of entity cycles are added at the very end of persister build).
+	 * 
+	 * @return empty if root entity has less than 2 collections
+	 */
+	private List<EntityJoinTree<C, I>> giveCollectionSplitTrees() {
+		List<EntityJoinTree<C, I>> result = this.collectionSplitTrees;
+		if (result == null) {
+			// concurrent computations give equal results, so no need of synchronization
+			result = Collections.emptyList();
+			List<AbstractJoinNode> rowMultiplyingJoins = entityJoinTree.giveRowMultiplyingRootJoins();
+			if (rowMultiplyingJoins.size() > 1) {
+				// main tree keeps root joins that don't multiply rows plus the first collection, others are loaded by a tree each
+				List<AbstractJoinNode> mainQueryJoins = new ArrayList<>(entityJoinTree.getRoot().getJoins());
+				List<AbstractJoinNode> splittedJoins = rowMultiplyingJoins.subList(1, rowMultiplyingJoins.size());
+				mainQueryJoins.removeAll(splittedJoins);
+				result = new ArrayList<>();
+				result.add(entityJoinTree.copyWithRootJoins(mainQueryJoins));
+				for (AbstractJoinNode splittedJoin : splittedJoins) {
+					result.add(entityJoinTree.copyWithRootJoins(Collections.singletonList(splittedJoin)));
+				}
+			}
+			this.collectionSplitTrees = result;
+		}
+		return result;
 	}
 	
 	/**
@@ -76,6 +155,8 @@ public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelec
 	 * (aggregate that matches criteria will be fully loaded)</strong>
 	 * 
 	 * Implementation note : the load is done in 2 phases : one for root ids selection from criteria, a second from full graph load from found root ids.
+	 * Second phase is executed per block of {@link Dialect#getInOperatorMaxSize()} root ids, and may be split into several queries, see
+	 * {@link #setCollectionJoinsSplit(boolean)}
 	 *
 	 * @param where some criteria for aggregate selection
 	 * @return root beans of aggregates that match criteria
@@ -96,17 +177,81 @@ public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelec
 			// No result found, we must stop here because request below doesn't support in(..) without values (SQL error from database)
 			return Collections.emptyList();
 		} else {
+			// entity cache is shared by blocks of ids so that entities referenced by several roots are the same instance
+			EntityCache entityCache = new BasicEntityCache();
+			List<List<I>> idBlocks = org.gama.lang.collection.Collections.parcel(ids, inOperatorMaxSize);
+			if (collectionJoinsSplit && !giveCollectionSplitTrees().isEmpty()) {
+				List<C> result = new ArrayList<>(ids.size());
+				idBlocks.forEach(idBlock -> result.addAll(loadGraphSplitted(idBlock, pk, entityCache)));
+				return result;
+			}
 			// Second phase : selecting elements by main table pk (adding necessary columns)
 			query.getSelectSurrogate().remove(0);    // previous pk selection removal
 			columns.forEach(query::select);
-			query.getWhereSurrogate().clear();
-			query.where(pk, in(ids));
-			
-			PreparedSQL preparedSQL = sqlQueryBuilder.toPreparedSQL(parameterBinderProvider);
-			return new InternalExecutor(entityTreeQuery).execute(preparedSQL);
+			List<C> result = new ArrayList<>(ids.size());
+			for (List<I> idBlock : idBlocks) {
+				query.getWhereSurrogate().clear();
+				query.where(pk, in(idBlock));
+				PreparedSQL preparedSQL = sqlQueryBuilder.toPreparedSQL(parameterBinderProvider);
+				result.addAll(new InternalExecutor(entityTreeQuery, entityCache).execute(preparedSQL));
+			}
+			return result;
 		}
 	}
 	
+	/**
+	 * Reads values of given columns for root entities that match given criteria, without building any bean.
+	 * Delegated to an {@link EntityProjectionExecutor}, hence only joins required by criteria are used.
+	 * 
+	 * @param where some criteria for root entities selection
+	 * @param columns columns to be read, expected to be owned by root table
+	 * @param rowTransformer builder of result elements from read values, which are given in columns order
+	 * @param <R> result element type
+	 * @return one element per root entity matching criteria
+	 */
+	@Override
+	public <R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer) {
+		return projectionExecutor.loadProjection(where, columns, rowTransformer);
+	}
+	
+	@Override
+	public long count(CriteriaChain where) {
+		return projectionExecutor.count(where);
+	}
+	
+	@Override
+	public boolean exists(CriteriaChain where) {
+		return projectionExecutor.exists(where);
+	}
+	
+	/**
+	 * Loads entity graph of given ids with {@link #giveCollectionSplitTrees()} : a main query loads root entities with joins that don't multiply
+	 * rows plus the first collection, then each other collection is loaded by a query made of root table and the collection join (with its
+	 * subgraph). All queries are filtered on given ids and share the same entity cache, hence relations are fixed on the same root instances.
+	 * 
+	 * @param ids root entity identifiers, expected to be less than {@link Dialect#getInOperatorMaxSize()}
+	 * @param pk root table primary key
+	 * @param entityCache cache of loaded entities
+	 * @return root entities
+	 */
+	private List<C> loadGraphSplitted(List<I> ids, Column<T, I> pk, EntityCache entityCache) {
+		List<EntityJoinTree<C, I>> collectionSplitTrees = giveCollectionSplitTrees();
+		List<C> result = loadTree(collectionSplitTrees.get(0), ids, pk, entityCache);
+		for (EntityJoinTree<C, I> splitTree : collectionSplitTrees.subList(1, collectionSplitTrees.size())) {
+			// result is not took into account because root entities are the same as main query ones (thanks to entity cache)
+			loadTree(splitTree, ids, pk, entityCache);
+		}
+		return result;
+	}
+	
+	private List<C> loadTree(EntityJoinTree<C, I> tree, List<I> ids, Column<T, I> pk, EntityCache entityCache) {
+		EntityTreeQuery<C> entityTreeQuery = new EntityTreeQueryBuilder<>(tree, parameterBinderProvider).buildSelectQuery();
+		Query query = entityTreeQuery.getQuery();
+		query.where(pk, in(ids));
+		PreparedSQL preparedSQL = new SQLQueryBuilder(query).toPreparedSQL(parameterBinderProvider);
+		return new InternalExecutor(entityTreeQuery, entityCache).execute(preparedSQL);
+	}
+	
 	private List<I> readIds(SQLQueryBuilder sqlQueryBuilder, Column<T, I> pk) {
 		PreparedSQL preparedSQL = sqlQueryBuilder.toPreparedSQL(parameterBinderProvider);
 		try (ReadOperation<Integer> closeableOperation = new ReadOperation<>(preparedSQL, connectionProvider)) {
@@ -125,8 +270,17 @@ public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelec
 		
 		private final EntityTreeQuery<C> entityTreeQuery;
 		
+		/** Optional cache of entities, shared between queries of a same graph load */
+		@Nullable
+		private final EntityCache entityCache;
+		
 		private InternalExecutor(EntityTreeQuery<C> entityTreeQuery) {
+			this(entityTreeQuery, null);
+		}
+		
+		private InternalExecutor(EntityTreeQuery<C> entityTreeQuery, @Nullable EntityCache entityCache) {
 			this.entityTreeQuery = entityTreeQuery;
+			this.entityCache = entityCache;
 		}
 		
 		protected List<C> execute(PreparedSQL query) {
@@ -151,7 +305,11 @@ public class EntitySelectExecutor<C, I, T extends Table> implements IEntitySelec
 		}
 		
 		protected List<C> transform(Iterator<Row> rowIterator) {
-			return this.entityTreeQuery.getInflater().transform(() -> rowIterator, 50);
+			if (entityCache == null) {
+				return this.entityTreeQuery.getInflater().transform(() -> rowIterator, 50);
+			} else {
+				return this.entityTreeQuery.getInflater().transform(() -> rowIterator, 50, entityCache);
+			}
 		}
 	}
 }
@@ -1,10 +1,18 @@
 package org.gama.stalactite.persistence.query;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.gama.lang.collection.Collections;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
 import org.gama.stalactite.query.builder.SQLQueryBuilder;
+import org.gama.stalactite.query.model.AbstractCriterion;
+import org.gama.stalactite.query.model.ColumnCriterion;
 import org.gama.stalactite.query.model.CriteriaChain;
 import org.gama.stalactite.query.model.Query;
+import org.gama.stalactite.query.model.RawCriterion;
 
 /**
  * @author Guillaume Mary
@@ -15,6 +23,35 @@ public interface IEntitySelectExecutor<C> {
 	
 	List<C> loadGraph(CriteriaChain where);
 	
+	/**
+	 * Reads some column values of entities matching given criteria instead of loading them.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @param columns columns to be read
+	 * @param rowTransformer builder of result elements from read values, which are given in columns order
+	 * @param <R> result element type
+	 * @return one element per entity matching criteria
+	 */
+	<R> List<R> loadProjection(CriteriaChain where, List<? extends Column> columns, Function<Object[], R> rowTransformer);
+	
+	/**
+	 * Counts entities matching given criteria. Each entity is counted once, even if criteria on a collection make it match several rows,
+	 * and whatever the number of its primary key columns.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @return number of entities matching criteria
+	 */
+	long count(CriteriaChain where);
+	
+	/**
+	 * Checks if any entity matches given criteria. Implementations are expected to stop reading at first matching row instead of counting
+	 * entities.
+	 * 
+	 * @param where some criteria for entity selection
+	 * @return true if at least one entity matches criteria
+	 */
+	boolean exists(CriteriaChain where);
+	
 	static SQLQueryBuilder createQueryBuilder(CriteriaChain where, Query query) {
 		SQLQueryBuilder sqlQueryBuilder = new SQLQueryBuilder(query);
 		if (where.iterator().hasNext()) {    // prevents from empty where causing malformed SQL
@@ -22,4 +59,26 @@ public interface IEntitySelectExecutor<C> {
 		}
 		return sqlQueryBuilder;
 	}
+	
+	/**
+	 * Gives tables of the columns used by some criteria, nested ones included
+	 * 
+	 * @param where some criteria
+	 * @return tables referenced by criteria, as an identity {@link Set} because tables of different nodes of a join tree may have same name
+	 */
+	static Set<Table> giveTables(CriteriaChain<?> where) {
+		Set<Table> result = Collections.newIdentitySet();
+		for (AbstractCriterion criterion : where) {
+			if (criterion instanceof ColumnCriterion) {
+				result.add(((ColumnCriterion) criterion).getColumn().getTable());
+			} else if (criterion instanceof RawCriterion) {
+				((RawCriterion) criterion).getCondition().stream()
+						.filter(Column.class::isInstance)
+						.forEach(column -> result.add(((Column) column).getTable()));
+			} else if (criterion instanceof CriteriaChain) {
+				result.addAll(giveTables((CriteriaChain<?>) criterion));
+			}
+		}
+		return result;
+	}
 }
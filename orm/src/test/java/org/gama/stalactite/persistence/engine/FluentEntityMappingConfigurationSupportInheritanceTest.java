@@ -32,6 +32,7 @@ import static org.gama.stalactite.persistence.engine.MappingEase.entityBuilder;
 import static org.gama.stalactite.persistence.id.Identifier.LONG_TYPE;
 import static org.gama.stalactite.persistence.id.Identifier.identifierBinder;
 import static org.gama.stalactite.persistence.id.StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED;
+import static org.gama.stalactite.query.model.Operators.eq;
 import static org.gama.stalactite.query.model.QueryEase.select;
 import static org.gama.stalactite.sql.binder.DefaultParameterBinders.INTEGER_PRIMITIVE_BINDER;
 import static org.gama.stalactite.sql.binder.DefaultParameterBinders.LONG_PRIMITIVE_BINDER;
@@ -272,6 +273,24 @@ public class FluentEntityMappingConfigurationSupportInheritanceTest {
 					thrownException.getMessage());
 		}
 		
+		@Test
+		void joinedTables_deleteWhere_throwsException() {
+			EntityMappingConfiguration<Vehicle, Identifier<Long>> inheritanceConfiguration = entityBuilder(Vehicle.class, LONG_TYPE)
+					.add(Vehicle::getId).identifier(ALREADY_ASSIGNED)
+					.add(Vehicle::getColor)
+					.getConfiguration();
+			
+			IEntityPersister<Car, Identifier<Long>> carPersister = entityBuilder(Car.class, LONG_TYPE)
+					.add(Car::getModel)
+					.mapInheritance(inheritanceConfiguration)
+					.withJoinedTable()
+					.build(persistenceContext);
+			
+			// Vehicle rows wouldn't be deleted
+			assertEquals("Bulk delete is not supported on joined-tables inherited entities",
+					assertThrows(UnsupportedOperationException.class, () -> carPersister.deleteWhere(Car::getModel, eq("Renault"))).getMessage());
+		}
+		
 		@Test
 		void withEmbeddable() {
 			IEntityPersister<Car, Identifier<Long>> carPersister = entityBuilder(Car.class, LONG_TYPE)
@@ -519,6 +538,51 @@ public class FluentEntityMappingConfigurationSupportInheritanceTest {
 			assertEquals(dummyCar, loadedCar);
 		}
 		
+		@Test
+		void joinedTables_upsert_parentTableIsWritten() {
+			EntityMappingConfiguration<Vehicle, Identifier<Long>> inheritanceConfiguration = entityBuilder(Vehicle.class, LONG_TYPE)
+					.add(Vehicle::getId).identifier(ALREADY_ASSIGNED)
+					.add(Vehicle::getColor)
+					.getConfiguration();
+			
+			IEntityPersister<Car, Identifier<Long>> carPersister = entityBuilder(Car.class, LONG_TYPE)
+					.add(Car::getModel)
+					.mapInheritance(inheritanceConfiguration)
+					.withJoinedTable()
+					.build(persistenceContext);
+			
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+			
+			Car dummyCar = new Car(1L);
+			dummyCar.setModel("Renault");
+			dummyCar.setColor(new Color(666));
+			carPersister.insert(dummyCar);
+			
+			// an instance with same identifier as an existing row is updated whereas a new one is inserted, in both tables
+			Car dummyCarCopy = new Car(1L);
+			dummyCarCopy.setModel("Peugeot");
+			dummyCarCopy.setColor(new Color(777));
+			Car newCar = new Car(2L);
+			newCar.setModel("Citroen");
+			newCar.setColor(new Color(888));
+			carPersister.upsert(Arrays.asList(dummyCarCopy, newCar));
+			
+			Car loadedCar = carPersister.select(new PersistedIdentifier<>(1L));
+			assertEquals("Peugeot", loadedCar.getModel());
+			assertEquals(777, loadedCar.getColor().getRgb());
+			Car loadedNewCar = carPersister.select(new PersistedIdentifier<>(2L));
+			assertEquals("Citroen", loadedNewCar.getModel());
+			assertEquals(888, loadedNewCar.getColor().getRgb());
+			
+			// checking with query that parent table was written
+			List<Car> allVehicles = persistenceContext.newQuery("select id, color from Vehicle order by id", Car.class)
+					.mapKey(Car::new, "id", (Class<Identifier<Long>>) (Class) Identifier.class)
+					.map("color", Car::setColor, int.class, Color::new)
+					.execute();
+			assertEquals(Arrays.asList(777, 888), Iterables.collectToList(allVehicles, car -> car.getColor().getRgb()));
+		}
+		
 		@Test
 		void withEmbeddable() {
 			EntityMappingConfiguration<Vehicle, Identifier<Long>> inheritanceConfiguration = entityBuilder(Vehicle.class, LONG_TYPE)
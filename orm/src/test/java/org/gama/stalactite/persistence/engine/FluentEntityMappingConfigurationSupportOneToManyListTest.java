@@ -3,11 +3,13 @@ package org.gama.stalactite.persistence.engine;
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.danekja.java.util.function.serializable.SerializableBiConsumer;
 import org.danekja.java.util.function.serializable.SerializableFunction;
@@ -18,7 +20,9 @@ import org.gama.lang.function.Predicates;
 import org.gama.lang.test.Assertions;
 import org.gama.stalactite.persistence.engine.IFluentEntityMappingBuilder.IFluentMappingBuilderPropertyOptions;
 import org.gama.stalactite.persistence.engine.PersistenceContext.ExecutableSelect;
+import org.gama.stalactite.persistence.engine.listening.SelectListener;
 import org.gama.stalactite.persistence.engine.listening.UpdateListener;
+import org.gama.stalactite.persistence.engine.runtime.LoadStateSnapshotSession;
 import org.gama.stalactite.persistence.id.Identified;
 import org.gama.stalactite.persistence.id.Identifier;
 import org.gama.stalactite.persistence.id.PersistableIdentifier;
@@ -106,6 +110,79 @@ class FluentEntityMappingConfigurationSupportOneToManyListTest {
 		assertEquals(Arrays.asList(0, 1, 2), Iterables.collectToList(persistedChoices, Result::getIdx));
 	}
 	
+	@Test
+	void oneToManyList_insert_severalOwners_indexesAreComputedPerOwner() {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+		
+		Question question2 = new Question(2L);
+		question2.setChoices(Arrays.asList(new Choice(40L), new Choice(50L)));
+		Question question3 = new Question(3L);
+		question3.setChoices(Arrays.asList(new Choice(60L), new Choice(70L), new Choice(80L)));
+		questionPersister.insert(Arrays.asList(question2, question3));
+		
+		List<Result> persistedChoices = persistenceContext.newQuery(select(updateTestData.getId(), updateTestData.getIdx())
+				.from(updateTestData.getChoiceTable()).orderBy(updateTestData.getId()), Result.class)
+				.mapKey(Result::new, updateTestData.getId())
+				.map(updateTestData.getIdx(), (SerializableBiConsumer<Result, Integer>) Result::setIdx)
+				.execute();
+		assertEquals(Arrays.asList(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L), Iterables.collectToList(persistedChoices, Result::getId));
+		assertEquals(Arrays.asList(0, 1, 2, 0, 1, 0, 1, 2), Iterables.collectToList(persistedChoices, Result::getIdx));
+	}
+	
+	@Test
+	void oneToManyList_insert_afterFailedInsert_indexesAreComputedFromNewList() {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+		
+		// choice 10 already exists, so its insertion fails in the middle of the cascade
+		Question failingQuestion = new Question(2L);
+		failingQuestion.setChoices(new ArrayList<>(Arrays.asList(new Choice(40L), new Choice(10L))));
+		assertThrows(RuntimeException.class, () -> questionPersister.insert(failingQuestion));
+		
+		// the List of the failing insertion is filled again and given to another owner : its former positions must not be used
+		List<Choice> choices = failingQuestion.getChoices();
+		choices.clear();
+		choices.addAll(Arrays.asList(new Choice(60L), new Choice(70L), new Choice(80L)));
+		Question question3 = new Question(3L);
+		question3.setChoices(choices);
+		questionPersister.insert(question3);
+		
+		List<Result> persistedChoices = persistenceContext.newQuery(select(updateTestData.getId(), updateTestData.getIdx())
+				.from(updateTestData.getChoiceTable()).orderBy(updateTestData.getId()), Result.class)
+				.mapKey(Result::new, updateTestData.getId())
+				.map(updateTestData.getIdx(), (SerializableBiConsumer<Result, Integer>) Result::setIdx)
+				.execute();
+		// choice 40 may have been inserted by failing batch, we don't care about it
+		List<Result> question3Choices = persistedChoices.stream().filter(result -> result.getId() >= 60).collect(Collectors.toList());
+		assertEquals(Arrays.asList(60L, 70L, 80L), Iterables.collectToList(question3Choices, Result::getId));
+		assertEquals(Arrays.asList(0, 1, 2), Iterables.collectToList(question3Choices, Result::getIdx));
+	}
+	
+	@Test
+	void update_targetInLoadStateSnapshotSession_shadowColumnsAreLeftUntouched() {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Choice, Identifier<Long>> choicePersister = persistenceContext.getPersister(Choice.class);
+		
+		// Choice table owns the reverse and index columns of the relation, which are not part of Choice entity : it can't be rebuilt from its
+		// column values
+		LoadStateSnapshotSession.doWithSnapshots(() -> {
+			Choice loadedChoice = choicePersister.select(new PersistedIdentifier<>(20L));
+			loadedChoice.setName("Tours");
+			choicePersister.update(loadedChoice);
+		});
+		
+		assertEquals("Tours", choicePersister.select(new PersistedIdentifier<>(20L)).getName());
+		List<Result> persistedChoices = persistenceContext.newQuery(select(updateTestData.getId(), updateTestData.getIdx())
+				.from(updateTestData.getChoiceTable()).orderBy(updateTestData.getId()), Result.class)
+				.mapKey(Result::new, updateTestData.getId())
+				.map(updateTestData.getIdx(), (SerializableBiConsumer<Result, Integer>) Result::setIdx)
+				.execute();
+		assertEquals(Arrays.asList(0, 1, 2), Iterables.collectToList(persistedChoices, Result::getIdx));
+		Question reloadedQuestion = updateTestData.getQuestionPersister().select(new PersistedIdentifier<>(1L));
+		assertEquals(Arrays.asList(10L, 20L, 30L), Iterables.collectToList(reloadedQuestion.getChoices(), choice -> choice.getId().getSurrogate()));
+	}
+	
 	@Nested
 	class Update {
 		
@@ -197,6 +274,34 @@ class FluentEntityMappingConfigurationSupportOneToManyListTest {
 			assertEquals(Arrays.asList(3, 2, 0, 1), Iterables.collectToList(persistedChoices, Result::getIdx));
 		}
 		
+		@Test
+		void update_entityAddition_indexesAreNotSearchedInList() {
+			UpdateTestData updateTestData = new UpdateTestData().build();
+			Table choiceTable = updateTestData.getChoiceTable();
+			Column<Table, Identifier> id = updateTestData.getId();
+			Column<Table, Integer> idx = updateTestData.getIdx();
+			IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+			Question newQuestion = updateTestData.getNewQuestion();
+			
+			Question modifiedQuestion = new Question(newQuestion.getId().getSurrogate());
+			// indexes of added elements must be given by positions computed once for the whole List
+			modifiedQuestion.setChoices(new ArrayList<Choice>(Arrays.asList(new Choice(40L), new Choice(updateTestData.getChoice1().getId()),
+					new Choice(50L), new Choice(updateTestData.getChoice2().getId()), new Choice(60L), new Choice(updateTestData.getChoice3().getId()))) {
+				@Override
+				public int indexOf(Object o) {
+					throw new UnsupportedOperationException("List.indexOf(..) is not expected to be called");
+				}
+			});
+			
+			questionPersister.update(modifiedQuestion, newQuestion, true);
+			List<Result> persistedChoices = persistenceContext.newQuery(select(id, idx).from(choiceTable).orderBy(id), Result.class)
+					.mapKey(Result::new, id)
+					.map(idx, (SerializableBiConsumer<Result, Integer>) Result::setIdx)
+					.execute();
+			assertEquals(Arrays.asList(10L, 20L, 30L, 40L, 50L, 60L), Iterables.collectToList(persistedChoices, Result::getId));
+			assertEquals(Arrays.asList(1, 3, 5, 0, 2, 4), Iterables.collectToList(persistedChoices, Result::getIdx));
+		}
+		
 		@Test
 		void update_entityRemoval() {
 			UpdateTestData updateTestData = new UpdateTestData().build();
@@ -291,6 +396,51 @@ class FluentEntityMappingConfigurationSupportOneToManyListTest {
 		assertEquals(Arrays.asSet(10L, 20L, 30L), Iterables.collect(select.getChoices(), chain(Choice::getId, StatefullIdentifier::getSurrogate), HashSet::new));
 	}
 	
+	@Test
+	void oneToManyList_select_indexesAreNotInRowOrder_elementsAreSortedByIndex() throws SQLException {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+		
+		Statement statement = persistenceContext.getConnectionProvider().getCurrentConnection().createStatement();
+		statement.executeUpdate("update Choice set idx = 2 where id = 10");
+		statement.executeUpdate("update Choice set idx = 0 where id = 30");
+		
+		Question select = questionPersister.select(new PersistedIdentifier<>(1L));
+		assertEquals(Arrays.asList(30L, 20L, 10L), Iterables.collectToList(select.getChoices(), chain(Choice::getId, StatefullIdentifier::getSurrogate)));
+	}
+	
+	@Test
+	void oneToManyList_select_missingIndexes_holesAreRemovedBeforeSelectListenersAreNotified() throws SQLException {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+		List<List<Choice>> choicesSeenByListener = new ArrayList<>();
+		questionPersister.addSelectListener(new SelectListener<Question, Identifier<Long>>() {
+			@Override
+			public void afterSelect(Iterable<? extends Question> result) {
+				result.forEach(question -> choicesSeenByListener.add(new ArrayList<>(question.getChoices())));
+			}
+		});
+		
+		Statement statement = persistenceContext.getConnectionProvider().getCurrentConnection().createStatement();
+		statement.executeUpdate("delete from Choice where id = 20");
+		statement.executeUpdate("update Choice set idx = 5 where id = 30");
+		
+		Question select = questionPersister.select(new PersistedIdentifier<>(1L));
+		assertEquals(Arrays.asList(10L, 30L), Iterables.collectToList(select.getChoices(), chain(Choice::getId, StatefullIdentifier::getSurrogate)));
+		assertEquals(Arrays.asList(Arrays.asList(select.getChoices().get(0), select.getChoices().get(1))), choicesSeenByListener);
+	}
+	
+	@Test
+	void oneToManyList_select_duplicateIndexes_throwsException() throws SQLException {
+		UpdateTestData updateTestData = new UpdateTestData().build();
+		IEntityPersister<Question, Identifier<Long>> questionPersister = updateTestData.getQuestionPersister();
+		
+		persistenceContext.getConnectionProvider().getCurrentConnection().createStatement().executeUpdate("update Choice set idx = 1 where id = 30");
+		
+		Assertions.assertThrows(() -> questionPersister.select(new PersistedIdentifier<>(1L)),
+				Assertions.hasExceptionInCauses(IllegalStateException.class));
+	}
+	
 	@Test
 	void oneToManyList_delete_reverseSideIsNotMapped_relationRecordsMustBeDeleted() throws SQLException {
 		persistenceContext = new PersistenceContext(connectionProvider, DIALECT);
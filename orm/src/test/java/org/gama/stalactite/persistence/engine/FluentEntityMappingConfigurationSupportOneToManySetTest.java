@@ -2,12 +2,16 @@ package org.gama.stalactite.persistence.engine;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -18,13 +22,16 @@ import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.Maps;
 import org.gama.lang.function.ThrowingSupplier;
 import org.gama.lang.test.Assertions;
+import org.gama.stalactite.persistence.engine.CascadeOptions.FetchMode;
 import org.gama.stalactite.persistence.engine.CascadeOptions.RelationMode;
 import org.gama.stalactite.persistence.engine.IFluentEntityMappingBuilder.IFluentMappingBuilderPropertyOptions;
 import org.gama.stalactite.persistence.engine.model.City;
 import org.gama.stalactite.persistence.engine.model.Country;
 import org.gama.stalactite.persistence.engine.model.State;
 import org.gama.stalactite.persistence.engine.runtime.IConfiguredPersister;
+import org.gama.stalactite.persistence.engine.runtime.LoadStateSnapshotSession;
 import org.gama.stalactite.persistence.engine.runtime.OptimizedUpdatePersister;
+import org.gama.stalactite.persistence.engine.runtime.fetch.LazyCollectionLoader;
 import org.gama.stalactite.persistence.id.Identifier;
 import org.gama.stalactite.persistence.id.PersistableIdentifier;
 import org.gama.stalactite.persistence.id.PersistedIdentifier;
@@ -33,6 +40,7 @@ import org.gama.stalactite.persistence.id.provider.LongProvider;
 import org.gama.stalactite.persistence.sql.HSQLDBDialect;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.model.Operators;
 import org.gama.stalactite.sql.ConnectionProvider;
 import org.gama.stalactite.sql.binder.DefaultParameterBinders;
 import org.gama.stalactite.sql.result.ResultSetIterator;
@@ -45,7 +53,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import static java.util.stream.Collectors.toSet;
 import static org.gama.lang.test.Assertions.assertAllEquals;
@@ -62,6 +73,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Guillaume Mary
@@ -419,6 +433,199 @@ class FluentEntityMappingConfigurationSupportOneToManySetTest {
 		assertAllEquals(Arrays.asList("Lyon", "Paris"), loadedCountry.getCities(), Function.identity(), City::getName);
 	}
 	
+	@Test
+	void selectWhere_collectionJoinsSplit_eachCollectionIsLoadedByADedicatedQuery() throws SQLException {
+		Connection connection = Mockito.spy(connectionProvider.getCurrentConnection());
+		PersistenceContext persistenceContext = new PersistenceContext(() -> connection, DIALECT);
+		
+		IFluentMappingBuilderPropertyOptions<State, Identifier<Long>> stateMappingBuilder = MappingEase.entityBuilder(State.class,
+				Identifier.LONG_TYPE)
+				.add(State::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(State::getName);
+		
+		IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry)
+				.addOneToManySet(Country::getStates, stateMappingBuilder).mappedBy(State::setCountry)
+				.withCollectionJoinsSplit()
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		// preparing data
+		connection.prepareStatement("insert into Country(id, name) values (1, 'France')").execute();
+		connection.prepareStatement("insert into Country(id, name) values (2, 'Italy')").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (1, 'Paris', 1)").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (2, 'Lyon', 1)").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (3, 'Rome', 2)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (1, 'Isere', 1)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (2, 'Ain', 1)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (3, 'Lazio', 2)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (4, 'Umbria', 2)").execute();
+		
+		Mockito.clearInvocations(connection);
+		
+		List<Country> loadedCountries = countryPersister.selectWhere(Country::getName, Operators.eq("France"))
+				.or(Country::getName, Operators.eq("Italy"))
+				.execute();
+		
+		Map<Long, Country> loadedCountriesPerId = Iterables.map(loadedCountries, c -> c.getId().getSurrogate());
+		assertEquals(2, loadedCountries.size());
+		assertEquals(Arrays.asHashSet("Paris", "Lyon"), Iterables.collect(loadedCountriesPerId.get(1L).getCities(), City::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Isere", "Ain"), Iterables.collect(loadedCountriesPerId.get(1L).getStates(), State::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Rome"), Iterables.collect(loadedCountriesPerId.get(2L).getCities(), City::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Lazio", "Umbria"), Iterables.collect(loadedCountriesPerId.get(2L).getStates(), State::getName, HashSet::new));
+		// reverse side is filled with same instance
+		assertTrue(loadedCountriesPerId.get(1L).getStates().stream().allMatch(state -> state.getCountry() == loadedCountriesPerId.get(1L)));
+		
+		// 3 queries : root ids selection, then root entities with their first collection, then second collection
+		ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+		verify(connection, times(3)).prepareStatement(sqlCaptor.capture());
+		List<String> executedSQL = sqlCaptor.getAllValues();
+		assertTrue(executedSQL.get(1).contains("City"));
+		assertFalse(executedSQL.get(1).contains("State"));
+		assertTrue(executedSQL.get(2).contains("State"));
+		assertFalse(executedSQL.get(2).contains("City"));
+	}
+	
+	@Test
+	void selectWhere_collectionJoinsSplit_rootIdsAreSplitPerInOperatorMaxSize() throws SQLException {
+		HSQLDBDialect dialect = new HSQLDBDialect();
+		dialect.getColumnBinderRegistry().register((Class) Identifier.class, Identifier.identifierBinder(DefaultParameterBinders.LONG_PRIMITIVE_BINDER));
+		dialect.getJavaTypeToSqlTypeMapping().put(Identifier.class, "int");
+		dialect.setInOperatorMaxSize(1);
+		Connection connection = Mockito.spy(connectionProvider.getCurrentConnection());
+		PersistenceContext persistenceContext = new PersistenceContext(() -> connection, dialect);
+		
+		IFluentMappingBuilderPropertyOptions<State, Identifier<Long>> stateMappingBuilder = MappingEase.entityBuilder(State.class,
+				Identifier.LONG_TYPE)
+				.add(State::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(State::getName);
+		
+		IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry)
+				.addOneToManySet(Country::getStates, stateMappingBuilder).mappedBy(State::setCountry)
+				.withCollectionJoinsSplit()
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		// preparing data
+		connection.prepareStatement("insert into Country(id, name) values (1, 'France')").execute();
+		connection.prepareStatement("insert into Country(id, name) values (2, 'Italy')").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (1, 'Paris', 1)").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (2, 'Rome', 2)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (1, 'Isere', 1)").execute();
+		connection.prepareStatement("insert into State(id, name, countryId) values (2, 'Lazio', 2)").execute();
+		
+		Mockito.clearInvocations(connection);
+		
+		List<Country> loadedCountries = countryPersister.selectWhere(Country::getName, Operators.eq("France"))
+				.or(Country::getName, Operators.eq("Italy"))
+				.execute();
+		
+		Map<Long, Country> loadedCountriesPerId = Iterables.map(loadedCountries, c -> c.getId().getSurrogate());
+		assertEquals(2, loadedCountries.size());
+		assertEquals(Arrays.asHashSet("Paris"), Iterables.collect(loadedCountriesPerId.get(1L).getCities(), City::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Isere"), Iterables.collect(loadedCountriesPerId.get(1L).getStates(), State::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Rome"), Iterables.collect(loadedCountriesPerId.get(2L).getCities(), City::getName, HashSet::new));
+		assertEquals(Arrays.asHashSet("Lazio"), Iterables.collect(loadedCountriesPerId.get(2L).getStates(), State::getName, HashSet::new));
+		
+		// 5 queries : root ids selection, then for each of the 2 blocks of 1 id : root entities with their first collection, then second
+		// collection
+		ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+		verify(connection, times(5)).prepareStatement(sqlCaptor.capture());
+		List<String> executedSQL = sqlCaptor.getAllValues();
+		executedSQL.subList(1, 5).forEach(sql -> assertTrue(sql.endsWith("in (?)"), sql));
+	}
+	
+	@Test
+	void update_inLoadStateSnapshotSession_aggregateIsNotSelectedAgain() throws SQLException {
+		Connection connection = Mockito.spy(connectionProvider.getCurrentConnection());
+		PersistenceContext persistenceContext = new PersistenceContext(() -> connection, DIALECT);
+		
+		IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		connection.prepareStatement("insert into Country(id, name) values (1, 'France')").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (1, 'Paris', 1)").execute();
+		connection.prepareStatement("insert into City(id, name, countryId) values (2, 'Lyon', 1)").execute();
+		
+		LoadStateSnapshotSession.doWithSnapshots(() -> {
+			Country loadedCountry = countryPersister.select(new PersistedIdentifier<>(1L));
+			Mockito.clearInvocations(connection);
+			loadedCountry.setName("Touraine");
+			loadedCountry.getCities().stream().filter(city -> city.getName().equals("Lyon")).forEach(city -> city.setName("Tours"));
+			countryPersister.update(loadedCountry);
+		});
+		
+		// no select was executed to build unmodified aggregate : only updates of modified entities
+		ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+		verify(connection, times(2)).prepareStatement(sqlCaptor.capture());
+		List<String> executedSQL = sqlCaptor.getAllValues();
+		assertTrue(executedSQL.get(0).startsWith("update Country set"));
+		assertTrue(executedSQL.get(1).startsWith("update City set"));
+		
+		Country reloadedCountry = countryPersister.select(new PersistedIdentifier<>(1L));
+		assertEquals("Touraine", reloadedCountry.getName());
+		assertEquals(Arrays.asHashSet("Paris", "Tours"), Iterables.collect(reloadedCountry.getCities(), City::getName, HashSet::new));
+	}
+	
+	@Test
+	void insert_withBatchSize_relationPersisterUsesIt() throws SQLException {
+		Connection connection = Mockito.spy(connectionProvider.getCurrentConnection());
+		// keeping track of prepared statements to check their batch executions
+		Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+		Mockito.doAnswer(invocation -> {
+			PreparedStatement preparedStatement = Mockito.spy((PreparedStatement) invocation.callRealMethod());
+			preparedStatements.put(invocation.getArgument(0), preparedStatement);
+			return preparedStatement;
+		}).when(connection).prepareStatement(anyString());
+		PersistenceContext persistenceContext = new PersistenceContext(() -> connection, DIALECT);
+		
+		IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+				.withBatchSize(2)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		List<Country> countries = new ArrayList<>();
+		for (long i = 1; i <= 5; i++) {
+			Country country = new Country(new PersistableIdentifier<>(i));
+			country.addCity(new City(new PersistableIdentifier<>(i)));
+			countries.add(country);
+		}
+		countryPersister.insert(countries);
+		
+		// 5 rows per table, by batches of 2 : 3 batch executions for Country as well as for City
+		Map<String, PreparedStatement> insertStatements = new HashMap<>();
+		preparedStatements.forEach((sql, preparedStatement) -> {
+			if (sql.startsWith("insert into ")) {
+				insertStatements.put(sql.substring("insert into ".length(), sql.indexOf('(')), preparedStatement);
+			}
+		});
+		assertEquals(Arrays.asHashSet("Country", "City"), insertStatements.keySet());
+		verify(insertStatements.get("Country"), times(5)).addBatch();
+		verify(insertStatements.get("Country"), times(3)).executeBatch();
+		verify(insertStatements.get("City"), times(5)).addBatch();
+		verify(insertStatements.get("City"), times(3)).executeBatch();
+	}
+	
 	static Object[][] mappedBy_differentWays_data() {
 		// we recreate all the context of our test, else we end up in a static/non-static variable and method conflict because @MethodSource
 		// needs a static provider, whereas a majority of our variables are class attributes, and database schema must be erased between tests
@@ -1214,6 +1421,114 @@ class FluentEntityMappingConfigurationSupportOneToManySetTest {
 		}
 	}
 	
+	@Nested
+	class Fetching {
+		
+		@ParameterizedTest
+		@EnumSource(FetchMode.class)
+		void mappedBy_targetsAreLoaded(FetchMode fetchMode) {
+			IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+					.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Country::getName)
+					.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry).cascading(ALL)
+						.fetching(fetchMode).fetchBatchSize(1)
+					.build(persistenceContext);
+			
+			assertTargetsAreLoaded(countryPersister);
+		}
+		
+		@ParameterizedTest
+		@EnumSource(FetchMode.class)
+		void associationTable_targetsAreLoaded(FetchMode fetchMode) {
+			IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+					.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Country::getName)
+					.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).cascading(ALL)
+						.fetching(fetchMode).fetchBatchSize(1)
+					.build(persistenceContext);
+			
+			assertTargetsAreLoaded(countryPersister);
+		}
+		
+		@Test
+		void lazy_relationIsLoadedOnFirstAccess() {
+			IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+					.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Country::getName)
+					.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry).cascading(ALL)
+						.fetching(FetchMode.LAZY)
+					.build(persistenceContext);
+			
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+			
+			Country country = new Country(new PersistableIdentifier<>(1L));
+			City grenoble = new City(new PersistableIdentifier<>(13L));
+			grenoble.setName("Grenoble");
+			country.addCity(grenoble);
+			countryPersister.insert(country);
+			
+			Country loadedCountry = countryPersister.select(country.getId());
+			assertTrue(LazyCollectionLoader.isUninitialized(loadedCountry.getCities()));
+			assertEquals(Arrays.asHashSet("Grenoble"), Iterables.collect(loadedCountry.getCities(), City::getName, HashSet::new));
+			assertFalse(LazyCollectionLoader.isUninitialized(loadedCountry.getCities()));
+			// reverse side is also set
+			assertEquals(loadedCountry, Iterables.first(loadedCountry.getCities()).getCountry());
+		}
+		
+		@Test
+		void lazy_connectionIsClosedBeforeFirstAccess_relationIsLoadedWithCurrentConnection() throws SQLException {
+			IEntityPersister<Country, Identifier<Long>> countryPersister = MappingEase.entityBuilder(Country.class, Identifier.LONG_TYPE)
+					.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Country::getName)
+					.addOneToManySet(Country::getCities, CITY_MAPPING_CONFIGURATION).mappedBy(City::setCountry).cascading(ALL)
+						.fetching(FetchMode.LAZY)
+					.build(persistenceContext);
+			
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+			
+			Country country = new Country(new PersistableIdentifier<>(1L));
+			City grenoble = new City(new PersistableIdentifier<>(13L));
+			grenoble.setName("Grenoble");
+			country.addCity(grenoble);
+			countryPersister.insert(country);
+			
+			Country loadedCountry = countryPersister.select(country.getId());
+			Connection selectConnection = persistenceContext.getConnectionProvider().getCurrentConnection();
+			selectConnection.commit();
+			selectConnection.close();
+			
+			// proxy doesn't keep the connection used by select, it asks for current one when accessed
+			assertTrue(LazyCollectionLoader.isUninitialized(loadedCountry.getCities()));
+			assertEquals(Arrays.asHashSet("Grenoble"), Iterables.collect(loadedCountry.getCities(), City::getName, HashSet::new));
+			assertFalse(persistenceContext.getConnectionProvider().getCurrentConnection().isClosed());
+		}
+		
+		private void assertTargetsAreLoaded(IEntityPersister<Country, Identifier<Long>> countryPersister) {
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+			
+			Country france = new Country(new PersistableIdentifier<>(1L));
+			City grenoble = new City(new PersistableIdentifier<>(13L));
+			grenoble.setName("Grenoble");
+			france.addCity(grenoble);
+			City lyon = new City(new PersistableIdentifier<>(17L));
+			lyon.setName("Lyon");
+			france.addCity(lyon);
+			Country italy = new Country(new PersistableIdentifier<>(2L));
+			City rome = new City(new PersistableIdentifier<>(21L));
+			rome.setName("Rome");
+			italy.addCity(rome);
+			countryPersister.insert(Arrays.asList(france, italy));
+			
+			Map<Long, Country> loadedCountries = Iterables.map(countryPersister.select(Arrays.asList(france.getId(), italy.getId())),
+					c -> c.getId().getSurrogate());
+			assertEquals(Arrays.asHashSet("Grenoble", "Lyon"), Iterables.collect(loadedCountries.get(1L).getCities(), City::getName, HashSet::new));
+			assertEquals(Arrays.asHashSet("Rome"), Iterables.collect(loadedCountries.get(2L).getCities(), City::getName, HashSet::new));
+		}
+	}
+	
 	@Nested
 	class SelectWithEmptyRelationMustReturnEmptyCollection {
 		
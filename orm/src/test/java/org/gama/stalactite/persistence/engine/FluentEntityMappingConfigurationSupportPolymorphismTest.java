@@ -21,6 +21,7 @@ import org.gama.stalactite.persistence.engine.model.Car;
 import org.gama.stalactite.persistence.engine.model.Color;
 import org.gama.stalactite.persistence.engine.model.Truk;
 import org.gama.stalactite.persistence.engine.model.Vehicle;
+import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredJoinedTablesPersister;
 import org.gama.stalactite.persistence.id.Identifier;
 import org.gama.stalactite.persistence.id.PersistedIdentifier;
 import org.gama.stalactite.persistence.sql.HSQLDBDialect;
@@ -46,6 +47,8 @@ import static org.gama.stalactite.persistence.id.StatefullIdentifierAlreadyAssig
 import static org.gama.stalactite.sql.binder.DefaultParameterBinders.INTEGER_PRIMITIVE_BINDER;
 import static org.gama.stalactite.sql.binder.DefaultParameterBinders.LONG_PRIMITIVE_BINDER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -353,6 +356,16 @@ class FluentEntityMappingConfigurationSupportPolymorphismTest {
 			List<? extends Vehicle> loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyTruk), new HashSet<>(loadedVehicles));
 			
+			// terminal operations that don't load entities
+			IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>> vehicleQueryPersister =
+					(IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>>) abstractVehiclePersister;
+			assertEquals(1, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).count());
+			assertEquals(0, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).count());
+			assertTrue(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).exists());
+			assertFalse(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).exists());
+			assertEquals(Arrays.asList(new Color(42)),
+					vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).executeProjection(Vehicle::getColor));
+			
 			loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(256))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyCar), new HashSet<>(loadedVehicles));
 			
@@ -651,6 +664,16 @@ class FluentEntityMappingConfigurationSupportPolymorphismTest {
 			List<? extends Vehicle> loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyTruk), new HashSet<>(loadedVehicles));
 			
+			// terminal operations that don't load entities
+			IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>> vehicleQueryPersister =
+					(IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>>) abstractVehiclePersister;
+			assertEquals(1, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).count());
+			assertEquals(0, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).count());
+			assertTrue(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).exists());
+			assertFalse(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).exists());
+			assertEquals(Arrays.asList(new Color(42)),
+					vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).executeProjection(Vehicle::getColor));
+			
 			loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(256))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyCar), new HashSet<>(loadedVehicles));
 			
@@ -918,6 +941,16 @@ class FluentEntityMappingConfigurationSupportPolymorphismTest {
 			List<? extends Vehicle> loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyTruk), new HashSet<>(loadedVehicles));
 
+			// terminal operations that don't load entities
+			IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>> vehicleQueryPersister =
+					(IEntityConfiguredJoinedTablesPersister<Vehicle, Identifier<Long>>) abstractVehiclePersister;
+			assertEquals(1, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).count());
+			assertEquals(0, vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).count());
+			assertTrue(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).exists());
+			assertFalse(vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(43))).exists());
+			assertEquals(Arrays.asList(new Color(42)),
+					vehicleQueryPersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(42))).executeProjection(Vehicle::getColor));
+
 			loadedVehicles = abstractVehiclePersister.selectWhere(Vehicle::getColor, Operators.eq(new Color(666))).execute();
 			Assertions.assertAllEquals(Arrays.asHashSet(dummyCar), new HashSet<>(loadedVehicles));
 
@@ -43,6 +43,7 @@ import org.gama.stalactite.persistence.engine.model.Timestamp;
 import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredJoinedTablesPersister;
 import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredPersister;
 import org.gama.stalactite.persistence.engine.runtime.JoinedTablesPersister;
+import org.gama.stalactite.persistence.engine.runtime.LoadStateSnapshotSession;
 import org.gama.stalactite.persistence.engine.runtime.PersisterWrapper;
 import org.gama.stalactite.persistence.id.Identified;
 import org.gama.stalactite.persistence.id.Identifier;
@@ -53,8 +54,12 @@ import org.gama.stalactite.persistence.sql.HSQLDBDialect;
 import org.gama.stalactite.persistence.structure.Column;
 import org.gama.stalactite.persistence.structure.ForeignKey;
 import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.model.Operators;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.ReadWriteRoutingConnectionProvider;
+import org.gama.stalactite.sql.ReadWriteRoutingConnectionProvider.ReplicaSelection;
 import org.gama.stalactite.sql.SimpleConnectionProvider;
+import org.gama.stalactite.sql.TransactionObserver;
 import org.gama.stalactite.sql.binder.DefaultParameterBinders;
 import org.gama.stalactite.sql.binder.LambdaParameterBinder;
 import org.gama.stalactite.sql.binder.NullAwareParameterBinder;
@@ -66,6 +71,8 @@ import org.gama.stalactite.test.JdbcConnectionProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import static org.gama.lang.collection.Iterables.collect;
 import static org.gama.lang.function.Functions.chain;
@@ -79,6 +86,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -1289,6 +1297,234 @@ class FluentEntityMappingConfigurationSupportTest {
 		assertEquals(null, loadedPerson.getGender());
 	}
 	
+	@Test
+	void update_inLoadStateSnapshotSession_entitiesAreNotSelectedAgain() throws SQLException {
+		Connection connection = Mockito.spy(new JdbcConnectionProvider(dataSource).getCurrentConnection());
+		PersistenceContext persistenceContext = new PersistenceContext(() -> connection, dialect);
+		IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		Person person1 = new Person(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		Person person2 = new Person(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		personPersister.insert(Arrays.asList(person1, person2));
+		
+		LoadStateSnapshotSession.doWithSnapshots(() -> {
+			List<Person> loadedPersons = personPersister.select(Arrays.asList(person1.getId(), person2.getId()));
+			Mockito.clearInvocations(connection);
+			loadedPersons.forEach(person -> person.setName(person.getName() + " modified"));
+			personPersister.update(loadedPersons);
+		});
+		
+		// only the update was executed
+		ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+		verify(connection).prepareStatement(sqlCaptor.capture());
+		assertEquals("update Person set name = ? where id = ?", sqlCaptor.getValue());
+		
+		List<String> names = persistenceContext.newQuery("select name from Person", String.class)
+				.mapKey(String::new, "name", String.class)
+				.execute();
+		assertEquals(Arrays.asHashSet("toto modified", "tata modified"), new HashSet<>(names));
+	}
+	
+	@Test
+	void select_readWriteRoutingConnectionProvider_replicaIsReadUntilPersisterWrites() throws SQLException {
+		Connection primaryConnection = dataSource.getConnection();
+		primaryConnection.setAutoCommit(false);
+		DataSource replicaDataSource = new HSQLDBInMemoryDataSource();
+		ReadWriteRoutingConnectionProvider connectionProvider = new ReadWriteRoutingConnectionProvider(new SimpleConnectionProvider(primaryConnection),
+				Arrays.asList(replicaDataSource), ReplicaSelection.ROUND_ROBIN);
+		PersistenceContext persistenceContext = new PersistenceContext(connectionProvider, dialect);
+		connectionProvider.observe((TransactionObserver) persistenceContext.getConnectionProvider());
+		IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		Person person = new Person(new PersistableIdentifier<>(1L));
+		person.setName("primary");
+		personPersister.insert(person);
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		
+		// replica is given a different value to distinguish it from primary
+		try (Connection replicaConnection = replicaDataSource.getConnection()) {
+			for (String creationScript : ddlDeployer.getCreationScripts()) {
+				replicaConnection.prepareStatement(creationScript).execute();
+			}
+			replicaConnection.prepareStatement("insert into Person(id, name) values (1, 'replica')").execute();
+		}
+		
+		assertEquals("replica", personPersister.select(person.getId()).getName());
+		
+		person.setName("modified");
+		personPersister.update(person, personPersister.select(person.getId()), true);
+		// transaction has written on primary : its changes must be visible
+		assertEquals("modified", personPersister.select(person.getId()).getName());
+		
+		persistenceContext.getConnectionProvider().getCurrentConnection().commit();
+		assertEquals("replica", personPersister.select(person.getId()).getName());
+	}
+	
+	@Test
+	void deleteWhere() {
+		IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		Person person1 = new Person(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		Person person2 = new Person(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		Person person3 = new Person(new PersistableIdentifier<>(3L));
+		person3.setName("titi");
+		personPersister.insert(Arrays.asList(person1, person2, person3));
+		
+		int deletedRowCount = personPersister.deleteWhere(Person::getName, Operators.eq("toto"))
+				.or(Person::getName, Operators.eq("tata"))
+				.execute();
+		assertEquals(2, deletedRowCount);
+		List<String> remainingNames = persistenceContext.newQuery("select name from Person", String.class)
+				.mapKey(String::new, "name", String.class)
+				.execute();
+		assertEquals(Arrays.asList("titi"), remainingNames);
+	}
+	
+	@Test
+	void updateWhere() {
+		IEntityConfiguredPersister<PersonWithGender, Identifier<Long>> personPersister = MappingEase.entityBuilder(PersonWithGender.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.addEnum(PersonWithGender::getGender)
+				.build(persistenceContext);
+		
+		Column gender = (Column) personPersister.getMappingStrategy().getTargetTable().mapColumnsOnName().get("gender");
+		dialect.getJavaTypeToSqlTypeMapping().put(gender, "VARCHAR(255)");
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		PersonWithGender person1 = new PersonWithGender(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		person1.setGender(Gender.MALE);
+		PersonWithGender person2 = new PersonWithGender(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		person2.setGender(Gender.FEMALE);
+		personPersister.insert(Arrays.asList(person1, person2));
+		
+		int updatedRowCount = personPersister.updateWhere(PersonWithGender::getGender, Operators.eq(Gender.MALE))
+				.set(PersonWithGender::getName, "tutu")
+				.set(PersonWithGender::getGender, null)
+				.execute();
+		assertEquals(1, updatedRowCount);
+		PersonWithGender loadedPerson1 = personPersister.select(person1.getId());
+		assertEquals("tutu", loadedPerson1.getName());
+		assertNull(loadedPerson1.getGender());
+		PersonWithGender loadedPerson2 = personPersister.select(person2.getId());
+		assertEquals("tata", loadedPerson2.getName());
+		assertEquals(Gender.FEMALE, loadedPerson2.getGender());
+	}
+	
+	@Test
+	void selectWhere_executeProjection() {
+		IEntityConfiguredJoinedTablesPersister<PersonWithGender, Identifier<Long>> personPersister = (IEntityConfiguredJoinedTablesPersister<PersonWithGender, Identifier<Long>>)
+				MappingEase.entityBuilder(PersonWithGender.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.addEnum(PersonWithGender::getGender)
+				.build(persistenceContext);
+		
+		Column gender = (Column) personPersister.getMappingStrategy().getTargetTable().mapColumnsOnName().get("gender");
+		dialect.getJavaTypeToSqlTypeMapping().put(gender, "VARCHAR(255)");
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		PersonWithGender person1 = new PersonWithGender(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		person1.setGender(Gender.MALE);
+		PersonWithGender person2 = new PersonWithGender(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		person2.setGender(Gender.FEMALE);
+		PersonWithGender person3 = new PersonWithGender(new PersistableIdentifier<>(3L));
+		person3.setName("titi");
+		person3.setGender(Gender.MALE);
+		personPersister.insert(Arrays.asList(person1, person2, person3));
+		
+		List<String> names = personPersister.selectWhere(PersonWithGender::getGender, Operators.eq(Gender.MALE))
+				.executeProjection(PersonWithGender::getName);
+		assertEquals(Arrays.asHashSet("toto", "titi"), new HashSet<>(names));
+		
+		List<Duo<String, Gender>> nameAndGenders = personPersister.selectWhere(PersonWithGender::getName, Operators.eq("tata"))
+				.or(PersonWithGender::getName, Operators.eq("titi"))
+				.executeProjection(Duo::new, PersonWithGender::getName, PersonWithGender::getGender);
+		assertEquals(Arrays.asHashSet(new Duo<>("tata", Gender.FEMALE), new Duo<>("titi", Gender.MALE)), new HashSet<>(nameAndGenders));
+	}
+	
+	@Test
+	void selectWhere_countAndExists() {
+		IEntityConfiguredJoinedTablesPersister<Person, Identifier<Long>> personPersister = (IEntityConfiguredJoinedTablesPersister<Person, Identifier<Long>>)
+				MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		Person person1 = new Person(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		Person person2 = new Person(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		Person person3 = new Person(new PersistableIdentifier<>(3L));
+		person3.setName("toto");
+		personPersister.insert(Arrays.asList(person1, person2, person3));
+		
+		assertEquals(2, personPersister.selectWhere(Person::getName, Operators.eq("toto")).count());
+		assertEquals(0, personPersister.selectWhere(Person::getName, Operators.eq("titi")).count());
+		assertTrue(personPersister.selectWhere(Person::getName, Operators.eq("toto")).exists());
+		assertFalse(personPersister.selectWhere(Person::getName, Operators.eq("titi")).exists());
+	}
+	
+	@Test
+	void upsert() {
+		IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+				.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Person::getName)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		Person person1 = new Person(new PersistableIdentifier<>(1L));
+		person1.setName("toto");
+		personPersister.insert(person1);
+		
+		// an instance with same identifier as an existing row is updated whereas a new one is inserted
+		Person person1Copy = new Person(new PersistableIdentifier<>(1L));
+		person1Copy.setName("tutu");
+		Person person2 = new Person(new PersistableIdentifier<>(2L));
+		person2.setName("tata");
+		personPersister.upsert(Arrays.asList(person1Copy, person2));
+		
+		assertTrue(person2.getId().isPersisted());
+		List<String> names = persistenceContext.newQuery("select name from Person order by id", String.class)
+				.mapKey(String::new, "name", String.class)
+				.execute();
+		assertEquals(Arrays.asList("tutu", "tata"), names);
+	}
+	
 	@Nested
 	class CollectionOfElements {
 		
@@ -1397,6 +1633,63 @@ class FluentEntityMappingConfigurationSupportTest {
 			assertEquals(Collections.emptyList(), remainingNickNames);
 		}
 		
+		@Test
+		void update_replaceWholeCollection() {
+			IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+					.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Person::getName)
+					.addCollection(Person::getNicknames, String.class)
+						.replaceWholeCollection()
+					.build(persistenceContext);
+		
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+		
+			Person person = new Person(new PersistableIdentifier<>(1L));
+			person.setName("toto");
+			person.initNicknames();
+			person.addNickname("tonton");
+			person.addNickname("tintin");
+		
+			personPersister.insert(person);
+		
+			Person loadedPerson = personPersister.select(person.getId());
+			assertEquals(Arrays.asSet("tintin", "tonton"), loadedPerson.getNicknames());
+		
+			loadedPerson.getNicknames().remove("tintin");
+			loadedPerson.addNickname("toutou");
+			personPersister.update(loadedPerson, person, true);
+			loadedPerson = personPersister.select(person.getId());
+			assertEquals(Arrays.asSet("tonton", "toutou"), loadedPerson.getNicknames());
+		}
+		
+		@Test
+		void deleteById_replaceWholeCollection() {
+			IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
+					.add(Person::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+					.add(Person::getName)
+					.addCollection(Person::getNicknames, String.class)
+						.replaceWholeCollection()
+					.build(persistenceContext);
+		
+			DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+			ddlDeployer.deployDDL();
+		
+			Person person = new Person(new PersistableIdentifier<>(1L));
+			person.setName("toto");
+			person.initNicknames();
+			person.addNickname("tonton");
+			person.addNickname("tintin");
+		
+			personPersister.insert(person);
+		
+			personPersister.deleteById(person);
+			List<String> remainingNickNames = persistenceContext.newQuery("select nickNames from Person_nicknames", String.class)
+					.mapKey(String::new, "nickNames", String.class)
+					.execute();
+			assertEquals(Collections.emptyList(), remainingNickNames);
+		}
+		
 		@Test
 		void withCollectionFactory() {
 			IEntityConfiguredPersister<Person, Identifier<Long>> personPersister = MappingEase.entityBuilder(Person.class, Identifier.LONG_TYPE)
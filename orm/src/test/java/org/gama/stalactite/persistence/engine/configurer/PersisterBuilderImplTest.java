@@ -39,6 +39,7 @@ import org.gama.stalactite.persistence.engine.model.Color;
 import org.gama.stalactite.persistence.engine.model.Country;
 import org.gama.stalactite.persistence.engine.model.Timestamp;
 import org.gama.stalactite.persistence.engine.model.Vehicle;
+import org.gama.stalactite.persistence.engine.runtime.LoadStateSnapshotSession;
 import org.gama.stalactite.persistence.id.Identifier;
 import org.gama.stalactite.persistence.id.StatefullIdentifierAlreadyAssignedIdentifierPolicy;
 import org.gama.stalactite.persistence.sql.HSQLDBDialect;
@@ -642,6 +643,49 @@ public class PersisterBuilderImplTest {
 		
 	}
 	
+	@Test
+	void build_createsAnInstanceThatDoesntSelectEntitiesLoadedInASnapshotSessionOnUpdate() throws SQLException {
+		PersisterBuilderImpl testInstance = new PersisterBuilderImpl(
+				entityBuilder(Car.class, Identifier.class)
+						.add(Car::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Car::getModel));
+		ConnectionProvider connectionProviderMock = mock(ConnectionProvider.class, withSettings().defaultAnswer(Answers.RETURNS_MOCKS));
+		Connection connectionMock = mock(Connection.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(connectionMock);
+		ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+		PreparedStatement preparedStatementMock = mock(PreparedStatement.class);
+		when(connectionMock.prepareStatement(sqlCaptor.capture())).thenReturn(preparedStatementMock);
+		when(preparedStatementMock.executeBatch()).thenReturn(new int[] { 1 });
+		when(preparedStatementMock.executeQuery()).thenReturn(new InMemoryResultSet(Arrays.asList(Maps.forHashMap(String.class, Object.class)
+				.add("Car_id", 1L)
+				.add("Car_model", "Renault"))));
+		
+		IEntityPersister<Car, Identifier> result = testInstance.build(new PersistenceContext(connectionProviderMock, DIALECT));
+		Car dummyCar = new Car(1L);
+		dummyCar.setModel("Renault");
+		
+		result.insert(dummyCar);
+		
+		LoadStateSnapshotSession.doWithSnapshots(() -> {
+			Car loadedCar = result.select(dummyCar.getId());
+			loadedCar.setModel("Peugeot");
+			// this should not execute any SQL select since loaded data are kept by session
+			result.update(loadedCar);
+		});
+		
+		assertEquals(Arrays.asList(
+				"insert into Car(id, model) values (?, ?)",
+				"select Car.model as Car_model, Car.id as Car_id from Car where Car.id in (?)",
+				"update Car set model = ? where id = ?"
+				), sqlCaptor.getAllValues());
+		ArgumentCaptor<Integer> valueIndexCaptor = ArgumentCaptor.forClass(int.class);
+		ArgumentCaptor<String> valueCaptor = ArgumentCaptor.forClass(String.class);
+		verify(preparedStatementMock, times(2)).setString(valueIndexCaptor.capture(), valueCaptor.capture());
+		assertEquals(Arrays.asList("Renault", "Peugeot"), valueCaptor.getAllValues());
+		
+		verify(preparedStatementMock).executeQuery();
+	}
+	
 	@Test
 	void build_resultAssertsThatPersisterManageGivenEntities() {
 		PersisterBuilderImpl testInstance = new PersisterBuilderImpl(
@@ -219,8 +219,8 @@ public class EntityMappingStrategyTreeSelectExecutorTest {
 				classMappingStrategy, dialect, mock(ConnectionProvider.class)) {
 			
 			@Override
-			InternalExecutor newInternalExecutor(EntityTreeQuery<Object> entityTreeQuery) {
-				return new InternalExecutor(entityTreeQuery, this.getConnectionProvider()) {
+			InternalExecutor newInternalExecutor(EntityTreeQuery<Object> entityTreeQuery, ConnectionProvider connectionProvider) {
+				return new InternalExecutor(entityTreeQuery, connectionProvider) {
 					@Override
 					List<Object> execute(String sql, Collection<? extends List<Object>> idsParcels,
 										 Map<Column<Table, Object>, int[]> inOperatorValueIndexes) {
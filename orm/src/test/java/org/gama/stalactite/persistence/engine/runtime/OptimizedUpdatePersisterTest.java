@@ -15,11 +15,14 @@ import org.gama.lang.collection.Maps;
 import org.gama.lang.collection.Maps.ChainingHashMap;
 import org.gama.stalactite.persistence.sql.IConnectionConfiguration.ConnectionConfigurationSupport;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.ReadConnectionProvider;
 import org.gama.stalactite.sql.RollbackListener;
 import org.gama.stalactite.sql.RollbackObserver;
 import org.gama.stalactite.sql.TransactionAwareConnectionProvider;
 import org.gama.stalactite.sql.binder.DefaultResultSetReaders;
 import org.gama.stalactite.sql.binder.ResultSetReader;
+import org.gama.stalactite.sql.dml.PreparedSQL;
+import org.gama.stalactite.sql.dml.ReadOperation;
 import org.gama.stalactite.sql.result.InMemoryResultSet;
 import org.gama.stalactite.sql.result.RowIterator;
 import org.gama.stalactite.test.JdbcConnectionProvider;
@@ -31,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -106,4 +110,54 @@ class OptimizedUpdatePersisterTest {
 		
 		assertEquals(cachedValues, data);
 	}
-}
\ No newline at end of file
+	
+	@Test
+	void cachingQueryConnectionProvider_readConnectionIsCachingToo() throws SQLException {
+		Connection readConnectionMock = mock(Connection.class);
+		ReadConnectionProvider connectionProviderMock = mock(ReadConnectionProvider.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(mock(Connection.class));
+		when(connectionProviderMock.giveReadConnection()).thenReturn(readConnectionMock);
+		when(readConnectionMock.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+		ConnectionProvider testInstance = OptimizedUpdatePersister.wrapWithQueryCache(
+				new ConnectionConfigurationSupport(new TransactionAwareConnectionProvider(connectionProviderMock), 10)).getConnectionProvider();
+		assertTrue(testInstance instanceof ReadConnectionProvider);
+		
+		Connection readConnection = ((ReadConnectionProvider) testInstance).giveReadConnection();
+		OptimizedUpdatePersister.QUERY_CACHE.set(new HashMap<>());
+		try {
+			// while query cache is active, statements are not created by real connection
+			readConnection.prepareStatement("select * from Toto");
+			verify(readConnectionMock, never()).prepareStatement(anyString());
+		} finally {
+			OptimizedUpdatePersister.QUERY_CACHE.remove();
+		}
+		readConnection.prepareStatement("select * from Toto");
+		verify(readConnectionMock).prepareStatement("select * from Toto");
+		
+		// real read connection is given back to its provider
+		((ReadConnectionProvider) testInstance).releaseReadConnection(readConnection);
+		verify(connectionProviderMock).releaseReadConnection(readConnectionMock);
+	}
+	
+	@Test
+	void cachingQueryConnectionProvider_readOperationIsExecutedWithReadConnection() throws SQLException {
+		Connection connectionMock = mock(Connection.class);
+		Connection readConnectionMock = mock(Connection.class);
+		PreparedStatement preparedStatementMock = mock(PreparedStatement.class);
+		ReadConnectionProvider connectionProviderMock = mock(ReadConnectionProvider.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(connectionMock);
+		when(connectionProviderMock.giveReadConnection()).thenReturn(readConnectionMock);
+		when(readConnectionMock.prepareStatement(anyString())).thenReturn(preparedStatementMock);
+		when(preparedStatementMock.executeQuery()).thenReturn(new InMemoryResultSet(new ArrayList<>()));
+		ConnectionProvider testInstance = OptimizedUpdatePersister.wrapWithQueryCache(
+				new ConnectionConfigurationSupport(new TransactionAwareConnectionProvider(connectionProviderMock), 10)).getConnectionProvider();
+		
+		ReadOperation<Integer> readOperation = new ReadOperation<>(new PreparedSQL("select * from Toto", new HashMap<>()), testInstance);
+		readOperation.execute();
+		readOperation.close();
+		
+		verify(readConnectionMock).prepareStatement("select * from Toto");
+		verify(connectionMock, never()).prepareStatement(anyString());
+		verify(connectionProviderMock).releaseReadConnection(readConnectionMock);
+	}
+}
@@ -0,0 +1,126 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.engine.ISelectExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Guillaume Mary
+ */
+class SecondPhaseLoadQueueTest {
+	
+	/**
+	 * Manager identifier per employee identifier
+	 */
+	private final Map<Long, Long> managerIds = new HashMap<>();
+	
+	/** Identifiers given to each select invocation */
+	private final List<Set<Long>> selectInvocations = new ArrayList<>();
+	
+	private final ISelectExecutor<Employee, Long> employeeSelector = new ISelectExecutor<Employee, Long>() {
+		@Override
+		public List<Employee> select(Iterable<Long> ids) {
+			Set<Long> selectedIds = new TreeSet<>();
+			ids.forEach(selectedIds::add);
+			selectInvocations.add(selectedIds);
+			List<Employee> result = new ArrayList<>();
+			selectedIds.forEach(id -> result.add(new Employee(id)));
+			// simulating a select listener that loads manager of selected employees
+			loadManagers(result);
+			return result;
+		}
+	};
+	
+	private void loadManagers(List<Employee> employees) {
+		Set<Long> ids = new TreeSet<>();
+		employees.forEach(e -> {
+			Long managerId = managerIds.get(e.id);
+			// employees at the top of the hierarchy have no manager
+			if (managerId != null) {
+				ids.add(managerId);
+			}
+		});
+		SecondPhaseLoadQueue.load(employeeSelector, e -> e.id, ids, employees, managerPerId ->
+				employees.forEach(e -> e.manager = managerPerId.get(managerIds.get(e.id))));
+	}
+	
+	@Test
+	void load_cycle_eachEntityIsLoadedOnce() {
+		managerIds.put(1L, 2L);
+		managerIds.put(2L, 3L);
+		managerIds.put(3L, 1L);
+		
+		List<Employee> employees = employeeSelector.select(Arrays.asList(1L));
+		
+		Employee employee1 = employees.get(0);
+		assertEquals(2L, (long) employee1.manager.id);
+		assertEquals(3L, (long) employee1.manager.manager.id);
+		// cycle is resolved with already loaded instance
+		assertSame(employee1, employee1.manager.manager.manager);
+		assertEquals(Arrays.asList(Arrays.asHashSet(1L), Arrays.asHashSet(2L), Arrays.asHashSet(3L)), selectInvocations);
+	}
+	
+	@Test
+	void load_nestedRelationsAreFullyLoadedWhenRootSelectReturns() {
+		// a chain without cycle : each employee loading requests its manager one, which is queued until root select ends
+		managerIds.put(1L, 2L);
+		managerIds.put(2L, 3L);
+		managerIds.put(3L, 4L);
+		managerIds.put(4L, 5L);
+		
+		List<Employee> employees = employeeSelector.select(Arrays.asList(1L));
+		
+		// whole graph is available as soon as root select returns, whatever its depth
+		Employee employee = employees.get(0);
+		List<Long> chainIds = new ArrayList<>();
+		while (employee != null) {
+			chainIds.add(employee.id);
+			employee = employee.manager;
+		}
+		assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), chainIds);
+		assertEquals(Arrays.asList(Arrays.asHashSet(1L), Arrays.asHashSet(2L), Arrays.asHashSet(3L), Arrays.asHashSet(4L), Arrays.asHashSet(5L)),
+				selectInvocations);
+	}
+	
+	@Test
+	void load_requestsOfSameDepthAreGrouped() {
+		managerIds.put(1L, 3L);
+		managerIds.put(2L, 4L);
+		managerIds.put(3L, 5L);
+		managerIds.put(4L, 5L);
+		managerIds.put(5L, 5L);
+		
+		Map<Long, Employee> loadedEmployees = new HashMap<>();
+		SecondPhaseLoadQueue.loadTogether(() -> {
+			SecondPhaseLoadQueue.load(employeeSelector, e -> e.id, Collections.singleton(1L), Collections.emptyList(), loadedEmployees::putAll);
+			SecondPhaseLoadQueue.load(employeeSelector, e -> e.id, Collections.singleton(2L), Collections.emptyList(), loadedEmployees::putAll);
+		});
+		
+		assertEquals(Arrays.asHashSet(1L, 2L), loadedEmployees.keySet());
+		// 5 is shared manager of 3 and 4 : same instance is given to both
+		assertSame(loadedEmployees.get(1L).manager.manager, loadedEmployees.get(2L).manager.manager);
+		assertEquals(Arrays.asList(Arrays.asHashSet(1L, 2L), Arrays.asHashSet(3L, 4L), Arrays.asHashSet(5L)), selectInvocations);
+	}
+	
+	private static class Employee {
+		
+		private final Long id;
+		
+		private Employee manager;
+		
+		private Employee(Long id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.gama.stalactite.persistence.engine.runtime;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.gama.lang.collection.Maps;
+import org.gama.stalactite.persistence.sql.dml.binder.ColumnBinderRegistry;
+import org.gama.stalactite.persistence.structure.Column;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.model.Criteria;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.gama.stalactite.query.model.Operators.eq;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Guillaume Mary
+ */
+class TablePerClassPolymorphicEntitySelectExecutorTest {
+	
+	private ConnectionProvider connectionProviderMock;
+	private TablePerClassPolymorphicEntitySelectExecutor<Object, Object, Table> testInstance;
+	private Column nameColumn;
+	private Criteria nestedCriteria;
+	
+	@BeforeEach
+	void initTest() {
+		Table mainTable = new Table("Vehicle");
+		nameColumn = mainTable.addColumn("name", String.class);
+		Table subTable = new Table("Car");
+		subTable.addColumn("name", String.class);
+		Map<Class, Table> tablePerSubConfiguration = Maps.asMap(Object.class, subTable);
+		connectionProviderMock = mock(ConnectionProvider.class);
+		testInstance = new TablePerClassPolymorphicEntitySelectExecutor<>(tablePerSubConfiguration, Collections.emptyMap(), mainTable,
+				connectionProviderMock, new ColumnBinderRegistry());
+		
+		// nested criteria can't be applied on sub-tables
+		nestedCriteria = new Criteria().and(new Criteria(nameColumn, eq("Renault")).or(nameColumn, eq("Peugeot")));
+	}
+	
+	@Test
+	void count_unsupportedCriteria_throwsException() {
+		assertThrows(UnsupportedOperationException.class, () -> testInstance.count(nestedCriteria));
+		verifyZeroInteractions(connectionProviderMock);
+	}
+	
+	@Test
+	void exists_unsupportedCriteria_throwsException() {
+		assertThrows(UnsupportedOperationException.class, () -> testInstance.exists(nestedCriteria));
+		verifyZeroInteractions(connectionProviderMock);
+	}
+	
+	@Test
+	void loadProjection_unsupportedCriteria_throwsException() {
+		assertThrows(UnsupportedOperationException.class,
+				() -> testInstance.loadProjection(nestedCriteria, Collections.singletonList(nameColumn), values -> values[0]));
+		verifyZeroInteractions(connectionProviderMock);
+	}
+}
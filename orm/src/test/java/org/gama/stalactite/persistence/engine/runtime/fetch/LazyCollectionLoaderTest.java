@@ -0,0 +1,129 @@
+package org.gama.stalactite.persistence.engine.runtime.fetch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gama.lang.collection.Arrays;
+import org.gama.stalactite.persistence.engine.model.City;
+import org.gama.stalactite.persistence.engine.model.Country;
+import org.gama.stalactite.persistence.engine.runtime.ManyRelationDescriptor;
+import org.gama.stalactite.persistence.id.Identifier;
+import org.gama.stalactite.persistence.id.PersistedIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class LazyCollectionLoaderTest {
+	
+	private RelationTargetsLoader<Identifier<Long>, City, Identifier<Long>> targetsLoaderMock;
+	
+	private Country france;
+	
+	private Country italy;
+	
+	private City grenoble;
+	
+	private City lyon;
+	
+	private City rome;
+	
+	@BeforeEach
+	void initData() {
+		targetsLoaderMock = mock(RelationTargetsLoader.class);
+		france = new Country(new PersistedIdentifier<>(1L));
+		italy = new Country(new PersistedIdentifier<>(2L));
+		grenoble = new City(new PersistedIdentifier<>(13L));
+		lyon = new City(new PersistedIdentifier<>(17L));
+		rome = new City(new PersistedIdentifier<>(21L));
+		Map<Identifier<Long>, List<City>> citiesPerCountryId = new HashMap<>();
+		citiesPerCountryId.put(france.getId(), Arrays.asList(lyon, grenoble));
+		citiesPerCountryId.put(italy.getId(), Arrays.asList(rome));
+		when(targetsLoaderMock.load(any())).thenReturn(citiesPerCountryId);
+	}
+	
+	@Test
+	void toString_doesntLoadRelation() {
+		LazyCollectionLoader<Country, Identifier<Long>, City, Identifier<Long>, Set<City>> testInstance = new LazyCollectionLoader<>(
+				Country::getId, targetsLoaderMock,
+				new ManyRelationDescriptor<>(Country::getCities, Country::setCities, HashSet::new, City::setCountry),
+				(Class<Set<City>>) (Class) Set.class, 10);
+		testInstance.afterSelect(Arrays.asList(france, italy));
+		
+		Set<City> franceCities = france.getCities();
+		assertTrue(franceCities.toString().startsWith("Uninitialized lazy Set"));
+		
+		verifyZeroInteractions(targetsLoaderMock);
+		assertTrue(LazyCollectionLoader.isUninitialized(franceCities));
+		
+		// any other method loads relation
+		assertEquals(2, franceCities.size());
+		assertFalse(LazyCollectionLoader.isUninitialized(franceCities));
+		assertEquals(Arrays.asHashSet(lyon, grenoble), franceCities);
+	}
+	
+	@Test
+	void equals_hashCode_areBasedOnContent_loadRelation() {
+		LazyCollectionLoader<Country, Identifier<Long>, City, Identifier<Long>, Set<City>> testInstance = new LazyCollectionLoader<>(
+				Country::getId, targetsLoaderMock,
+				new ManyRelationDescriptor<>(Country::getCities, Country::setCities, HashSet::new, City::setCountry),
+				(Class<Set<City>>) (Class) Set.class, 10);
+		testInstance.afterSelect(Arrays.asList(france, italy));
+		
+		Set<City> franceCities = france.getCities();
+		Set<City> italyCities = italy.getCities();
+		assertEquals(Arrays.asHashSet(lyon, grenoble).hashCode(), franceCities.hashCode());
+		assertFalse(LazyCollectionLoader.isUninitialized(franceCities));
+		// siblings are loaded in same batch
+		verify(targetsLoaderMock, times(1)).load(any());
+		
+		assertEquals(Arrays.asHashSet(rome), italyCities);
+		assertEquals(italyCities, Arrays.asHashSet(rome));
+		assertNotEquals(franceCities, italyCities);
+		
+		// hash code is stable whatever the proxy state, so proxies can be used as keys of a Map
+		Country spain = new Country(new PersistedIdentifier<>(3L));
+		Map<Identifier<Long>, List<City>> citiesPerCountryId = new HashMap<>();
+		citiesPerCountryId.put(spain.getId(), Arrays.asList(new City(new PersistedIdentifier<>(31L))));
+		when(targetsLoaderMock.load(any())).thenReturn(citiesPerCountryId);
+		testInstance.afterSelect(Arrays.asList(spain));
+		Set<City> spainCities = spain.getCities();
+		Map<Set<City>, String> countryNamePerCities = new HashMap<>();
+		countryNamePerCities.put(spainCities, "Spain");
+		spainCities.size();
+		assertEquals("Spain", countryNamePerCities.get(spainCities));
+	}
+	
+	@Test
+	void list_targetsAreLoadedInOrder_siblingsAreLoadedInSameBatch() {
+		LazyCollectionLoader<Country, Identifier<Long>, City, Identifier<Long>, List<City>> testInstance = new LazyCollectionLoader<>(
+				Country::getId, targetsLoaderMock,
+				new ManyRelationDescriptor<>(Country::getAncientCities, Country::setAncientCities, ArrayList::new, City::setCountry),
+				(Class<List<City>>) (Class) List.class, 10);
+		testInstance.afterSelect(Arrays.asList(france, italy));
+		
+		assertEquals(Arrays.asList(lyon, grenoble), france.getAncientCities());
+		assertSame(france, lyon.getCountry());
+		assertEquals(Arrays.asList(rome), italy.getAncientCities());
+		assertSame(italy, rome.getCountry());
+		// italy cities were loaded at same time as france ones
+		verify(targetsLoaderMock, times(1)).load(any());
+	}
+}
@@ -242,6 +242,54 @@ class EntityJoinTreeTest {
 		
 	}
 	
+	@Test
+	void copyWithJoinsTo() {
+		ClassMappingStrategy totoMappingMock = buildMappingStrategyMock("Toto");
+		Table totoTable = totoMappingMock.getTargetTable();
+		Column totoPrimaryKey = totoTable.addColumn("id", long.class);
+		
+		ClassMappingStrategy tataMappingMock = buildMappingStrategyMock("Tata");
+		Table tataTable = tataMappingMock.getTargetTable();
+		Column tataPrimaryKey = tataTable.addColumn("id", long.class);
+		
+		ClassMappingStrategy tutuMappingMock = buildMappingStrategyMock("Tutu");
+		Table tutuTable = tutuMappingMock.getTargetTable();
+		Column tutuPrimaryKey = tutuTable.addColumn("id", long.class);
+		
+		ClassMappingStrategy titiMappingMock = buildMappingStrategyMock("Titi");
+		Table titiTable = titiMappingMock.getTargetTable();
+		Column titiPrimaryKey = titiTable.addColumn("id", long.class);
+		
+		// a table with same name as Tutu, but on another node, to check that nodes are not compared by table name
+		Table tutuTableClone = new Table("Tutu");
+		ClassMappingStrategy tutuCloneMappingMock = buildMappingStrategyMock(tutuTableClone);
+		Column tutuClonePrimaryKey = tutuTableClone.addColumn("id", long.class);
+		
+		// Given following tree:
+		// Toto.id = Tata.id (X)
+		//   Tata.id = Tutu.id (Y)
+		//   Tata.id = Titi.id (Z)
+		// Toto.id = Tutu.id (X')
+		EntityJoinTree<?, ?> entityJoinTree = new EntityJoinTree(new EntityMappingStrategyAdapter(totoMappingMock), totoMappingMock.getTargetTable());
+		String tataAddKey = entityJoinTree.addRelationJoin(EntityJoinTree.ROOT_STRATEGY_NAME, new EntityMappingStrategyAdapter(tataMappingMock), totoPrimaryKey, tataPrimaryKey, null, INNER, null, Collections.emptySet());
+		String tutuAddKey = entityJoinTree.addRelationJoin(tataAddKey, new EntityMappingStrategyAdapter(tutuMappingMock), tataPrimaryKey, tutuPrimaryKey, null, INNER, null, Collections.emptySet());
+		entityJoinTree.addRelationJoin(tataAddKey, new EntityMappingStrategyAdapter(titiMappingMock), tataPrimaryKey, titiPrimaryKey, null, INNER, null, Collections.emptySet());
+		entityJoinTree.addRelationJoin(EntityJoinTree.ROOT_STRATEGY_NAME, new EntityMappingStrategyAdapter(tutuCloneMappingMock), totoPrimaryKey, tutuClonePrimaryKey, null, INNER, null, Collections.emptySet());
+		
+		Set<Table> requiredTables = org.gama.lang.collection.Collections.newIdentitySet();
+		requiredTables.add(tutuTable);
+		EntityJoinTree<?, ?> testInstance = entityJoinTree.copyWithJoinsTo(requiredTables);
+		
+		// only X and Y are expected, Z and X' are dropped
+		assertEquals(2, Iterables.stream(testInstance.joinIterator()).count());
+		assertNotNull(testInstance.giveJoin(totoPrimaryKey, tataPrimaryKey));
+		assertNotNull(testInstance.giveJoin(tataPrimaryKey, tutuPrimaryKey));
+		// join names are kept
+		assertEquals(tutuTable, testInstance.getJoin(tutuAddKey).getTable());
+		// source tree is not modified
+		assertEquals(4, Iterables.stream(entityJoinTree.joinIterator()).count());
+	}
+	
 	@Test
 	void giveTables() {
 		ClassMappingStrategy totoMappingMock = buildMappingStrategyMock("Toto");
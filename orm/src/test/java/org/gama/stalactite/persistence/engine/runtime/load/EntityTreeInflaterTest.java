@@ -15,8 +15,10 @@ import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.JoinTy
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.ConsumerNode;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.NodeVisitor;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.RelationIdentifier;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeInflater.TreeInflationContext;
 import org.gama.stalactite.persistence.engine.runtime.load.EntityTreeQueryBuilder.EntityTreeQuery;
 import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.RelationJoinRowConsumer;
+import org.gama.stalactite.persistence.id.PersistedIdentifier;
 import org.gama.stalactite.persistence.mapping.ColumnedRow;
 import org.gama.stalactite.persistence.mapping.IRowTransformer;
 import org.gama.stalactite.persistence.sql.Dialect;
@@ -220,6 +222,65 @@ class EntityTreeInflaterTest {
 		assertEquals(expectedEntityStackHistory, entityStackHistory);
 	}
 	
+	@Test
+	void constructor_nonChildConsumer_throwsException() {
+		ConsumerNode consumerRoot = new ConsumerNode((DummyJoinRowConsumer) Object::new);
+		consumerRoot.addConsumer(new ConsumerNode(new JoinRowConsumer() {}));
+		
+		Assertions.assertThatThrownBy(() -> new EntityTreeInflater<>(consumerRoot, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Unexpected join type");
+	}
+	
+	@Test
+	void isTreatedOrAppend() {
+		RelationJoinRowConsumer joinNode1 = mock(RelationJoinRowConsumer.class);
+		RelationJoinRowConsumer joinNode2 = mock(RelationJoinRowConsumer.class);
+		Entity1 parent1 = new Entity1();
+		Entity1 parent2 = new Entity1();
+		
+		EntityTreeInflater<Root> inflater = new EntityTreeInflater<>(new ConsumerNode((DummyJoinRowConsumer) Root::new), null, null);
+		TreeInflationContext testInstance = inflater.new TreeInflationContext();
+		
+		// first identifier of a parent
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 1L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 1L)).isFalse();
+		// following ones
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 2L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 3L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 2L)).isFalse();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, 1L)).isFalse();
+		// relations are distinct per parent and per node
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent2, 1L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, 1L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, 2L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent2, 2L)).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent2, 2L)).isFalse();
+	}
+	
+	@Test
+	void isTreatedOrAppend_nonLongAndWrappedIdentifiers() {
+		RelationJoinRowConsumer joinNode1 = mock(RelationJoinRowConsumer.class);
+		RelationJoinRowConsumer joinNode2 = mock(RelationJoinRowConsumer.class);
+		Entity1 parent1 = new Entity1();
+		
+		EntityTreeInflater<Root> inflater = new EntityTreeInflater<>(new ConsumerNode((DummyJoinRowConsumer) Root::new), null, null);
+		TreeInflationContext testInstance = inflater.new TreeInflationContext();
+		
+		// identifiers wrapping a Long are compared on their surrogate
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, new PersistedIdentifier<>(1L))).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, new PersistedIdentifier<>(2L))).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, new PersistedIdentifier<>(3L))).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, new PersistedIdentifier<>(2L))).isFalse();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode1, parent1, new PersistedIdentifier<>(1L))).isFalse();
+		// other identifiers are still supported
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, "a")).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, "b")).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, "b")).isFalse();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, new PersistedIdentifier<>("c"))).isTrue();
+		Assertions.assertThat(testInstance.isTreatedOrAppend(joinNode2, parent1, new PersistedIdentifier<>("c"))).isFalse();
+	}
+	
 	/**
 	 * Those tests are made as anti-regression ones : if RelationIdentifier equals/hashCode change it would break some hard to debug case 
 	 */
@@ -365,7 +426,11 @@ class EntityTreeInflaterTest {
 		
 	}
 	
-	private interface DummyJoinRowConsumer extends JoinRowConsumer, Supplier {
+	private interface DummyJoinRowConsumer extends ChildJoinRowConsumer, Supplier {
 		
+		@Override
+		default Object consume(Object parentJoinEntity, Row row, TreeInflationContext context) {
+			return get();
+		}
 	}
 }
\ No newline at end of file
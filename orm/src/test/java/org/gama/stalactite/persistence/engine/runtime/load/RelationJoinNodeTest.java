@@ -0,0 +1,35 @@
+package org.gama.stalactite.persistence.engine.runtime.load;
+
+import org.gama.stalactite.persistence.engine.runtime.load.RelationJoinNode.BasicEntityCache;
+import org.gama.stalactite.persistence.id.PersistableIdentifier;
+import org.gama.stalactite.persistence.id.PersistedIdentifier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Guillaume Mary
+ */
+class RelationJoinNodeTest {
+	
+	@Test
+	void basicEntityCache_computeIfAbsent() {
+		BasicEntityCache testInstance = new BasicEntityCache();
+		Object entity = testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>(1L), Object::new);
+		// identifiers are compared on their surrogate, whatever their state
+		assertSame(entity, testInstance.computeIfAbsent(Object.class, new PersistableIdentifier<>(1L), Object::new));
+		assertSame(entity, testInstance.computeIfAbsent(Object.class, 1L, Object::new));
+		assertNotSame(entity, testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>(2L), Object::new));
+		// entities are cached per type
+		assertNotSame(entity, testInstance.computeIfAbsent(String.class, new PersistedIdentifier<>(1L), String::new));
+		// other identifier types are supported
+		Object stringIdentifiedEntity = testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>("1"), Object::new);
+		assertSame(stringIdentifiedEntity, testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>("1"), Object::new));
+		assertNotSame(entity, stringIdentifiedEntity);
+		// a null entity is not cached
+		assertNull(testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>(3L), () -> null));
+		assertSame(entity, testInstance.computeIfAbsent(Object.class, new PersistedIdentifier<>(3L), () -> entity));
+	}
+}
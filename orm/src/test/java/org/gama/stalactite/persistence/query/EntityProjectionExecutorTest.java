@@ -0,0 +1,209 @@
+package org.gama.stalactite.persistence.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.gama.lang.collection.Arrays;
+import org.gama.lang.collection.Maps;
+import org.gama.lang.exception.Exceptions;
+import org.gama.stalactite.persistence.engine.DDLDeployer;
+import org.gama.stalactite.persistence.engine.PersistenceContext;
+import org.gama.stalactite.persistence.engine.model.City;
+import org.gama.stalactite.persistence.engine.model.Country;
+import org.gama.stalactite.persistence.engine.runtime.IEntityConfiguredJoinedTablesPersister;
+import org.gama.stalactite.persistence.engine.runtime.IJoinedTablesPersister.RelationalExecutableEntityQuery;
+import org.gama.stalactite.persistence.engine.runtime.JoinedTablesPersister.CriteriaProvider;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree;
+import org.gama.stalactite.persistence.engine.runtime.load.EntityJoinTree.EntityInflater.EntityMappingStrategyAdapter;
+import org.gama.stalactite.persistence.id.Identifier;
+import org.gama.stalactite.persistence.id.StatefullIdentifierAlreadyAssignedIdentifierPolicy;
+import org.gama.stalactite.persistence.mapping.ClassMappingStrategy;
+import org.gama.stalactite.persistence.sql.Dialect;
+import org.gama.stalactite.persistence.sql.HSQLDBDialect;
+import org.gama.stalactite.persistence.structure.Table;
+import org.gama.stalactite.query.model.Criteria;
+import org.gama.stalactite.query.model.Operators;
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.DataSourceConnectionProvider;
+import org.gama.stalactite.sql.binder.DefaultParameterBinders;
+import org.gama.stalactite.sql.result.InMemoryResultSet;
+import org.gama.stalactite.sql.test.HSQLDBInMemoryDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.gama.stalactite.persistence.engine.MappingEase.entityBuilder;
+import static org.gama.stalactite.query.model.Operators.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class EntityProjectionExecutorTest {
+	
+	private Dialect dialect;
+	private ConnectionProvider connectionProviderMock;
+	private ArgumentCaptor<String> sqlCaptor;
+	private Connection connectionMock;
+	private PreparedStatement statementMock;
+	
+	@BeforeEach
+	void initTest() {
+		dialect = new Dialect();
+		dialect.getColumnBinderRegistry().register((Class) Identifier.class, Identifier.identifierBinder(DefaultParameterBinders.LONG_PRIMITIVE_BINDER));
+		dialect.getJavaTypeToSqlTypeMapping().put(Identifier.class, "bigint");
+	}
+	
+	private void createConnectionProvider(List<Map<String, Object>> data) {
+		// creation of a Connection that will give our test case data
+		connectionProviderMock = mock(ConnectionProvider.class);
+		connectionMock = mock(Connection.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(connectionMock);
+		try {
+			statementMock = mock(PreparedStatement.class);
+			sqlCaptor = ArgumentCaptor.forClass(String.class);
+			when(connectionMock.prepareStatement(any())).thenReturn(statementMock);
+			when(statementMock.executeQuery()).thenReturn(new InMemoryResultSet(data));
+		} catch (SQLException e) {
+			// impossible since there's no real database connection
+			throw Exceptions.asRuntimeException(e);
+		}
+	}
+	
+	@Test
+	void count_compositePrimaryKey_allPrimaryKeyColumnsAreCounted() throws SQLException {
+		createConnectionProvider(Arrays.asList(Maps.asMap("rootCount", (Object) 3L)));
+		
+		Table totoTable = new Table("Toto");
+		totoTable.addColumn("a", long.class).primaryKey();
+		totoTable.addColumn("b", long.class).primaryKey();
+		totoTable.addColumn("name", String.class);
+		ClassMappingStrategy totoMappingMock = mock(ClassMappingStrategy.class);
+		when(totoMappingMock.getTargetTable()).thenReturn(totoTable);
+		when(totoMappingMock.getSelectableColumns()).thenAnswer(invocation -> totoTable.getColumns());
+		EntityJoinTree<Object, Object> entityJoinTree = new EntityJoinTree<>(new EntityMappingStrategyAdapter<>(totoMappingMock), totoTable);
+		
+		EntityProjectionExecutor<Object, Object> testInstance = new EntityProjectionExecutor<>(entityJoinTree, connectionProviderMock,
+				dialect.getColumnBinderRegistry());
+		
+		assertEquals(3, testInstance.count(new Criteria()));
+		
+		verify(connectionMock).prepareStatement(sqlCaptor.capture());
+		assertEquals("select count(*) as rootCount from (select distinct Toto.a as rootId0, Toto.b as rootId1 from Toto) rootIds",
+				sqlCaptor.getValue());
+	}
+	
+	@Test
+	void exists_compositePrimaryKey_onlyFirstRowIsRead() throws SQLException {
+		createConnectionProvider(Arrays.asList(Maps.asMap("rootId0", (Object) 1L).add("rootId1", 2L)));
+		
+		Table totoTable = new Table("Toto");
+		totoTable.addColumn("a", long.class).primaryKey();
+		totoTable.addColumn("b", long.class).primaryKey();
+		totoTable.addColumn("name", String.class);
+		ClassMappingStrategy totoMappingMock = mock(ClassMappingStrategy.class);
+		when(totoMappingMock.getTargetTable()).thenReturn(totoTable);
+		when(totoMappingMock.getSelectableColumns()).thenAnswer(invocation -> totoTable.getColumns());
+		EntityJoinTree<Object, Object> entityJoinTree = new EntityJoinTree<>(new EntityMappingStrategyAdapter<>(totoMappingMock), totoTable);
+		
+		EntityProjectionExecutor<Object, Object> testInstance = new EntityProjectionExecutor<>(entityJoinTree, connectionProviderMock,
+				dialect.getColumnBinderRegistry());
+		
+		assertTrue(testInstance.exists(new Criteria()));
+		
+		// no distinct is necessary since reading is stopped at first row
+		verify(connectionMock).prepareStatement(sqlCaptor.capture());
+		assertEquals("select Toto.a as rootId0, Toto.b as rootId1 from Toto", sqlCaptor.getValue());
+		verify(statementMock).setMaxRows(1);
+	}
+	
+	@Test
+	void count_onlyJoinsRequiredByCriteriaAreKept() throws SQLException {
+		createConnectionProvider(Arrays.asList(Maps.asMap("rootCount", (Object) 1L)));
+		
+		IEntityConfiguredJoinedTablesPersister<Country, Identifier> persister =
+				(IEntityConfiguredJoinedTablesPersister<Country, Identifier>) entityBuilder(Country.class, Identifier.class)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, entityBuilder(City.class, Identifier.class)
+						.add(City::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+						.add(City::getName))
+				.build(new PersistenceContext(connectionProviderMock, dialect));
+		
+		EntityProjectionExecutor<Country, Identifier> testInstance = new EntityProjectionExecutor<>(persister.getEntityJoinTree(), connectionProviderMock,
+				dialect.getColumnBinderRegistry());
+		
+		// criteria on root table only : cities are not joined
+		testInstance.count(((CriteriaProvider) persister.selectWhere(Country::getName, eq("France"))).getCriteria());
+		verify(connectionMock).prepareStatement(sqlCaptor.capture());
+		assertFalse(sqlCaptor.getValue().contains(" join "), sqlCaptor.getValue());
+		
+		// criteria on cities : they are joined
+		createConnectionProvider(Arrays.asList(Maps.asMap("rootCount", (Object) 1L)));
+		testInstance = new EntityProjectionExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, dialect.getColumnBinderRegistry());
+		testInstance.count(((CriteriaProvider) persister.selectWhere(Country::getName, eq("France"))
+				.andMany(Country::getCities, City::getName, eq("Grenoble"))).getCriteria());
+		verify(connectionMock).prepareStatement(sqlCaptor.capture());
+		assertTrue(sqlCaptor.getValue().contains(" join "), sqlCaptor.getValue());
+	}
+	
+	@Test
+	void projection_count_exists_criteriaOnCollection_rootEntitiesAreNotMultiplied() throws SQLException {
+		// This test must be done with a real Database because collection joins multiply rows, which is what we want to check
+		DataSourceConnectionProvider connectionProvider = new DataSourceConnectionProvider(new HSQLDBInMemoryDataSource());
+		
+		HSQLDBDialect dialect = new HSQLDBDialect();
+		dialect.getColumnBinderRegistry().register((Class) Identifier.class, Identifier.identifierBinder(DefaultParameterBinders.LONG_PRIMITIVE_BINDER));
+		dialect.getJavaTypeToSqlTypeMapping().put(Identifier.class, "bigint");
+		
+		PersistenceContext persistenceContext = new PersistenceContext(connectionProvider, dialect);
+		IEntityConfiguredJoinedTablesPersister<Country, Identifier> persister = (IEntityConfiguredJoinedTablesPersister<Country, Identifier>) entityBuilder(Country.class, Identifier.class)
+				.add(Country::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+				.add(Country::getName)
+				.addOneToManySet(Country::getCities, entityBuilder(City.class, Identifier.class)
+						.add(City::getId).identifier(StatefullIdentifierAlreadyAssignedIdentifierPolicy.ALREADY_ASSIGNED)
+						.add(City::getName))
+				.mappedBy(City::getCountry)
+				.build(persistenceContext);
+		
+		DDLDeployer ddlDeployer = new DDLDeployer(persistenceContext);
+		ddlDeployer.deployDDL();
+		
+		Connection currentConnection = connectionProvider.getCurrentConnection();
+		currentConnection.prepareStatement("insert into Country(id, name) values(12, 'France')").execute();
+		currentConnection.prepareStatement("insert into Country(id, name) values(13, 'Italy')").execute();
+		currentConnection.prepareStatement("insert into City(id, name, countryId) values(42, 'Paris', 12)").execute();
+		currentConnection.prepareStatement("insert into City(id, name, countryId) values(43, 'Lyon', 12)").execute();
+		currentConnection.prepareStatement("insert into City(id, name, countryId) values(44, 'Grenoble', 12)").execute();
+		currentConnection.prepareStatement("insert into City(id, name, countryId) values(45, 'Rome', 13)").execute();
+		
+		// France matches twice through its cities, but must be counted and read once
+		RelationalExecutableEntityQuery<Country> franceQuery = persister.selectWhere(Country::getName, Operators.in("France", "Italy"))
+				.andMany(Country::getCities, City::getName, Operators.in("Lyon", "Grenoble"));
+		assertEquals(1, franceQuery.count());
+		assertTrue(franceQuery.exists());
+		assertEquals(Arrays.asList("France"), franceQuery.executeProjection(Country::getName));
+		assertEquals(Arrays.asList("France/12"), franceQuery.executeProjection(values -> values[0] + "/" + ((Identifier) values[1]).getSurrogate(),
+				Arrays.<SerializableFunction<Country, ?>>asList(Country::getName, Country::getId)));
+		
+		// every country matches, once per city
+		RelationalExecutableEntityQuery<Country> allCountriesQuery = persister.selectWhere(Country::getName, Operators.in("France", "Italy"))
+				.andMany(Country::getCities, City::getName, Operators.in("Paris", "Lyon", "Grenoble", "Rome"));
+		assertEquals(2, allCountriesQuery.count());
+		
+		RelationalExecutableEntityQuery<Country> noCountryQuery = persister.selectWhere(Country::getName, eq("France"))
+				.andMany(Country::getCities, City::getName, eq("Rome"));
+		assertEquals(0, noCountryQuery.count());
+		assertFalse(noCountryQuery.exists());
+	}
+}
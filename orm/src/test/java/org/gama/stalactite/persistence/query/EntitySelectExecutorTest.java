@@ -97,7 +97,8 @@ class EntitySelectExecutorTest {
 				.build(new PersistenceContext(connectionProviderMock, dialect));
 		
 		ColumnBinderRegistry columnBinderRegistry = dialect.getColumnBinderRegistry();
-		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry);
+		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry,
+				dialect.getInOperatorMaxSize());
 		
 		EntityCriteriaSupport<Country> countryEntityCriteriaSupport = new EntityCriteriaSupport<>(persister.getMappingStrategy(), Country::getName, eq(""))
 				// actually we don't care about criteria since data is hardly tied to the connection (see createConnectionProvider(..))
@@ -128,7 +129,8 @@ class EntitySelectExecutorTest {
 				.build(new PersistenceContext(connectionProviderMock, dialect));
 		
 		ColumnBinderRegistry columnBinderRegistry = dialect.getColumnBinderRegistry();
-		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry);
+		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry,
+				dialect.getInOperatorMaxSize());
 		
 		EntityCriteriaSupport<Country> countryEntityCriteriaSupport = new EntityCriteriaSupport<>(persister.getMappingStrategy(), Country::getName, eq(""))
 				// actually we don't care about criteria since data is hardly tied to the connection (see createConnectionProvider(..))
@@ -172,7 +174,8 @@ class EntitySelectExecutorTest {
 			.build(new PersistenceContext(connectionProviderMock, dialect));
 		
 		ColumnBinderRegistry columnBinderRegistry = dialect.getColumnBinderRegistry();
-		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry);
+		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry,
+				dialect.getInOperatorMaxSize());
 		
 		EntityCriteria<Country> countryEntityCriteriaSupport = persister
 				// actually we don't care about criteria since data is hardly tied to the connection (see createConnectionProvider(..))
@@ -230,7 +233,8 @@ class EntitySelectExecutorTest {
 				.build(new PersistenceContext(connectionProviderMock, dialect));
 		
 		ColumnBinderRegistry columnBinderRegistry = dialect.getColumnBinderRegistry();
-		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry);
+		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProviderMock, columnBinderRegistry,
+				dialect.getInOperatorMaxSize());
 		
 		// actually we don't care about criteria since data is hardly tied to the connection (see createConnectionProvider(..))
 		EntityCriteria<Country> countryEntityCriteriaSupport = persister
@@ -296,7 +300,8 @@ class EntitySelectExecutorTest {
 		currentConnection.prepareStatement("insert into City(id, name, countryId) values(44, 'Grenoble', 12)").execute();
 		
 		ColumnBinderRegistry columnBinderRegistry = dialect.getColumnBinderRegistry();
-		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProvider, columnBinderRegistry);
+		EntitySelectExecutor<Country, Identifier, Table> testInstance = new EntitySelectExecutor<>(persister.getEntityJoinTree(), connectionProvider, columnBinderRegistry,
+				dialect.getInOperatorMaxSize());
 		
 		// Criteria tied to data formerly persisted
 		EntityCriteria<Country> countryEntityCriteriaSupport =
@@ -0,0 +1,52 @@
+package org.gama.stalactite.sql.spring;
+
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import org.gama.stalactite.sql.ReadConnectionProvider;
+import org.gama.stalactite.sql.ReadWriteRoutingConnectionProvider;
+import org.gama.stalactite.sql.ReadWriteRoutingConnectionProvider.ReplicaSelection;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link PlatformTransactionManagerConnectionProvider} that sends reads to read-only replicas when no read-write transaction is active, which
+ * means outside of any transaction or in a read-only one (see {@link org.springframework.transaction.annotation.Transactional#readOnly()}).
+ * Reads of a read-write transaction go to the transactional connection so that they see its changes.
+ * 
+ * @author Guillaume Mary
+ * @see ReadWriteRoutingConnectionProvider
+ */
+public class ReplicaRoutingPlatformTransactionManagerConnectionProvider extends PlatformTransactionManagerConnectionProvider
+		implements ReadConnectionProvider {
+	
+	/**
+	 * @return true if current thread runs a Spring transaction which is not read-only
+	 */
+	private static boolean isReadWriteTransactionActive() {
+		return TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+	
+	private final ReadWriteRoutingConnectionProvider readRouter;
+	
+	public ReplicaRoutingPlatformTransactionManagerConnectionProvider(PlatformTransactionManager transactionManager, List<DataSource> replicas,
+																	  ReplicaSelection replicaSelection) {
+		super(transactionManager);
+		// writes are not routed through readRouter since Spring tells us if current transaction can write
+		this.readRouter = new ReadWriteRoutingConnectionProvider(super::getCurrentConnection, replicas, replicaSelection,
+				ReplicaRoutingPlatformTransactionManagerConnectionProvider::isReadWriteTransactionActive);
+	}
+	
+	@Nonnull
+	@Override
+	public Connection giveReadConnection() {
+		return readRouter.giveReadConnection();
+	}
+	
+	@Override
+	public void releaseReadConnection(Connection connection) {
+		readRouter.releaseReadConnection(connection);
+	}
+}
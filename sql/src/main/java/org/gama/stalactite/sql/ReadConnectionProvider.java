@@ -0,0 +1,29 @@
+package org.gama.stalactite.sql;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+
+/**
+ * {@link ConnectionProvider} that can give a particular {@link Connection} to operations that only read data, such as
+ * {@link org.gama.stalactite.sql.dml.ReadOperation}, for instance to send them to a read replica.
+ * 
+ * @author Guillaume Mary
+ * @see ReadWriteRoutingConnectionProvider
+ */
+public interface ReadConnectionProvider extends ConnectionProvider {
+	
+	/**
+	 * Gives a {@link Connection} to read data. Must be given back to {@link #releaseReadConnection(Connection)} when reading is over.
+	 * 
+	 * @return neither null nor a closed connection
+	 */
+	@Nonnull
+	Connection giveReadConnection();
+	
+	/**
+	 * Notifies this instance that a {@link Connection} given by {@link #giveReadConnection()} is no more used
+	 * 
+	 * @param connection a connection given by {@link #giveReadConnection()}
+	 */
+	void releaseReadConnection(Connection connection);
+}
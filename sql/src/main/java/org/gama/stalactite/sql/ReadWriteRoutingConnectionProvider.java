@@ -0,0 +1,330 @@
+package org.gama.stalactite.sql;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.gama.lang.sql.ConnectionWrapper;
+import org.gama.stalactite.sql.dml.SQLExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ReadConnectionProvider} that routes reads to read-only replicas while other operations go to a primary {@link ConnectionProvider}.
+ * Reads are routed to primary when current transaction has written on it (so that they see its changes) or when a required-primary condition is met
+ * (for instance when a read-write transaction is active, see constructor).
+ * A transaction is considered as having written on primary once a non-select statement is prepared on the connection given by
+ * {@link #getCurrentConnection()} while it is not in auto-commit mode (in auto-commit mode there's no transaction end to stop routing reads to
+ * primary). Tracking of writes relies on transaction end notifications : this instance must be registered to a {@link TransactionObserver} with
+ * {@link #observe(TransactionObserver)}, else reads stay on primary once current thread has written.
+ * 
+ * Replica is chosen in a round-robin way or as the one that has the least borrowed connections. A thread keeps the same replica connection as long
+ * as it reads with it (nested reads such as relation loading during result set iteration), then the connection is closed.
+ * 
+ * @author Guillaume Mary
+ */
+public class ReadWriteRoutingConnectionProvider implements ReadConnectionProvider, CommitListener, RollbackListener {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingConnectionProvider.class);
+	
+	/**
+	 * Policy of replica choice
+	 */
+	public enum ReplicaSelection {
+		ROUND_ROBIN,
+		LEAST_LOADED
+	}
+	
+	private final ConnectionProvider primary;
+	
+	private final List<DataSource> replicas;
+	
+	private final ReplicaSelection replicaSelection;
+	
+	private final BooleanSupplier primaryRequired;
+	
+	/** Number of connections currently borrowed from each replica */
+	private final AtomicInteger[] replicaLoads;
+	
+	private final AtomicInteger roundRobinCounter = new AtomicInteger();
+	
+	/** Marks threads which current transaction has written on primary */
+	private final ThreadLocal<Boolean> writtenOnPrimary = new ThreadLocal<>();
+	
+	private final ThreadLocal<BorrowedConnection> borrowedConnection = new ThreadLocal<>();
+	
+	/** Wrapper of primary connection of current thread, kept to give same instance as long as primary gives same connection */
+	private final ThreadLocal<WriteTrackingConnection> writeTrackingConnection = new ThreadLocal<>();
+	
+	public ReadWriteRoutingConnectionProvider(ConnectionProvider primary, List<DataSource> replicas, ReplicaSelection replicaSelection) {
+		this(primary, replicas, replicaSelection, () -> false);
+	}
+	
+	/**
+	 * @param primary provider of transactional connection, used for writes
+	 * @param replicas read-only data sources
+	 * @param replicaSelection replica choice policy
+	 * @param primaryRequired condition that forces reads to go to primary, for instance the existence of a read-write transaction
+	 */
+	public ReadWriteRoutingConnectionProvider(ConnectionProvider primary, List<DataSource> replicas, ReplicaSelection replicaSelection,
+											  BooleanSupplier primaryRequired) {
+		if (replicas.isEmpty()) {
+			throw new IllegalArgumentException("At least one replica is expected");
+		}
+		this.primary = primary;
+		this.replicas = new ArrayList<>(replicas);
+		this.replicaSelection = replicaSelection;
+		this.primaryRequired = primaryRequired;
+		this.replicaLoads = new AtomicInteger[replicas.size()];
+		for (int i = 0; i < replicaLoads.length; i++) {
+			replicaLoads[i] = new AtomicInteger();
+		}
+	}
+	
+	/**
+	 * Registers this instance to given transaction notifier so that write tracking is reset at each transaction end
+	 * 
+	 * @param transactionObserver a notifier of commit and rollback, typically the one of a {@code PersistenceContext}
+	 * @return this
+	 */
+	public ReadWriteRoutingConnectionProvider observe(TransactionObserver transactionObserver) {
+		transactionObserver.addCommitListener(this);
+		transactionObserver.addRollbackListener(this);
+		return this;
+	}
+	
+	/**
+	 * Implemented to give primary connection, wrapped to detect writes : getting it doesn't mark current transaction as having written on primary,
+	 * preparing a non-select statement on it does
+	 * 
+	 * @return primary connection
+	 */
+	@Nonnull
+	@Override
+	public Connection getCurrentConnection() {
+		Connection primaryConnection = primary.getCurrentConnection();
+		WriteTrackingConnection result = writeTrackingConnection.get();
+		if (result == null || result.primaryConnection != primaryConnection) {
+			result = new WriteTrackingConnection(primaryConnection);
+			writeTrackingConnection.set(result);
+		}
+		return result;
+	}
+	
+	@Nonnull
+	@Override
+	public Connection giveReadConnection() {
+		if (writtenOnPrimary.get() != null || primaryRequired.getAsBoolean()) {
+			return primary.getCurrentConnection();
+		}
+		BorrowedConnection currentConnection = borrowedConnection.get();
+		if (currentConnection == null) {
+			int replicaIndex = selectReplica();
+			try {
+				currentConnection = new BorrowedConnection(replicaIndex, replicas.get(replicaIndex).getConnection());
+			} catch (SQLException e) {
+				throw new SQLExecutionException(e);
+			}
+			replicaLoads[replicaIndex].incrementAndGet();
+			borrowedConnection.set(currentConnection);
+		}
+		currentConnection.useCount++;
+		return currentConnection.connection;
+	}
+	
+	@Override
+	public void releaseReadConnection(Connection connection) {
+		BorrowedConnection currentConnection = borrowedConnection.get();
+		// primary connection is not concerned
+		if (currentConnection != null && currentConnection.connection == connection && --currentConnection.useCount == 0) {
+			borrowedConnection.remove();
+			replicaLoads[currentConnection.replicaIndex].decrementAndGet();
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				LOGGER.warn("Can't close replica connection properly", e);
+			}
+		}
+	}
+	
+	private int selectReplica() {
+		switch (replicaSelection) {
+			case LEAST_LOADED:
+				int result = 0;
+				for (int i = 1; i < replicaLoads.length; i++) {
+					if (replicaLoads[i].get() < replicaLoads[result].get()) {
+						result = i;
+					}
+				}
+				return result;
+			case ROUND_ROBIN:
+			default:
+				return Math.floorMod(roundRobinCounter.getAndIncrement(), replicas.size());
+		}
+	}
+	
+	/**
+	 * @param replicaIndex index of a replica, in constructor order
+	 * @return number of connections currently borrowed from replica
+	 */
+	public int getReplicaLoad(int replicaIndex) {
+		return replicaLoads[replicaIndex].get();
+	}
+	
+	@Override
+	public void beforeCommit() {
+		// nothing to do before commit
+	}
+	
+	@Override
+	public void afterCommit() {
+		writtenOnPrimary.remove();
+	}
+	
+	@Override
+	public void beforeRollback() {
+		// nothing to do before rollback
+	}
+	
+	@Override
+	public void afterRollback() {
+		writtenOnPrimary.remove();
+	}
+	
+	@Override
+	public void beforeRollback(Savepoint savepoint) {
+		// transaction is not over
+	}
+	
+	@Override
+	public void afterRollback(Savepoint savepoint) {
+		// transaction is not over
+	}
+	
+	@Override
+	public boolean isTemporary() {
+		return false;
+	}
+	
+	/**
+	 * Primary {@link Connection} wrapper that marks current transaction as having written on primary when a statement that may write is created
+	 */
+	private class WriteTrackingConnection extends ConnectionWrapper {
+		
+		private final Connection primaryConnection;
+		
+		private WriteTrackingConnection(Connection primaryConnection) {
+			super(primaryConnection);
+			this.primaryConnection = primaryConnection;
+		}
+		
+		/**
+		 * @param sql statement SQL, null if unknown (plain {@link Statement}) which is then considered as a write
+		 */
+		private void onStatement(@Nullable String sql) throws SQLException {
+			boolean isSelect = sql != null && sql.trim().regionMatches(true, 0, "select", 0, "select".length());
+			if (!isSelect && !getAutoCommit()) {
+				writtenOnPrimary.set(true);
+			}
+		}
+		
+		@Override
+		public Statement createStatement() throws SQLException {
+			onStatement(null);
+			return super.createStatement();
+		}
+		
+		@Override
+		public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+			onStatement(null);
+			return super.createStatement(resultSetType, resultSetConcurrency);
+		}
+		
+		@Override
+		public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+			onStatement(null);
+			return super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql) throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql, autoGeneratedKeys);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql, columnIndexes);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql, columnNames);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql, resultSetType, resultSetConcurrency);
+		}
+		
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+				throws SQLException {
+			onStatement(sql);
+			return super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+		}
+		
+		@Override
+		public CallableStatement prepareCall(String sql) throws SQLException {
+			// stored procedures may write
+			onStatement(null);
+			return super.prepareCall(sql);
+		}
+		
+		@Override
+		public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+			onStatement(null);
+			return super.prepareCall(sql, resultSetType, resultSetConcurrency);
+		}
+		
+		@Override
+		public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+			onStatement(null);
+			return super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+		}
+	}
+	
+	private static class BorrowedConnection {
+		
+		private final int replicaIndex;
+		
+		private final Connection connection;
+		
+		/** Number of reads using the connection */
+		private int useCount;
+		
+		private BorrowedConnection(int replicaIndex, Connection connection) {
+			this.replicaIndex = replicaIndex;
+			this.connection = connection;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package org.gama.stalactite.sql;
 
 import javax.annotation.Nonnull;
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 /**
  * A bridge between a {@link ConnectionProvider} and transaction observers as {@link CommitObserver} and {@link RollbackObserver} in order
@@ -9,12 +10,15 @@ import java.sql.Connection;
  * 
  * @author Guillaume Mary
  */
-public class TransactionAwareConnectionProvider implements ConnectionProvider, TransactionObserver {
+public class TransactionAwareConnectionProvider implements ReadConnectionProvider, TransactionObserver {
 	
 	private final TransactionAwareConnexionWrapper transactionAwareConnexionWrapper = new TransactionAwareConnexionWrapper();
 	
 	private final ConnectionProvider surrogate;
 	
+	/** Connection given to current thread instead of surrogate one, see {@link #executeWith(Connection, Supplier)} */
+	private final ThreadLocal<Connection> threadBoundConnection = new ThreadLocal<>();
+	
 	public TransactionAwareConnectionProvider(ConnectionProvider connectionProvider) {
 		this.surrogate = connectionProvider;
 	}
@@ -26,11 +30,65 @@ public class TransactionAwareConnectionProvider implements ConnectionProvider, T
 	@Override
 	@Nonnull
 	public Connection getCurrentConnection() {
+		Connection boundConnection = threadBoundConnection.get();
+		if (boundConnection != null) {
+			return boundConnection;
+		}
 		Connection connection = surrogate.getCurrentConnection();
 		transactionAwareConnexionWrapper.setSurrogate(connection);
 		return transactionAwareConnexionWrapper;
 	}
 	
+	/**
+	 * Implemented to give surrogate read {@link Connection} when it is a {@link ReadConnectionProvider}. Read connections are not observed because
+	 * they are not expected to be committed or rollbacked.
+	 * 
+	 * @return the connection bound to current thread if any, else surrogate read connection, else {@link #getCurrentConnection()}
+	 */
+	@Override
+	@Nonnull
+	public Connection giveReadConnection() {
+		Connection boundConnection = threadBoundConnection.get();
+		if (boundConnection != null) {
+			return boundConnection;
+		} else if (surrogate instanceof ReadConnectionProvider) {
+			return ((ReadConnectionProvider) surrogate).giveReadConnection();
+		} else {
+			return getCurrentConnection();
+		}
+	}
+	
+	@Override
+	public void releaseReadConnection(Connection connection) {
+		if (surrogate instanceof ReadConnectionProvider && connection != threadBoundConnection.get()) {
+			((ReadConnectionProvider) surrogate).releaseReadConnection(connection);
+		}
+	}
+	
+	/**
+	 * Executes some code while {@link #getCurrentConnection()} gives a particular {@link Connection} to current thread. Made to let some
+	 * operations, such as independent reads run on other threads, use their own connection instead of the transactional one.
+	 * Be aware that given {@link Connection} is not observed : its commit and rollback won't be notified to listeners.
+	 * 
+	 * @param connection the connection to be given to current thread during the execution of {@code code}
+	 * @param code some code that will use this instance
+	 * @param <O> returned type
+	 * @return the result of {@code code}
+	 */
+	public <O> O executeWith(Connection connection, Supplier<O> code) {
+		Connection previousConnection = threadBoundConnection.get();
+		threadBoundConnection.set(connection);
+		try {
+			return code.get();
+		} finally {
+			if (previousConnection == null) {
+				threadBoundConnection.remove();
+			} else {
+				threadBoundConnection.set(previousConnection);
+			}
+		}
+	}
+	
 	@Override
 	public void addCommitListener(CommitListener commitListener) {
 		this.transactionAwareConnexionWrapper.addCommitListener(commitListener);
@@ -3,8 +3,14 @@ package org.gama.stalactite.sql;
 import java.sql.Savepoint;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
+ * Notifies a set of {@link TransactionListener}s of transaction events.
+ * Listeners are notified from a copy of registered ones, so a listener may register new ones while being notified (they'll be notified of next
+ * events). Temporary listeners are removed at transaction completion (commit or rollback), not on rollback to a {@link Savepoint} since it
+ * doesn't end the transaction.
+ * 
  * @author Guillaume Mary
  */
 public class TransactionListenerCollection implements RollbackObserver, CommitObserver, TransactionListener {
@@ -21,51 +27,71 @@ public class TransactionListenerCollection implements RollbackObserver, CommitOb
 	
 	@Override
 	public void beforeCommit() {
-		transactionListeners.forEach(TransactionListener::beforeCommit);
+		listeners().forEach(TransactionListener::beforeCommit);
 		beforeCompletion();
 	}
 	
 	@Override
 	public void afterCommit() {
-		transactionListeners.forEach(TransactionListener::afterCommit);
+		listeners().forEach(TransactionListener::afterCommit);
 		afterCompletion();
 	}
 	
 	@Override
 	public void beforeRollback() {
-		transactionListeners.forEach(TransactionListener::beforeRollback);
+		listeners().forEach(TransactionListener::beforeRollback);
 		beforeCompletion();
 	}
 	
 	@Override
 	public void afterRollback() {
-		transactionListeners.forEach(TransactionListener::afterRollback);
+		listeners().forEach(TransactionListener::afterRollback);
 		afterCompletion();
 	}
 	
 	@Override
 	public void beforeRollback(Savepoint savepoint) {
-		transactionListeners.forEach(l -> l.beforeRollback(savepoint));
+		listeners().forEach(l -> l.beforeRollback(savepoint));
 		beforeCompletion(savepoint);
 	}
 	
 	@Override
 	public void afterRollback(Savepoint savepoint) {
-		transactionListeners.forEach(l -> l.afterRollback(savepoint));
+		listeners().forEach(l -> l.afterRollback(savepoint));
 		afterCompletion(savepoint);
 	}
 	
 	@Override
 	public void beforeCompletion() {
-		transactionListeners.forEach(TransactionListener::beforeCompletion);
+		listeners().forEach(TransactionListener::beforeCompletion);
 	}
 	
 	@Override
 	public void afterCompletion() {
-		transactionListeners.forEach(TransactionListener::afterCompletion);
+		listeners().forEach(TransactionListener::afterCompletion);
 		transactionListeners.removeIf(TransactionListener::isTemporary);
 	}
 	
+	@Override
+	public void beforeCompletion(Savepoint savepoint) {
+		listeners().forEach(l -> l.beforeCompletion(savepoint));
+	}
+	
+	/**
+	 * Overriden to keep temporary listeners because transaction is not over
+	 */
+	@Override
+	public void afterCompletion(Savepoint savepoint) {
+		listeners().forEach(l -> l.afterCompletion(savepoint));
+	}
+	
+	/**
+	 * @return a copy of registered listeners, to let them register new ones while being notified
+	 */
+	private List<TransactionListener> listeners() {
+		return new ArrayList<>(transactionListeners);
+	}
+	
 	@Override
 	public void addCommitListener(CommitListener commitListener) {
 		transactionListeners.add(new TransactionListener() {
@@ -0,0 +1,423 @@
+package org.gama.stalactite.sql.dml;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+
+/**
+ * Logger of SQL executions that moves formatting out of executing threads : executing threads only copy statement and values references into
+ * a preallocated ring buffer, then a background thread masks not-loggable values, formats and writes records to {@link SQLOperation#LOGGER}
+ * with the same levels and format as synchronous logging (statements at DEBUG level, values only when TRACE is enabled).
+ *
+ * Executing threads are never blocked : when buffer is full, records are dropped and counted (see {@link #getDroppedRecordCount()}).
+ * Logging load can also be reduced by sampling (see {@link #setSamplingRatio(double)}) and by a maximum number of records per second
+ * for each statement (see {@link #setMaxRecordsPerSecond(int)}), both being applied before any copy.
+ *
+ * Activated for all {@link SQLOperation}s with {@link SQLOperation#setAsyncLogger(AsyncSQLLogger)}. Background thread is a daemon one,
+ * {@link #close()} stops it after having written pending records.
+ *
+ * @author Guillaume Mary
+ */
+public class AsyncSQLLogger implements AutoCloseable {
+	
+	private static final String MASKED_VALUE = "X-masked value-X";
+	
+	/** Maximum number of statements which records per second are counted, beyond which counters are reset to bound memory */
+	private static final int MAX_RATE_WINDOW_COUNT = 1024;
+	
+	private final Logger logger;
+	
+	private final Slot[] slots;
+	
+	private final int mask;
+	
+	/** Sequence of next slot to be claimed by executing threads */
+	private final AtomicLong writeSequence = new AtomicLong();
+	
+	/** Sequence of next slot to be read by background thread, only written by it */
+	private volatile long readSequence = 0;
+	
+	private final LongAdder droppedRecordCount = new LongAdder();
+	
+	private volatile double samplingRatio = 1;
+	
+	private volatile int maxRecordsPerSecond = Integer.MAX_VALUE;
+	
+	/** Records counters per statement shape (see {@link #toStatementShape(String)}) */
+	private final Map<String, RateWindow> rateWindowPerStatement = new ConcurrentHashMap<>();
+	
+	private final Thread formattingThread;
+	
+	private volatile boolean running = true;
+	
+	/**
+	 * Creates a logger writing to {@link SQLOperation#LOGGER}, starting its background thread
+	 *
+	 * @param capacity maximum number of pending records, rounded to next power of 2
+	 */
+	public AsyncSQLLogger(int capacity) {
+		this(capacity, SQLOperation.LOGGER);
+	}
+	
+	/**
+	 * Creates a logger writing to given one, starting its background thread
+	 *
+	 * @param capacity maximum number of pending records, rounded to next power of 2
+	 * @param logger the logger to which records are written
+	 */
+	public AsyncSQLLogger(int capacity, Logger logger) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity is expected to be positive : " + capacity);
+		}
+		int slotCount = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.slots = new Slot[slotCount];
+		for (int i = 0; i < slotCount; i++) {
+			slots[i] = new Slot();
+		}
+		this.mask = slotCount - 1;
+		this.logger = logger;
+		this.formattingThread = new Thread(this::formatLoop, "Stalactite-SQL-logger");
+		this.formattingThread.setDaemon(true);
+		this.formattingThread.start();
+	}
+	
+	/**
+	 * @param samplingRatio ratio of executions to be logged, between 0 (none) and 1 (all, default)
+	 */
+	public void setSamplingRatio(double samplingRatio) {
+		this.samplingRatio = samplingRatio;
+	}
+	
+	/**
+	 * @param maxRecordsPerSecond maximum number of records per second of a same statement, unlimited by default. Statements that only differ
+	 * by their literal values or by the number of their "in" operator markers are considered as the same one.
+	 */
+	public void setMaxRecordsPerSecond(int maxRecordsPerSecond) {
+		this.maxRecordsPerSecond = maxRecordsPerSecond;
+	}
+	
+	/**
+	 * @return number of records that couldn't be logged because buffer was full
+	 */
+	public long getDroppedRecordCount() {
+		return droppedRecordCount.sum();
+	}
+	
+	/**
+	 * Logs a single statement execution. Values are copied because they may change after this call.
+	 *
+	 * @param sql executed SQL
+	 * @param values statement values, null if they don't need to be logged
+	 * @param notLoggedParams parameters which values must be masked
+	 */
+	public void log(String sql, @Nullable Map<?, ?> values, Set<?> notLoggedParams) {
+		if (isLogged(sql)) {
+			Slot slot = claimSlot();
+			if (slot != null) {
+				try {
+					slot.sql = sql;
+					slot.notLoggedParams = notLoggedParams;
+					slot.copyValues(values);
+				} catch (RuntimeException e) {
+					// values may be modified concurrently : record is replaced by an error one
+					slot.fail(e);
+				} finally {
+					// slot must always be published, else background thread would wait for it forever
+					slot.publish();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Logs a batch execution. Values are not copied, so caller must not modify them afterward.
+	 *
+	 * @param sql executed SQL
+	 * @param batchedValues values of each batched statement, null if they don't need to be logged
+	 * @param notLoggedParams parameters which values must be masked
+	 */
+	public void logBatch(String sql, @Nullable Collection<? extends Map<?, ?>> batchedValues, Set<?> notLoggedParams) {
+		if (isLogged(sql)) {
+			Slot slot = claimSlot();
+			if (slot != null) {
+				try {
+					slot.sql = sql;
+					slot.notLoggedParams = notLoggedParams;
+					slot.batchedValues = batchedValues;
+				} finally {
+					// slot must always be published, else background thread would wait for it forever
+					slot.publish();
+				}
+			}
+		}
+	}
+	
+	private boolean isLogged(String sql) {
+		if (samplingRatio < 1 && ThreadLocalRandom.current().nextDouble() >= samplingRatio) {
+			return false;
+		}
+		if (maxRecordsPerSecond == Integer.MAX_VALUE) {
+			return true;
+		}
+		String statementShape = toStatementShape(sql);
+		if (rateWindowPerStatement.size() >= MAX_RATE_WINDOW_COUNT && !rateWindowPerStatement.containsKey(statementShape)) {
+			// too many different statements : counters are reset, which is harmless for logging purpose, to prevent memory leak
+			rateWindowPerStatement.clear();
+		}
+		return rateWindowPerStatement.computeIfAbsent(statementShape, k -> new RateWindow()).tryAcquire(maxRecordsPerSecond);
+	}
+	
+	int getRateWindowCount() {
+		return rateWindowPerStatement.size();
+	}
+	
+	/**
+	 * Gives the shape of a statement : its literal values (strings and numbers) are replaced by a marker, and lists of markers (as generated for
+	 * "in" operator) are collapsed into one, so that statements that only differ by their values get same shape
+	 *
+	 * @param sql some SQL
+	 * @return given SQL with markers instead of values
+	 */
+	static String toStatementShape(String sql) {
+		StringBuilder result = new StringBuilder(sql.length());
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			if (c == '\'') {
+				// string literal, in which quotes are escaped by doubling them
+				i++;
+				boolean closed = false;
+				while (i < length && !closed) {
+					if (sql.charAt(i) == '\'' && (i + 1 == length || sql.charAt(i + 1) != '\'')) {
+						closed = true;
+					} else if (sql.charAt(i) == '\'') {
+						// escaped quote
+						i++;
+					}
+					i++;
+				}
+				appendMarker(result);
+			} else if (Character.isDigit(c) && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+				while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+					i++;
+				}
+				appendMarker(result);
+			} else if (c == '?') {
+				i++;
+				appendMarker(result);
+			} else {
+				result.append(c);
+				i++;
+			}
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * Appends a marker to given SQL, unless it ends with a marker followed by a comma, in which case the list of markers is collapsed into one
+	 */
+	private static void appendMarker(StringBuilder sql) {
+		int end = sql.length() - 1;
+		while (end >= 0 && Character.isWhitespace(sql.charAt(end))) {
+			end--;
+		}
+		if (end >= 0 && sql.charAt(end) == ',') {
+			int markerIndex = end - 1;
+			while (markerIndex >= 0 && Character.isWhitespace(sql.charAt(markerIndex))) {
+				markerIndex--;
+			}
+			if (markerIndex >= 0 && sql.charAt(markerIndex) == '?') {
+				sql.setLength(markerIndex + 1);
+				return;
+			}
+		}
+		sql.append('?');
+	}
+	
+	/**
+	 * @return next free slot, null if buffer is full
+	 */
+	@Nullable
+	private Slot claimSlot() {
+		long sequence;
+		do {
+			sequence = writeSequence.get();
+			if (sequence - readSequence >= slots.length) {
+				droppedRecordCount.increment();
+				return null;
+			}
+		} while (!writeSequence.compareAndSet(sequence, sequence + 1));
+		Slot slot = slots[(int) (sequence & mask)];
+		slot.sequence = sequence;
+		return slot;
+	}
+	
+	private void formatLoop() {
+		while (running || readSequence < writeSequence.get()) {
+			Slot slot = slots[(int) (readSequence & mask)];
+			if (slot.publishedSequence == readSequence) {
+				try {
+					write(slot);
+				} catch (RuntimeException e) {
+					// logging must not stop because of a bad value (failing toString() for instance)
+					logger.warn("Can't log statement " + slot.sql, e);
+				}
+				slot.clear();
+				readSequence++;
+			} else {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+			}
+		}
+	}
+	
+	private void write(Slot slot) {
+		if (slot.failure != null) {
+			logger.warn("Can't log statement " + slot.sql, slot.failure);
+		} else if (slot.valueCount >= 0) {
+			logger.debug("{} | {}", slot.sql, formatValues(slot));
+		} else if (slot.batchedValues != null) {
+			Map<Integer, Map<Object, Object>> loggedValues = new LinkedHashMap<>();
+			int batchIndex = 1;
+			for (Map<?, ?> values : slot.batchedValues) {
+				loggedValues.put(batchIndex++, mask(values, slot.notLoggedParams));
+			}
+			logger.debug("{} | {}", slot.sql, loggedValues);
+		} else {
+			logger.debug(slot.sql);
+		}
+	}
+	
+	private static Map<Object, Object> formatValues(Slot slot) {
+		Map<Object, Object> result = new LinkedHashMap<>();
+		for (int i = 0; i < slot.valueCount; i++) {
+			Object key = slot.keys[i];
+			result.put(key, slot.notLoggedParams.contains(key) ? MASKED_VALUE : slot.values[i]);
+		}
+		return result;
+	}
+	
+	private static Map<Object, Object> mask(Map<?, ?> values, Set<?> notLoggedParams) {
+		Map<Object, Object> result = new LinkedHashMap<>(values);
+		for (Entry<Object, Object> entry : result.entrySet()) {
+			if (notLoggedParams.contains(entry.getKey())) {
+				entry.setValue(MASKED_VALUE);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Stops background thread after having written pending records
+	 */
+	@Override
+	public void close() {
+		running = false;
+		try {
+			formattingThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Record of the ring buffer, reused : value arrays only grow
+	 */
+	private static class Slot {
+		
+		private static final Object[] NO_VALUE = new Object[0];
+		
+		/** Sequence of the record being written in this slot */
+		private long sequence = -1;
+		
+		/** Sequence of the record available to background thread */
+		private volatile long publishedSequence = -1;
+		
+		private String sql;
+		
+		private Set<?> notLoggedParams = Collections.emptySet();
+		
+		private Object[] keys = NO_VALUE;
+		
+		private Object[] values = NO_VALUE;
+		
+		/** Number of values of a single statement, -1 for a batch or when values are not logged */
+		private int valueCount = -1;
+		
+		private Collection<? extends Map<?, ?>> batchedValues;
+		
+		/** Error that occurred while filling this slot, then written instead of record */
+		private RuntimeException failure;
+		
+		private void copyValues(@Nullable Map<?, ?> values) {
+			if (values == null) {
+				valueCount = -1;
+				return;
+			}
+			if (this.keys.length < values.size()) {
+				this.keys = new Object[values.size()];
+				this.values = new Object[values.size()];
+			}
+			int i = 0;
+			for (Entry<?, ?> entry : values.entrySet()) {
+				this.keys[i] = entry.getKey();
+				this.values[i] = entry.getValue();
+				i++;
+			}
+			valueCount = i;
+		}
+		
+		private void fail(RuntimeException failure) {
+			this.failure = failure;
+			valueCount = -1;
+		}
+		
+		private void publish() {
+			this.publishedSequence = sequence;
+		}
+		
+		private void clear() {
+			sql = null;
+			notLoggedParams = Collections.emptySet();
+			Arrays.fill(keys, null);
+			Arrays.fill(values, null);
+			valueCount = -1;
+			batchedValues = null;
+			failure = null;
+		}
+	}
+	
+	/**
+	 * Counter of records of a statement over a one-second window
+	 */
+	private static class RateWindow {
+		
+		private volatile long windowStart = System.nanoTime();
+		
+		private final AtomicInteger count = new AtomicInteger();
+		
+		private boolean tryAcquire(int maxCount) {
+			long now = System.nanoTime();
+			if (now - windowStart >= TimeUnit.SECONDS.toNanos(1)) {
+				// concurrent threads may both reset window, which is harmless for logging purpose
+				windowStart = now;
+				count.set(0);
+			}
+			return count.incrementAndGet() <= maxCount;
+		}
+	}
+}
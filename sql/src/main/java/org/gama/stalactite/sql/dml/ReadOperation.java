@@ -1,33 +1,175 @@
 package org.gama.stalactite.sql.dml;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import org.gama.lang.sql.ResultSetWrapper;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.ReadConnectionProvider;
+import org.gama.stalactite.sql.dml.SQLExecution.Kind;
 
 /**
  * {@link SQLOperation} dedicated to Selects ... so these operations return a {@link ResultSet}.
+ * When a {@link SQLExecutionObserver} is set, returned {@link ResultSet} is wrapped to count read rows : end of execution is notified when all
+ * rows are read or when {@link ResultSet} is closed, else on next {@link #execute()} or on {@link #close()} of this operation, since both close
+ * previous {@link ResultSet}.
+ * When given {@link ConnectionProvider} is a {@link ReadConnectionProvider}, statement is executed with its read {@link Connection}, which is
+ * released on {@link #close()}.
  * 
  * @author Guillaume Mary
  */
 public class ReadOperation<ParamType> extends SQLOperation<ParamType> {
 	
+	/** Connection given by {@link ReadConnectionProvider#giveReadConnection()}, to be released on {@link #close()} */
+	private Connection readConnection;
+	
+	/** Last {@link ResultSet} returned by {@link #execute()} when an observer is set, to notify end of its execution if it is not closed */
+	private RowCountingResultSet currentResultSet;
+	
+	/** Maximum number of rows read, default is null meaning that all rows are read */
+	private Integer maxRows = null;
+	
 	public ReadOperation(SQLStatement<ParamType> sqlGenerator, ConnectionProvider connectionProvider) {
 		super(sqlGenerator, connectionProvider);
 	}
 	
+	/**
+	 * @return null means that all rows are read, else the maximum number of rows read
+	 */
+	public Integer getMaxRows() {
+		return maxRows;
+	}
+	
+	/**
+	 * Limits the number of rows read through {@link PreparedStatement#setMaxRows(int)} : a portable way of limiting a result set, which
+	 * doesn't depend on database SQL dialect
+	 * 
+	 * @param maxRows maximum number of rows, 0 means no limit (see JDBC specification)
+	 */
+	public void setMaxRows(int maxRows) {
+		this.maxRows = maxRows;
+	}
+	
+	@Override
+	protected void ensureStatement() throws SQLException {
+		if (connectionProvider instanceof ReadConnectionProvider) {
+			if (this.preparedStatement == null) {
+				this.readConnection = ((ReadConnectionProvider) connectionProvider).giveReadConnection();
+				prepareStatement(readConnection);
+			}
+		} else {
+			super.ensureStatement();
+		}
+	}
+	
+	@Override
+	protected void prepareExecute() {
+		super.prepareExecute();
+		if (getMaxRows() != null) {
+			try {
+				this.preparedStatement.setMaxRows(getMaxRows());
+			} catch (SQLException e) {
+				throw new SQLExecutionException(getSQL(), e);
+			}
+		}
+	}
+	
+	@Override
+	public void close() {
+		try {
+			// closing statement closes its ResultSet without notifying its wrapper, so we do it
+			endCurrentResultSet();
+			super.close();
+		} finally {
+			if (readConnection != null) {
+				((ReadConnectionProvider) connectionProvider).releaseReadConnection(readConnection);
+				readConnection = null;
+			}
+		}
+	}
+	
 	/**
 	 * Executes the statement, wraps {@link PreparedStatement#executeQuery()}
 	 *
 	 * @return the {@link ResultSet} from the database
 	 */
 	public ResultSet execute() {
-		prepareExecute();
+		// executing statement again closes its previous ResultSet
+		endCurrentResultSet();
+		SQLExecution execution = notifyStart(Kind.READ);
 		try {
-			return this.preparedStatement.executeQuery();
+			long bindStart = System.nanoTime();
+			prepareExecute();
+			execution.setBindNanos(System.nanoTime() - bindStart);
+			long executionStart = System.nanoTime();
+			ResultSet resultSet = this.preparedStatement.executeQuery();
+			execution.setExecutionNanos(System.nanoTime() - executionStart);
+			if (getExecutionObserver() == SQLExecutionObserver.NOOP) {
+				// no need to count rows
+				return resultSet;
+			} else {
+				currentResultSet = new RowCountingResultSet(resultSet, execution);
+				return currentResultSet;
+			}
 		} catch (SQLException e) {
-			throw new SQLExecutionException(getSQL(), e);
+			SQLExecutionException executionException = new SQLExecutionException(getSQL(), e);
+			notifyError(execution, executionException);
+			throw executionException;
+		} catch (RuntimeException e) {
+			notifyError(execution, e);
+			throw e;
+		}
+	}
+	
+	private void endCurrentResultSet() {
+		if (currentResultSet != null) {
+			currentResultSet.end();
+			currentResultSet = null;
+		}
+	}
+	
+	/**
+	 * {@link ResultSet} that counts read rows to notify {@link SQLExecutionObserver} of the end of execution when all rows are read or when it
+	 * is closed, the first of both (or when its statement is closed or executed again, see {@link #endCurrentResultSet()}).
+	 */
+	private class RowCountingResultSet extends ResultSetWrapper {
+		
+		private final SQLExecution execution;
+		
+		private long rowCount = 0;
+		
+		private boolean ended = false;
+		
+		private RowCountingResultSet(ResultSet resultSet, SQLExecution execution) {
+			super(resultSet);
+			this.execution = execution;
+		}
+		
+		@Override
+		public boolean next() throws SQLException {
+			boolean next = super.next();
+			if (next) {
+				rowCount++;
+			} else {
+				end();
+			}
+			return next;
+		}
+		
+		@Override
+		public void close() throws SQLException {
+			end();
+			super.close();
+		}
+		
+		private void end() {
+			if (!ended) {
+				ended = true;
+				execution.setFetchedRowCount(rowCount);
+				notifyEnd(execution);
+			}
 		}
 	}
 }
@@ -0,0 +1,112 @@
+package org.gama.stalactite.sql.dml;
+
+/**
+ * Measures of a SQL execution, given to {@link SQLExecutionObserver}s. Instance is filled along execution steps, hence values that are not
+ * yet known when an event is fired are left to their default : 0 for durations, -1 for row counts.
+ *
+ * Made mutable to avoid instanciating an object per execution step, it is not expected to be modified by observers.
+ *
+ * @author Guillaume Mary
+ * @see SQLExecutionObserver
+ */
+public class SQLExecution {
+	
+	/**
+	 * Kind of execution
+	 */
+	public enum Kind {
+		/** Select executed by {@link ReadOperation} */
+		READ,
+		/** Single insert, update or delete executed by {@link WriteOperation#execute()} */
+		WRITE,
+		/** JDBC batch executed by {@link WriteOperation#executeBatch()} */
+		BATCH,
+		/** Schema script */
+		DDL
+	}
+	
+	private final Kind kind;
+	
+	private final String sql;
+	
+	private long bindNanos = 0;
+	
+	private long executionNanos = 0;
+	
+	private int batchedStatementCount = 1;
+	
+	private int updatedRowCount = -1;
+	
+	private long fetchedRowCount = -1;
+	
+	public SQLExecution(Kind kind, String sql) {
+		this.kind = kind;
+		this.sql = sql;
+	}
+	
+	public Kind getKind() {
+		return kind;
+	}
+	
+	/**
+	 * @return executed SQL, with parameter markers, so it represents statement shape
+	 */
+	public String getSql() {
+		return sql;
+	}
+	
+	/**
+	 * @return time spent to create statement and bind its values, in nanoseconds, summed over all statements of a batch
+	 */
+	public long getBindNanos() {
+		return bindNanos;
+	}
+	
+	public void setBindNanos(long bindNanos) {
+		this.bindNanos = bindNanos;
+	}
+	
+	/**
+	 * @return time spent by JDBC execution, in nanoseconds, reading of rows excluded
+	 */
+	public long getExecutionNanos() {
+		return executionNanos;
+	}
+	
+	public void setExecutionNanos(long executionNanos) {
+		this.executionNanos = executionNanos;
+	}
+	
+	/**
+	 * @return number of statements sent to database, greater than 1 only for {@link Kind#BATCH}
+	 */
+	public int getBatchedStatementCount() {
+		return batchedStatementCount;
+	}
+	
+	public void setBatchedStatementCount(int batchedStatementCount) {
+		this.batchedStatementCount = batchedStatementCount;
+	}
+	
+	/**
+	 * @return updated row count, as returned by {@link WriteOperation}, -1 for selects and DDL
+	 */
+	public int getUpdatedRowCount() {
+		return updatedRowCount;
+	}
+	
+	public void setUpdatedRowCount(int updatedRowCount) {
+		this.updatedRowCount = updatedRowCount;
+	}
+	
+	/**
+	 * @return number of rows read from {@link java.sql.ResultSet} of a select, -1 for other kinds
+	 */
+	public long getFetchedRowCount() {
+		return fetchedRowCount;
+	}
+	
+	public void setFetchedRowCount(long fetchedRowCount) {
+		this.fetchedRowCount = fetchedRowCount;
+	}
+}
@@ -0,0 +1,184 @@
+package org.gama.stalactite.sql.dml;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SQLExecutionObserver} that aggregates executions per statement SQL in memory : execution count, error count, durations, row counts and
+ * an execution time histogram. Counters are lock-free ({@link LongAdder}) so that concurrent executions don't contend on them.
+ *
+ * Metrics can be polled with {@link #getMetrics()}, for instance by a scheduled task exporting them to a monitoring system, and cleared with
+ * {@link #reset()}.
+ *
+ * @author Guillaume Mary
+ */
+public class SQLExecutionMetrics implements SQLExecutionObserver {
+	
+	/** Number of buckets of execution time histogram, last one gets executions longer than 2^30 microseconds (about 18 minutes) */
+	public static final int HISTOGRAM_BUCKET_COUNT = 32;
+	
+	private final ConcurrentMap<String, StatementMetrics> metricsPerStatement = new ConcurrentHashMap<>();
+	
+	@Override
+	public void onEnd(SQLExecution execution) {
+		metricsPerStatement.computeIfAbsent(execution.getSql(), StatementMetrics::new).record(execution);
+	}
+	
+	@Override
+	public void onError(SQLExecution execution, Throwable error) {
+		metricsPerStatement.computeIfAbsent(execution.getSql(), StatementMetrics::new).recordError();
+	}
+	
+	/**
+	 * Gives metrics of executed statements. Returned {@link StatementMetrics} are live : they keep on being updated.
+	 *
+	 * @return an unmodifiable view of metrics per statement SQL
+	 */
+	public Map<String, StatementMetrics> getMetrics() {
+		return Collections.unmodifiableMap(metricsPerStatement);
+	}
+	
+	/**
+	 * Forgets all metrics
+	 */
+	public void reset() {
+		metricsPerStatement.clear();
+	}
+	
+	/**
+	 * Gives index of histogram bucket for an execution duration : bucket i counts durations between 2^(i-1) (included) and 2^i (excluded)
+	 * microseconds, bucket 0 counts durations under 1 microsecond.
+	 *
+	 * @param durationNanos an execution duration
+	 * @return a number between 0 and {@link #HISTOGRAM_BUCKET_COUNT} - 1
+	 */
+	public static int giveHistogramBucket(long durationNanos) {
+		long durationMicros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+		return Math.min(HISTOGRAM_BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(durationMicros));
+	}
+	
+	/**
+	 * Metrics of a statement
+	 */
+	public static class StatementMetrics {
+		
+		private final String sql;
+		
+		private final LongAdder executionCount = new LongAdder();
+		
+		private final LongAdder errorCount = new LongAdder();
+		
+		private final LongAdder totalBindNanos = new LongAdder();
+		
+		private final LongAdder totalExecutionNanos = new LongAdder();
+		
+		private final LongAccumulator maxExecutionNanos = new LongAccumulator(Long::max, 0);
+		
+		private final LongAdder batchedStatementCount = new LongAdder();
+		
+		private final LongAdder updatedRowCount = new LongAdder();
+		
+		private final LongAdder fetchedRowCount = new LongAdder();
+		
+		private final LongAdder[] executionTimeHistogram = new LongAdder[HISTOGRAM_BUCKET_COUNT];
+		
+		private StatementMetrics(String sql) {
+			this.sql = sql;
+			for (int i = 0; i < executionTimeHistogram.length; i++) {
+				executionTimeHistogram[i] = new LongAdder();
+			}
+		}
+		
+		private void record(SQLExecution execution) {
+			executionCount.increment();
+			totalBindNanos.add(execution.getBindNanos());
+			totalExecutionNanos.add(execution.getExecutionNanos());
+			maxExecutionNanos.accumulate(execution.getExecutionNanos());
+			batchedStatementCount.add(execution.getBatchedStatementCount());
+			// negative values are not significant (unknown count or driver "no info" result)
+			if (execution.getUpdatedRowCount() > 0) {
+				updatedRowCount.add(execution.getUpdatedRowCount());
+			}
+			if (execution.getFetchedRowCount() > 0) {
+				fetchedRowCount.add(execution.getFetchedRowCount());
+			}
+			executionTimeHistogram[giveHistogramBucket(execution.getExecutionNanos())].increment();
+		}
+		
+		private void recordError() {
+			errorCount.increment();
+		}
+		
+		public String getSql() {
+			return sql;
+		}
+		
+		/**
+		 * @return number of successful executions
+		 */
+		public long getExecutionCount() {
+			return executionCount.sum();
+		}
+		
+		public long getErrorCount() {
+			return errorCount.sum();
+		}
+		
+		public long getTotalBindNanos() {
+			return totalBindNanos.sum();
+		}
+		
+		public long getTotalExecutionNanos() {
+			return totalExecutionNanos.sum();
+		}
+		
+		public long getMaxExecutionNanos() {
+			return maxExecutionNanos.get();
+		}
+		
+		/**
+		 * @return mean duration of successful executions, 0 if there's none
+		 */
+		public long getMeanExecutionNanos() {
+			long count = getExecutionCount();
+			return count == 0 ? 0 : getTotalExecutionNanos() / count;
+		}
+		
+		/**
+		 * @return number of statements sent to database, which is greater than execution count when statement is batched
+		 */
+		public long getBatchedStatementCount() {
+			return batchedStatementCount.sum();
+		}
+		
+		public long getUpdatedRowCount() {
+			return updatedRowCount.sum();
+		}
+		
+		public long getFetchedRowCount() {
+			return fetchedRowCount.sum();
+		}
+		
+		/**
+		 * @return a copy of execution count per duration bucket, see {@link #giveHistogramBucket(long)}
+		 */
+		public long[] getExecutionTimeHistogram() {
+			long[] result = new long[executionTimeHistogram.length];
+			for (int i = 0; i < executionTimeHistogram.length; i++) {
+				result[i] = executionTimeHistogram[i].sum();
+			}
+			return result;
+		}
+		
+		@Override
+		public String toString() {
+			return sql + " : " + getExecutionCount() + " executions, " + getErrorCount() + " errors, mean "
+					+ TimeUnit.NANOSECONDS.toMicros(getMeanExecutionNanos()) + "us, max " + TimeUnit.NANOSECONDS.toMicros(getMaxExecutionNanos()) + "us";
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package org.gama.stalactite.sql.dml;
+
+/**
+ * Contract to implement for being notified of SQL executions, with their timing and outcome, for monitoring purpose.
+ * At the opposit of {@link SQLOperation.SQLOperationListener}, no value is given to observers, hence they can't leak sensible data.
+ *
+ * For each execution, {@link #onStart(SQLExecution)} is called, then either {@link #onEnd(SQLExecution)} or
+ * {@link #onError(SQLExecution, Throwable)} with the same {@link SQLExecution} instance. For selects, {@link #onEnd(SQLExecution)} is called once
+ * all rows are read, or when {@link java.sql.ResultSet} is closed, so fetched row count can be given.
+ *
+ * Observers are invoked synchronously in the executing thread, so they must be fast and thread-safe.
+ * Default observer of all operations can be set with {@link SQLOperation#setDefaultExecutionObserver(SQLExecutionObserver)}, or declared as a
+ * {@link java.util.ServiceLoader} service, else a particular operation can be observed with
+ * {@link SQLOperation#setExecutionObserver(SQLExecutionObserver)}.
+ *
+ * @author Guillaume Mary
+ * @see SQLExecutionMetrics
+ */
+public interface SQLExecutionObserver {
+	
+	/** Observer that does nothing, used by default */
+	SQLExecutionObserver NOOP = new SQLExecutionObserver() {
+		/* Expected to do nothing, so we do nothing */
+	};
+	
+	default void onStart(SQLExecution execution) {
+		// does nothing by default
+	}
+	
+	default void onEnd(SQLExecution execution) {
+		// does nothing by default
+	}
+	
+	default void onError(SQLExecution execution, Throwable error) {
+		// does nothing by default
+	}
+}
@@ -0,0 +1,30 @@
+package org.gama.stalactite.sql.dml;
+
+import java.util.Collection;
+
+/**
+ * @author Guillaume Mary
+ */
+public class SQLExecutionObserverCollection implements SQLExecutionObserver {
+	
+	private final Collection<SQLExecutionObserver> observers;
+	
+	public SQLExecutionObserverCollection(Collection<SQLExecutionObserver> observers) {
+		this.observers = observers;
+	}
+	
+	@Override
+	public void onStart(SQLExecution execution) {
+		observers.forEach(o -> o.onStart(execution));
+	}
+	
+	@Override
+	public void onEnd(SQLExecution execution) {
+		observers.forEach(o -> o.onEnd(execution));
+	}
+	
+	@Override
+	public void onError(SQLExecution execution, Throwable error) {
+		observers.forEach(o -> o.onError(execution, error));
+	}
+}
@@ -6,8 +6,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -42,6 +45,57 @@ public abstract class SQLOperation<ParamType> implements AutoCloseable {
 		/* Expected to do nothing, so we do nothing */
 	};
 	
+	/** Observer given to new operations, initialized with {@link SQLExecutionObserver} services declared to {@link ServiceLoader} */
+	private static volatile SQLExecutionObserver defaultExecutionObserver = loadExecutionObservers();
+	
+	private static SQLExecutionObserver loadExecutionObservers() {
+		List<SQLExecutionObserver> observers = new ArrayList<>();
+		ServiceLoader.load(SQLExecutionObserver.class).forEach(observers::add);
+		switch (observers.size()) {
+			case 0:
+				return SQLExecutionObserver.NOOP;
+			case 1:
+				return observers.get(0);
+			default:
+				return new SQLExecutionObserverCollection(observers);
+		}
+	}
+	
+	/**
+	 * Gives the {@link SQLExecutionObserver} used by operations that weren't given a particular one
+	 * 
+	 * @return never null, {@link SQLExecutionObserver#NOOP} if none was set nor declared as service
+	 */
+	public static SQLExecutionObserver getDefaultExecutionObserver() {
+		return defaultExecutionObserver;
+	}
+	
+	/**
+	 * Sets the {@link SQLExecutionObserver} of operations created after this call and that weren't given a particular one
+	 * 
+	 * @param executionObserver an observer, null to remove current one
+	 */
+	public static void setDefaultExecutionObserver(@Nullable SQLExecutionObserver executionObserver) {
+		defaultExecutionObserver = Objects.preventNull(executionObserver, SQLExecutionObserver.NOOP);
+	}
+	
+	/** Logger to which executions are handed over instead of being logged by executing thread, null for synchronous logging */
+	private static volatile AsyncSQLLogger asyncLogger;
+	
+	@Nullable
+	public static AsyncSQLLogger getAsyncLogger() {
+		return asyncLogger;
+	}
+	
+	/**
+	 * Sets the {@link AsyncSQLLogger} used by all operations to log their executions. Closing previous one is let to caller.
+	 * 
+	 * @param asyncLogger a logger, null to go back to synchronous logging
+	 */
+	public static void setAsyncLogger(@Nullable AsyncSQLLogger asyncLogger) {
+		SQLOperation.asyncLogger = asyncLogger;
+	}
+	
 	protected final ConnectionProvider connectionProvider;
 	
 	protected PreparedStatement preparedStatement;
@@ -50,6 +104,8 @@ public abstract class SQLOperation<ParamType> implements AutoCloseable {
 	
 	private SQLOperationListener<ParamType> listener = NOOP_LISTENER;
 	
+	private SQLExecutionObserver executionObserver = defaultExecutionObserver;
+	
 	private String sql;
 	
 	/** Parameters that mustn't be logged for security reason for instance */
@@ -79,6 +135,35 @@ public abstract class SQLOperation<ParamType> implements AutoCloseable {
 		this.listener = Objects.preventNull(listener, NOOP_LISTENER);
 	}
 	
+	public SQLExecutionObserver getExecutionObserver() {
+		return executionObserver;
+	}
+	
+	public void setExecutionObserver(@Nullable SQLExecutionObserver executionObserver) {
+		this.executionObserver = Objects.preventNull(executionObserver, SQLExecutionObserver.NOOP);
+	}
+	
+	/**
+	 * Notifies {@link SQLExecutionObserver} of an execution start
+	 * 
+	 * @param kind kind of execution
+	 * @return the object to be filled with execution measures, then to be given to {@link #notifyEnd(SQLExecution)} or
+	 * {@link #notifyError(SQLExecution, Throwable)}
+	 */
+	protected SQLExecution notifyStart(SQLExecution.Kind kind) {
+		SQLExecution execution = new SQLExecution(kind, getSQL());
+		executionObserver.onStart(execution);
+		return execution;
+	}
+	
+	protected void notifyEnd(SQLExecution execution) {
+		executionObserver.onEnd(execution);
+	}
+	
+	protected void notifyError(SQLExecution execution, Throwable error) {
+		executionObserver.onError(execution, error);
+	}
+	
 	/**
 	 * Simple wrapping over {@link SQLStatement#setValues(Map)}
 	 * @param values values for each parameter
@@ -207,6 +292,10 @@ public abstract class SQLOperation<ParamType> implements AutoCloseable {
 		this.notLoggedParams = notLoggedParams;
 	}
 	
+	protected Set<ParamType> getNotLoggedParams() {
+		return notLoggedParams;
+	}
+	
 	protected Map<ParamType, Object> filterLoggable(Map<ParamType, ?> values) {
 		// we make a copy of values to prevent alteration
 		Map<ParamType, Object> loggedValues = new HashMap<>(values);
@@ -226,6 +315,14 @@ public abstract class SQLOperation<ParamType> implements AutoCloseable {
 	}
 	
 	protected void logExecution() {
+		AsyncSQLLogger currentAsyncLogger = asyncLogger;
+		if (currentAsyncLogger != null) {
+			if (LOGGER.isDebugEnabled()) {
+				// values are copied by async logger, masking is done by its own thread
+				currentAsyncLogger.log(sqlStatement.getSQLSource(), LOGGER.isTraceEnabled() ? sqlStatement.getValues() : null, notLoggedParams);
+			}
+			return;
+		}
 		logExecution(() -> filterLoggable(sqlStatement.getValues()).toString());
 	}
 	
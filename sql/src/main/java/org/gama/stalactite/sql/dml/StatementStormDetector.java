@@ -0,0 +1,279 @@
+package org.gama.stalactite.sql.dml;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import org.gama.stalactite.sql.CommitListener;
+import org.gama.stalactite.sql.RollbackListener;
+import org.gama.stalactite.sql.TransactionObserver;
+import org.gama.stalactite.sql.dml.SQLExecution.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diagnostic {@link SQLExecutionObserver} that detects "N+1" selects and more generally storms of identical statements : it counts executions
+ * per statement shape and reports shapes executed more than a threshold in a transaction. Shape of a statement is its SQL with parameter lists
+ * ("in (?, ?, ?)") collapsed, so that statements that only differ by their number of parameters are counted together.
+ *
+ * Counts are kept per thread and reset at the end of transaction, provided that this instance is registered on a {@link TransactionObserver}
+ * (see {@link #observe(TransactionObserver)}), else they can be reset with {@link #reset()}.
+ *
+ * Each threshold overrun is recorded as a {@link Violation} which keeps the calling classes of the first exceeding execution, filtered on a
+ * package prefix (persistence engine one by default), to help identifying the persister and relation that caused it. Violations are logged
+ * as warnings and can be checked by tests with {@link #assertNoViolation()}, or this instance can be configured to throw
+ * a {@link StatementBudgetExceededException} right at the exceeding execution.
+ *
+ * This is a diagnostic tool : it has a cost (stack trace capture on violation, counters per execution) that is not aimed at production.
+ * It must be installed as an {@link SQLExecutionObserver}, typically with {@link SQLOperation#setDefaultExecutionObserver(SQLExecutionObserver)}.
+ *
+ * @author Guillaume Mary
+ */
+public class StatementStormDetector implements SQLExecutionObserver, CommitListener, RollbackListener {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(StatementStormDetector.class);
+	
+	/** Package prefix of calling classes kept by default in {@link Violation}s */
+	public static final String DEFAULT_CALLER_PACKAGE = "org.gama.stalactite.persistence";
+	
+	/** Maximum number of calling classes kept in a {@link Violation} */
+	private static final int MAX_CALLER_COUNT = 10;
+	
+	private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+	
+	private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+	
+	/**
+	 * Gives the shape of a SQL statement : its parameter lists are collapsed, and its whitespaces normalized
+	 *
+	 * @param sql any SQL
+	 * @return normalized SQL
+	 */
+	public static String normalize(String sql) {
+		String result = WHITESPACES.matcher(sql.trim()).replaceAll(" ");
+		return PARAMETER_LIST.matcher(result).replaceAll("(?...)");
+	}
+	
+	private final int threshold;
+	
+	private final boolean failOnViolation;
+	
+	private final String callerPackage;
+	
+	private final ThreadLocal<Map<String, ShapeCounter>> countersPerShape = ThreadLocal.withInitial(HashMap::new);
+	
+	private final Queue<Violation> violations = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * Creates a detector that only records and logs violations
+	 *
+	 * @param threshold maximum number of executions of a statement shape in a transaction
+	 */
+	public StatementStormDetector(int threshold) {
+		this(threshold, false);
+	}
+	
+	/**
+	 * @param threshold maximum number of executions of a statement shape in a transaction
+	 * @param failOnViolation true to throw a {@link StatementBudgetExceededException} when threshold is exceeded, which aborts exceeding execution
+	 */
+	public StatementStormDetector(int threshold, boolean failOnViolation) {
+		this(threshold, failOnViolation, DEFAULT_CALLER_PACKAGE);
+	}
+	
+	/**
+	 * @param threshold maximum number of executions of a statement shape in a transaction
+	 * @param failOnViolation true to throw a {@link StatementBudgetExceededException} when threshold is exceeded, which aborts exceeding execution
+	 * @param callerPackage package prefix of calling classes to be kept in {@link Violation}s
+	 */
+	public StatementStormDetector(int threshold, boolean failOnViolation, String callerPackage) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("Threshold is expected to be positive : " + threshold);
+		}
+		this.threshold = threshold;
+		this.failOnViolation = failOnViolation;
+		this.callerPackage = callerPackage;
+	}
+	
+	/**
+	 * Registers this instance to given transaction notifier so that counters are reset at each transaction end
+	 *
+	 * @param transactionObserver a notifier of commit and rollback, typically a {@link org.gama.stalactite.sql.TransactionAwareConnectionProvider}
+	 * @return this
+	 */
+	public StatementStormDetector observe(TransactionObserver transactionObserver) {
+		transactionObserver.addCommitListener(this);
+		transactionObserver.addRollbackListener(this);
+		return this;
+	}
+	
+	@Override
+	public void onStart(SQLExecution execution) {
+		if (execution.getKind() == Kind.DDL) {
+			return;
+		}
+		String shape = normalize(execution.getSql());
+		ShapeCounter counter = countersPerShape.get().computeIfAbsent(shape, k -> new ShapeCounter());
+		counter.count++;
+		if (counter.violation != null) {
+			counter.violation.count = counter.count;
+		} else if (counter.count > threshold) {
+			counter.violation = new Violation(shape, counter.count, giveCallers());
+			violations.add(counter.violation);
+			LOGGER.warn("Statement executed more than {} times in transaction : {}", threshold, counter.violation);
+			if (failOnViolation) {
+				throw new StatementBudgetExceededException(Collections.singletonList(counter.violation));
+			}
+		}
+	}
+	
+	private List<String> giveCallers() {
+		Set<String> result = new LinkedHashSet<>();
+		for (StackTraceElement stackTraceElement : Thread.currentThread().getStackTrace()) {
+			if (stackTraceElement.getClassName().startsWith(callerPackage)) {
+				result.add(stackTraceElement.getClassName() + "." + stackTraceElement.getMethodName());
+				if (result.size() == MAX_CALLER_COUNT) {
+					break;
+				}
+			}
+		}
+		return new ArrayList<>(result);
+	}
+	
+	/**
+	 * @return violations recorded since creation or last {@link #clearViolations()}, in occurrence order
+	 */
+	public List<Violation> getViolations() {
+		return new ArrayList<>(violations);
+	}
+	
+	public void clearViolations() {
+		violations.clear();
+	}
+	
+	/**
+	 * Checks that no violation occurred, made for tests
+	 *
+	 * @throws StatementBudgetExceededException if at least one violation was recorded
+	 */
+	public void assertNoViolation() {
+		if (!violations.isEmpty()) {
+			throw new StatementBudgetExceededException(getViolations());
+		}
+	}
+	
+	/**
+	 * Resets execution counters of current thread, as if a new transaction started
+	 */
+	public void reset() {
+		countersPerShape.remove();
+	}
+	
+	@Override
+	public void beforeCommit() {
+		// nothing to do before commit
+	}
+	
+	@Override
+	public void afterCommit() {
+		reset();
+	}
+	
+	@Override
+	public void beforeRollback() {
+		// nothing to do before rollback
+	}
+	
+	@Override
+	public void afterRollback() {
+		reset();
+	}
+	
+	@Override
+	public void beforeRollback(Savepoint savepoint) {
+		// transaction is not over
+	}
+	
+	@Override
+	public void afterRollback(Savepoint savepoint) {
+		// transaction is not over
+	}
+	
+	@Override
+	public boolean isTemporary() {
+		return false;
+	}
+	
+	private static class ShapeCounter {
+		
+		private int count;
+		
+		private Violation violation;
+	}
+	
+	/**
+	 * A statement shape executed more than threshold in a transaction
+	 */
+	public static class Violation {
+		
+		private final String statementShape;
+		
+		private volatile int count;
+		
+		private final List<String> callers;
+		
+		private Violation(String statementShape, int count, List<String> callers) {
+			this.statementShape = statementShape;
+			this.count = count;
+			this.callers = callers;
+		}
+		
+		public String getStatementShape() {
+			return statementShape;
+		}
+		
+		/**
+		 * @return number of executions of the statement in the transaction, updated until transaction end
+		 */
+		public int getCount() {
+			return count;
+		}
+		
+		/**
+		 * @return methods that were in the call stack of the first exceeding execution, from the nearest to the farthest
+		 */
+		public List<String> getCallers() {
+			return callers;
+		}
+		
+		@Override
+		public String toString() {
+			return statementShape + " executed " + count + " times, called by " + callers;
+		}
+	}
+	
+	/**
+	 * Thrown when a statement shape exceeds its execution threshold, if required, or by {@link #assertNoViolation()}
+	 */
+	public static class StatementBudgetExceededException extends RuntimeException {
+		
+		private final List<Violation> violations;
+		
+		public StatementBudgetExceededException(List<Violation> violations) {
+			super("Statement execution budget exceeded : " + violations);
+			this.violations = violations;
+		}
+		
+		public List<Violation> getViolations() {
+			return violations;
+		}
+	}
+}
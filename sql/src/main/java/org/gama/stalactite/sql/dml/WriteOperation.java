@@ -1,9 +1,18 @@
 package org.gama.stalactite.sql.dml;
 
+import javax.annotation.Nullable;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.gama.lang.Retryer;
@@ -11,6 +20,7 @@ import org.gama.lang.Retryer.RetryException;
 import org.gama.lang.exception.Exceptions;
 import org.gama.lang.function.ThrowingExecutable;
 import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.dml.SQLExecution.Kind;
 
 /**
  * {@link SQLOperation} dedicated to Inserts, Updates, Deletes ... so theses operations return number of affected rows
@@ -25,11 +35,26 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 	/** JDBC Batch statement count, for logging */
 	private int batchedStatementCount = 0;
 	
+	/** Time spent to bind values of current batch statements, for {@link SQLExecutionObserver} */
+	private long batchBindNanos = 0;
+	
+	/** Estimated size of values of current batch statements, see {@link #getBatchedPayloadSize()} */
+	private long batchedPayloadSize = 0;
+	
 	/** Instance that helps to retry update statements on error, default is no {@link Retryer#NO_RETRY}, should not be null */
 	private final Retryer retryer;
 	
 	/** Batched values, mainly for logging, filled when debug is required */
-	private final Map<Integer /* batch count */, Map<ParamType, ?>> batchedValues = new HashMap<>();
+	private Map<Integer /* batch count */, Map<ParamType, ?>> batchedValues = new HashMap<>();
+	
+	/** Indicates if statements rejected by database should be isolated from their batch, see {@link #setPartialBatchRetry(boolean)} */
+	private boolean partialBatchRetry = false;
+	
+	/** Values of current batch statements, in batch order, filled only in partial retry mode so they can be replayed */
+	private final List<Map<ParamType, ?>> replayableValues = new ArrayList<>();
+	
+	/** Statements rejected by database in partial retry mode */
+	private final List<RejectedStatement<ParamType>> rejectedStatements = new ArrayList<>();
 	
 	public WriteOperation(SQLStatement<ParamType> sqlGenerator, ConnectionProvider connectionProvider) {
 		this(sqlGenerator, connectionProvider, Retryer.NO_RETRY);
@@ -44,6 +69,56 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 		return updatedRowCount;
 	}
 	
+	/**
+	 * @return number of statements added to current batch, reset on {@link #executeBatch()}
+	 */
+	public int getBatchedStatementCount() {
+		return batchedStatementCount;
+	}
+	
+	/**
+	 * Gives an estimation of the size of values added to current batch, in bytes : texts count for 2 bytes per character, binaries for their
+	 * length, other values for 8 bytes. It is not the size sent on the wire, which depends on driver, but it is proportional to it enough to
+	 * compare batches of a statement.
+	 * 
+	 * @return estimated size of current batch values, reset on {@link #executeBatch()}
+	 */
+	public long getBatchedPayloadSize() {
+		return batchedPayloadSize;
+	}
+	
+	/**
+	 * Activates partial retry of failing batches : before execution a {@link Savepoint} is set, and if a statement of the batch is rejected
+	 * by database, transaction is rolled back to it (and savepoint is released), then the batch is replayed without rejected statements (found
+	 * thanks to {@link BatchUpdateException#getUpdateCounts()}), and so on until the batch succeeds. When driver stops at first rejected
+	 * statement, preceding ones are replayed apart from following ones, so that they are not replayed again if a following one is also
+	 * rejected. Rejected statements don't make
+	 * {@link #executeBatch()} fail, they are available through {@link #getRejectedStatements()}.
+	 * Hence a large import doesn't lose its valid rows because of a few invalid ones.
+	 * 
+	 * Expects current connection to be in a transaction (not in auto-commit mode) since savepoints are not available outside of it.
+	 * Note that batches are not given to {@link Retryer} in this mode.
+	 * Default is false : any error makes the whole batch fail.
+	 * 
+	 * @param partialBatchRetry true to isolate rejected statements of batches
+	 */
+	public void setPartialBatchRetry(boolean partialBatchRetry) {
+		this.partialBatchRetry = partialBatchRetry;
+	}
+	
+	public boolean isPartialBatchRetry() {
+		return partialBatchRetry;
+	}
+	
+	/**
+	 * Gives statements rejected by database while executing batches in partial retry mode, see {@link #setPartialBatchRetry(boolean)}
+	 * 
+	 * @return rejected statements of all batches executed by this instance, in execution order
+	 */
+	public List<RejectedStatement<ParamType>> getRejectedStatements() {
+		return Collections.unmodifiableList(rejectedStatements);
+	}
+	
 	/**
 	 * Executes the statement, wraps {@link PreparedStatement#executeUpdate()}.
 	 * To be used if you don't used {@link #addBatch(Map)}
@@ -53,8 +128,21 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 	 * @see #setValues(Map)
 	 */
 	public int execute() {
-		prepareExecute();
-		return executeUpdate();
+		SQLExecution execution = notifyStart(Kind.WRITE);
+		try {
+			long bindStart = System.nanoTime();
+			prepareExecute();
+			execution.setBindNanos(System.nanoTime() - bindStart);
+			long executionStart = System.nanoTime();
+			int result = executeUpdate();
+			execution.setExecutionNanos(System.nanoTime() - executionStart);
+			execution.setUpdatedRowCount(result);
+			notifyEnd(execution);
+			return result;
+		} catch (RuntimeException e) {
+			notifyError(execution, e);
+			throw e;
+		}
 	}
 	
 	/**
@@ -66,11 +154,23 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 	 */
 	public int executeBatch() {
 		LOGGER.debug("Batching statement {} times", batchedStatementCount);
+		SQLExecution execution = notifyStart(Kind.BATCH);
+		execution.setBatchedStatementCount(batchedStatementCount);
+		execution.setBindNanos(batchBindNanos);
 		try {
-			updatedRowCount = computeUpdatedRowCount(doExecuteBatch());
+			long executionStart = System.nanoTime();
+			updatedRowCount = computeUpdatedRowCount(partialBatchRetry ? doExecuteBatchWithSavepoint() : doExecuteBatch());
+			execution.setExecutionNanos(System.nanoTime() - executionStart);
+			execution.setUpdatedRowCount(updatedRowCount);
+			notifyEnd(execution);
 			return updatedRowCount;
+		} catch (RuntimeException e) {
+			notifyError(execution, e);
+			throw e;
 		} finally {
 			batchedStatementCount = 0;
+			batchBindNanos = 0;
+			batchedPayloadSize = 0;
 		}
 	}
 	
@@ -114,22 +214,161 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 	
 	private int[] doExecuteBatch() {
 		getListener().onExecute(getSqlStatement());
-		logExecution(() -> {
-			HashMap<Integer, Map<ParamType, ?>> valuesClone = new HashMap<>(batchedValues);
-			valuesClone.entrySet().forEach(e -> e.setValue(filterLoggable(e.getValue())));
-			return valuesClone.toString();
-		});
+		logBatchExecution();
 		try {
 			return (int[]) doWithRetry((ThrowingExecutable<Object, SQLException>) () -> preparedStatement.executeBatch());
 		} catch (SQLException | RetryException e) {
 			throw new SQLExecutionException(getSQL(), e);
 		} finally {
-			if (LOGGER.isTraceEnabled()) {
+			// always cleared (not only at TRACE level) because level may have changed since values were added
+			if (!batchedValues.isEmpty()) {
+				batchedValues.clear();
+			}
+		}
+	}
+	
+	private int[] doExecuteBatchWithSavepoint() {
+		getListener().onExecute(getSqlStatement());
+		logBatchExecution();
+		// statements are executed by chunks, each under its own savepoint : a failing chunk is split so that its statements known to be valid
+		// are executed apart from following ones, hence a failure doesn't replay statements that already went through
+		Deque<List<Map<ParamType, ?>>> chunks = new ArrayDeque<>();
+		chunks.add(new ArrayList<>(replayableValues));
+		replayableValues.clear();
+		List<Integer> updateCounts = new ArrayList<>();
+		// first chunk is already bound to statement by addBatch(..)
+		boolean bound = true;
+		try {
+			Connection connection = preparedStatement.getConnection();
+			while (!chunks.isEmpty()) {
+				List<Map<ParamType, ?>> chunk = chunks.pop();
+				if (!bound) {
+					bindBatch(chunk);
+				}
+				bound = false;
+				Savepoint savepoint = connection.setSavepoint();
+				try {
+					int[] chunkUpdateCounts = preparedStatement.executeBatch();
+					connection.releaseSavepoint(savepoint);
+					for (int updateCount : chunkUpdateCounts) {
+						updateCounts.add(updateCount);
+					}
+				} catch (BatchUpdateException e) {
+					// rollback is necessary even for statements preceding the failing one because some databases abort the whole transaction
+					// on error until it is rolled back
+					connection.rollback(savepoint);
+					connection.releaseSavepoint(savepoint);
+					// drivers don't agree on batch state after a failure, so we clear it to replay it from scratch
+					preparedStatement.clearBatch();
+					splitFailedChunk(chunk, e).descendingIterator().forEachRemaining(chunks::push);
+				}
+			}
+			return updateCounts.stream().mapToInt(Integer::intValue).toArray();
+		} catch (SQLException e) {
+			throw new SQLExecutionException(getSQL(), e);
+		} finally {
+			// always cleared (not only at TRACE level) because level may have changed since values were added
+			if (!batchedValues.isEmpty()) {
 				batchedValues.clear();
 			}
 		}
 	}
 	
+	/**
+	 * Registers rejected statements of a failed chunk and gives the chunks to be executed in place of it, in execution order :
+	 * - when driver stopped at failing statement, preceding statements are known to be valid so they make a chunk on their own, and
+	 * following ones make another one : if the latter fails again, former ones are not replayed
+	 * - when driver went on after failing statements, all other statements are known to be valid so they make a single chunk
+	 * 
+	 * @param chunk values of statements of the failed chunk
+	 * @param failure error of the chunk execution
+	 * @return chunks to be executed in place of the failed one, without empty ones
+	 * @throws BatchUpdateException given failure if driver doesn't tell which statement failed
+	 */
+	private Deque<List<Map<ParamType, ?>>> splitFailedChunk(List<Map<ParamType, ?>> chunk, BatchUpdateException failure) throws BatchUpdateException {
+		int[] updateCounts = failure.getUpdateCounts();
+		List<Integer> failedIndexes = giveFailedIndexes(updateCounts, chunk.size());
+		if (failedIndexes.isEmpty()) {
+			// driver doesn't tell which statement failed, we can't isolate it
+			throw failure;
+		}
+		failedIndexes.forEach(i -> rejectedStatements.add(new RejectedStatement<>(chunk.get(i), failure)));
+		Deque<List<Map<ParamType, ?>>> result = new ArrayDeque<>();
+		if (updateCounts.length < chunk.size()) {
+			int failedIndex = failedIndexes.get(0);
+			result.add(chunk.subList(0, failedIndex));
+			result.add(chunk.subList(failedIndex + 1, chunk.size()));
+		} else {
+			List<Map<ParamType, ?>> validStatements = new ArrayList<>(chunk);
+			// removal is done from the end to keep indexes valid
+			for (int i = failedIndexes.size() - 1; i >= 0; i--) {
+				validStatements.remove((int) failedIndexes.get(i));
+			}
+			result.add(validStatements);
+		}
+		result.removeIf(List::isEmpty);
+		return result;
+	}
+	
+	private void bindBatch(List<Map<ParamType, ?>> batchValues) throws SQLException {
+		for (Map<ParamType, ?> values : batchValues) {
+			setValues(values);
+			applyValuesToEnsuredStatement();
+			preparedStatement.addBatch();
+		}
+	}
+	
+	/**
+	 * Gives indexes of failed statements of a batch from {@link BatchUpdateException#getUpdateCounts()}, according to the two driver
+	 * behaviors allowed by JDBC specification : either driver stops at first failure and gives counts of preceding statements, or it goes
+	 * on and marks failed ones with {@link Statement#EXECUTE_FAILED}.
+	 * 
+	 * Null or empty update counts are considered as no information because they can't be distinguished from a driver that gives none.
+	 * 
+	 * @param updateCounts update counts of a failed batch
+	 * @param batchSize number of statements in the batch
+	 * @return indexes of failed statements, in ascending order, empty if driver doesn't give any information
+	 */
+	private static List<Integer> giveFailedIndexes(@Nullable int[] updateCounts, int batchSize) {
+		if (updateCounts == null || updateCounts.length == 0) {
+			return Collections.emptyList();
+		} else if (updateCounts.length < batchSize) {
+			// driver stopped at failing statement, next ones were not executed and will be replayed
+			return Collections.singletonList(updateCounts.length);
+		} else {
+			List<Integer> result = new ArrayList<>();
+			for (int i = 0; i < updateCounts.length; i++) {
+				if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+					result.add(i);
+				}
+			}
+			return result;
+		}
+	}
+	
+	private void logBatchExecution() {
+		AsyncSQLLogger asyncLogger = getAsyncLogger();
+		if (asyncLogger != null) {
+			if (LOGGER.isDebugEnabled()) {
+				if (LOGGER.isTraceEnabled()) {
+					// batched values are handed over to async logger instead of being copied : a new Map will receive next batch.
+					// Iteration order follows batch order since keys are small Integers whose hash is their value
+					Map<Integer, Map<ParamType, ?>> loggedValues = batchedValues;
+					batchedValues = new HashMap<>();
+					asyncLogger.logBatch(getSqlStatement().getSQLSource(), loggedValues.values(), getNotLoggedParams());
+				} else {
+					asyncLogger.logBatch(getSqlStatement().getSQLSource(), null, getNotLoggedParams());
+				}
+			}
+		} else {
+			logExecution(() -> {
+				HashMap<Integer, Map<ParamType, ?>> valuesClone = new HashMap<>(batchedValues);
+				valuesClone.entrySet().forEach(e -> e.setValue(filterLoggable(e.getValue())));
+				return valuesClone.toString();
+			});
+		}
+	}
+	
 	private <T, E extends Exception> T doWithRetry(ThrowingExecutable<T, E> delegateWithResult) throws E, RetryException {
 		return retryer.execute(delegateWithResult, getSQL());
 	}
@@ -141,19 +380,71 @@ public class WriteOperation<ParamType> extends SQLOperation<ParamType> {
 	 * @see #executeBatch()
 	 */
 	public void addBatch(Map<ParamType, ?> values) {
+		long bindStart = System.nanoTime();
 		// Necessary to call setValues() BEFORE ensureStatement() because in case of StringParamedSQL statement is built
 		// thanks to values (the expansion of parameters needs the values)
 		setValues(values);
 		applyValuesToEnsuredStatement();
+		batchBindNanos += System.nanoTime() - bindStart;
 		batchedStatementCount++;
+		for (Object value : values.values()) {
+			batchedPayloadSize += estimateSize(value);
+		}
 		if (LOGGER.isTraceEnabled()) {
 			// we log values only when debug needed to prevent memory consumption
 			batchedValues.put(batchedStatementCount, values);
 		}
+		if (partialBatchRetry) {
+			replayableValues.add(values);
+		}
 		try {
 			this.preparedStatement.addBatch();
 		} catch (SQLException e) {
 			throw Exceptions.asRuntimeException(e);
 		}
 	}
+	
+	private static long estimateSize(Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof CharSequence) {
+			return 2L * ((CharSequence) value).length();
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).length;
+		} else {
+			return 8;
+		}
+	}
+	
+	/**
+	 * A statement of a batch that was rejected by database in partial retry mode
+	 * 
+	 * @param <ParamType> parameter type of the statement
+	 * @see #setPartialBatchRetry(boolean)
+	 */
+	public static class RejectedStatement<ParamType> {
+		
+		private final Map<ParamType, ?> values;
+		
+		private final BatchUpdateException cause;
+		
+		public RejectedStatement(Map<ParamType, ?> values, BatchUpdateException cause) {
+			this.values = values;
+			this.cause = cause;
+		}
+		
+		/**
+		 * @return values given to {@link #addBatch(Map)} for the rejected statement
+		 */
+		public Map<ParamType, ?> getValues() {
+			return values;
+		}
+		
+		/**
+		 * @return the error of the batch execution in which the statement was rejected
+		 */
+		public BatchUpdateException getCause() {
+			return cause;
+		}
+	}
 }
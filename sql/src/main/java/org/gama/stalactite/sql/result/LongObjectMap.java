@@ -0,0 +1,141 @@
+package org.gama.stalactite.sql.result;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * A minimal map of objects per primitive long key, made for caches of entities that have a long identifier : keys are not boxed and entries
+ * are not wrapped into nodes (as with {@link java.util.HashMap}), which lowers memory consumption and garbage collection pressure when
+ * loading large object graphs.
+ *
+ * Implemented with open addressing and linear probing. Null values are not supported since they mark free slots, and removal is not
+ * implemented because caches don't need it.
+ *
+ * Used by {@link SimpleBeanCache}, and by the entity cache and treated relations lookups of the ORM row inflater. Identifier collections
+ * exchanged with select executors (ids to load, entities per id) are not concerned : they're typed by a generic identifier in public
+ * signatures, so they keep boxed keys.
+ *
+ * @param <V> value type
+ * @author Guillaume Mary
+ */
+public class LongObjectMap<V> {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/** Golden ratio based multiplier to spread sequential keys (which are the most common case for identifiers) over the table */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	
+	private long[] keys;
+	
+	private Object[] values;
+	
+	/** Number of bits used by slot indexes, table capacity is 2^bits */
+	private int bits;
+	
+	private int size = 0;
+	
+	public LongObjectMap() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param expectedSize number of entries expected to be put in this map, it can be exceeded since table grows as needed
+	 */
+	public LongObjectMap(int expectedSize) {
+		// table is kept at most half full to keep probe sequences short
+		int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2) - 1) << 1;
+		allocate(capacity);
+	}
+	
+	private void allocate(int capacity) {
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.bits = Integer.numberOfTrailingZeros(capacity);
+	}
+	
+	private int slot(long key) {
+		return (int) ((key * HASH_MULTIPLIER) >>> (64 - bits));
+	}
+	
+	private int indexOf(long key) {
+		int mask = keys.length - 1;
+		int index = slot(key);
+		while (values[index] != null && keys[index] != key) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+	
+	/**
+	 * @param key any long
+	 * @return value stored under given key, null if none
+	 */
+	public V get(long key) {
+		return (V) values[indexOf(key)];
+	}
+	
+	/**
+	 * Puts given value under given key, replacing any previous one
+	 *
+	 * @param key any long
+	 * @param value a non null value
+	 * @return previous value stored under key, null if none
+	 */
+	public V put(long key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Null values are not supported");
+		}
+		int index = indexOf(key);
+		V previous = (V) values[index];
+		keys[index] = key;
+		values[index] = value;
+		if (previous == null && ++size > keys.length / 2) {
+			grow();
+		}
+		return previous;
+	}
+	
+	/**
+	 * Same as {@link java.util.Map#computeIfAbsent(Object, java.util.function.Function)}, without boxing key
+	 *
+	 * @param key any long
+	 * @param factory creator of value when key is absent, nothing is stored if it returns null
+	 * @return existing value for key, or the created one (null if factory returned null)
+	 */
+	public V computeIfAbsent(long key, LongFunction<V> factory) {
+		V result = get(key);
+		if (result == null) {
+			result = factory.apply(key);
+			if (result != null) {
+				put(key, result);
+			}
+		}
+		return result;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+	
+	private void grow() {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(keys.length * 2);
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int index = indexOf(oldKeys[i]);
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+}
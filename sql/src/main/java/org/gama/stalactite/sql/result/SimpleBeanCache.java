@@ -17,6 +17,9 @@ public final class SimpleBeanCache {
 	/** Surrogate bean cache : per type, then per identifier */
 	private final Map<Class, Map<BeanKey /* bean key */, Object>> entityCache;
 	
+	/** Cache for beans with a {@link Long} identifier : per type, then per identifier, which is not wrapped into a {@link BeanKey} */
+	private final Map<Class, LongObjectMap<Object>> longIdentifiedEntityCache = new HashMap<>();
+	
 	public SimpleBeanCache() {
 		this(new HashMap<>());
 	}
@@ -30,6 +33,7 @@ public final class SimpleBeanCache {
 	 */
 	public void clear() {
 		this.entityCache.clear();
+		this.longIdentifiedEntityCache.clear();
 	}
 	
 	/**
@@ -42,6 +46,11 @@ public final class SimpleBeanCache {
 	 * @return the existing instance in the cache or a new object
 	 */
 	public <C, I> C computeIfAbsent(Class<C> clazz, @Nonnull I identifier, Function<I, C> factory) {
+		if (identifier instanceof Long) {
+			// fast path for most common identifier type : neither BeanKey nor HashMap entry is created
+			LongObjectMap<Object> classInstanceCache = longIdentifiedEntityCache.computeIfAbsent(clazz, k -> new LongObjectMap<>());
+			return (C) classInstanceCache.computeIfAbsent((Long) identifier, id -> factory.apply(identifier));
+		}
 		BeanKey key;
 		if (identifier.getClass().isArray()) {
 			// NB: we must cast into Object[] to avoid the JVM to wrap the identifier into an array of Object due to varargs constructor
@@ -0,0 +1,93 @@
+package org.gama.stalactite.sql;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.gama.stalactite.sql.ReadWriteRoutingConnectionProvider.ReplicaSelection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class ReadWriteRoutingConnectionProviderTest {
+	
+	@Test
+	void giveReadConnection_roundRobin_replicasAreUsedInTurn() throws SQLException {
+		Connection connection1 = mock(Connection.class);
+		Connection connection2 = mock(Connection.class);
+		ReadWriteRoutingConnectionProvider testInstance = new ReadWriteRoutingConnectionProvider(new SimpleConnectionProvider(mock(Connection.class)),
+				Arrays.asList(dataSource(connection1), dataSource(connection2)), ReplicaSelection.ROUND_ROBIN);
+		
+		Connection readConnection = testInstance.giveReadConnection();
+		assertSame(connection1, readConnection);
+		// nested read keeps the same connection
+		assertSame(connection1, testInstance.giveReadConnection());
+		testInstance.releaseReadConnection(readConnection);
+		verify(connection1, never()).close();
+		testInstance.releaseReadConnection(readConnection);
+		verify(connection1).close();
+		assertEquals(0, testInstance.getReplicaLoad(0));
+		
+		assertSame(connection2, testInstance.giveReadConnection());
+		assertEquals(1, testInstance.getReplicaLoad(1));
+	}
+	
+	@Test
+	void giveReadConnection_afterWrite_primaryIsUsedUntilTransactionEnd() throws SQLException {
+		Connection primaryConnection = mock(Connection.class);
+		Connection replicaConnection = mock(Connection.class);
+		TransactionAwareConnectionProvider transactionAwareConnectionProvider = new TransactionAwareConnectionProvider(
+				new SimpleConnectionProvider(primaryConnection));
+		ReadWriteRoutingConnectionProvider testInstance = new ReadWriteRoutingConnectionProvider(transactionAwareConnectionProvider,
+				Arrays.asList(dataSource(replicaConnection)), ReplicaSelection.LEAST_LOADED).observe(transactionAwareConnectionProvider);
+		
+		Connection writeConnection = testInstance.getCurrentConnection();
+		// getting primary connection or reading on it doesn't mean that transaction has written
+		writeConnection.prepareStatement("select * from Toto");
+		assertSame(replicaConnection, testInstance.giveReadConnection());
+		testInstance.releaseReadConnection(replicaConnection);
+		
+		writeConnection.prepareStatement("insert into Toto(id) values (?)");
+		assertSame(transactionAwareConnectionProvider.getCurrentConnection(), testInstance.giveReadConnection());
+		
+		writeConnection.commit();
+		assertSame(replicaConnection, testInstance.giveReadConnection());
+	}
+	
+	@Test
+	void giveReadConnection_writeInAutoCommitMode_replicaIsUsed() throws SQLException {
+		Connection primaryConnection = mock(Connection.class);
+		when(primaryConnection.getAutoCommit()).thenReturn(true);
+		Connection replicaConnection = mock(Connection.class);
+		ReadWriteRoutingConnectionProvider testInstance = new ReadWriteRoutingConnectionProvider(new SimpleConnectionProvider(primaryConnection),
+				Arrays.asList(dataSource(replicaConnection)), ReplicaSelection.ROUND_ROBIN);
+		
+		// write is already visible to other connections, and there won't be any transaction end to stop routing reads to primary 
+		testInstance.getCurrentConnection().prepareStatement("insert into Toto(id) values (?)");
+		assertSame(replicaConnection, testInstance.giveReadConnection());
+	}
+	
+	@Test
+	void giveReadConnection_primaryRequired_primaryIsUsed() throws SQLException {
+		Connection primaryConnection = mock(Connection.class);
+		ReadWriteRoutingConnectionProvider testInstance = new ReadWriteRoutingConnectionProvider(new SimpleConnectionProvider(primaryConnection),
+				Arrays.asList(dataSource(mock(Connection.class))), ReplicaSelection.ROUND_ROBIN, () -> true);
+		
+		assertSame(primaryConnection, testInstance.giveReadConnection());
+	}
+	
+	private static DataSource dataSource(Connection connection) throws SQLException {
+		DataSource result = mock(DataSource.class);
+		when(result.getConnection()).thenReturn(connection);
+		return result;
+	}
+}
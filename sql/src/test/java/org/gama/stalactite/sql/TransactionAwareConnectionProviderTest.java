@@ -1,12 +1,17 @@
 package org.gama.stalactite.sql;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.gama.stalactite.sql.test.HSQLDBInMemoryDataSource;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
 /**
@@ -59,4 +64,23 @@ public class TransactionAwareConnectionProviderTest {
 		Mockito.verify(rollbackListenerMock, Mockito.never()).afterRollback();
 	}
 	
-}
\ No newline at end of file
+	
+	@Test
+	public void executeWith_givenConnectionIsBoundToCurrentThreadOnly() throws Exception {
+		Connection transactionalConnection = Mockito.mock(Connection.class);
+		Connection boundConnection = Mockito.mock(Connection.class);
+		TransactionAwareConnectionProvider testInstance = new TransactionAwareConnectionProvider(new SimpleConnectionProvider(transactionalConnection));
+		
+		Connection otherThreadConnection = testInstance.executeWith(boundConnection, () -> {
+			assertSame(boundConnection, testInstance.getCurrentConnection());
+			try {
+				return CompletableFuture.supplyAsync(testInstance::getCurrentConnection).get();
+			} catch (InterruptedException | ExecutionException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(otherThreadConnection instanceof TransactionAwareConnexionWrapper);
+		// after execution, current thread gets back transactional connection
+		assertTrue(testInstance.getCurrentConnection() instanceof TransactionAwareConnexionWrapper);
+	}
+}
@@ -102,6 +102,81 @@ public class TransactionListenerCollectionTest {
 		assertEquals(3, modifiableInt.getValue());
 	}
 	
+	@Test
+	public void testBeforeCommit_listenerRegistersAnotherOne_newOneIsNotifiedOfNextEvents() {
+		TransactionListenerCollection testInstance = new TransactionListenerCollection();
+		ModifiableInt modifiableInt = new ModifiableInt();
+		CommitListener registeredListener = new CommitListener() {
+			@Override
+			public void beforeCommit() {
+			}
+			
+			@Override
+			public void afterCommit() {
+				modifiableInt.increment();
+			}
+		};
+		testInstance.addCommitListener(new CommitListener() {
+			@Override
+			public void beforeCommit() {
+				// this would throw a ConcurrentModificationException if listeners were not copied before notification
+				testInstance.addCommitListener(registeredListener);
+			}
+			
+			@Override
+			public void afterCommit() {
+			}
+			
+			@Override
+			public boolean isTemporary() {
+				return true;
+			}
+		});
+		
+		testInstance.beforeCommit();
+		testInstance.afterCommit();
+		assertEquals(1, modifiableInt.getValue());
+	}
+	
+	@Test
+	public void testAfterRollbackToSavepoint_temporaryListenersAreKept() {
+		TransactionListenerCollection testInstance = new TransactionListenerCollection();
+		ModifiableInt modifiableInt = new ModifiableInt();
+		testInstance.addRollbackListener(new RollbackListener() {
+			
+			@Override
+			public void beforeRollback() {
+			}
+			
+			@Override
+			public void afterRollback() {
+				modifiableInt.increment();
+			}
+			
+			@Override
+			public void beforeRollback(Savepoint savepoint) {
+			}
+			
+			@Override
+			public void afterRollback(Savepoint savepoint) {
+			}
+			
+			@Override
+			public boolean isTemporary() {
+				return true;
+			}
+		});
+		
+		testInstance.beforeRollback(null);
+		testInstance.afterRollback(null);
+		// transaction is not over, so temporary listener is still notified
+		testInstance.afterRollback();
+		assertEquals(1, modifiableInt.getValue());
+		// but it was removed at transaction completion
+		testInstance.afterRollback();
+		assertEquals(1, modifiableInt.getValue());
+	}
+	
 	private static class MutableBoolean {
 		
 		private boolean value;
@@ -0,0 +1,148 @@
+package org.gama.stalactite.sql.dml;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.gama.lang.collection.Maps;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Guillaume Mary
+ */
+class AsyncSQLLoggerTest {
+	
+	@Test
+	void log_valuesAreCopiedAndMasked() {
+		Logger loggerMock = mock(Logger.class);
+		Map<Integer, Object> values = new HashMap<>(Maps.asMap(1, (Object) "toto").add(2, "secret"));
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.log("insert into Toto(name, password) values(?, ?)", values, Collections.singleton(2));
+			// values are modified after logging, which must not impact logged ones
+			values.put(1, "tata");
+		}
+		
+		Map<Object, Object> expectedValues = new LinkedHashMap<>();
+		expectedValues.put(1, "toto");
+		expectedValues.put(2, "X-masked value-X");
+		verify(loggerMock).debug("{} | {}", "insert into Toto(name, password) values(?, ?)", expectedValues);
+	}
+	
+	@Test
+	void logBatch_valuesAreMasked() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.logBatch("insert into Toto(name, password) values(?, ?)", Arrays.asList(
+					Maps.asMap(1, (Object) "toto").add(2, "secret"),
+					Maps.asMap(1, (Object) "tata").add(2, "secret")), Collections.singleton(2));
+		}
+		
+		Map<Integer, Map<Object, Object>> expectedValues = new LinkedHashMap<>();
+		expectedValues.put(1, new LinkedHashMap<>(Maps.asMap(1, (Object) "toto").add(2, "X-masked value-X")));
+		expectedValues.put(2, new LinkedHashMap<>(Maps.asMap(1, (Object) "tata").add(2, "X-masked value-X")));
+		verify(loggerMock).debug("{} | {}", "insert into Toto(name, password) values(?, ?)", expectedValues);
+	}
+	
+	@Test
+	void log_withoutValues_onlySQLIsLogged() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.log("select * from Toto", null, Collections.emptySet());
+		}
+		verify(loggerMock).debug("select * from Toto");
+	}
+	
+	@Test
+	void log_maxRecordsPerSecond_exceedingRecordsAreNotLogged() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.setMaxRecordsPerSecond(2);
+			for (int i = 0; i < 5; i++) {
+				testInstance.log("select * from Toto", null, Collections.emptySet());
+			}
+			testInstance.log("select * from Tata", null, Collections.emptySet());
+		}
+		verify(loggerMock, times(2)).debug("select * from Toto");
+		verify(loggerMock).debug("select * from Tata");
+	}
+	
+	@Test
+	void log_samplingRatioIsZero_nothingIsLogged() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.setSamplingRatio(0);
+			testInstance.log("select * from Toto", null, Collections.emptySet());
+		}
+		verify(loggerMock, never()).debug(anyString());
+	}
+	
+	@Test
+	void log_maxRecordsPerSecond_statementsDifferingByValuesShareTheirLimit() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.setMaxRecordsPerSecond(2);
+			testInstance.log("select * from Toto where id in (?, ?)", null, Collections.emptySet());
+			testInstance.log("select * from Toto where id in (?, ?, ?)", null, Collections.emptySet());
+			testInstance.log("select * from Toto where id in (?)", null, Collections.emptySet());
+			testInstance.log("select * from Toto where id in (42, 43)", null, Collections.emptySet());
+			assertEquals(1, testInstance.getRateWindowCount());
+		}
+		verify(loggerMock).debug("select * from Toto where id in (?, ?)");
+		verify(loggerMock).debug("select * from Toto where id in (?, ?, ?)");
+		verify(loggerMock, never()).debug("select * from Toto where id in (?)");
+		verify(loggerMock, never()).debug("select * from Toto where id in (42, 43)");
+	}
+	
+	@Test
+	void log_maxRecordsPerSecond_rateCountersAreBounded() {
+		Logger loggerMock = mock(Logger.class);
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.setMaxRecordsPerSecond(2);
+			for (int i = 0; i < 5000; i++) {
+				// column name differs, so each statement has its own shape
+				testInstance.log("select a" + i + " from Toto", null, Collections.emptySet());
+			}
+			assertTrue(testInstance.getRateWindowCount() <= 1024);
+		}
+	}
+	
+	@Test
+	void toStatementShape() {
+		assertEquals("select * from Toto where id in (?)", AsyncSQLLogger.toStatementShape("select * from Toto where id in (?, ?, ?)"));
+		assertEquals("select * from Toto where name = ? and id = ?", AsyncSQLLogger.toStatementShape("select * from Toto where name = 'it''s' and id = 12.5"));
+		assertEquals("update Toto set a1 = ?, b = ? where id = ?", AsyncSQLLogger.toStatementShape("update Toto set a1 = ?, b = 2 where id = ?"));
+	}
+	
+	@Test
+	void log_valuesCantBeCopied_errorIsLoggedAndNextRecordsAreWritten() {
+		Logger loggerMock = mock(Logger.class);
+		Map<Integer, Object> failingValues = new HashMap<Integer, Object>() {
+			@Override
+			public Set<Map.Entry<Integer, Object>> entrySet() {
+				throw new ConcurrentModificationException();
+			}
+		};
+		failingValues.put(1, "toto");
+		try (AsyncSQLLogger testInstance = new AsyncSQLLogger(16, loggerMock)) {
+			testInstance.log("insert into Toto(name) values(?)", failingValues, Collections.emptySet());
+			testInstance.log("select * from Toto", null, Collections.emptySet());
+		}
+		verify(loggerMock).warn(eq("Can't log statement insert into Toto(name) values(?)"), any(ConcurrentModificationException.class));
+		verify(loggerMock).debug("select * from Toto");
+	}
+}
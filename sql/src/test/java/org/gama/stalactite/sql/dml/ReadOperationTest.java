@@ -19,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -53,6 +54,62 @@ public class ReadOperationTest {
 		assertEquals(0, resultSet.getInt(1));
 	}
 	
+	@Test
+	public void testExecute_executionObserver_isNotifiedWithFetchedRowCount() throws SQLException {
+		connectionProvider.getCurrentConnection().createStatement().execute("insert into Toto(id, name) values (1, 'a'), (2, 'b')");
+		
+		ReadOperation<Integer> testInstance = new ReadOperation<>(new PreparedSQL("select id from Toto", new HashMap<>()), connectionProvider);
+		SQLExecutionMetrics metrics = new SQLExecutionMetrics();
+		testInstance.setExecutionObserver(metrics);
+		ResultSet resultSet = testInstance.execute();
+		// end of execution is notified only once rows are read
+		assertTrue(metrics.getMetrics().isEmpty());
+		while (resultSet.next()) {
+			// nothing special to do, we only read rows
+		}
+		resultSet.close();
+		
+		SQLExecutionMetrics.StatementMetrics statementMetrics = metrics.getMetrics().get("select id from Toto");
+		assertEquals(1, statementMetrics.getExecutionCount());
+		assertEquals(2, statementMetrics.getFetchedRowCount());
+	}
+	
+	@Test
+	public void testExecute_executionObserver_resultSetNotClosed_isNotifiedOnOperationClose() throws SQLException {
+		connectionProvider.getCurrentConnection().createStatement().execute("insert into Toto(id, name) values (1, 'a'), (2, 'b')");
+		
+		ReadOperation<Integer> testInstance = new ReadOperation<>(new PreparedSQL("select id from Toto", new HashMap<>()), connectionProvider);
+		SQLExecutionMetrics metrics = new SQLExecutionMetrics();
+		testInstance.setExecutionObserver(metrics);
+		ResultSet resultSet = testInstance.execute();
+		// only first row is read, ResultSet is not closed
+		assertTrue(resultSet.next());
+		assertTrue(metrics.getMetrics().isEmpty());
+		
+		// executing operation again ends previous execution
+		testInstance.execute();
+		SQLExecutionMetrics.StatementMetrics statementMetrics = metrics.getMetrics().get("select id from Toto");
+		assertEquals(1, statementMetrics.getExecutionCount());
+		assertEquals(1, statementMetrics.getFetchedRowCount());
+		
+		// closing operation ends last execution
+		testInstance.close();
+		statementMetrics = metrics.getMetrics().get("select id from Toto");
+		assertEquals(2, statementMetrics.getExecutionCount());
+		assertEquals(1, statementMetrics.getFetchedRowCount());
+	}
+	
+	@Test
+	public void testExecute_maxRows() throws SQLException {
+		connectionProvider.getCurrentConnection().createStatement().execute("insert into Toto(id, name) values (1, 'a'), (2, 'b')");
+		
+		ReadOperation<Integer> testInstance = new ReadOperation<>(new PreparedSQL("select id from Toto", new HashMap<>()), connectionProvider);
+		testInstance.setMaxRows(1);
+		ResultSet resultSet = testInstance.execute();
+		assertTrue(resultSet.next());
+		assertFalse(resultSet.next());
+	}
+	
 	@Test
 	public void testExecute_parameterizedSQL() throws SQLException {
 		Map<String, ParameterBinder> parameterBinders = new HashMap<>();
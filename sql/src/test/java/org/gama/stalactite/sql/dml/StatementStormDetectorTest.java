@@ -0,0 +1,67 @@
+package org.gama.stalactite.sql.dml;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.gama.stalactite.sql.ConnectionProvider;
+import org.gama.stalactite.sql.TransactionAwareConnectionProvider;
+import org.gama.stalactite.sql.dml.SQLExecution.Kind;
+import org.gama.stalactite.sql.dml.StatementStormDetector.StatementBudgetExceededException;
+import org.gama.stalactite.sql.dml.StatementStormDetector.Violation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Guillaume Mary
+ */
+class StatementStormDetectorTest {
+	
+	@Test
+	void normalize_parameterListsAreCollapsed() {
+		assertEquals("select id from Toto where id in (?...) and name = ?",
+				StatementStormDetector.normalize("select id from Toto\n where id in (?, ?,?) and name = ?"));
+		assertEquals(StatementStormDetector.normalize("select id from Toto where id in (?, ?)"),
+				StatementStormDetector.normalize("select id from Toto where id in (?, ?, ?, ?)"));
+	}
+	
+	@Test
+	void onStart_thresholdExceeded_violationIsRecordedWithItsCount() {
+		StatementStormDetector testInstance = new StatementStormDetector(2, false, "org.gama.stalactite.sql");
+		for (int i = 0; i < 5; i++) {
+			testInstance.onStart(new SQLExecution(Kind.READ, "select id from Toto where id = ?"));
+		}
+		testInstance.onStart(new SQLExecution(Kind.READ, "select id from Tata where id = ?"));
+		
+		assertEquals(1, testInstance.getViolations().size());
+		Violation violation = testInstance.getViolations().get(0);
+		assertEquals("select id from Toto where id = ?", violation.getStatementShape());
+		assertEquals(5, violation.getCount());
+		assertTrue(violation.getCallers().contains(StatementStormDetectorTest.class.getName() + ".onStart_thresholdExceeded_violationIsRecordedWithItsCount"));
+		assertThrows(StatementBudgetExceededException.class, testInstance::assertNoViolation);
+	}
+	
+	@Test
+	void onStart_failOnViolation_throwsException() {
+		StatementStormDetector testInstance = new StatementStormDetector(1, true);
+		testInstance.onStart(new SQLExecution(Kind.READ, "select id from Toto where id = ?"));
+		assertThrows(StatementBudgetExceededException.class, () -> testInstance.onStart(new SQLExecution(Kind.READ, "select id from Toto where id = ?")));
+	}
+	
+	@Test
+	void afterCommit_countersAreReset() throws SQLException {
+		ConnectionProvider connectionProviderMock = mock(ConnectionProvider.class);
+		when(connectionProviderMock.getCurrentConnection()).thenReturn(mock(Connection.class));
+		TransactionAwareConnectionProvider connectionProvider = new TransactionAwareConnectionProvider(connectionProviderMock);
+		StatementStormDetector testInstance = new StatementStormDetector(1, true).observe(connectionProvider);
+		
+		testInstance.onStart(new SQLExecution(Kind.WRITE, "update Toto set name = ? where id = ?"));
+		connectionProvider.getCurrentConnection().commit();
+		assertDoesNotThrow(() -> testInstance.onStart(new SQLExecution(Kind.WRITE, "update Toto set name = ? where id = ?")));
+	}
+}
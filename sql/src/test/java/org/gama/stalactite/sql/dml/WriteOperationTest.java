@@ -1,10 +1,17 @@
 package org.gama.stalactite.sql.dml;
 
 import java.io.StringWriter;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Layout;
@@ -15,6 +22,7 @@ import org.apache.log4j.WriterAppender;
 import org.apache.log4j.spi.LoggingEvent;
 import org.gama.lang.StringAppender;
 import org.gama.lang.collection.Arrays;
+import org.gama.lang.collection.Iterables;
 import org.gama.lang.collection.Maps;
 import org.gama.lang.trace.ModifiableInt;
 import org.gama.stalactite.sql.ConnectionProvider;
@@ -26,8 +34,21 @@ import org.gama.stalactite.sql.test.HSQLDBInMemoryDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+import static java.util.Arrays.stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Guillaume Mary
@@ -76,6 +97,148 @@ public class WriteOperationTest {
 		assertEquals(2, executeMultiple);
 	}
 	
+	@Test
+	public void testExecuteBatch_partialBatchRetry_rejectedStatementsAreSkipped() throws SQLException {
+		Connection connection = connectionProvider.getCurrentConnection();
+		connection.createStatement().execute("create table Tata(id bigint primary key, name varchar(50))");
+		connection.setAutoCommit(false);
+		
+		Map<Integer, ParameterBinder> parameterBinders = new HashMap<>();
+		parameterBinders.put(1, DefaultParameterBinders.LONG_PRIMITIVE_BINDER);
+		parameterBinders.put(2, DefaultParameterBinders.STRING_BINDER);
+		
+		WriteOperation<Integer> testInstance = new WriteOperation<>(new PreparedSQL("insert into Tata(id, name) values(?, ?)", parameterBinders), connectionProvider);
+		testInstance.setPartialBatchRetry(true);
+		testInstance.addBatch(Maps.asMap(1, (Object) 1L).add(2, "a"));
+		testInstance.addBatch(Maps.asMap(1, (Object) 2L).add(2, "b"));
+		// duplicate keys will be rejected by database
+		testInstance.addBatch(Maps.asMap(1, (Object) 1L).add(2, "c"));
+		testInstance.addBatch(Maps.asMap(1, (Object) 3L).add(2, "d"));
+		testInstance.addBatch(Maps.asMap(1, (Object) 2L).add(2, "e"));
+		testInstance.addBatch(Maps.asMap(1, (Object) 4L).add(2, "f"));
+		int updatedRowCount = testInstance.executeBatch();
+		
+		assertEquals(4, updatedRowCount);
+		assertEquals(Arrays.asList("c", "e"), Iterables.collectToList(testInstance.getRejectedStatements(), r -> r.getValues().get(2)));
+		ResultSet resultSet = connection.createStatement().executeQuery("select name from Tata order by id");
+		List<String> names = new ArrayList<>();
+		while (resultSet.next()) {
+			names.add(resultSet.getString("name"));
+		}
+		assertEquals(Arrays.asList("a", "b", "d", "f"), names);
+	}
+	
+	@Test
+	public void testExecuteBatch_partialBatchRetry_validStatementsPrecedingRejectedOneAreNotReplayedTwice() throws SQLException {
+		// a driver that stops at first failing statement (as JDBC allows), statements with id 3 and 5 are rejected
+		List<Long> rejectedIds = Arrays.asList(3L, 5L);
+		List<Long> boundIds = new ArrayList<>();
+		List<List<Long>> executedBatches = new ArrayList<>();
+		Connection connectionMock = mock(Connection.class);
+		PreparedStatement statementMock = mock(PreparedStatement.class);
+		Savepoint savepointMock = mock(Savepoint.class);
+		when(connectionMock.prepareStatement(any())).thenReturn(statementMock);
+		when(connectionMock.setSavepoint()).thenReturn(savepointMock);
+		when(statementMock.getConnection()).thenReturn(connectionMock);
+		List<Long> currentStatementIds = new ArrayList<>();
+		doAnswer(invocation -> currentStatementIds.add(invocation.getArgument(1))).when(statementMock).setLong(eq(1), anyLong());
+		doAnswer(invocation -> {
+			boundIds.addAll(currentStatementIds);
+			currentStatementIds.clear();
+			return null;
+		}).when(statementMock).addBatch();
+		doAnswer(invocation -> {
+			boundIds.clear();
+			return null;
+		}).when(statementMock).clearBatch();
+		when(statementMock.executeBatch()).thenAnswer(invocation -> {
+			List<Long> batch = new ArrayList<>(boundIds);
+			executedBatches.add(batch);
+			boundIds.clear();
+			int[] updateCounts = new int[batch.size()];
+			fill(updateCounts, 1);
+			for (int i = 0; i < batch.size(); i++) {
+				if (rejectedIds.contains(batch.get(i))) {
+					throw new BatchUpdateException(copyOf(updateCounts, i));
+				}
+			}
+			return updateCounts;
+		});
+		
+		Map<Integer, ParameterBinder> parameterBinders = new HashMap<>();
+		parameterBinders.put(1, DefaultParameterBinders.LONG_PRIMITIVE_BINDER);
+		WriteOperation<Integer> testInstance = new WriteOperation<>(new PreparedSQL("insert into Tata(id) values(?)", parameterBinders),
+				new SimpleConnectionProvider(connectionMock));
+		testInstance.setPartialBatchRetry(true);
+		for (long id = 1; id <= 6; id++) {
+			testInstance.addBatch(Maps.asMap(1, id));
+		}
+		int updatedRowCount = testInstance.executeBatch();
+		
+		assertEquals(4, updatedRowCount);
+		assertEquals(Arrays.asList(3L, 5L), Iterables.collectToList(testInstance.getRejectedStatements(), r -> r.getValues().get(1)));
+		// statements preceding a rejected one are replayed apart, hence they are not replayed again when a following statement is rejected
+		assertEquals(Arrays.asList(
+				Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L),
+				Arrays.asList(1L, 2L),
+				Arrays.asList(4L, 5L, 6L),
+				Arrays.asList(4L),
+				Arrays.asList(6L)), executedBatches);
+		// every savepoint is released, even rolled back ones
+		verify(connectionMock, times(2)).rollback(savepointMock);
+		verify(connectionMock, times(5)).releaseSavepoint(savepointMock);
+	}
+	
+	@Test
+	public void testExecuteBatch_partialBatchRetry_driverGivesNoUpdateCount_failureIsThrown() throws SQLException {
+		Connection connectionMock = mock(Connection.class);
+		PreparedStatement statementMock = mock(PreparedStatement.class);
+		Savepoint savepointMock = mock(Savepoint.class);
+		when(connectionMock.prepareStatement(any())).thenReturn(statementMock);
+		when(connectionMock.setSavepoint()).thenReturn(savepointMock);
+		when(statementMock.getConnection()).thenReturn(connectionMock);
+		// null update counts : failing statement is unknown, no statement must be considered as rejected
+		BatchUpdateException failure = new BatchUpdateException((int[]) null);
+		when(statementMock.executeBatch()).thenThrow(failure);
+		
+		Map<Integer, ParameterBinder> parameterBinders = new HashMap<>();
+		parameterBinders.put(1, DefaultParameterBinders.LONG_PRIMITIVE_BINDER);
+		WriteOperation<Integer> testInstance = new WriteOperation<>(new PreparedSQL("insert into Tata(id) values(?)", parameterBinders),
+				new SimpleConnectionProvider(connectionMock));
+		testInstance.setPartialBatchRetry(true);
+		testInstance.addBatch(Maps.asMap(1, 1L));
+		testInstance.addBatch(Maps.asMap(1, 2L));
+		
+		SQLExecutionException thrownException = assertThrows(SQLExecutionException.class, testInstance::executeBatch);
+		assertSame(failure, thrownException.getCause());
+		assertEquals(Collections.emptyList(), testInstance.getRejectedStatements());
+		verify(connectionMock).rollback(savepointMock);
+	}
+	
+	@Test
+	public void testExecuteBatch_executionObserver_isNotifiedWithMeasures() {
+		Map<Integer, ParameterBinder> parameterBinders = new HashMap<>();
+		parameterBinders.put(1, DefaultParameterBinders.LONG_PRIMITIVE_BINDER);
+		parameterBinders.put(2, DefaultParameterBinders.STRING_BINDER);
+		
+		WriteOperation<Integer> testInstance = new WriteOperation<>(new PreparedSQL("insert into Toto(id, name) values(?, ?)", parameterBinders), connectionProvider);
+		SQLExecutionMetrics metrics = new SQLExecutionMetrics();
+		testInstance.setExecutionObserver(metrics);
+		testInstance.addBatch(Maps.asMap(1, (Object) 1L).add(2, "Tata"));
+		testInstance.addBatch(Maps.asMap(1, (Object) 2L).add(2, "Tata"));
+		testInstance.executeBatch();
+		testInstance.addBatch(Maps.asMap(1, (Object) 3L).add(2, "Tata"));
+		testInstance.executeBatch();
+		
+		SQLExecutionMetrics.StatementMetrics statementMetrics = metrics.getMetrics().get("insert into Toto(id, name) values(?, ?)");
+		assertEquals(2, statementMetrics.getExecutionCount());
+		assertEquals(3, statementMetrics.getBatchedStatementCount());
+		assertEquals(3, statementMetrics.getUpdatedRowCount());
+		assertEquals(0, statementMetrics.getErrorCount());
+		assertEquals(2, stream(statementMetrics.getExecutionTimeHistogram()).sum());
+		assertTrue(statementMetrics.getMaxExecutionNanos() > 0);
+	}
+	
 	@Test
 	public void testExecute_parameterizedSQL() {
 		Map<String, ParameterBinder> parameterBinders = new HashMap<>();
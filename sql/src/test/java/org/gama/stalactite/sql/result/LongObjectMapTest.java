@@ -0,0 +1,62 @@
+package org.gama.stalactite.sql.result;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Guillaume Mary
+ */
+class LongObjectMapTest {
+	
+	@Test
+	void putAndGet() {
+		LongObjectMap<String> testInstance = new LongObjectMap<>();
+		assertTrue(testInstance.isEmpty());
+		assertNull(testInstance.put(0, "zero"));
+		assertNull(testInstance.put(-1, "minus one"));
+		assertNull(testInstance.put(Long.MAX_VALUE, "max"));
+		assertEquals("zero", testInstance.put(0, "ZERO"));
+		
+		assertEquals(3, testInstance.size());
+		assertEquals("ZERO", testInstance.get(0));
+		assertEquals("minus one", testInstance.get(-1));
+		assertEquals("max", testInstance.get(Long.MAX_VALUE));
+		assertNull(testInstance.get(42));
+		
+		assertThrows(IllegalArgumentException.class, () -> testInstance.put(1, null));
+	}
+	
+	@Test
+	void put_tableGrows() {
+		LongObjectMap<String> testInstance = new LongObjectMap<>(4);
+		for (long i = 0; i < 10_000; i++) {
+			testInstance.put(i, String.valueOf(i));
+		}
+		assertEquals(10_000, testInstance.size());
+		for (long i = 0; i < 10_000; i++) {
+			assertEquals(String.valueOf(i), testInstance.get(i));
+		}
+		
+		testInstance.clear();
+		assertTrue(testInstance.isEmpty());
+		assertNull(testInstance.get(1));
+	}
+	
+	@Test
+	void computeIfAbsent() {
+		LongObjectMap<String> testInstance = new LongObjectMap<>();
+		String value = testInstance.computeIfAbsent(7, String::valueOf);
+		assertEquals("7", value);
+		assertSame(value, testInstance.computeIfAbsent(7, k -> "other"));
+		
+		// as for Map, nothing is stored when factory gives null
+		assertNull(testInstance.computeIfAbsent(8, k -> null));
+		assertEquals(1, testInstance.size());
+		assertNull(testInstance.get(8));
+	}
+}
@@ -33,6 +33,26 @@ class SimpleBeanCacheTest {
 		assertEquals(2, factoryCallCounter.getValue());
 	}
 	
+	@Test
+	void testComputeIfAbsent_longIdentifier() {
+		SimpleBeanCache testInstance = new SimpleBeanCache();
+		ModifiableInt factoryCallCounter = new ModifiableInt();
+		Function<Long, String> capturingFactory = key -> {
+			factoryCallCounter.increment();
+			return "hello " + key;
+		};
+		assertEquals("hello 1", testInstance.computeIfAbsent(String.class, 1L, capturingFactory));
+		assertEquals("hello 1", testInstance.computeIfAbsent(String.class, 1L, capturingFactory));
+		assertEquals(1, factoryCallCounter.getValue());
+		// caches are per type
+		assertEquals("hello 1", testInstance.computeIfAbsent(Object.class, 1L, capturingFactory));
+		assertEquals(2, factoryCallCounter.getValue());
+		
+		testInstance.clear();
+		testInstance.computeIfAbsent(String.class, 1L, capturingFactory);
+		assertEquals(3, factoryCallCounter.getValue());
+	}
+	
 	@Test
 	void testComputeIfAbsent_ArrayAsKeySafety() {
 		SimpleBeanCache testInstance = new SimpleBeanCache();